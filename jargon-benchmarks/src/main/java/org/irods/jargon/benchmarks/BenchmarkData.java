@@ -0,0 +1,109 @@
+package org.irods.jargon.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.GenQueryInp;
+import org.irods.jargon.core.packinstr.GenQueryOut;
+import org.irods.jargon.core.packinstr.Tag;
+import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
+import org.irods.jargon.core.query.QueryConditionOperators;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
+
+/**
+ * Builds the representative protocol messages shared by the benchmarks
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public final class BenchmarkData {
+
+	/**
+	 * Columns in the {@code GenQueryOut} responses built here, matching a typical
+	 * data object listing
+	 */
+	public static final RodsGenQueryEnum[] LISTING_COLUMNS = { RodsGenQueryEnum.COL_COLL_NAME,
+			RodsGenQueryEnum.COL_DATA_NAME, RodsGenQueryEnum.COL_DATA_SIZE, RodsGenQueryEnum.COL_D_MODIFY_TIME,
+			RodsGenQueryEnum.COL_D_OWNER_NAME };
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * Build a {@code GenQueryOut_PI} response with the given number of rows for
+	 * the {@link #LISTING_COLUMNS}
+	 *
+	 * @param rows
+	 *            {@code int} with the number of rows
+	 * @return {@link Tag} with the query response
+	 */
+	public static Tag buildGenQueryOut(final int rows) {
+		Tag genQueryOut = new Tag(GenQueryOut.PI_NAME, new Tag[] { new Tag(GenQueryOut.ROW_CNT, rows),
+				new Tag(GenQueryOut.ATTRIB_CNT, LISTING_COLUMNS.length), new Tag(GenQueryOut.CONTINUE_INX, 0),
+				new Tag("totalRowCount", rows) });
+
+		for (RodsGenQueryEnum column : LISTING_COLUMNS) {
+			Tag sqlResult = new Tag("SqlResult_PI", new Tag[] { new Tag("attriInx", column.getNumericValue()),
+					new Tag("reslen", 256) });
+			for (int row = 0; row < rows; row++) {
+				sqlResult.addTag(new Tag("value", valueFor(column, row)));
+			}
+			genQueryOut.addTag(sqlResult);
+		}
+
+		return genQueryOut;
+	}
+
+	/**
+	 * @return {@code List} with the names of the {@link #LISTING_COLUMNS}
+	 */
+	public static List<String> listingColumnNames() {
+		List<String> names = new ArrayList<String>();
+		for (RodsGenQueryEnum column : LISTING_COLUMNS) {
+			names.add(column.getName());
+		}
+		return names;
+	}
+
+	/**
+	 * Build a {@code GenQueryInp} listing the data objects in a collection
+	 *
+	 * @return {@link GenQueryInp}
+	 * @throws JargonException
+	 *             for a query error
+	 * @throws GenQueryBuilderException
+	 *             if the query cannot be built
+	 */
+	public static GenQueryInp buildListingGenQueryInp() throws JargonException, GenQueryBuilderException {
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		for (RodsGenQueryEnum column : LISTING_COLUMNS) {
+			builder.addSelectAsGenQueryValue(column);
+		}
+		builder.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME, QueryConditionOperators.EQUAL,
+				"/" + FakeIrodsResponder.ZONE + "/home/" + FakeIrodsResponder.USER + "/data & results");
+
+		IRODSGenQueryFromBuilder query = builder.exportIRODSQueryFromBuilder(5000);
+		TranslatedIRODSGenQuery translated = query.convertToTranslatedIRODSGenQuery();
+		return GenQueryInp.instance(translated, 0, null);
+	}
+
+	private static String valueFor(final RodsGenQueryEnum column, final int row) {
+		switch (column) {
+		case COL_COLL_NAME:
+			return "/" + FakeIrodsResponder.ZONE + "/home/" + FakeIrodsResponder.USER + "/data & results";
+		case COL_DATA_NAME:
+			return "file_" + row + "_<raw>.dat";
+		case COL_DATA_SIZE:
+			return String.valueOf(1024L * row);
+		case COL_D_MODIFY_TIME:
+			return String.valueOf(1600000000L + row);
+		default:
+			return FakeIrodsResponder.USER;
+		}
+	}
+
+}
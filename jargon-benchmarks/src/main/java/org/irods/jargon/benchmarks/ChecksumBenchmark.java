@@ -0,0 +1,74 @@
+package org.irods.jargon.benchmarks;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.checksum.AbstractChecksumComputeStrategy;
+import org.irods.jargon.core.checksum.ChecksumValue;
+import org.irods.jargon.core.checksum.LocalChecksumComputerFactoryImpl;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.protovalues.ChecksumEncodingEnum;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Local file checksum strategies used to verify transfers
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ChecksumBenchmark {
+
+	@Param({ "MD5", "SHA256" })
+	public String algorithm;
+
+	@Param({ "1048576", "67108864" })
+	public int fileSize;
+
+	private File localFile;
+	private AbstractChecksumComputeStrategy strategy;
+
+	@Setup
+	public void setUp() throws IOException, JargonException {
+		localFile = File.createTempFile("jargon-checksum-bench", ".dat");
+		byte[] block = new byte[64 * 1024];
+		new Random(42).nextBytes(block);
+		try (OutputStream out = new FileOutputStream(localFile)) {
+			for (int written = 0; written < fileSize; written += block.length) {
+				out.write(block, 0, Math.min(block.length, fileSize - written));
+			}
+		}
+		strategy = new LocalChecksumComputerFactoryImpl().instance(ChecksumEncodingEnum.valueOf(algorithm));
+	}
+
+	@TearDown
+	public void tearDown() {
+		localFile.delete();
+	}
+
+	@Benchmark
+	public ChecksumValue computeChecksumValueForLocalFile() throws Exception {
+		return strategy.computeChecksumValueForLocalFile(localFile.getAbsolutePath());
+	}
+
+}
@@ -0,0 +1,74 @@
+package org.irods.jargon.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
+import org.irods.jargon.core.connection.PipelineConfiguration;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.exception.EncryptionException;
+import org.irods.jargon.core.transfer.encrypt.AESKeyGenerator;
+import org.irods.jargon.core.transfer.encrypt.EncryptionBuffer;
+import org.irods.jargon.core.transfer.encrypt.EncryptionWrapperFactory;
+import org.irods.jargon.core.transfer.encrypt.ParallelDecryptionCipherWrapper;
+import org.irods.jargon.core.transfer.encrypt.ParallelEncryptionCipherWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the AES cipher wrappers used by parallel transfer threads when
+ * SSL was negotiated, for a range of transfer buffer sizes
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncryptionBenchmark {
+
+	@Param({ "8192", "65536", "4194304" })
+	public int bufferSize;
+
+	private ParallelEncryptionCipherWrapper encryptWrapper;
+	private ParallelDecryptionCipherWrapper decryptWrapper;
+	private byte[] plain;
+	private EncryptionBuffer encrypted;
+
+	@Setup
+	public void setUp() throws Exception {
+		PipelineConfiguration pipelineConfiguration = PipelineConfiguration.instance(new SettableJargonProperties());
+		NegotiatedClientServerConfiguration negotiated = new NegotiatedClientServerConfiguration(true);
+		negotiated.setSecretKey(new AESKeyGenerator(pipelineConfiguration, negotiated).generateKey());
+
+		encryptWrapper = EncryptionWrapperFactory.instanceEncrypt(pipelineConfiguration, negotiated);
+		decryptWrapper = EncryptionWrapperFactory.instanceDecrypt(pipelineConfiguration, negotiated);
+
+		plain = new byte[bufferSize];
+		new Random(42).nextBytes(plain);
+		encrypted = encryptWrapper.encrypt(plain);
+	}
+
+	@Benchmark
+	public EncryptionBuffer encrypt() throws EncryptionException {
+		return encryptWrapper.encrypt(plain);
+	}
+
+	@Benchmark
+	public byte[] decrypt() throws EncryptionException {
+		return decryptWrapper.decrypt(encrypted);
+	}
+
+}
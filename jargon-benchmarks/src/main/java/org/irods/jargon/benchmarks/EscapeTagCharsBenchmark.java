@@ -0,0 +1,46 @@
+package org.irods.jargon.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.utils.EscapeTagChars;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Escaping of values for XML and HTML, for plain text and for text that is
+ * mostly characters that need escaping
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EscapeTagCharsBenchmark {
+
+	@Param({ "/benchZone/home/bench/collection/subcollection/data_file_00001.dat",
+			"<a href=\"x&y\">'quoted' & <escaped> \"text\"</a>" })
+	public String text;
+
+	@Benchmark
+	public String forXML() {
+		return EscapeTagChars.forXML(text);
+	}
+
+	@Benchmark
+	public String forHTML() {
+		return EscapeTagChars.forHTML(text);
+	}
+
+}
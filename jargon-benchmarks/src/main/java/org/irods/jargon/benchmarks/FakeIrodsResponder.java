@@ -0,0 +1,267 @@
+package org.irods.jargon.benchmarks;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.MiscSvrInfo;
+import org.irods.jargon.core.packinstr.StartupPack;
+import org.irods.jargon.core.packinstr.Tag;
+import org.irods.jargon.core.packinstr.TagWriter;
+import org.irods.jargon.core.utils.IRODSConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * In-process stand in for an iRODS agent, listening on a loopback port and
+ * speaking just enough of the iRODS protocol for Jargon to connect,
+ * authenticate with standard iRODS authentication, and make API calls.
+ * <p>
+ * Every API request is answered with the canned response registered for its
+ * API number via {@link #setResponse(int, Tag)}, the iRODS error registered via
+ * {@link #setErrorResponse(int, int)}, or an empty success reply if neither was
+ * registered. The request body is read and discarded. This allows a
+ * full {@code IRODSMidLevelProtocol.irodsFunction()} round trip (serialization,
+ * socket I/O, header and message parsing) to be measured without an iRODS
+ * server, it is not a protocol conformance test.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class FakeIrodsResponder implements Closeable {
+
+	public static final String ZONE = "benchZone";
+	public static final String USER = "bench";
+	public static final String PASSWORD = "bench";
+	public static final String RESOURCE = "benchResc";
+	public static final String REL_VERSION = "rods4.2.8";
+	public static final String API_VERSION = "d";
+
+	/**
+	 * API numbers for the standard authentication exchange
+	 */
+	public static final int AUTH_REQUEST_AN = 703;
+	public static final int AUTH_RESPONSE_AN = 704;
+
+	public static final String VERSION_PI = "Version_PI";
+
+	private static final String ENCODING = "UTF-8";
+	private static final int CHALLENGE_LENGTH = 64;
+
+	private static final Logger log = LoggerFactory.getLogger(FakeIrodsResponder.class);
+
+	private final ServerSocket serverSocket;
+	private final ExecutorService executor;
+	private final Map<Integer, byte[]> responses = new ConcurrentHashMap<Integer, byte[]>();
+	private final Map<Integer, Integer> errorResponses = new ConcurrentHashMap<Integer, Integer>();
+	private final byte[] versionResponse;
+	private volatile boolean running = false;
+
+	/**
+	 * Create a responder bound to an ephemeral port on the loopback interface.
+	 * Call {@link #start()} to begin accepting connections.
+	 *
+	 * @throws IOException
+	 *             if the server socket cannot be opened
+	 */
+	public FakeIrodsResponder() throws IOException {
+		serverSocket = new ServerSocket(0, 50, InetAddress.getLoopbackAddress());
+		executor = Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "fake-irods-responder");
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		versionResponse = serialize(new Tag(VERSION_PI, new Tag[] { new Tag("status", 0),
+				new Tag("relVersion", REL_VERSION), new Tag("apiVersion", API_VERSION), new Tag("reconnPort", 0),
+				new Tag("reconnAddr", ""), new Tag("cookie", 0) }));
+
+		byte[] challenge = new byte[CHALLENGE_LENGTH];
+		for (int i = 0; i < challenge.length; i++) {
+			challenge[i] = (byte) (i + 1);
+		}
+		setResponse(AUTH_REQUEST_AN, new Tag("authRequestOut_PI",
+				new Tag(StartupPack.CHALLENGE, Base64.getEncoder().encodeToString(challenge))));
+
+		setResponse(MiscSvrInfo.API_NBR,
+				new Tag(MiscSvrInfo.PI_TAG,
+						new Tag[] { new Tag(MiscSvrInfo.SERVER_TYPE_TAG, 1),
+								new Tag(MiscSvrInfo.SERVER_BOOT_TIME_TAG, (int) (System.currentTimeMillis() / 1000)),
+								new Tag(MiscSvrInfo.REL_VERSION_TAG, REL_VERSION),
+								new Tag(MiscSvrInfo.API_VERSION_TAG, API_VERSION),
+								new Tag(MiscSvrInfo.RODS_ZONE_TAG, ZONE) }));
+	}
+
+	/**
+	 * Begin accepting connections on a background thread
+	 */
+	public void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		executor.execute(this::acceptConnections);
+	}
+
+	/**
+	 * @return {@code int} with the port the responder is listening on
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Build an account that will connect and authenticate to this responder
+	 *
+	 * @return {@link IRODSAccount}
+	 * @throws JargonException
+	 *             for an invalid account
+	 */
+	public IRODSAccount buildIrodsAccount() throws JargonException {
+		return IRODSAccount.instance(serverSocket.getInetAddress().getHostAddress(), getPort(), USER, PASSWORD,
+				"/" + ZONE + "/home/" + USER, ZONE, RESOURCE);
+	}
+
+	/**
+	 * Register the message that will be returned for the given API number
+	 *
+	 * @param apiNumber
+	 *            {@code int} with the iRODS API number
+	 * @param response
+	 *            {@link Tag} with the response message, or {@code null} to send
+	 *            an empty reply
+	 */
+	public void setResponse(final int apiNumber, final Tag response) {
+		if (response == null) {
+			responses.remove(apiNumber);
+		} else {
+			responses.put(apiNumber, serialize(response));
+		}
+	}
+
+	/**
+	 * Register an iRODS error that will be returned for the given API number in
+	 * place of any canned response
+	 *
+	 * @param apiNumber
+	 *            {@code int} with the iRODS API number
+	 * @param errorCode
+	 *            {@code int} with the (negative) iRODS error code, or {@code 0} to
+	 *            clear the error
+	 */
+	public void setErrorResponse(final int apiNumber, final int errorCode) {
+		if (errorCode == 0) {
+			errorResponses.remove(apiNumber);
+		} else {
+			errorResponses.put(apiNumber, errorCode);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		running = false;
+		serverSocket.close();
+		executor.shutdownNow();
+	}
+
+	private void acceptConnections() {
+		while (running) {
+			try {
+				Socket socket = serverSocket.accept();
+				socket.setTcpNoDelay(true);
+				executor.execute(() -> serve(socket));
+			} catch (IOException e) {
+				if (running) {
+					log.error("error accepting connection", e);
+				}
+				return;
+			}
+		}
+	}
+
+	private void serve(final Socket socket) {
+		try (Socket s = socket;
+				DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+				DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()))) {
+
+			byte[] scratch = new byte[8192];
+
+			while (running) {
+				int headerLength;
+				try {
+					headerLength = in.readInt();
+				} catch (EOFException e) {
+					return;
+				}
+
+				byte[] headerBytes = new byte[headerLength];
+				in.readFully(headerBytes);
+				Tag header = Tag.readNextTag(headerBytes, ENCODING);
+
+				String type = header.getTag("type").getStringValue();
+				int intInfo = header.getTag("intInfo").getIntValue();
+				long toSkip = header.getTag("msgLen").getLongValue() + header.getTag("errorLen").getLongValue()
+						+ header.getTag("bsLen").getLongValue();
+
+				while (toSkip > 0) {
+					int len = (int) Math.min(scratch.length, toSkip);
+					in.readFully(scratch, 0, len);
+					toSkip -= len;
+				}
+
+				if (IRODSConstants.RODS_DISCONNECT.equals(type)) {
+					return;
+				} else if (IRODSConstants.RODS_CONNECT.equals(type)) {
+					reply(out, IRODSConstants.RODS_VERSION, versionResponse, 0);
+				} else if (errorResponses.containsKey(intInfo)) {
+					reply(out, IRODSConstants.RODS_API_REPLY, null, errorResponses.get(intInfo));
+				} else {
+					reply(out, IRODSConstants.RODS_API_REPLY, responses.get(intInfo), 0);
+				}
+			}
+
+		} catch (SocketException e) {
+			log.debug("connection closed", e);
+		} catch (IOException | JargonException e) {
+			log.error("error serving fake iRODS connection", e);
+		}
+	}
+
+	private void reply(final DataOutputStream out, final String type, final byte[] message, final int intInfo)
+			throws IOException, JargonException {
+		int messageLength = message == null ? 0 : message.length;
+		byte[] header = IRODSMidLevelProtocol.createHeaderBytesFromData(type, messageLength, 0, 0, intInfo,
+				ENCODING);
+		out.writeInt(header.length);
+		out.write(header);
+		if (messageLength > 0) {
+			out.write(message);
+		}
+		out.flush();
+	}
+
+	private static byte[] serialize(final Tag tag) {
+		try {
+			return TagWriter.serialize(tag, ENCODING);
+		} catch (IOException e) {
+			throw new IllegalStateException("unable to serialize response", e);
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+package org.irods.jargon.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.utils.Host;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Network byte order conversions used when framing every protocol message and
+ * parallel transfer block
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HostBenchmark {
+
+	private final byte[] intBytes = new byte[4];
+	private final byte[] longBytes = new byte[8];
+	private final byte[] frame = new byte[16];
+	private int intValue;
+	private long longValue;
+
+	@Setup
+	public void setUp() {
+		intValue = 0x12345678;
+		longValue = 0x123456789abcdefL;
+		Host.copyInt(intValue, frame, 4);
+	}
+
+	@Benchmark
+	public byte[] copyInt() {
+		Host.copyInt(intValue, intBytes);
+		return intBytes;
+	}
+
+	@Benchmark
+	public byte[] copyLong() {
+		Host.copyInt(longValue, longBytes);
+		return longBytes;
+	}
+
+	@Benchmark
+	public int castToInt() {
+		return Host.castToInt(intBytes);
+	}
+
+	@Benchmark
+	public int castToIntWithOffset() {
+		return Host.castToInt(frame, 4);
+	}
+
+}
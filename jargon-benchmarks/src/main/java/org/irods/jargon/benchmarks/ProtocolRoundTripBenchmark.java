@@ -0,0 +1,132 @@
+package org.irods.jargon.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.IRODSSimpleProtocolManager;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.DataObjInpForObjStat;
+import org.irods.jargon.core.packinstr.GenQueryInp;
+import org.irods.jargon.core.packinstr.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * End to end {@code IRODSMidLevelProtocol.irodsFunction()} round trips over a
+ * real loopback socket against a {@link FakeIrodsResponder}, covering request
+ * serialization, framing, socket I/O and response parsing without an iRODS
+ * server. Each benchmark thread has its own connection.
+ * <p>
+ * {@code objStatPipelined} sends {@link #PIPELINED_BATCH} requests through
+ * {@code irodsFunctionAsync()} before reading the replies, and reports the time
+ * per request so it can be compared directly with {@code objStat}.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProtocolRoundTripBenchmark {
+
+	/**
+	 * Number of requests sent before the replies are read in
+	 * {@code objStatPipelined}
+	 */
+	public static final int PIPELINED_BATCH = 16;
+
+	/**
+	 * Number of rows in the canned {@code GenQueryOut} response
+	 */
+	@Param({ "10", "500" })
+	public int rows;
+
+	private FakeIrodsResponder responder;
+	private IRODSSession irodsSession;
+	private IRODSAccount irodsAccount;
+	private IRODSMidLevelProtocol protocol;
+	private DataObjInpForObjStat objStatInp;
+	private GenQueryInp genQueryInp;
+	private final List<Future<Tag>> pipelinedReplies = new ArrayList<Future<Tag>>(PIPELINED_BATCH);
+
+	@Setup
+	public void setUp() throws Exception {
+		responder = new FakeIrodsResponder();
+		responder.setResponse(DataObjInpForObjStat.OBJ_STAT_API_NBR, buildObjStatResponse());
+		responder.setResponse(GenQueryInp.API_NBR, BenchmarkData.buildGenQueryOut(rows));
+		responder.start();
+
+		irodsSession = IRODSSession.instance(IRODSSimpleProtocolManager.instance());
+		irodsAccount = responder.buildIrodsAccount();
+		protocol = irodsSession.currentConnection(irodsAccount);
+
+		objStatInp = DataObjInpForObjStat
+				.instance(irodsAccount.getHomeDirectory() + "/data & results/file_1_<raw>.dat");
+		genQueryInp = BenchmarkData.buildListingGenQueryInp();
+	}
+
+	@TearDown
+	public void tearDown() throws Exception {
+		try {
+			irodsSession.closeSession();
+		} finally {
+			responder.close();
+		}
+	}
+
+	@Benchmark
+	public Tag objStat() throws JargonException {
+		return protocol.irodsFunction(objStatInp);
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(PIPELINED_BATCH)
+	public void objStatPipelined(final Blackhole blackhole) throws Exception {
+		pipelinedReplies.clear();
+		for (int i = 0; i < PIPELINED_BATCH; i++) {
+			pipelinedReplies.add(protocol.irodsFunctionAsync(objStatInp));
+		}
+		for (Future<Tag> reply : pipelinedReplies) {
+			blackhole.consume(reply.get());
+		}
+	}
+
+	@Benchmark
+	public Tag genQuery() throws JargonException {
+		return protocol.irodsFunction(genQueryInp);
+	}
+
+	private static Tag buildObjStatResponse() {
+		return new Tag("RodsObjStat_PI",
+				new Tag[] { new Tag("objSize", 1048576L), new Tag("objType", 1), new Tag("dataMode", 0),
+						new Tag("dataId", "10101"), new Tag("chksum", ""),
+						new Tag("ownerName", FakeIrodsResponder.USER), new Tag("ownerZone", FakeIrodsResponder.ZONE),
+						new Tag("createTime", "01600000000"), new Tag("modifyTime", "01600000000"),
+						new Tag("SpecColl_PI",
+								new Tag[] { new Tag("collClass", 0), new Tag("type", 0), new Tag("collection", ""),
+										new Tag("objPath", ""), new Tag("resource", ""), new Tag("rescHier", ""),
+										new Tag("phyPath", ""), new Tag("cacheDir", ""), new Tag("cacheDirty", 0),
+										new Tag("replNum", 0) }) });
+	}
+
+}
@@ -0,0 +1,53 @@
+package org.irods.jargon.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.Tag;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.QueryResultProcessingUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Translation of a parsed {@code GenQueryOut} response into result rows
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueryResultProcessingBenchmark {
+
+	@Param({ "10", "500", "5000" })
+	public int rows;
+
+	private Tag response;
+	private List<String> columnNames;
+
+	@Setup
+	public void setUp() {
+		response = BenchmarkData.buildGenQueryOut(rows);
+		columnNames = BenchmarkData.listingColumnNames();
+	}
+
+	@Benchmark
+	public List<IRODSQueryResultRow> translateResponseIntoResultSet() throws JargonException {
+		return QueryResultProcessingUtils.translateResponseIntoResultSet(response, columnNames, 0, 0);
+	}
+
+}
@@ -0,0 +1,71 @@
+package org.irods.jargon.benchmarks;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.packinstr.StreamingTagParser;
+import org.irods.jargon.core.packinstr.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of protocol responses, comparing the original {@code String} based
+ * {@link Tag#readNextTag(byte[], String)} with {@link StreamingTagParser}, for a
+ * small header and {@code GenQueryOut} pages of varying size
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TagParsingBenchmark {
+
+	private static final String ENCODING = "UTF-8";
+
+	@Param({ "10", "500", "5000" })
+	public int rows;
+
+	private byte[] header;
+	private byte[] genQueryOut;
+
+	@Setup
+	public void setUp() throws UnsupportedEncodingException {
+		header = "<MsgHeader_PI>\n<type>RODS_API_REPLY</type>\n<msgLen>1024</msgLen>\n<errorLen>0</errorLen>\n<bsLen>0</bsLen>\n<intInfo>0</intInfo>\n</MsgHeader_PI>\n"
+				.getBytes(ENCODING);
+		genQueryOut = BenchmarkData.buildGenQueryOut(rows).parseTag().getBytes(ENCODING);
+	}
+
+	@Benchmark
+	public Tag headerOriginal() throws UnsupportedEncodingException {
+		return Tag.readNextTag(header, ENCODING);
+	}
+
+	@Benchmark
+	public Tag headerStreaming() throws UnsupportedEncodingException {
+		return StreamingTagParser.readNextTag(header, ENCODING);
+	}
+
+	@Benchmark
+	public Tag genQueryOutOriginal() throws UnsupportedEncodingException {
+		return Tag.readNextTag(genQueryOut, ENCODING);
+	}
+
+	@Benchmark
+	public Tag genQueryOutStreaming() throws UnsupportedEncodingException {
+		return StreamingTagParser.readNextTag(genQueryOut, ENCODING);
+	}
+
+}
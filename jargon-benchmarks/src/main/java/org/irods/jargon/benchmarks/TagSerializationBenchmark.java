@@ -0,0 +1,80 @@
+package org.irods.jargon.benchmarks;
+
+import java.io.UnsupportedEncodingException;
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.DataObjInp;
+import org.irods.jargon.core.packinstr.IRodsPI;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp;
+import org.irods.jargon.core.packinstr.TagWriter;
+import org.irods.jargon.core.pub.domain.AvuData;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialization of outgoing packing instructions to bytes, comparing the
+ * original {@code getParsedTags().getBytes()} path built on
+ * {@code Tag.parseTag()} with writing into a re-used {@link TagWriter}, for the
+ * packing instructions sent most often by small, high rate operations
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TagSerializationBenchmark {
+
+	private static final String ENCODING = "UTF-8";
+
+	@Param({ "DataObjInp", "ModAvuMetadataInp", "GenQueryInp" })
+	public String packingInstruction;
+
+	private IRodsPI irodsPI;
+	private TagWriter tagWriter;
+
+	@Setup
+	public void setUp() throws Exception {
+		String path = "/" + FakeIrodsResponder.ZONE + "/home/" + FakeIrodsResponder.USER + "/data & results/file.dat";
+		switch (packingInstruction) {
+		case "DataObjInp":
+			irodsPI = DataObjInp.instanceForDeleteWithForce(path);
+			break;
+		case "ModAvuMetadataInp":
+			irodsPI = ModAvuMetadataInp.instanceForAddDataObjectMetadata(path,
+					AvuData.instance("experiment", "run <42> \"final\"", "units"));
+			break;
+		case "GenQueryInp":
+			irodsPI = BenchmarkData.buildListingGenQueryInp();
+			break;
+		default:
+			throw new IllegalArgumentException("unknown packing instruction:" + packingInstruction);
+		}
+		tagWriter = new TagWriter(ENCODING);
+	}
+
+	@Benchmark
+	public byte[] parseTag() throws JargonException, UnsupportedEncodingException {
+		return irodsPI.getParsedTags().getBytes(ENCODING);
+	}
+
+	@Benchmark
+	public int tagWriter() throws JargonException {
+		tagWriter.reset();
+		return irodsPI.writeParsedTags(tagWriter);
+	}
+
+}
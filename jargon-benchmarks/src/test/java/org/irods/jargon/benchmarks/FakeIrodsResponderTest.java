@@ -0,0 +1,187 @@
+package org.irods.jargon.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.IRODSSimpleProtocolManager;
+import org.irods.jargon.core.exception.DuplicateDataException;
+import org.irods.jargon.core.packinstr.DataObjInpForObjStat;
+import org.irods.jargon.core.packinstr.GenQueryInp;
+import org.irods.jargon.core.packinstr.GenQueryOut;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp;
+import org.irods.jargon.core.packinstr.Tag;
+import org.irods.jargon.core.protovalues.ErrorEnum;
+import org.irods.jargon.core.pub.domain.AvuData;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FakeIrodsResponderTest {
+
+	private FakeIrodsResponder responder;
+	private IRODSSession irodsSession;
+
+	@Before
+	public void setUp() throws Exception {
+		responder = new FakeIrodsResponder();
+		responder.start();
+		irodsSession = IRODSSession.instance(IRODSSimpleProtocolManager.instance());
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		irodsSession.closeSession();
+		responder.close();
+	}
+
+	@Test
+	public void testConnectAndAuthenticate() throws Exception {
+		IRODSAccount irodsAccount = responder.buildIrodsAccount();
+		IRODSMidLevelProtocol protocol = irodsSession.currentConnection(irodsAccount);
+		Assert.assertTrue("not connected", protocol.isConnected());
+		Assert.assertEquals(FakeIrodsResponder.ZONE, protocol.getIRODSServerProperties().getRodsZone());
+	}
+
+	@Test
+	public void testIrodsFunctionReturnsCannedResponse() throws Exception {
+		responder.setResponse(GenQueryInp.API_NBR, BenchmarkData.buildGenQueryOut(3));
+		IRODSMidLevelProtocol protocol = irodsSession.currentConnection(responder.buildIrodsAccount());
+
+		Tag response = protocol.irodsFunction(BenchmarkData.buildListingGenQueryInp());
+		Assert.assertNotNull("no response", response);
+		Assert.assertEquals(3, response.getTag(GenQueryOut.ROW_CNT).getIntValue());
+
+		// repeated calls on the same connection stay in sync
+		response = protocol.irodsFunction(BenchmarkData.buildListingGenQueryInp());
+		Assert.assertEquals(BenchmarkData.LISTING_COLUMNS.length,
+				response.getTag(GenQueryOut.ATTRIB_CNT).getIntValue());
+	}
+
+	@Test
+	public void testIrodsFunctionAsyncRepliesInOrder() throws Exception {
+		responder.setResponse(GenQueryInp.API_NBR, BenchmarkData.buildGenQueryOut(2));
+		responder.setResponse(DataObjInpForObjStat.OBJ_STAT_API_NBR, new Tag("RodsObjStat_PI", new Tag("objSize", 5L)));
+		IRODSMidLevelProtocol protocol = irodsSession.currentConnection(responder.buildIrodsAccount());
+
+		List<Future<Tag>> replies = new ArrayList<Future<Tag>>();
+		for (int i = 0; i < 40; i++) {
+			if (i % 2 == 0) {
+				replies.add(protocol.irodsFunctionAsync(BenchmarkData.buildListingGenQueryInp()));
+			} else {
+				replies.add(protocol.irodsFunctionAsync(DataObjInpForObjStat.instance("/benchZone/home/bench/f" + i)));
+			}
+			Assert.assertTrue("too many outstanding requests",
+					protocol.getPipelinedRequestCount() <= protocol.getPipelineConfiguration().getMaxPipelinedRequests());
+		}
+
+		// waiting on the last reply reads all of the earlier ones
+		Assert.assertEquals(5L, replies.get(39).get().getTag("objSize").getLongValue());
+		Assert.assertEquals(0, protocol.getPipelinedRequestCount());
+
+		for (int i = 0; i < replies.size(); i++) {
+			Assert.assertTrue(replies.get(i).isDone());
+			if (i % 2 == 0) {
+				Assert.assertEquals(2, replies.get(i).get().getTag(GenQueryOut.ROW_CNT).getIntValue());
+			}
+		}
+
+		// a synchronous call after pipelined requests stays in sync
+		protocol.irodsFunctionAsync(DataObjInpForObjStat.instance("/benchZone/home/bench/g"));
+		Tag response = protocol.irodsFunction(BenchmarkData.buildListingGenQueryInp());
+		Assert.assertEquals(2, response.getTag(GenQueryOut.ROW_CNT).getIntValue());
+	}
+
+	@Test
+	public void testIrodsFunctionAsyncErrorOnlyFailsItsRequest() throws Exception {
+		responder.setResponse(DataObjInpForObjStat.OBJ_STAT_API_NBR, new Tag("RodsObjStat_PI", new Tag("objSize", 5L)));
+		responder.setErrorResponse(ModAvuMetadataInp.MOD_AVU_API_NBR,
+				ErrorEnum.CATALOG_ALREADY_HAS_ITEM_BY_THAT_NAME.getInt());
+		IRODSMidLevelProtocol protocol = irodsSession.currentConnection(responder.buildIrodsAccount());
+
+		Future<Tag> before = protocol.irodsFunctionAsync(DataObjInpForObjStat.instance("/benchZone/a"));
+		Future<Tag> failed = protocol.irodsFunctionAsync(ModAvuMetadataInp
+				.instanceForAddCollectionMetadata("/benchZone/a", AvuData.instance("a", "v", "u")));
+		Future<Tag> after = protocol.irodsFunctionAsync(DataObjInpForObjStat.instance("/benchZone/b"));
+		protocol.drainPipeline();
+
+		Assert.assertEquals(5L, before.get().getTag("objSize").getLongValue());
+		Assert.assertEquals(5L, after.get().getTag("objSize").getLongValue());
+		try {
+			failed.get();
+			Assert.fail("expected failure");
+		} catch (ExecutionException e) {
+			Assert.assertTrue(e.getCause() instanceof DuplicateDataException);
+		}
+		Assert.assertTrue(protocol.isConnected());
+	}
+
+	@Test
+	public void testIrodsFunctionAsyncRepliesCompose() throws Exception {
+		responder.setResponse(DataObjInpForObjStat.OBJ_STAT_API_NBR, new Tag("RodsObjStat_PI", new Tag("objSize", 5L)));
+		IRODSMidLevelProtocol protocol = irodsSession.currentConnection(responder.buildIrodsAccount());
+
+		final List<CompletableFuture<Tag>> stages = new ArrayList<CompletableFuture<Tag>>();
+		for (int i = 0; i < 20; i++) {
+			final Future<Tag> reply = protocol.irodsFunctionAsync(DataObjInpForObjStat.instance("/benchZone/c" + i));
+			stages.add(CompletableFuture.supplyAsync(new Supplier<Tag>() {
+				@Override
+				public Tag get() {
+					try {
+						return reply.get();
+					} catch (Exception e) {
+						throw new CompletionException(e);
+					}
+				}
+			}));
+		}
+
+		CompletableFuture<Long> totalSize = CompletableFuture
+				.allOf(stages.toArray(new CompletableFuture<?>[stages.size()]))
+				.thenApply(new Function<Void, Long>() {
+					@Override
+					public Long apply(final Void ignored) {
+						long total = 0;
+						for (CompletableFuture<Tag> stage : stages) {
+							total += stage.join().getTag("objSize").getLongValue();
+						}
+						return total;
+					}
+				});
+
+		Assert.assertEquals(Long.valueOf(100L), totalSize.get(30, TimeUnit.SECONDS));
+		Assert.assertEquals(0, protocol.getPipelinedRequestCount());
+	}
+
+	@Test
+	public void testIrodsFunctionAsyncGetHonorsTimeout() throws Exception {
+		responder.setResponse(DataObjInpForObjStat.OBJ_STAT_API_NBR, new Tag("RodsObjStat_PI", new Tag("objSize", 5L)));
+		IRODSMidLevelProtocol protocol = irodsSession.currentConnection(responder.buildIrodsAccount());
+
+		Future<Tag> first = protocol.irodsFunctionAsync(DataObjInpForObjStat.instance("/benchZone/d"));
+		Future<Tag> second = protocol.irodsFunctionAsync(DataObjInpForObjStat.instance("/benchZone/e"));
+		try {
+			second.get(0, TimeUnit.NANOSECONDS);
+			Assert.fail("expected timeout");
+		} catch (TimeoutException e) {
+			// expected, no reply has been read
+		}
+		Assert.assertFalse(first.isDone());
+		Assert.assertEquals(2, protocol.getPipelinedRequestCount());
+
+		Assert.assertEquals(5L, second.get(30, TimeUnit.SECONDS).getTag("objSize").getLongValue());
+		Assert.assertTrue(first.isDone());
+	}
+
+}
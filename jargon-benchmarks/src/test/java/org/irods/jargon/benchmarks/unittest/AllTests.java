@@ -0,0 +1,12 @@
+package org.irods.jargon.benchmarks.unittest;
+
+import org.irods.jargon.benchmarks.FakeIrodsResponderTest;
+import org.junit.runner.RunWith;
+import org.junit.runners.Suite;
+import org.junit.runners.Suite.SuiteClasses;
+
+@RunWith(Suite.class)
+@SuiteClasses({ FakeIrodsResponderTest.class })
+public class AllTests {
+
+}
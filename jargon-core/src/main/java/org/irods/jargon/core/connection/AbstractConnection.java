@@ -3,14 +3,18 @@ package org.irods.jargon.core.connection;
 import static org.irods.jargon.core.connection.ConnectionConstants.INT_LENGTH;
 
 import java.io.BufferedOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.net.Socket;
+import java.nio.ByteBuffer;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
 
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.metrics.MetricsRegistry;
 import org.irods.jargon.core.utils.Host;
 import org.irods.jargon.core.utils.LocalFileUtils;
 import org.slf4j.Logger;
@@ -42,6 +46,11 @@ public abstract class AbstractConnection {
 	protected IRODSSession irodsSession = null;
 	protected final IRODSAccount irodsAccount;
 	protected final PipelineConfiguration pipelineConfiguration;
+	/**
+	 * Receives the bytes sent and read, {@code null} unless instrumentation is
+	 * on when the connection is created
+	 */
+	protected final MetricsRegistry metricsRegistry;
 	private final long connectTimeInMillis = System.currentTimeMillis();
 
 	public enum EncryptionType {
@@ -138,6 +147,7 @@ public abstract class AbstractConnection {
 		this.irodsProtocolManager = irodsProtocolManager;
 		connection = socket;
 		this.irodsSession = irodsSession;
+		metricsRegistry = irodsSession.getMetricsRegistry();
 		connected = true;
 		connection = socket;
 		operativeClientServerNegotiationPolicy = null; // I don't need this
@@ -181,6 +191,7 @@ public abstract class AbstractConnection {
 		this.pipelineConfiguration = pipelineConfiguration;
 		this.irodsProtocolManager = irodsProtocolManager;
 		this.irodsSession = irodsSession;
+		metricsRegistry = irodsSession == null ? null : irodsSession.getMetricsRegistry();
 
 		if (irodsAccount.getClientServerNegotiationPolicy() != null) {
 			log.debug("using override negotiation policy from IRODSAccount:{}",
@@ -282,31 +293,35 @@ public abstract class AbstractConnection {
 	 */
 	public void send(final byte[] value) throws IOException {
 
-		try {
-			// packing instructions may be null, in which case nothing is sent
-			if (value == null) {
-				log.debug("no value, so do not do the send, this may be ok depending on the operation");
-				return;
-			}
+		// packing instructions may be null, in which case nothing is sent
+		if (value == null) {
+			log.debug("no value, so do not do the send, this may be ok depending on the operation");
+			return;
+		}
 
-			if (value.length == 0) {
-				// nothing to send, warn and ignore
-				return;
-			}
+		if (value.length == 0) {
+			// nothing to send, warn and ignore
+			return;
+		}
 
-			if (pipelineConfiguration.getInternalCacheBufferSize() <= 0) {
-				irodsOutputStream.write(value);
-			} else if ((value.length + outputOffset) >= pipelineConfiguration.getInternalCacheBufferSize()) {
-				// in cases where OUTPUT_BUFFER_LENGTH isn't big enough
-				irodsOutputStream.write(outputBuffer, 0, outputOffset);
-				irodsOutputStream.write(value);
-				outputOffset = 0;
-			} else {
+		sendBytes(value, 0, value.length);
+	}
 
-				// the message sent isn't longer than OUTPUT_BUFFER_LENGTH
-				System.arraycopy(value, 0, outputBuffer, outputOffset, value.length);
-				outputOffset += value.length;
+	/**
+	 * Write the given region of the array into the output buffer, or directly to
+	 * the output stream if it will not fit, without making an intermediate copy
+	 *
+	 * @param value  value to be sent
+	 * @param offset offset into array
+	 * @param length number of bytes to send
+	 * @throws IOException if an IOException occurs
+	 */
+	private void sendBytes(final byte[] value, final int offset, final int length) throws IOException {
+		try {
+			writeBytes(value, offset, length);
 
+			if (metricsRegistry != null) {
+				metricsRegistry.incrementCounter(MetricsRegistry.BYTES_SENT, length);
 			}
 		} catch (IOException ioe) {
 			getIrodsSession().discardSessionForErrors(getIrodsAccount());
@@ -315,10 +330,37 @@ public abstract class AbstractConnection {
 		}
 	}
 
+	/**
+	 * Write the given region of the array to the connection, through the
+	 * internal output buffer if one is configured. A subclass that does its own
+	 * buffering overrides this along with {@link #flushBytes()}.
+	 *
+	 * @param value  value to be sent
+	 * @param offset offset into array
+	 * @param length number of bytes to send
+	 * @throws IOException if an IOException occurs
+	 */
+	protected void writeBytes(final byte[] value, final int offset, final int length) throws IOException {
+		if (pipelineConfiguration.getInternalCacheBufferSize() <= 0) {
+			irodsOutputStream.write(value, offset, length);
+		} else if ((length + outputOffset) >= pipelineConfiguration.getInternalCacheBufferSize()) {
+			// in cases where OUTPUT_BUFFER_LENGTH isn't big enough
+			irodsOutputStream.write(outputBuffer, 0, outputOffset);
+			irodsOutputStream.write(value, offset, length);
+			outputOffset = 0;
+		} else {
+
+			// the message sent isn't longer than OUTPUT_BUFFER_LENGTH
+			System.arraycopy(value, offset, outputBuffer, outputOffset, length);
+			outputOffset += length;
+
+		}
+	}
+
 	/**
 	 * Writes a certain length of bytes at some offset in the value array to the
-	 * output stream, by converting the value to a byte array and calling send(
-	 * byte[] value ).
+	 * output stream. The region is copied straight into the output buffer, no
+	 * intermediate array is created.
 	 *
 	 * @param value  value to be sent
 	 * @param offset offset into array
@@ -351,11 +393,13 @@ public abstract class AbstractConnection {
 			throw new IllegalArgumentException(err);
 		}
 
-		byte temp[] = new byte[length];
-
-		System.arraycopy(value, offset, temp, 0, length);
+		if (offset + length > value.length) {
+			String err = "trying to send past the end of the byte buffer";
+			log.error(err);
+			throw new IllegalArgumentException(err);
+		}
 
-		send(temp);
+		sendBytes(value, offset, length);
 	}
 
 	/**
@@ -488,6 +532,16 @@ public abstract class AbstractConnection {
 			throw new ClosedChannelException();
 		}
 
+		flushBytes();
+	}
+
+	/**
+	 * Write out anything buffered by {@link #writeBytes(byte[], int, int)} and
+	 * flush the output stream
+	 *
+	 * @throws IOException If an IOException occurs
+	 */
+	protected void flushBytes() throws IOException {
 		if (pipelineConfiguration.getInternalCacheBufferSize() > 0) {
 			irodsOutputStream.write(outputBuffer, 0, outputOffset);
 			irodsOutputStream.flush();
@@ -508,6 +562,9 @@ public abstract class AbstractConnection {
 	 * @throws IOException If an IOException occurs
 	 */
 	protected byte read() throws IOException {
+		if (metricsRegistry != null) {
+			metricsRegistry.incrementCounter(MetricsRegistry.BYTES_RECEIVED, 1);
+		}
 		return (byte) irodsInputStream.read();
 
 	}
@@ -608,6 +665,60 @@ public abstract class AbstractConnection {
 		}
 	}
 
+	/**
+	 * Read from the iRODS connection for a given length, and write what is read to
+	 * the current position of the given {@code FileChannel}, which is advanced.
+	 * This copies through a buffer, a subclass that can hand the socket data
+	 * straight to the file overrides it and
+	 * {@link #isDirectFileTransferSupported()}.
+	 *
+	 * @param destination             {@link FileChannel} to which data will be
+	 *                                written
+	 * @param length                  {@code long} with the length of data to be
+	 *                                read from iRODS
+	 * @param intraFileStatusListener {@link ConnectionProgressStatusListener} that
+	 *                                will receive progress on the streaming, or
+	 *                                {@code null} for no such call-backs.
+	 * @throws IOException on read error
+	 */
+	public void read(final FileChannel destination, long length,
+			final ConnectionProgressStatusListener intraFileStatusListener) throws IOException {
+
+		if (destination == null) {
+			String err = "destination is null";
+			log.error(err);
+			throw new IllegalArgumentException(err);
+		}
+
+		byte[] temp = new byte[(int) Math.min(pipelineConfiguration.getInputToOutputCopyBufferByteSize(), length)];
+		while (length > 0) {
+			int n = read(temp, 0, (int) Math.min(temp.length, length));
+			if (n <= 0) {
+				throw new EOFException("connection closed with " + length + " bytes left to read");
+			}
+
+			ByteBuffer written = ByteBuffer.wrap(temp, 0, n);
+			while (written.hasRemaining()) {
+				destination.write(written);
+			}
+			length -= n;
+
+			if (intraFileStatusListener != null) {
+				intraFileStatusListener.connectionProgressStatusCallback(ConnectionProgressStatus.instanceForSend(n));
+			}
+		}
+	}
+
+	/**
+	 * @return {@code boolean} that is {@code true} if
+	 *         {@link #read(FileChannel, long, ConnectionProgressStatusListener)}
+	 *         moves data from the socket to the file without copying it through
+	 *         a Java buffer
+	 */
+	protected boolean isDirectFileTransferSupported() {
+		return false;
+	}
+
 	/**
 	 * Reads a byte array from the server. Blocks until {@code length} number of
 	 * bytes are read.
@@ -665,6 +776,9 @@ public abstract class AbstractConnection {
 			}
 			result = bytesRead;
 
+			if (metricsRegistry != null) {
+				metricsRegistry.incrementCounter(MetricsRegistry.BYTES_RECEIVED, bytesRead);
+			}
 			return result;
 		} catch (ClosedChannelException e) {
 			log.error("exception reading from socket", e);
@@ -680,6 +794,14 @@ public abstract class AbstractConnection {
 		}
 	}
 
+	/**
+	 * @return the {@link MetricsRegistry} that receives measurements for this
+	 *         connection, or {@code null} if it is not instrumented
+	 */
+	public MetricsRegistry getMetricsRegistry() {
+		return metricsRegistry;
+	}
+
 	/**
 	 * @return the irodsSession that created this connection
 	 */
@@ -5,6 +5,7 @@ package org.irods.jargon.core.connection;
 
 import org.irods.jargon.core.exception.AuthenticationException;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -83,8 +84,13 @@ abstract class AbstractIRODSMidLevelProtocolFactory {
 		log.debug("instance() method...calling connection life cycle");
 
 		log.debug("create connection....");
+		long startNanos = System.nanoTime();
 		AbstractConnection connection = irodsConnectionFactory.instance(irodsAccount, irodsSession,
 				irodsProtocolManager);
+		MetricsRegistry metricsRegistry = connection.getMetricsRegistry();
+		if (metricsRegistry != null) {
+			metricsRegistry.recordLatency(MetricsRegistry.CONNECT_LATENCY, System.nanoTime() - startNanos);
+		}
 
 		IRODSMidLevelProtocol protocol = createInitialProtocol(connection, irodsProtocolManager);
 		try {
@@ -92,7 +98,11 @@ abstract class AbstractIRODSMidLevelProtocolFactory {
 			protocol.setIrodsSession(irodsSession);
 
 			log.debug("...have connection, now authenticate given the auth scheme in the iRODS account...");
+			startNanos = System.nanoTime();
 			protocol = authenticate(protocol, irodsAccount, irodsSession, irodsProtocolManager);
+			if (metricsRegistry != null) {
+				metricsRegistry.recordLatency(MetricsRegistry.AUTHENTICATE_LATENCY, System.nanoTime() - startNanos);
+			}
 			log.debug("..authenticated...now decorate and return...");
 			return decorate(protocol, irodsAccount, irodsSession);
 		} catch (AuthenticationException e) {
@@ -232,7 +232,7 @@ class ClientServerNegotiationService {
 			getIrodsMidLevelProtocol().sendHeader(myProps.getEncryptionAlgorithmEnum().getTextValue(),
 					myProps.getEncryptionKeySize(), myProps.getEncryptionSaltSize(),
 					myProps.getEncryptionNumberHashRounds(), 0);
-			getIrodsMidLevelProtocol().getIrodsConnection().flush();
+			// no flush here, the header and the shared secret go out in one write
 			log.debug("now write the shared secret to iRODS");
 			getIrodsMidLevelProtocol().irodsFunctionUnidirectional(NEGOTIATION_SHARED_SECRET,
 					startupResponse.getNegotiatedClientServerConfiguration().getSecretKey().getEncoded(), null, 0, 0,
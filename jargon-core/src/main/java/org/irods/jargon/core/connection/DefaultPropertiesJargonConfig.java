@@ -608,4 +608,134 @@ public class DefaultPropertiesJargonConfig implements JargonProperties {
 		return verifyPropExistsAndGetAsBoolean("rule.engine.set.destination.when.auto");
 
 	}
+
+	@Override
+	public boolean isUseStreamingTagParser() {
+		return verifyPropExistsAndGetAsBoolean("jargon.io.streaming.tag.parser");
+	}
+
+	@Override
+	public int getMaxPipelinedRequests() {
+		return verifyPropExistsAndGetAsInt("jargon.io.max.pipelined.requests");
+	}
+
+	@Override
+	public long getTransferBufferPoolMaxBytes() {
+		return verifyPropExistsAndGetAsLong("jargon.transfer.buffer.pool.max.bytes");
+	}
+
+	@Override
+	public boolean isUseFileChannelForParallelTransfers() {
+		return verifyPropExistsAndGetAsBoolean("jargon.parallel.use.file.channel");
+	}
+
+	@Override
+	public int getRecursiveTransferThreads() {
+		return verifyPropExistsAndGetAsInt("jargon.recursive.transfer.threads");
+	}
+
+	@Override
+	public boolean isSmallFileAggregation() {
+		return verifyPropExistsAndGetAsBoolean("jargon.put.small.file.aggregation");
+	}
+
+	@Override
+	public long getSmallFileAggregationMaxFileSize() {
+		return verifyPropExistsAndGetAsLong("jargon.put.small.file.aggregation.max.file.size");
+	}
+
+	@Override
+	public long getSmallFileAggregationMaxBundleSize() {
+		return verifyPropExistsAndGetAsLong("jargon.put.small.file.aggregation.max.bundle.size");
+	}
+
+	@Override
+	public int getSmallFileAggregationMaxBundleFiles() {
+		return verifyPropExistsAndGetAsInt("jargon.put.small.file.aggregation.max.bundle.files");
+	}
+
+	@Override
+	public int getSmallFileAggregationMinFiles() {
+		return verifyPropExistsAndGetAsInt("jargon.put.small.file.aggregation.min.files");
+	}
+
+	@Override
+	public int getReadAheadMaxBlocks() {
+		return verifyPropExistsAndGetAsInt("jargon.io.read.ahead.max.blocks");
+	}
+
+	@Override
+	public int getWriteBehindBuffers() {
+		return verifyPropExistsAndGetAsInt("jargon.io.write.behind.buffers");
+	}
+
+	@Override
+	public boolean isUseVirtualThreads() {
+		return verifyPropExistsAndGetAsBoolean("jargon.use.virtual.threads");
+	}
+
+	@Override
+	public boolean isUseSharedConnectionRegistry() {
+		return verifyPropExistsAndGetAsBoolean("jargon.use.shared.connection.registry");
+	}
+
+	@Override
+	public int getSharedConnectionMaxPerAccount() {
+		return verifyPropExistsAndGetAsInt("jargon.shared.connection.max.per.account");
+	}
+
+	@Override
+	public int getSharedConnectionIdleTimeoutSeconds() {
+		return verifyPropExistsAndGetAsInt("jargon.shared.connection.idle.timeout.seconds");
+	}
+
+	@Override
+	public int getSharedConnectionCheckoutWaitMillis() {
+		return verifyPropExistsAndGetAsInt("jargon.shared.connection.checkout.wait.millis");
+	}
+
+	@Override
+	public boolean isAdaptiveParallelStreams() {
+		return verifyPropExistsAndGetAsBoolean("jargon.adaptive.parallel.streams");
+	}
+
+	@Override
+	public int getTransferSchedulerMaxStreams() {
+		return verifyPropExistsAndGetAsInt("jargon.transfer.scheduler.max.streams");
+	}
+
+	@Override
+	public int getTransferSchedulerMaxStreamsPerHost() {
+		return verifyPropExistsAndGetAsInt("jargon.transfer.scheduler.max.streams.per.host");
+	}
+
+	@Override
+	public int getDiscoveredServerPropertiesCacheTimeToLiveInSeconds() {
+		return verifyPropExistsAndGetAsInt("discovered.server.properties.cache.ttl.seconds");
+	}
+
+	@Override
+	public String getDiscoveredServerPropertiesCacheFile() {
+		return verifyPropExistsAndGetAsString("discovered.server.properties.cache.file");
+	}
+
+	@Override
+	public int getSslSessionCacheTimeoutInSeconds() {
+		return verifyPropExistsAndGetAsInt("ssl.session.cache.timeout.seconds");
+	}
+
+	@Override
+	public int getGenQueryPlanCacheSize() {
+		return verifyPropExistsAndGetAsInt("gen.query.plan.cache.size");
+	}
+
+	@Override
+	public int getObjStatCacheSize() {
+		return verifyPropExistsAndGetAsInt("obj.stat.cache.size");
+	}
+
+	@Override
+	public int getObjStatCacheTimeToLiveMillis() {
+		return verifyPropExistsAndGetAsInt("obj.stat.cache.ttl.millis");
+	}
 }
@@ -3,13 +3,28 @@
  */
 package org.irods.jargon.core.connection;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
+import org.irods.jargon.core.connection.IRODSServerProperties.IcatEnabled;
 import org.irods.jargon.core.pub.domain.ClientHints;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
 /**
  * Somewhat experimental cache of discovered properties, these are aspects of
  * iRODS servers (such as, whether specific query support is available), that
@@ -30,18 +45,41 @@ import org.slf4j.LoggerFactory;
  * This class also includes other cacheable data, such as the
  * {@code IRODSServerProperties} that is otherwise repeatedly obtained from
  * iRODS on connection
+ * <p>
+ * Each entry may be given a time to live when it is cached, after which it is
+ * treated as not cached, so that it is discovered again from iRODS. The cache
+ * may also keep a snapshot of its unexpired entries in a file, which is read
+ * when the cache is created and written whenever an entry is added or
+ * deleted, so that short lived processes can skip discovery that an earlier
+ * run already made. While a snapshot file is used, a background thread drops
+ * expired entries and picks up entries that other processes wrote to the
+ * file. Failing to read or write the snapshot is logged and otherwise
+ * ignored, as the worst case is asking iRODS again.
  *
  * @author Mike Conway - DICE (www.irods.org)
  *
  */
 public class DiscoveredServerPropertiesCache {
 
-	private ConcurrentHashMap<String, ConcurrentHashMap<String, String>> discoveredServerPropertiesCache = new ConcurrentHashMap<String, ConcurrentHashMap<String, String>>(
+	private ConcurrentHashMap<String, ConcurrentHashMap<String, CachedEntry<String>>> discoveredServerPropertiesCache = new ConcurrentHashMap<String, ConcurrentHashMap<String, CachedEntry<String>>>(
 			8, 0.9f, 1);
-	private ConcurrentHashMap<String, IRODSServerProperties> cacheOfIRODSServerProperties = new ConcurrentHashMap<String, IRODSServerProperties>(
+	private ConcurrentHashMap<String, CachedEntry<IRODSServerProperties>> cacheOfIRODSServerProperties = new ConcurrentHashMap<String, CachedEntry<IRODSServerProperties>>(
 			8, 0.9f, 1);
-	private ConcurrentHashMap<String, ClientHints> cacheOfClientHints = new ConcurrentHashMap<String, ClientHints>(8,
-			0.9f, 1);
+	private ConcurrentHashMap<String, CachedEntry<ClientHints>> cacheOfClientHints = new ConcurrentHashMap<String, CachedEntry<ClientHints>>(
+			8, 0.9f, 1);
+
+	private final long timeToLiveMillis;
+	private final File snapshotFile;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final Object snapshotLock = new Object();
+	private long snapshotLastModified = 0L;
+	private ScheduledExecutorService refreshService = null;
+
+	/**
+	 * How often, in milliseconds, the background thread refreshes from the
+	 * snapshot file
+	 */
+	public static final long REFRESH_INTERVAL_MILLIS = 60000L;
 
 	public static final Logger log = LoggerFactory.getLogger(DiscoveredServerPropertiesCache.class);
 
@@ -57,7 +95,104 @@ public class DiscoveredServerPropertiesCache {
 	public static final String IS_TRUE = "true";
 	public static final String IS_FALSE = "false";
 
+	/**
+	 * Constructor for a cache kept in memory, with entries that do not expire
+	 */
 	public DiscoveredServerPropertiesCache() {
+		this(0L, null);
+	}
+
+	/**
+	 * Constructor
+	 *
+	 * @param timeToLiveMillis {@code long} with the milliseconds an entry is kept
+	 *                         after it is cached, {@code 0} or less to keep
+	 *                         entries until they are deleted
+	 * @param snapshotFile     {@link File} in which to keep a snapshot of the
+	 *                         cache, read now if it exists, or {@code null} to
+	 *                         keep the cache in memory only
+	 */
+	public DiscoveredServerPropertiesCache(final long timeToLiveMillis, final File snapshotFile) {
+		this.timeToLiveMillis = timeToLiveMillis;
+		this.snapshotFile = snapshotFile;
+
+		if (snapshotFile != null) {
+			log.info("using discovered server properties snapshot file:{}", snapshotFile);
+			synchronized (snapshotLock) {
+				refreshFromSnapshot();
+			}
+			startRefreshService();
+		}
+	}
+
+	/**
+	 * Create a cache as configured by the given properties
+	 *
+	 * @param jargonProperties {@link JargonProperties} with the time to live and
+	 *                         snapshot file settings
+	 * @return {@link DiscoveredServerPropertiesCache}
+	 */
+	public static DiscoveredServerPropertiesCache instance(final JargonProperties jargonProperties) {
+		if (jargonProperties == null) {
+			throw new IllegalArgumentException("null jargonProperties");
+		}
+
+		String fileName = jargonProperties.getDiscoveredServerPropertiesCacheFile();
+		File file = null;
+		if (fileName != null && !fileName.trim().isEmpty()) {
+			file = new File(fileName.trim());
+		}
+
+		return new DiscoveredServerPropertiesCache(
+				jargonProperties.getDiscoveredServerPropertiesCacheTimeToLiveInSeconds() * 1000L, file);
+	}
+
+	/**
+	 * @return {@code long} with the milliseconds an entry is kept after it is
+	 *         cached, {@code 0} or less if entries do not expire
+	 */
+	public long getTimeToLiveMillis() {
+		return timeToLiveMillis;
+	}
+
+	/**
+	 * @return {@link File} with the snapshot file, or {@code null} if the cache is
+	 *         kept in memory only
+	 */
+	public File getSnapshotFile() {
+		return snapshotFile;
+	}
+
+	/**
+	 * Stop the background refresh and write a last snapshot. The cache may still
+	 * be used afterwards, it still writes the snapshot as entries change, and the
+	 * background refresh is started again the next time an entry is added or
+	 * deleted.
+	 */
+	public void close() {
+		ScheduledExecutorService service;
+		synchronized (snapshotLock) {
+			service = refreshService;
+			refreshService = null;
+		}
+
+		if (service != null) {
+			service.shutdownNow();
+		}
+
+		if (snapshotFile != null) {
+			saveSnapshot();
+		}
+	}
+
+	/**
+	 * @return {@code boolean} that is {@code true} if the background refresh is
+	 *         running
+	 */
+	boolean isRefreshing() {
+		synchronized (snapshotLock) {
+			return refreshService != null;
+		}
 	}
 
 	/**
@@ -112,7 +247,7 @@ public class DiscoveredServerPropertiesCache {
 		log.debug("now retriving clientHints from cache with zone:{}", myZone);
 
 		String cacheKey = buildHostPlusZone(host, myZone);
-		return cacheOfClientHints.get(cacheKey);
+		return valueIfLive(cacheOfClientHints, cacheKey);
 	}
 
 	/**
@@ -135,7 +270,7 @@ public class DiscoveredServerPropertiesCache {
 		}
 
 		String cacheKey = buildHostPlusZone(host, myZone);
-		return cacheOfIRODSServerProperties.get(cacheKey);
+		return valueIfLive(cacheOfIRODSServerProperties, cacheKey);
 	}
 
 	/**
@@ -167,12 +302,12 @@ public class DiscoveredServerPropertiesCache {
 			throw new IllegalArgumentException("null or empty property name");
 		}
 
-		Map<String, String> zoneCache = getCacheForHostAndZone(host, myZone);
+		Map<String, CachedEntry<String>> zoneCache = getCacheForHostAndZone(host, myZone);
 
 		if (zoneCache == null) {
 			return null;
 		} else {
-			return zoneCache.get(propertyName);
+			return valueIfLive(zoneCache, propertyName);
 		}
 
 	}
@@ -198,7 +333,9 @@ public class DiscoveredServerPropertiesCache {
 		}
 
 		String cacheKey = buildHostPlusZone(host, myZone);
-		cacheOfClientHints.remove(cacheKey);
+		if (cacheOfClientHints.remove(cacheKey) != null) {
+			entriesChanged();
+		}
 
 	}
 
@@ -224,7 +361,9 @@ public class DiscoveredServerPropertiesCache {
 		}
 
 		String cacheKey = buildHostPlusZone(host, myZone);
-		cacheOfIRODSServerProperties.remove(cacheKey);
+		if (cacheOfIRODSServerProperties.remove(cacheKey) != null) {
+			entriesChanged();
+		}
 
 	}
 
@@ -252,9 +391,9 @@ public class DiscoveredServerPropertiesCache {
 			throw new IllegalArgumentException("null or empty property name");
 		}
 
-		Map<String, String> zoneCache = getCacheForHostAndZone(host, myZone);
-		if (zoneCache != null) {
-			zoneCache.remove(propertyName);
+		Map<String, CachedEntry<String>> zoneCache = getCacheForHostAndZone(host, myZone);
+		if (zoneCache != null && zoneCache.remove(propertyName) != null) {
+			entriesChanged();
 		}
 	}
 
@@ -278,7 +417,9 @@ public class DiscoveredServerPropertiesCache {
 		}
 
 		String cacheKey = buildHostPlusZone(host, myZone);
-		discoveredServerPropertiesCache.remove(cacheKey);
+		if (discoveredServerPropertiesCache.remove(cacheKey) != null) {
+			entriesChanged();
+		}
 
 	}
 
@@ -308,7 +449,8 @@ public class DiscoveredServerPropertiesCache {
 
 		String cacheKey = buildHostPlusZone(host, myZone);
 
-		cacheOfClientHints.put(cacheKey, clientHints);
+		cacheOfClientHints.put(cacheKey, new CachedEntry<ClientHints>(clientHints, computeExpiry()));
+		entriesChanged();
 	}
 
 	/**
@@ -338,7 +480,9 @@ public class DiscoveredServerPropertiesCache {
 
 		String cacheKey = buildHostPlusZone(host, myZone);
 
-		cacheOfIRODSServerProperties.put(cacheKey, irodsServerProperties);
+		cacheOfIRODSServerProperties.put(cacheKey,
+				new CachedEntry<IRODSServerProperties>(irodsServerProperties, computeExpiry()));
+		entriesChanged();
 	}
 
 	/**
@@ -373,7 +517,9 @@ public class DiscoveredServerPropertiesCache {
 			throw new IllegalArgumentException("null value");
 		}
 
-		getCacheForHostAndZoneAndAddIfNotThere(host, myZone).put(propertyName, value);
+		getCacheForHostAndZoneAndAddIfNotThere(host, myZone).put(propertyName,
+				new CachedEntry<String>(value, computeExpiry()));
+		entriesChanged();
 
 	}
 
@@ -388,7 +534,7 @@ public class DiscoveredServerPropertiesCache {
 	 *
 	 * @return {@code Map} with the cache for the host and zone
 	 */
-	private Map<String, String> getCacheForHostAndZoneAndAddIfNotThere(final String host, final String zoneName) {
+	private Map<String, CachedEntry<String>> getCacheForHostAndZoneAndAddIfNotThere(final String host, final String zoneName) {
 
 		if (host == null || host.isEmpty()) {
 			throw new IllegalArgumentException("null or empty host");
@@ -401,11 +547,10 @@ public class DiscoveredServerPropertiesCache {
 		}
 
 		String cacheKey = buildHostPlusZone(host, myZone);
-		discoveredServerPropertiesCache.putIfAbsent(cacheKey, new ConcurrentHashMap<String, String>(8, 0.9f, 1));
-		return discoveredServerPropertiesCache.get(cacheKey);
+		return getOrAddZoneCache(cacheKey);
 	}
 
-	private Map<String, String> getCacheForHostAndZone(final String host, final String zoneName) {
+	private Map<String, CachedEntry<String>> getCacheForHostAndZone(final String host, final String zoneName) {
 
 		if (host == null || host.isEmpty()) {
 			throw new IllegalArgumentException("null or empty host");
@@ -442,4 +587,296 @@ public class DiscoveredServerPropertiesCache {
 		return sb.toString();
 	}
 
+	/**
+	 * Drop the entries whose time to live has passed. Expired entries are never
+	 * returned in any case, this just frees them.
+	 */
+	public void evictExpired() {
+		long now = System.currentTimeMillis();
+		boolean changed = removeExpired(cacheOfIRODSServerProperties, now);
+		changed |= removeExpired(cacheOfClientHints, now);
+		for (Map<String, CachedEntry<String>> zoneCache : discoveredServerPropertiesCache.values()) {
+			changed |= removeExpired(zoneCache, now);
+		}
+
+		if (changed) {
+			log.debug("evicted expired entries");
+		}
+	}
+
+	private static <T> boolean removeExpired(final Map<String, CachedEntry<T>> map, final long now) {
+		boolean changed = false;
+		Iterator<CachedEntry<T>> iterator = map.values().iterator();
+		while (iterator.hasNext()) {
+			if (iterator.next().isExpired(now)) {
+				iterator.remove();
+				changed = true;
+			}
+		}
+		return changed;
+	}
+
+	private static <T> T valueIfLive(final Map<String, CachedEntry<T>> map, final String key) {
+		CachedEntry<T> entry = map.get(key);
+		if (entry == null) {
+			return null;
+		}
+
+		if (entry.isExpired(System.currentTimeMillis())) {
+			log.debug("cache entry expired:{}", key);
+			map.remove(key, entry);
+			return null;
+		}
+
+		return entry.getValue();
+	}
+
+	private ConcurrentHashMap<String, CachedEntry<String>> getOrAddZoneCache(final String cacheKey) {
+		discoveredServerPropertiesCache.putIfAbsent(cacheKey,
+				new ConcurrentHashMap<String, CachedEntry<String>>(8, 0.9f, 1));
+		return discoveredServerPropertiesCache.get(cacheKey);
+	}
+
+	private long computeExpiry() {
+		if (timeToLiveMillis > 0) {
+			return System.currentTimeMillis() + timeToLiveMillis;
+		} else {
+			return Long.MAX_VALUE;
+		}
+	}
+
+	/*
+	 * Entries were added or deleted, so write the snapshot now, as a short lived
+	 * process may not be around for a later write
+	 */
+	private void entriesChanged() {
+		if (snapshotFile != null) {
+			saveSnapshot();
+			synchronized (snapshotLock) {
+				if (refreshService == null) {
+					startRefreshService();
+				}
+			}
+		}
+	}
+
+	/*
+	 * Must hold the snapshot lock, other than from the constructor
+	 */
+	private void startRefreshService() {
+		refreshService = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = new Thread(runnable, "jargon-discovered-properties-refresh");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		refreshService.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					evictExpired();
+					synchronized (snapshotLock) {
+						refreshFromSnapshot();
+					}
+				} catch (RuntimeException e) {
+					log.warn("error refreshing discovered server properties cache", e);
+				}
+			}
+		}, REFRESH_INTERVAL_MILLIS, REFRESH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Merge the unexpired entries in the snapshot file, if it changed since it
+	 * was last read or written, keeping whichever entry expires later. Must hold
+	 * the snapshot lock.
+	 */
+	private void refreshFromSnapshot() {
+		if (!snapshotFile.exists() || snapshotFile.lastModified() == snapshotLastModified) {
+			return;
+		}
+
+		log.debug("reading discovered server properties snapshot");
+		long lastModified = snapshotFile.lastModified();
+		JsonNode root;
+		try {
+			root = objectMapper.readTree(snapshotFile);
+		} catch (IOException e) {
+			log.warn("unable to read discovered server properties snapshot:{}", snapshotFile, e);
+			snapshotLastModified = lastModified;
+			return;
+		}
+
+		long now = System.currentTimeMillis();
+		JsonNode hosts = root == null ? null : root.get("hosts");
+		if (hosts != null) {
+			Iterator<Map.Entry<String, JsonNode>> hostIterator = hosts.fields();
+			while (hostIterator.hasNext()) {
+				Map.Entry<String, JsonNode> host = hostIterator.next();
+				try {
+					mergeHost(host.getKey(), host.getValue(), now);
+				} catch (IOException | RuntimeException e) {
+					log.warn("skipping unreadable snapshot entry for:{}", host.getKey(), e);
+				}
+			}
+		}
+		snapshotLastModified = lastModified;
+	}
+
+	private void mergeHost(final String cacheKey, final JsonNode hostNode, final long now) throws IOException {
+		JsonNode serverNode = hostNode.get("serverProperties");
+		if (serverNode != null) {
+			IRODSServerProperties irodsServerProperties = IRODSServerProperties.instance(
+					IcatEnabled.valueOf(serverNode.get("icatEnabled").asText()),
+					serverNode.get("serverBootTime").asInt(), serverNode.get("relVersion").asText(),
+					serverNode.get("apiVersion").asText(), serverNode.get("rodsZone").asText());
+			mergeEntry(cacheOfIRODSServerProperties, cacheKey, new CachedEntry<IRODSServerProperties>(
+					irodsServerProperties, serverNode.get("expires").asLong()), now);
+		}
+
+		JsonNode hintsNode = hostNode.get("clientHints");
+		if (hintsNode != null) {
+			ClientHints clientHints = objectMapper.treeToValue(hintsNode.get("value"), ClientHints.class);
+			mergeEntry(cacheOfClientHints, cacheKey,
+					new CachedEntry<ClientHints>(clientHints, hintsNode.get("expires").asLong()), now);
+		}
+
+		JsonNode propertiesNode = hostNode.get("properties");
+		if (propertiesNode != null) {
+			Iterator<Map.Entry<String, JsonNode>> propertyIterator = propertiesNode.fields();
+			while (propertyIterator.hasNext()) {
+				Map.Entry<String, JsonNode> property = propertyIterator.next();
+				mergeEntry(getOrAddZoneCache(cacheKey), property.getKey(), new CachedEntry<String>(
+						property.getValue().get("value").asText(), property.getValue().get("expires").asLong()), now);
+			}
+		}
+	}
+
+	private static <T> void mergeEntry(final ConcurrentHashMap<String, CachedEntry<T>> map, final String key,
+			final CachedEntry<T> entry, final long now) {
+		if (entry.isExpired(now)) {
+			return;
+		}
+
+		CachedEntry<T> current = map.putIfAbsent(key, entry);
+		if (current != null && current.getExpires() < entry.getExpires()) {
+			map.replace(key, current, entry);
+		}
+	}
+
+	/**
+	 * Write the unexpired entries to the snapshot file, first merging any entries
+	 * another process wrote there. The file is replaced in one step so that
+	 * readers never see a partial snapshot.
+	 */
+	private void saveSnapshot() {
+		synchronized (snapshotLock) {
+			refreshFromSnapshot();
+			long now = System.currentTimeMillis();
+			ObjectNode root = objectMapper.createObjectNode();
+			ObjectNode hosts = root.putObject("hosts");
+
+			for (Map.Entry<String, CachedEntry<IRODSServerProperties>> entry : cacheOfIRODSServerProperties
+					.entrySet()) {
+				if (entry.getValue().isExpired(now)) {
+					continue;
+				}
+				IRODSServerProperties irodsServerProperties = entry.getValue().getValue();
+				ObjectNode serverNode = hostNode(hosts, entry.getKey()).putObject("serverProperties");
+				serverNode.put("icatEnabled", irodsServerProperties.getIcatEnabled().name());
+				serverNode.put("serverBootTime", irodsServerProperties.getServerBootTime());
+				serverNode.put("relVersion",
+						IrodsVersion.RODS_PREFIX + irodsServerProperties.getIrodsVersion().getOrigVersion());
+				serverNode.put("apiVersion", irodsServerProperties.getApiVersion());
+				serverNode.put("rodsZone", irodsServerProperties.getRodsZone());
+				serverNode.put("expires", entry.getValue().getExpires());
+			}
+
+			for (Map.Entry<String, CachedEntry<ClientHints>> entry : cacheOfClientHints.entrySet()) {
+				if (entry.getValue().isExpired(now)) {
+					continue;
+				}
+				ObjectNode hintsNode = hostNode(hosts, entry.getKey()).putObject("clientHints");
+				hintsNode.set("value", objectMapper.valueToTree(entry.getValue().getValue()));
+				hintsNode.put("expires", entry.getValue().getExpires());
+			}
+
+			for (Map.Entry<String, ConcurrentHashMap<String, CachedEntry<String>>> zone : discoveredServerPropertiesCache
+					.entrySet()) {
+				for (Map.Entry<String, CachedEntry<String>> entry : zone.getValue().entrySet()) {
+					if (entry.getValue().isExpired(now)) {
+						continue;
+					}
+					ObjectNode propertiesNode = (ObjectNode) hostNode(hosts, zone.getKey()).get("properties");
+					if (propertiesNode == null) {
+						propertiesNode = hostNode(hosts, zone.getKey()).putObject("properties");
+					}
+					ObjectNode propertyNode = propertiesNode.putObject(entry.getKey());
+					propertyNode.put("value", entry.getValue().getValue());
+					propertyNode.put("expires", entry.getValue().getExpires());
+				}
+			}
+
+			File tempFile = null;
+			try {
+				File parent = snapshotFile.getAbsoluteFile().getParentFile();
+				if (parent != null && !parent.exists()) {
+					parent.mkdirs();
+				}
+				tempFile = File.createTempFile(snapshotFile.getName(), ".tmp", parent);
+				objectMapper.writeValue(tempFile, root);
+				try {
+					Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+							StandardCopyOption.ATOMIC_MOVE);
+				} catch (AtomicMoveNotSupportedException e) {
+					Files.move(tempFile.toPath(), snapshotFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				}
+				snapshotLastModified = snapshotFile.lastModified();
+				log.debug("wrote discovered server properties snapshot");
+			} catch (IOException e) {
+				log.warn("unable to write discovered server properties snapshot:{}", snapshotFile, e);
+				if (tempFile != null) {
+					tempFile.delete();
+				}
+			}
+		}
+	}
+
+	private static ObjectNode hostNode(final ObjectNode hosts, final String cacheKey) {
+		ObjectNode hostNode = (ObjectNode) hosts.get(cacheKey);
+		if (hostNode == null) {
+			hostNode = hosts.putObject(cacheKey);
+		}
+		return hostNode;
+	}
+
+	/**
+	 * A cached value and when it expires
+	 */
+	private static final class CachedEntry<T> {
+
+		private final T value;
+		private final long expires;
+
+		CachedEntry(final T value, final long expires) {
+			this.value = value;
+			this.expires = expires;
+		}
+
+		T getValue() {
+			return value;
+		}
+
+		long getExpires() {
+			return expires;
+		}
+
+		boolean isExpired(final long now) {
+			return now >= expires;
+		}
+
+	}
+
 }
@@ -22,8 +22,8 @@ import org.slf4j.LoggerFactory;
  * The connection is confined to one thread, and as such the various methods do
  * not need to be synchronized. All operations pass through the
  * {@code IRODScommands} object wrapping this connection, and
- * {@code IRODSCommands} does maintain synchronized access to operations that
- * read and write to this connection.
+ * {@code IRODSCommands} does serialize the operations that read and write to
+ * this connection.
  *
  * @author Mike Conway - DICE (www.irods.org)
  *
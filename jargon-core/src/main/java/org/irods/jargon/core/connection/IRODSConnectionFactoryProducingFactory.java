@@ -10,9 +10,9 @@ import org.irods.jargon.core.exception.JargonException;
  * <p>
  * In this implementation, this factory will create connection factory based on
  * the provided jargon properties. This will create the factory object that
- * initializes the low level networking connection code used by Jargon. This
- * would allow for the later development of an nio based layer or alternative
- * tcp layers going forward with minimal headaches.
+ * initializes the low level networking connection code used by Jargon, either
+ * the default socket based {@code tcp} layer or the {@code SocketChannel} based
+ * {@code nio} layer.
  *
  * @author Mike Conway - DICE (www.irods.org) see http://code.renci.org for
  *         trackers, access info, and documentation
@@ -43,6 +43,8 @@ public class IRODSConnectionFactoryProducingFactory {
 
 		if (jargonProperties.getConnectionFactory().equals("tcp")) {
 			return new IRODSTCPConnectionFactoryImpl();
+		} else if (jargonProperties.getConnectionFactory().equals("nio")) {
+			return new IRODSNioConnectionFactoryImpl();
 		} else {
 			throw new JargonException("unsupported connection factory type:" + jargonProperties.getConnectionFactory());
 		}
@@ -6,15 +6,24 @@ import java.io.InterruptedIOException;
 import java.io.OutputStream;
 import java.io.UnsupportedEncodingException;
 import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.irods.jargon.core.connection.AbstractConnection.EncryptionType;
 import org.irods.jargon.core.connection.auth.AuthResponse;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.ProtocolFormException;
+import org.irods.jargon.core.metrics.MetricsRegistry;
 import org.irods.jargon.core.packinstr.AbstractIRODSPackingInstruction;
 import org.irods.jargon.core.packinstr.IRodsPI;
 import org.irods.jargon.core.packinstr.RErrMsg;
 import org.irods.jargon.core.packinstr.SSLEndInp;
+import org.irods.jargon.core.packinstr.StreamingTagParser;
+import org.irods.jargon.core.packinstr.TagWriter;
 import org.irods.jargon.core.packinstr.Tag;
 import org.irods.jargon.core.protovalues.ErrorEnum;
 import org.irods.jargon.core.protovalues.RequestTypes;
@@ -34,6 +43,12 @@ import org.slf4j.LoggerFactory;
  * of thumb is to treat a connection to IRODS the same way you would treat a
  * JDBC database connection.
  * <p>
+ * Operations on the connection are serialized with a {@link ReentrantLock}
+ * rather than by synchronizing on this object. A thread that blocks on the
+ * socket while holding a monitor pins a virtual thread to its carrier, while a
+ * thread that blocks holding a {@code ReentrantLock} does not, so this protocol
+ * may be driven from virtual threads.
+ * <p>
  * A note on iRODS connections and handling when things go bad. Typically, an
  * iRODS connection is created by opening a socket, and doing a handshake and
  * other start-up procedures. Once that is done you are connected to an iRODS
@@ -82,9 +97,9 @@ public class IRODSMidLevelProtocol {
 
 	private AbstractConnection irodsConnection;
 	private AbstractConnection irodsConnectionNonEncryptedRef = null;
-	private IRODSProtocolManager irodsProtocolManager;
-	private IRODSServerProperties irodsServerProperties;
-	private IRODSSession irodsSession = null;
+	private volatile IRODSProtocolManager irodsProtocolManager;
+	private volatile IRODSServerProperties irodsServerProperties;
+	private volatile IRODSSession irodsSession = null;
 	private StartupResponseData startupResponseData;
 
 	/**
@@ -92,7 +107,7 @@ public class IRODSMidLevelProtocol {
 	 * https://github.com/DICE-UNC/jargon/issues/70
 	 *
 	 */
-	private boolean forceSslFlush = false;
+	private volatile boolean forceSslFlush = false;
 
 	public static final int EIRODS_MIN = 301;
 	public static final int EIRODS_MAX = 301;
@@ -105,7 +120,7 @@ public class IRODSMidLevelProtocol {
 	 * authentication using a temporary password generated in the PAM authentication
 	 * process.
 	 */
-	private AuthResponse authResponse = null;
+	private volatile AuthResponse authResponse = null;
 
 	/**
 	 * This account will represent the account information used for the actual
@@ -113,7 +128,25 @@ public class IRODSMidLevelProtocol {
 	 * down into the account presented, and the account actually used in the
 	 * {@code AuthResponse} object.
 	 */
-	private IRODSAccount irodsAccount;
+	private volatile IRODSAccount irodsAccount;
+
+	/**
+	 * Serializes the use of the connection. Held for the whole of each request and
+	 * reply, and reentrant so that operations may be composed.
+	 */
+	private final ReentrantLock lock = new ReentrantLock();
+
+	/**
+	 * Re-used buffer that packing instructions are serialized into before being
+	 * sent, lazily created. Access is guarded by the protocol lock.
+	 */
+	private TagWriter tagWriter = null;
+
+	/**
+	 * Replies yet to be read for requests sent by {@code irodsFunctionAsync()}, in
+	 * the order the requests were sent. Access is guarded by the protocol lock.
+	 */
+	private final Deque<PipelinedReply> pipelinedReplies = new ArrayDeque<PipelinedReply>();
 
 	/**
 	 * Create a base instance of the mid level protocol, which may be processed
@@ -146,11 +179,11 @@ public class IRODSMidLevelProtocol {
 		irodsSession = irodsConnection.getIrodsSession();
 	}
 
-	synchronized boolean isForceSslFlush() {
+	boolean isForceSslFlush() {
 		return forceSslFlush;
 	}
 
-	synchronized void setForceSslFlush(final boolean forceSslFlush) {
+	void setForceSslFlush(final boolean forceSslFlush) {
 		this.forceSslFlush = forceSslFlush;
 	}
 
@@ -179,9 +212,14 @@ public class IRODSMidLevelProtocol {
 		super.finalize();
 	}
 
-	synchronized void closeOutSocketAndSetAsDisconnected() throws IOException {
-		getIrodsConnection().getConnection().close();
-		getIrodsConnection().setConnected(false);
+	void closeOutSocketAndSetAsDisconnected() throws IOException {
+		lock.lock();
+		try {
+			getIrodsConnection().getConnection().close();
+			getIrodsConnection().setConnected(false);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -215,47 +253,50 @@ public class IRODSMidLevelProtocol {
 	 * @return {@code String} with the string-ified JSON response, marshal and
 	 *         unmarshal are external to this method
 	 */
-	public synchronized String irodsPluggableApiFunction(String inputJson, int apiNumber) throws JargonException {
+	public String irodsPluggableApiFunction(String inputJson, int apiNumber) throws JargonException {
+		lock.lock();
+		try {
+			log.info("irodsPluggableApiFunction()");
 
-		log.info("irodsPluggableApiFunction()");
+			log.debug("apiNumber is:{}", apiNumber);
 
-		log.debug("apiNumber is:{}", apiNumber);
+			if (inputJson == null || inputJson.length() == 0) {
+				String err = "null or blank inputJson";
+				log.error(err);
+				throw new JargonException(err);
+			}
 
-		if (inputJson == null || inputJson.length() == 0) {
-			String err = "null or blank inputJson";
-			log.error(err);
-			throw new JargonException(err);
-		}
+			// message may be null for some operations
 
-		// message may be null for some operations
+			try {
+				int messageLength = 0;
 
-		try {
-			int messageLength = 0;
+				messageLength = inputJson.getBytes(getEncoding()).length;
 
-			messageLength = inputJson.getBytes(getEncoding()).length;
+				sendHeader(IRODSConstants.RODS_API_REQ, messageLength, 0, 0, apiNumber);
 
-			sendHeader(IRODSConstants.RODS_API_REQ, messageLength, 0, 0, apiNumber);
+				if (getStartupResponseData() == null) {
+					log.debug("no ssl flush checking during negotiation");
+				} else if (isPamFlush()) {
+					log.debug("doing extra pam flush for iRODS 3.2");
+					getIrodsConnection().flush();
+				}
 
-			if (getStartupResponseData() == null) {
-				log.debug("no ssl flush checking during negotiation");
-			} else if (isPamFlush()) {
-				log.debug("doing extra pam flush for iRODS 3.2");
+				getIrodsConnection().send(inputJson);
 				getIrodsConnection().flush();
-			}
 
-			getIrodsConnection().send(inputJson);
-			getIrodsConnection().flush();
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
 
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			disconnectWithForce();
-			throw new JargonException(e);
+			return readPluggableApiMessage();
+		} finally {
+			lock.unlock();
 		}
-
-		return readPluggableApiMessage();
-
 	}
 
 	/**
@@ -265,48 +306,53 @@ public class IRODSMidLevelProtocol {
 	 * @return {@code String} with the iRODS JSON response
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized String readPluggableApiMessage() throws JargonException {
-		log.debug("readPluggableApiMessage()");
-		Tag header = readHeader();
-		String message = null;
+	public String readPluggableApiMessage() throws JargonException {
+		lock.lock();
+		try {
+			log.debug("readPluggableApiMessage()");
+			Tag header = readHeader();
+			String message = null;
 
-		int messageLength = header.getTags()[1].getIntValue();
-		int errorLength = header.getTags()[2].getIntValue();
-		int bytesLength = header.getTags()[3].getIntValue();
-		int info = header.getTags()[4].getIntValue();
+			int messageLength = header.getTags()[1].getIntValue();
+			int errorLength = header.getTags()[2].getIntValue();
+			int bytesLength = header.getTags()[3].getIntValue();
+			int info = header.getTags()[4].getIntValue();
 
-		if (log.isDebugEnabled()) {
-			log.debug("message length:{}", messageLength);
-			log.debug("error length:{}", errorLength);
-			log.debug("bytesLength:{}", bytesLength);
-			log.debug("info value:{}", info);
-		}
+			if (log.isDebugEnabled()) {
+				log.debug("message length:{}", messageLength);
+				log.debug("error length:{}", errorLength);
+				log.debug("bytesLength:{}", bytesLength);
+				log.debug("info value:{}", info);
+			}
 
-		// Reports iRODS errors, throw exception if appropriate
-		if (info < 0) {
-			processMessageInfoLessThanZero(messageLength, errorLength, info);
-			log.debug("returning null, no results");
-			// query with no results
-			return null;
-		}
+			// Reports iRODS errors, throw exception if appropriate
+			if (info < 0) {
+				processMessageInfoLessThanZero(messageLength, errorLength, info);
+				log.debug("returning null, no results");
+				// query with no results
+				return null;
+			}
 
-		if (messageLength > 0) {
-			log.debug("message length greater than zero");
-			message = readJsonMessageBody(messageLength);
+			if (messageLength > 0) {
+				log.debug("message length greater than zero");
+				message = readJsonMessageBody(messageLength);
 
-		}
-		// previous will have returned or thrown exception
+			}
+			// previous will have returned or thrown exception
 
-		if (errorLength != 0) {
-			return handlePluggableApiError(errorLength);
-		}
+			if (errorLength != 0) {
+				return handlePluggableApiError(errorLength);
+			}
 
-		if (bytesLength != 0 || info > 0) {
-			log.debug("bytes length is not zero, this is an unexpected condition for pluggable API");
-			throw new ProtocolFormException("bytesLength >0, byte buffers not expected in pluggable API calls");
-		}
+			if (bytesLength != 0 || info > 0) {
+				log.debug("bytes length is not zero, this is an unexpected condition for pluggable API");
+				throw new ProtocolFormException("bytesLength >0, byte buffers not expected in pluggable API calls");
+			}
 
-		return message;
+			return message;
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -367,60 +413,67 @@ public class IRODSMidLevelProtocol {
 	 * @return {@link Tag}
 	 * @throws JargonException for iRODS error
 	 */
-	public synchronized Tag irodsFunction(final String type, final String message, final byte[] errorBytes,
+	public Tag irodsFunction(final String type, final String message, final byte[] errorBytes,
 			final int errorOffset, final int errorLength, final byte[] bytes, final int byteOffset,
 			final int byteBufferLength, final int intInfo) throws JargonException {
+		lock.lock();
+		try {
+			final long startNanos = System.nanoTime();
+			log.debug("calling irods function with byte array");
 
-		log.debug("calling irods function with byte array");
+			if (intInfo != 1201) {
+				log.debug("calling irods function with:{}", message);
+			}
 
-		if (intInfo != 1201) {
-			log.debug("calling irods function with:{}", message);
-		}
+			log.debug("api number is:{}", intInfo);
 
-		log.debug("api number is:{}", intInfo);
+			if (type == null || type.length() == 0) {
+				String err = "null or blank type";
+				log.error(err);
+				throw new JargonException(err);
+			}
 
-		if (type == null || type.length() == 0) {
-			String err = "null or blank type";
-			log.error(err);
-			throw new JargonException(err);
-		}
+			// message may be null for some operations
 
-		// message may be null for some operations
+			try {
+				int messageLength = 0;
 
-		try {
-			int messageLength = 0;
+				if (message != null) {
+					messageLength = message.getBytes(getEncoding()).length;
+				}
 
-			if (message != null) {
-				messageLength = message.getBytes(getEncoding()).length;
-			}
+				sendHeader(type, messageLength, errorLength, byteBufferLength, intInfo);
 
-			sendHeader(type, messageLength, errorLength, byteBufferLength, intInfo);
+				if (getStartupResponseData() == null) {
+					log.debug("no ssl flush checking during negotiation");
+				} else if (isPamFlush()) {
+					log.debug("doing extra pam flush for iRODS 3.2");
+					getIrodsConnection().flush();
+				}
 
-			if (getStartupResponseData() == null) {
-				log.debug("no ssl flush checking during negotiation");
-			} else if (isPamFlush()) {
-				log.debug("doing extra pam flush for iRODS 3.2");
-				getIrodsConnection().flush();
-			}
+				// no flush between message and bytes, so they can go out in one write
+				getIrodsConnection().send(message);
 
-			getIrodsConnection().send(message);
-			getIrodsConnection().flush();
+				if (byteBufferLength > 0) {
+					getIrodsConnection().send(bytes, byteOffset, byteBufferLength);
+				}
 
-			if (byteBufferLength > 0) {
-				getIrodsConnection().send(bytes, byteOffset, byteBufferLength);
-			}
+				getIrodsConnection().flush();
 
-			getIrodsConnection().flush();
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
 
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			disconnectWithForce();
-			throw new JargonException(e);
+			Tag reply = readMessage();
+			recordApiLatency(type, intInfo, startNanos);
+			return reply;
+		} finally {
+			lock.unlock();
 		}
-
-		return readMessage();
 	}
 
 	/**
@@ -443,57 +496,59 @@ public class IRODSMidLevelProtocol {
 	 * @param intInfo          {@code int} with the iRODS API number
 	 * @throws JargonException for iRODS error
 	 */
-	public synchronized void irodsFunctionUnidirectional(final String type, final byte[] message,
+	public void irodsFunctionUnidirectional(final String type, final byte[] message,
 			final byte[] errorBytes, final int errorOffset, final int errorLength, final byte[] bytes,
 			final int byteOffset, final int byteBufferLength, final int intInfo) throws JargonException {
+		lock.lock();
+		try {
+			log.debug("calling irods function with byte array");
+			log.debug("calling irods function with:{}", message);
+			log.debug("api number is:{}", intInfo);
 
-		log.debug("calling irods function with byte array");
-		log.debug("calling irods function with:{}", message);
-		log.debug("api number is:{}", intInfo);
+			if (type == null || type.length() == 0) {
+				String err = "null or blank type";
+				log.error(err);
+				throw new JargonException(err);
+			}
 
-		if (type == null || type.length() == 0) {
-			String err = "null or blank type";
-			log.error(err);
-			throw new JargonException(err);
-		}
+			// message may be null for some operations
 
-		// message may be null for some operations
+			try {
+				int messageLength = 0;
 
-		try {
-			int messageLength = 0;
+				if (message != null) {
+					messageLength = message.length;
+				}
 
-			if (message != null) {
-				messageLength = message.length;
-			}
+				sendHeader(type, messageLength, errorLength, byteBufferLength, intInfo);
 
-			sendHeader(type, messageLength, errorLength, byteBufferLength, intInfo);
+				if (getStartupResponseData() == null) {
+					log.debug("no pam flush check during negotiation phase");
+				} else if (isPamFlush()) {
+					log.debug("doing extra pam flush for iRODS 3.2");
+					getIrodsConnection().flush();
+				}
 
-			if (getStartupResponseData() == null) {
-				log.debug("no pam flush check during negotiation phase");
-			} else if (isPamFlush()) {
-				log.debug("doing extra pam flush for iRODS 3.2");
-				getIrodsConnection().flush();
-			}
+				if (messageLength > 0) {
+					getIrodsConnection().send(message);
+				}
+
+				if (byteBufferLength > 0) {
+					getIrodsConnection().send(bytes, byteOffset, byteBufferLength);
+				}
 
-			if (messageLength > 0) {
-				getIrodsConnection().send(message);
 				getIrodsConnection().flush();
-			}
 
-			if (byteBufferLength > 0) {
-				getIrodsConnection().send(bytes, byteOffset, byteBufferLength);
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				disconnectWithForce();
+				throw new JargonException(e);
 			}
-
-			getIrodsConnection().flush();
-
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			disconnectWithForce();
-			throw new JargonException(e);
+		} finally {
+			lock.unlock();
 		}
-
 	}
 
 	/**
@@ -510,6 +565,9 @@ public class IRODSMidLevelProtocol {
 	public void sendHeader(final String type, final int messageLength, final int errorLength,
 			final long byteStringLength, final int intInfo) throws JargonException, IOException {
 
+		// replies to earlier pipelined requests come first on the wire
+		drainPipeline();
+
 		byte[] header = createHeader(type, messageLength, errorLength, byteStringLength, intInfo);
 
 		int len = header.length;
@@ -544,9 +602,14 @@ public class IRODSMidLevelProtocol {
 	 * @return {@link Tag} with the iRODS protocol response
 	 * @throws JargonException on invocation of the function
 	 */
-	public synchronized Tag irodsFunction(final String type, final String message, final int intInfo)
+	public Tag irodsFunction(final String type, final String message, final int intInfo)
 			throws JargonException {
-		return irodsFunction(type, message, null, 0, 0, null, 0, 0, intInfo);
+		lock.lock();
+		try {
+			return irodsFunction(type, message, null, 0, 0, null, 0, 0, intInfo);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -583,53 +646,55 @@ public class IRODSMidLevelProtocol {
 	 *         the appropriate operation complete messages
 	 * @throws JargonException on function error
 	 */
-	public synchronized long irodsFunctionForStreamingToIRODSInFrames(final IRodsPI irodsPI, final int byteStreamLength,
+	public long irodsFunctionForStreamingToIRODSInFrames(final IRodsPI irodsPI, final int byteStreamLength,
 			final InputStream byteStream, final ConnectionProgressStatusListener connectionProgressStatusListener)
 			throws JargonException {
+		lock.lock();
+		try {
+			final long startNanos = System.nanoTime();
+			if (irodsPI == null) {
+				throw new IllegalArgumentException("null irodsPI");
+			}
 
-		if (irodsPI == null) {
-			throw new IllegalArgumentException("null irodsPI");
-		}
-
-		if (byteStream == null) {
-			throw new IllegalArgumentException("null byteStream");
-		}
+			if (byteStream == null) {
+				throw new IllegalArgumentException("null byteStream");
+			}
 
-		log.debug("calling irodsFunctionForStreamingToIRODSInFrames");
-		log.debug("calling irods function with:{}", irodsPI);
-		log.debug("api number is:{}", irodsPI.getApiNumber());
+			log.debug("calling irodsFunctionForStreamingToIRODSInFrames");
+			log.debug("calling irods function with:{}", irodsPI);
+			log.debug("api number is:{}", irodsPI.getApiNumber());
 
-		long dataSent = 0;
+			long dataSent = 0;
 
-		try {
-			int length = 0;
-			String message = irodsPI.getParsedTags();
-			if (message != null) {
-				length = message.getBytes(irodsConnection.getPipelineConfiguration().getDefaultEncoding()).length;
-			}
-			sendHeader(IRODSConstants.RODS_API_REQ, length, 0, byteStreamLength, irodsPI.getApiNumber());
-			irodsConnection.send(message);
+			try {
+				TagWriter message = packMessage(irodsPI);
+				sendHeader(IRODSConstants.RODS_API_REQ, message.size(), 0, byteStreamLength, irodsPI.getApiNumber());
+				sendPackedMessage(message);
+
+				if (byteStreamLength > 0) {
+					dataSent += irodsConnection.send(byteStream, byteStreamLength, connectionProgressStatusListener);
+					// do not close stream, it may be sent again in a subsequent
+					// call, and will maintain its internal pointer
+				}
 
-			if (byteStreamLength > 0) {
-				dataSent += irodsConnection.send(byteStream, byteStreamLength, connectionProgressStatusListener);
-				// do not close stream, it may be sent again in a subsequent
-				// call, and will maintain its internal pointer
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("ioexception", e);
+				disconnectWithForce();
+				throw new JargonException(e);
 			}
 
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("ioexception", e);
-			disconnectWithForce();
-			throw new JargonException(e);
+			log.debug("reading message from frame send...");
+			log.debug("read commented out");
+			readMessage();
+			log.debug("message read");
+			recordApiLatency(IRODSConstants.RODS_API_REQ, irodsPI.getApiNumber(), startNanos);
+			return dataSent;
+		} finally {
+			lock.unlock();
 		}
-
-		log.debug("reading message from frame send...");
-		log.debug("read commented out");
-		readMessage();
-		log.debug("message read");
-		return dataSent;
 	}
 
 	/**
@@ -671,54 +736,56 @@ public class IRODSMidLevelProtocol {
 	 * @return {@code long} with total bytes sent.
 	 * @throws JargonException for iRODS errors
 	 */
-	public synchronized Tag irodsFunctionIncludingAllDataInStream(final IRodsPI irodsPI, final long byteStreamLength,
+	public Tag irodsFunctionIncludingAllDataInStream(final IRodsPI irodsPI, final long byteStreamLength,
 			final InputStream byteStream, final ConnectionProgressStatusListener connectionProgressStatusListener)
 			throws JargonException {
-
-		if (irodsPI == null) {
-			throw new IllegalArgumentException("null irodsPI");
-		}
-
-		if (byteStream == null) {
-			throw new IllegalArgumentException("null byteStream");
-		}
-
-		log.debug("calling irods function with streams");
-		log.debug("calling irods function with:{}", irodsPI);
-		log.debug("api number is:{}", irodsPI.getApiNumber());
-
+		lock.lock();
 		try {
-			int length = 0;
-			String message = irodsPI.getParsedTags();
-			if (message != null) {
-				length = message.getBytes(getEncoding()).length;
+			final long startNanos = System.nanoTime();
+			if (irodsPI == null) {
+				throw new IllegalArgumentException("null irodsPI");
+			}
+
+			if (byteStream == null) {
+				throw new IllegalArgumentException("null byteStream");
 			}
 
-			log.debug("message:{}", message);
+			log.debug("calling irods function with streams");
+			log.debug("calling irods function with:{}", irodsPI);
+			log.debug("api number is:{}", irodsPI.getApiNumber());
 
-			sendHeader(IRODSConstants.RODS_API_REQ, length, 0, byteStreamLength, irodsPI.getApiNumber());
-			irodsConnection.send(message);
+			try {
+				TagWriter message = packMessage(irodsPI);
+				logPackedMessage(message);
+
+				sendHeader(IRODSConstants.RODS_API_REQ, message.size(), 0, byteStreamLength, irodsPI.getApiNumber());
+				sendPackedMessage(message);
+
+				if (byteStreamLength > 0) {
+					irodsConnection.send(byteStream, byteStreamLength, connectionProgressStatusListener);
+					byteStream.close();
+				} else {
+					log.debug("no byte stream data, so flush output");
+					irodsConnection.flush();
+				}
 
-			if (byteStreamLength > 0) {
-				irodsConnection.send(byteStream, byteStreamLength, connectionProgressStatusListener);
-				byteStream.close();
-			} else {
-				log.debug("no byte stream data, so flush output");
-				irodsConnection.flush();
-			}
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("ioexception", e);
+				disconnectWithForce();
 
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("ioexception", e);
-			disconnectWithForce();
+				throw new JargonException(e);
+			}
 
-			throw new JargonException(e);
+			log.debug("data sent, getting response");
+			Tag reply = readMessage();
+			recordApiLatency(IRODSConstants.RODS_API_REQ, irodsPI.getApiNumber(), startNanos);
+			return reply;
+		} finally {
+			lock.unlock();
 		}
-
-		log.debug("data sent, getting response");
-		return readMessage();
 	}
 
 	/**
@@ -744,50 +811,53 @@ public class IRODSMidLevelProtocol {
 	 * @throws JargonException on iRODS error
 	 */
 
-	public synchronized Tag irodsFunction(final IRodsPI irodsPI, final byte[] errorStream, final int errorOffset,
+	public Tag irodsFunction(final IRodsPI irodsPI, final byte[] errorStream, final int errorOffset,
 			final int errorLength, final byte[] bytes, final int byteOffset, final int byteStreamLength)
 			throws JargonException {
+		lock.lock();
+		try {
+			final long startNanos = System.nanoTime();
+			if (irodsPI == null) {
+				String err = "null irodsPI";
+				log.error(err);
+				throw new IllegalArgumentException(err);
+			}
 
-		if (irodsPI == null) {
-			String err = "null irodsPI";
-			log.error(err);
-			throw new IllegalArgumentException(err);
-		}
-
-		String out = irodsPI.getParsedTags();
+			try {
+				TagWriter out = packMessage(irodsPI);
 
-		if (out == null || out.length() == 0) {
-			String err = "null or missing message returned from parse";
-			log.error(err);
-			throw new IllegalArgumentException(err);
-		}
+				if (out.size() == 0) {
+					String err = "null or missing message returned from parse";
+					log.error(err);
+					throw new IllegalArgumentException(err);
+				}
 
-		if (log.isDebugEnabled()) {
-			log.debug(out);
-		}
+				logPackedMessage(out);
 
-		try {
-			sendHeader(IRODSConstants.RODS_API_REQ, out.getBytes(getEncoding()).length, errorLength, byteStreamLength,
-					irodsPI.getApiNumber());
-			irodsConnection.send(out);
+				sendHeader(IRODSConstants.RODS_API_REQ, out.size(), errorLength, byteStreamLength, irodsPI.getApiNumber());
+				sendPackedMessage(out);
 
-			if (byteStreamLength > 0) {
-				irodsConnection.send(bytes, byteOffset, byteStreamLength);
-			}
+				if (byteStreamLength > 0) {
+					irodsConnection.send(bytes, byteOffset, byteStreamLength);
+				}
 
-			irodsConnection.flush();
-			return readMessage();
+				irodsConnection.flush();
+				Tag reply = readMessage();
+				recordApiLatency(IRODSConstants.RODS_API_REQ, irodsPI.getApiNumber(), startNanos);
+				return reply;
 
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("io exception sending irods command", e);
-			disconnectWithForce();
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("io exception sending irods command", e);
+				disconnectWithForce();
 
-			throw new JargonException(e);
+				throw new JargonException(e);
+			}
+		} finally {
+			lock.unlock();
 		}
-
 	}
 
 	/**
@@ -802,29 +872,33 @@ public class IRODSMidLevelProtocol {
 	 * @return {@code int} with the number of bytes read
 	 * @throws JargonException for iRODS error
 	 */
-	public synchronized int read(final byte[] value, final int offset, final int length) throws JargonException {
-
-		if (value == null || value.length == 0) {
-			throw new JargonException("null or empty value");
-		}
+	public int read(final byte[] value, final int offset, final int length) throws JargonException {
+		lock.lock();
+		try {
+			if (value == null || value.length == 0) {
+				throw new JargonException("null or empty value");
+			}
 
-		if (offset < 0 || offset > value.length) {
-			throw new JargonException("offset out of range");
-		}
+			if (offset < 0 || offset > value.length) {
+				throw new JargonException("offset out of range");
+			}
 
-		if (length <= 0 || length > value.length) {
-			throw new JargonException("length out of range");
-		}
+			if (length <= 0 || length > value.length) {
+				throw new JargonException("length out of range");
+			}
 
-		try {
-			return irodsConnection.read(value, offset, length);
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("io exception sending irods command", e);
-			disconnectWithForce();
-			throw new JargonException(e);
+			try {
+				return irodsConnection.read(value, offset, length);
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("io exception sending irods command", e);
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+		} finally {
+			lock.unlock();
 		}
 	}
 
@@ -839,9 +913,13 @@ public class IRODSMidLevelProtocol {
 	 * @param length      {@code long} length of data to be read and written out.
 	 * @throws JargonException indicating iRODS error
 	 */
-	public synchronized void read(final OutputStream destination, final long length) throws JargonException {
-
-		read(destination, length, null);
+	public void read(final OutputStream destination, final long length) throws JargonException {
+		lock.lock();
+		try {
+			read(destination, length, null);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -862,47 +940,103 @@ public class IRODSMidLevelProtocol {
 	 *                                peformance penalty.
 	 * @throws JargonException for iRODS error
 	 */
-	public synchronized void read(final OutputStream destination, final long length,
+	public void read(final OutputStream destination, final long length,
 			final ConnectionProgressStatusListener intraFileStatusListener) throws JargonException {
+		lock.lock();
+		try {
+			if (length <= 0) {
+				throw new JargonException("length out of range");
+			}
 
-		if (length <= 0) {
-			throw new JargonException("length out of range");
-		}
-
-		if (destination == null) {
-			throw new JargonException("destination is null");
-		}
+			if (destination == null) {
+				throw new JargonException("destination is null");
+			}
 
-		try {
-			irodsConnection.read(destination, length, intraFileStatusListener);
-		} catch (UnsupportedEncodingException e) {
-			log.error("unsupported encoding", e);
-			throw new JargonException(e);
-		} catch (IOException e) {
-			log.error("io exception sending irods command", e);
-			disconnectWithForce();
-			throw new JargonException(e);
+			try {
+				irodsConnection.read(destination, length, intraFileStatusListener);
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("io exception sending irods command", e);
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+		} finally {
+			lock.unlock();
 		}
 	}
 
 	/**
-	 * Create an iRODS message Tag, including header. This convenience method is
-	 * suitable for operations that do not require error or binary streams, and will
-	 * set up empty streams for the method call.
+	 * Read data from the connection and write it to the current position of the
+	 * given {@code FileChannel}. Connections that support it (see
+	 * {@link #isDirectFileTransferSupported()}) hand the data from the socket to
+	 * the file without copying it through a Java buffer.
 	 *
-	 * @param irodsPI {@link IRodsPI} with the packing instruction to execute
-	 * @return {@link Tag} with the result of the call
-	 * @throws JargonException for iRODS error
+	 * @param destination             {@link FileChannel} for writing data that is
+	 *                                read from the connection
+	 * @param length                  {@code long} length of data to be read and
+	 *                                written out.
+	 * @param intraFileStatusListener {@link ConnectionProgressStatusListener} or
+	 *                                {@code null} if not utilized
+	 * @throws JargonException for iRODS error
 	 */
-	public synchronized Tag irodsFunction(final IRodsPI irodsPI) throws JargonException {
+	public void read(final FileChannel destination, final long length,
+			final ConnectionProgressStatusListener intraFileStatusListener) throws JargonException {
+		lock.lock();
+		try {
+			if (length <= 0) {
+				throw new JargonException("length out of range");
+			}
+
+			if (destination == null) {
+				throw new JargonException("destination is null");
+			}
 
-		if (irodsPI == null) {
-			String err = "null irodsPI";
-			log.error(err);
-			throw new IllegalArgumentException(err);
+			try {
+				irodsConnection.read(destination, length, intraFileStatusListener);
+			} catch (IOException e) {
+				log.error("io exception sending irods command", e);
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+		} finally {
+			lock.unlock();
 		}
+	}
+
+	/**
+	 * @return {@code boolean} that is {@code true} if the underlying connection
+	 *         moves data read with
+	 *         {@link #read(FileChannel, long, ConnectionProgressStatusListener)}
+	 *         straight from the socket to the file
+	 */
+	public boolean isDirectFileTransferSupported() {
+		return irodsConnection.isDirectFileTransferSupported();
+	}
+
+	/**
+	 * Create an iRODS message Tag, including header. This convenience method is
+	 * suitable for operations that do not require error or binary streams, and will
+	 * set up empty streams for the method call.
+	 *
+	 * @param irodsPI {@link IRodsPI} with the packing instruction to execute
+	 * @return {@link Tag} with the result of the call
+	 * @throws JargonException for iRODS error
+	 */
+	public Tag irodsFunction(final IRodsPI irodsPI) throws JargonException {
+		lock.lock();
+		try {
+			if (irodsPI == null) {
+				String err = "null irodsPI";
+				log.error(err);
+				throw new IllegalArgumentException(err);
+			}
 
-		return irodsFunction(IRODSConstants.RODS_API_REQ, irodsPI.getParsedTags(), irodsPI.getApiNumber());
+			return irodsFunctionWithPackedMessage(IRODSConstants.RODS_API_REQ, irodsPI);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -917,15 +1051,409 @@ public class IRODSMidLevelProtocol {
 	 * @return {@link Tag} with the result of the call
 	 * @throws JargonException for an iRODS error
 	 */
-	public synchronized Tag irodsFunctionForNegotiation(final IRodsPI irodsPI) throws JargonException {
+	public Tag irodsFunctionForNegotiation(final IRodsPI irodsPI) throws JargonException {
+		lock.lock();
+		try {
+			if (irodsPI == null) {
+				String err = "null irodsPI";
+				log.error(err);
+				throw new IllegalArgumentException(err);
+			}
+
+			return irodsFunctionWithPackedMessage(IRODSConstants.RODS_NEG_REQ, irodsPI);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Send a request to iRODS without waiting for the reply, allowing several
+	 * requests to be in flight on the connection at once. This suits a run of
+	 * independent small operations (e.g. adding many AVUs) where the round trip
+	 * time, rather than the agent, is the limiting factor.
+	 * <p>
+	 * Requests are buffered and sent when a reply is needed, and replies are read
+	 * in the order the requests were sent. At most
+	 * {@link PipelineConfiguration#getMaxPipelinedRequests()} requests are
+	 * outstanding, when that is reached the oldest reply is read before this
+	 * request is sent. Calling {@code get()} on the returned future,
+	 * {@link #drainPipeline()}, or making any other call on this connection reads
+	 * the outstanding replies. Nothing reads them otherwise, which is why a plain
+	 * {@code Future} is returned rather than one that stages or callbacks could
+	 * be chained on.
+	 * <p>
+	 * An iRODS error is delivered as a {@link JargonException} through the future
+	 * for that request, and does not affect the other requests. If the connection
+	 * fails, all outstanding futures are completed with the exception.
+	 * <p>
+	 * Only use this for operations with small replies, the agent may block
+	 * writing replies that are not being read. As with the rest of this class, the
+	 * connection should not be shared between threads.
+	 *
+	 * @param irodsPI {@link IRodsPI} with the packing instruction to execute
+	 * @return {@code Future} of {@link Tag} with the result of the call, which
+	 *         may be {@code null} as with {@link #irodsFunction(IRodsPI)}
+	 * @throws JargonException if the request could not be sent
+	 */
+	public Future<Tag> irodsFunctionAsync(final IRodsPI irodsPI) throws JargonException {
+		lock.lock();
+		try {
+			return irodsFunctionAsync(irodsPI, null);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Send a request whose reply carries a byte stream, such as a data object
+	 * read, without waiting for the reply. This is pipelined as
+	 * {@link #irodsFunctionAsync(IRodsPI)}, and the byte stream is read into
+	 * {@code byteStreamBuffer} whenever the reply is read, so the connection stays
+	 * in step no matter which call reads it. The returned {@link Tag} holds the
+	 * {@code MsgHeader_PI} with the {@code bsLen} of the data in the buffer.
+	 * <p>
+	 * Up to {@link PipelineConfiguration#getMaxPipelinedRequests()} replies may be
+	 * in flight, the agent may block writing them until they are read, which is
+	 * harmless as the replies are always read in order.
+	 *
+	 * @param irodsPI          {@link IRodsPI} with the packing instruction to
+	 *                         execute
+	 * @param byteStreamBuffer {@code byte[]} that will receive the byte stream of
+	 *                         the reply, may be {@code null} if the reply has no
+	 *                         byte stream. It must not be touched until the
+	 *                         future is done
+	 * @return {@code Future} of {@link Tag} with the result of the call, which
+	 *         may be {@code null} as with {@link #irodsFunction(IRodsPI)}
+	 * @throws JargonException if the request could not be sent
+	 */
+	public Future<Tag> irodsFunctionAsync(final IRodsPI irodsPI,
+			final byte[] byteStreamBuffer) throws JargonException {
+		lock.lock();
+		try {
+			if (irodsPI == null) {
+				String err = "null irodsPI";
+				log.error(err);
+				throw new IllegalArgumentException(err);
+			}
+
+			int maxPipelinedRequests = getPipelineConfiguration().getMaxPipelinedRequests();
+
+			if (maxPipelinedRequests <= 1) {
+				PipelinedReply reply = new PipelinedReply(this, irodsPI.getApiNumber(), byteStreamBuffer);
+				try {
+					Tag message = irodsFunction(irodsPI);
+					readReplyByteStream(message, byteStreamBuffer);
+					reply.complete(message);
+				} catch (JargonException e) {
+					reply.completeExceptionally(e);
+				}
+				return reply;
+			}
+
+			while (pipelinedReplies.size() >= maxPipelinedRequests) {
+				readNextPipelinedReply();
+			}
+
+			int intInfo = irodsPI.getApiNumber();
+			log.debug("pipelining api number:{}", intInfo);
+
+			try {
+				TagWriter message = packMessage(irodsPI);
+				logPackedMessage(message);
+
+				byte[] header = createHeader(IRODSConstants.RODS_API_REQ, message.size(), 0, 0, intInfo);
+				getIrodsConnection().sendInNetworkOrder(header.length);
+				getIrodsConnection().send(header);
+
+				if (isPamFlush()) {
+					log.debug("doing extra pam flush for iRODS 3.2");
+					flushPipeline();
+				}
+
+				sendPackedMessage(message);
+
+			} catch (UnsupportedEncodingException e) {
+				log.error("unsupported encoding", e);
+				throw new JargonException(e);
+			} catch (IOException e) {
+				log.error("io exception sending pipelined request", e);
+				failPipelinedReplies(new JargonException(e));
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+
+			PipelinedReply reply = new PipelinedReply(this, intInfo, byteStreamBuffer);
+			pipelinedReplies.addLast(reply);
+			return reply;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Read the replies to all requests sent by
+	 * {@link #irodsFunctionAsync(IRodsPI)}, completing their futures. This does
+	 * not throw on an iRODS or network error, these are delivered through the
+	 * futures.
+	 */
+	public void drainPipeline() {
+		lock.lock();
+		try {
+			while (!pipelinedReplies.isEmpty()) {
+				readNextPipelinedReply();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return {@code int} with the number of pipelined requests whose replies
+	 *         have not yet been read
+	 */
+	public int getPipelinedRequestCount() {
+		lock.lock();
+		try {
+			return pipelinedReplies.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Read replies, in order, until the given reply has been read
+	 *
+	 * @param reply {@link PipelinedReply} that is needed
+	 */
+	void readPipelinedRepliesThrough(final PipelinedReply reply) {
+		lock.lock();
+		try {
+			while (!reply.isDone() && !pipelinedReplies.isEmpty()) {
+				readNextPipelinedReply();
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Read replies, in order, until the given reply has been read or the time is
+	 * up. The time is checked before each reply is read.
+	 *
+	 * @param reply        {@link PipelinedReply} that is needed
+	 * @param timeoutNanos {@code long} with the nanoseconds to wait
+	 * @return {@code boolean} that is {@code true} if the reply has been read
+	 * @throws InterruptedException if interrupted waiting for the connection
+	 */
+	boolean readPipelinedRepliesThrough(final PipelinedReply reply, final long timeoutNanos)
+			throws InterruptedException {
+		final long deadline = System.nanoTime() + timeoutNanos;
+		if (!lock.tryLock(timeoutNanos, TimeUnit.NANOSECONDS)) {
+			return reply.isDone();
+		}
+		try {
+			while (!reply.isDone() && !pipelinedReplies.isEmpty()) {
+				if (deadline - System.nanoTime() <= 0) {
+					return false;
+				}
+				readNextPipelinedReply();
+			}
+			return reply.isDone();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void readNextPipelinedReply() {
+		PipelinedReply reply = pipelinedReplies.peekFirst();
+
+		if (!reply.isFlushed()) {
+			try {
+				flushPipeline();
+			} catch (IOException e) {
+				log.error("io exception flushing pipelined requests", e);
+				JargonException je = new JargonException(e);
+				failPipelinedReplies(je);
+				try {
+					disconnectWithForce();
+				} catch (JargonException e1) {
+					log.error("error disconnecting after failed flush", e1);
+				}
+				return;
+			}
+		}
+
+		pipelinedReplies.removeFirst();
+
+		try {
+			Tag message = readMessage();
+			readReplyByteStream(message, reply.getByteStreamBuffer());
+			recordApiLatency(IRODSConstants.RODS_API_REQ, reply.getApiNumber(), reply.getSentNanos());
+			reply.complete(message);
+		} catch (JargonException e) {
+			log.debug("pipelined request for api number:{} failed", reply.getApiNumber(), e);
+			reply.completeExceptionally(e);
+			if (!isConnected()) {
+				failPipelinedReplies(e);
+			}
+		}
+	}
+
+	/**
+	 * Record the latency of an API request, from sending it to reading its reply,
+	 * when the connection is instrumented
+	 *
+	 * @param type       {@code String} with the type of message, only API requests
+	 *                   are recorded
+	 * @param apiNumber  {@code int} with the API number
+	 * @param startNanos {@code long} from {@link System#nanoTime()} when the
+	 *                   request was started
+	 */
+	private void recordApiLatency(final String type, final int apiNumber, final long startNanos) {
+		MetricsRegistry metricsRegistry = irodsConnection.getMetricsRegistry();
+		if (metricsRegistry != null && IRODSConstants.RODS_API_REQ.equals(type)) {
+			metricsRegistry.recordLatency(MetricsRegistry.API_LATENCY_PREFIX + apiNumber,
+					System.nanoTime() - startNanos);
+		}
+	}
+
+	/**
+	 * Read the byte stream that follows a reply, if any, into the buffer given
+	 * with the request. A byte stream that was not expected, or does not fit, is
+	 * read and discarded so the connection stays in step, and reported as an
+	 * error.
+	 *
+	 * @param message          {@link Tag} with the reply, may be {@code null}
+	 * @param byteStreamBuffer {@code byte[]} for the byte stream, may be
+	 *                         {@code null}
+	 * @throws JargonException if the byte stream could not be read, or did not fit
+	 */
+	private void readReplyByteStream(final Tag message, final byte[] byteStreamBuffer) throws JargonException {
+		if (message == null) {
+			return;
+		}
+
+		Tag header = message.getTag(IRODSConstants.MsgHeader_PI);
+		if (header == null) {
+			return;
+		}
+
+		int byteStreamLength = header.getTag(IRODSConstants.bsLen).getIntValue();
+		if (byteStreamLength <= 0) {
+			return;
+		}
+
+		if (byteStreamBuffer != null && byteStreamLength <= byteStreamBuffer.length) {
+			read(byteStreamBuffer, 0, byteStreamLength);
+			return;
+		}
+
+		log.error("reply byte stream of {} bytes has no room in the request buffer, discarding", byteStreamLength);
+		byte[] discard = new byte[Math.min(byteStreamLength, 65536)];
+		int remaining = byteStreamLength;
+		while (remaining > 0) {
+			remaining -= read(discard, 0, Math.min(discard.length, remaining));
+		}
+		throw new JargonException("reply byte stream of " + byteStreamLength + " bytes did not fit the buffer");
+	}
+
+	private void flushPipeline() throws IOException {
+		getIrodsConnection().flush();
+		for (PipelinedReply pending : pipelinedReplies) {
+			pending.setFlushed(true);
+		}
+	}
+
+	/**
+	 * Complete any outstanding pipelined requests with the given exception, used
+	 * when the connection can no longer be read
+	 *
+	 * @param cause {@link JargonException} that caused the failure
+	 */
+	private void failPipelinedReplies(final JargonException cause) {
+		PipelinedReply reply;
+		while ((reply = pipelinedReplies.pollFirst()) != null) {
+			reply.completeExceptionally(cause);
+		}
+	}
+
+	/**
+	 * Send a packing instruction with no error or binary streams, serializing it
+	 * straight into the re-used {@link TagWriter} rather than through
+	 * {@link IRodsPI#getParsedTags()}
+	 *
+	 * @param type    {@code String} with the protocol type
+	 * @param irodsPI {@link IRodsPI} with the packing instruction to send
+	 * @return {@link Tag} with the iRODS protocol response
+	 * @throws JargonException on invocation of the function
+	 */
+	private Tag irodsFunctionWithPackedMessage(final String type, final IRodsPI irodsPI) throws JargonException {
+
+		final long startNanos = System.nanoTime();
+		int intInfo = irodsPI.getApiNumber();
+		log.debug("api number is:{}", intInfo);
+
+		try {
+			TagWriter message = packMessage(irodsPI);
+
+			if (intInfo != 1201) {
+				logPackedMessage(message);
+			}
+
+			sendHeader(type, message.size(), 0, 0, intInfo);
+
+			if (getStartupResponseData() == null) {
+				log.debug("no ssl flush checking during negotiation");
+			} else if (isPamFlush()) {
+				log.debug("doing extra pam flush for iRODS 3.2");
+				getIrodsConnection().flush();
+			}
+
+			sendPackedMessage(message);
+			getIrodsConnection().flush();
+
+		} catch (UnsupportedEncodingException e) {
+			log.error("unsupported encoding", e);
+			throw new JargonException(e);
+		} catch (IOException e) {
+			disconnectWithForce();
+			throw new JargonException(e);
+		}
+
+		Tag reply = readMessage();
+		recordApiLatency(type, intInfo, startNanos);
+		return reply;
+	}
+
+	/**
+	 * Serialize the packing instruction into the re-used {@link TagWriter}
+	 *
+	 * @param irodsPI {@link IRodsPI} to serialize
+	 * @return {@link TagWriter} holding the message, which may be empty if the
+	 *         packing instruction has no message
+	 * @throws JargonException              for iRODS error
+	 * @throws UnsupportedEncodingException if the encoding is not supported
+	 */
+	private TagWriter packMessage(final IRodsPI irodsPI) throws JargonException, UnsupportedEncodingException {
+		if (tagWriter == null) {
+			tagWriter = new TagWriter(getEncoding());
+		} else {
+			tagWriter.reset();
+		}
+		irodsPI.writeParsedTags(tagWriter);
+		return tagWriter;
+	}
 
-		if (irodsPI == null) {
-			String err = "null irodsPI";
-			log.error(err);
-			throw new IllegalArgumentException(err);
+	private void sendPackedMessage(final TagWriter message) throws IOException {
+		if (message.size() > 0) {
+			getIrodsConnection().send(message.getBuffer(), 0, message.size());
 		}
+	}
 
-		return irodsFunction(IRODSConstants.RODS_NEG_REQ, irodsPI.getParsedTags(), irodsPI.getApiNumber());
+	private void logPackedMessage(final TagWriter message) throws UnsupportedEncodingException {
+		if (log.isDebugEnabled()) {
+			log.debug("calling irods function with:{}", new String(message.getBuffer(), 0, message.size(), getEncoding()));
+		}
 	}
 
 	/**
@@ -1006,8 +1534,13 @@ public class IRODSMidLevelProtocol {
 	 * @return {@link Tag} with the iRODS protocol response
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized Tag readMessage() throws JargonException {
-		return readMessage(true);
+	public Tag readMessage() throws JargonException {
+		lock.lock();
+		try {
+			return readMessage(true);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1020,64 +1553,74 @@ public class IRODSMidLevelProtocol {
 	 * @return {@link Tag} with the iRODS protocol response
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized Tag readMessage(final boolean decode) throws JargonException {
-		log.debug("reading message from irods");
-		Tag header = readHeader();
-		Tag message = null;
-
-		int messageLength = header.getTags()[1].getIntValue();
-		int errorLength = header.getTags()[2].getIntValue();
-		int bytesLength = header.getTags()[3].getIntValue();
-		int info = header.getTags()[4].getIntValue();
+	public Tag readMessage(final boolean decode) throws JargonException {
+		lock.lock();
+		try {
+			log.debug("reading message from irods");
+			Tag header = readHeader();
+			Tag message = null;
 
-		if (log.isDebugEnabled()) {
-			log.debug("message length:{}", messageLength);
-			log.debug("error length:{}", errorLength);
-			log.debug("bytesLength:{}", bytesLength);
-			log.debug("info value:{}", info);
-		}
+			int messageLength = header.getTags()[1].getIntValue();
+			int errorLength = header.getTags()[2].getIntValue();
+			int bytesLength = header.getTags()[3].getIntValue();
+			int info = header.getTags()[4].getIntValue();
 
-		// Reports iRODS errors, throw exception if appropriate
-		if (info < 0) {
-			processMessageInfoLessThanZero(messageLength, errorLength, info);
-			log.debug("returning null, no results");
-			// query with no results
-			return null;
-		}
+			if (log.isDebugEnabled()) {
+				log.debug("message length:{}", messageLength);
+				log.debug("error length:{}", errorLength);
+				log.debug("bytesLength:{}", bytesLength);
+				log.debug("info value:{}", info);
+			}
 
-		if (messageLength > 0) {
-			log.debug("message length greater than zero");
-			message = readMessageBody(messageLength, decode);
+			// Reports iRODS errors, throw exception if appropriate
+			if (info < 0) {
+				processMessageInfoLessThanZero(messageLength, errorLength, info);
+				log.debug("returning null, no results");
+				// query with no results
+				return null;
+			}
 
-			// squelch genqueryout data for nicer logs
-			if (log.isDebugEnabled()) {
-				String messageAsString = message.parseTag();
-				int idx = messageAsString.indexOf("GenQueryOut");
-				if (idx == -1 || ConnectionConstants.DUMP_GEN_QUERY_OUT) {
-					log.debug("message from IRODS read back:{}", messageAsString);
+			if (messageLength > 0) {
+				log.debug("message length greater than zero");
+				message = readMessageBody(messageLength, decode);
+
+				// squelch genqueryout data for nicer logs
+				if (log.isDebugEnabled()) {
+					String messageAsString = message.parseTag();
+					int idx = messageAsString.indexOf("GenQueryOut");
+					if (idx == -1 || ConnectionConstants.DUMP_GEN_QUERY_OUT) {
+						log.debug("message from IRODS read back:{}", messageAsString);
+					}
 				}
 			}
-		}
-		// previous will have returned or thrown exception
+			// previous will have returned or thrown exception
 
-		if (errorLength != 0) {
-			return processMessageErrorNotEqualZero(errorLength);
-		}
+			if (errorLength != 0) {
+				return processMessageErrorNotEqualZero(errorLength);
+			}
+
+			if (bytesLength != 0 || info > 0) {
+				log.debug("bytes length is not zero");
+				if (message == null) {
+					message = new Tag(IRodsPI.MSG_HEADER_PI_TAG);
+				}
 
-		if (bytesLength != 0 || info > 0) {
-			log.debug("bytes length is not zero");
-			if (message == null) {
-				message = new Tag(IRodsPI.MSG_HEADER_PI_TAG);
+				message.addTag(header);
 			}
 
-			message.addTag(header);
+			return message;
+		} finally {
+			lock.unlock();
 		}
-
-		return message;
 	}
 
-	public synchronized boolean isConnected() {
-		return irodsConnection.isConnected();
+	public boolean isConnected() {
+		lock.lock();
+		try {
+			return irodsConnection.isConnected();
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1094,42 +1637,46 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized void shutdown() throws JargonException {
-		log.debug("shutting down, need to send disconnect to irods");
-		if (isConnected()) {
-
-			preDisconnectAction();
-
-			log.debug("sending disconnect message");
-			try {
-				sendHeader(RequestTypes.RODS_DISCONNECT.getRequestType(), 0, 0, 0, 0);
-				irodsConnection.flush();
-				log.debug("finally, shutdown is being called on the given connection");
-				irodsConnection.shutdown();
-				if (getIrodsConnectionNonEncryptedRef() != null) {
-					getIrodsConnectionNonEncryptedRef().shutdown();
+	public void shutdown() throws JargonException {
+		lock.lock();
+		try {
+			log.debug("shutting down, need to send disconnect to irods");
+			if (isConnected()) {
+
+				preDisconnectAction();
+
+				log.debug("sending disconnect message");
+				try {
+					sendHeader(RequestTypes.RODS_DISCONNECT.getRequestType(), 0, 0, 0, 0);
+					irodsConnection.flush();
+					log.debug("finally, shutdown is being called on the given connection");
+					irodsConnection.shutdown();
+					if (getIrodsConnectionNonEncryptedRef() != null) {
+						getIrodsConnectionNonEncryptedRef().shutdown();
+					}
+				} catch (ClosedChannelException e) {
+					log.error("closed channel", e);
+					disconnectWithForce();
+
+					throw new JargonException(e);
+				} catch (InterruptedIOException e) {
+					log.error("interrupted io", e);
+					disconnectWithForce();
+
+					throw new JargonException(e);
+				} catch (IOException e) {
+					log.error("io exception", e);
+					disconnectWithForce();
+					throw new JargonException(e);
 				}
-			} catch (ClosedChannelException e) {
-				log.error("closed channel", e);
-				disconnectWithForce();
 
-				throw new JargonException(e);
-			} catch (InterruptedIOException e) {
-				log.error("interrupted io", e);
-				disconnectWithForce();
-
-				throw new JargonException(e);
-			} catch (IOException e) {
-				log.error("io exception", e);
-				disconnectWithForce();
-				throw new JargonException(e);
+			} else {
+				log.warn(
+						"disconnect called, but isConnected() is false, this is an unexpected condition that is logged and ignored");
 			}
-
-		} else {
-			log.warn(
-					"disconnect called, but isConnected() is false, this is an unexpected condition that is logged and ignored");
+		} finally {
+			lock.unlock();
 		}
-
 	}
 
 	/**
@@ -1143,10 +1690,14 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized void disconnect() throws JargonException {
-		log.debug("closing connection");
-		getIrodsSession().closeSession(getIrodsAccount());
-
+	public void disconnect() throws JargonException {
+		lock.lock();
+		try {
+			log.debug("closing connection");
+			getIrodsSession().closeSession(getIrodsAccount());
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1161,16 +1712,24 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized void disconnectWithForce() throws JargonException {
-		if (getIrodsAccount() != null) {
-			getIrodsSession().discardSessionForErrors(getIrodsAccount());
-		}
+	public void disconnectWithForce() throws JargonException {
+		lock.lock();
+		try {
+			if (!pipelinedReplies.isEmpty()) {
+				failPipelinedReplies(new JargonException("connection closed with pipelined requests outstanding"));
+			}
 
-		if (getIrodsConnection().isConnected()) {
-			log.warn("partial connection, not authenticated, forcefully shut down the socket");
-			getIrodsConnection().obliterateConnectionAndDiscardErrors();
-		}
+			if (getIrodsAccount() != null) {
+				getIrodsSession().discardSessionForErrors(getIrodsAccount());
+			}
 
+			if (getIrodsConnection().isConnected()) {
+				log.warn("partial connection, not authenticated, forcefully shut down the socket");
+				getIrodsConnection().obliterateConnectionAndDiscardErrors();
+			}
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1178,7 +1737,7 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @return {@link IRODSServerProperties}
 	 */
-	public synchronized IRODSServerProperties getIRODSServerProperties() {
+	public IRODSServerProperties getIRODSServerProperties() {
 		return irodsServerProperties;
 	}
 
@@ -1187,7 +1746,7 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @return {@link IRODSAccount}
 	 */
-	public synchronized IRODSAccount getIrodsAccount() {
+	public IRODSAccount getIrodsAccount() {
 		return irodsAccount;
 	}
 
@@ -1198,10 +1757,15 @@ public class IRODSMidLevelProtocol {
 	 * @param status {@code int} with the status code to send
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized void operationComplete(final int status) throws JargonException {
-		Tag message = new Tag(AbstractIRODSPackingInstruction.INT_PI,
-				new Tag[] { new Tag(AbstractIRODSPackingInstruction.MY_INT, status), });
-		irodsFunction(IRODSConstants.RODS_API_REQ, message.parseTag(), IRODSConstants.OPR_COMPLETE_AN);
+	public void operationComplete(final int status) throws JargonException {
+		lock.lock();
+		try {
+			Tag message = new Tag(AbstractIRODSPackingInstruction.INT_PI,
+					new Tag[] { new Tag(AbstractIRODSPackingInstruction.MY_INT, status), });
+			irodsFunction(IRODSConstants.RODS_API_REQ, message.parseTag(), IRODSConstants.OPR_COMPLETE_AN);
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	/**
@@ -1211,12 +1775,17 @@ public class IRODSMidLevelProtocol {
 	 * @param value {@code int} with
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized void sendInNetworkOrder(final int value) throws JargonException {
+	public void sendInNetworkOrder(final int value) throws JargonException {
+		lock.lock();
 		try {
-			irodsConnection.sendInNetworkOrder(value);
-		} catch (IOException e) {
-			disconnectWithForce();
-			throw new JargonException(e);
+			try {
+				irodsConnection.sendInNetworkOrder(value);
+			} catch (IOException e) {
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+		} finally {
+			lock.unlock();
 		}
 	}
 
@@ -1228,13 +1797,18 @@ public class IRODSMidLevelProtocol {
 	 * @param value {@code int} with
 	 * @throws JargonException on iRODS error
 	 */
-	public synchronized void sendInNetworkOrderWithFlush(final int value) throws JargonException {
+	public void sendInNetworkOrderWithFlush(final int value) throws JargonException {
+		lock.lock();
 		try {
-			// irodsConnection.flush();
-			irodsConnection.sendInNetworkOrder(value, true);
-		} catch (IOException e) {
-			disconnectWithForce();
-			throw new JargonException(e);
+			try {
+				// irodsConnection.flush();
+				irodsConnection.sendInNetworkOrder(value, true);
+			} catch (IOException e) {
+				disconnectWithForce();
+				throw new JargonException(e);
+			}
+		} finally {
+			lock.unlock();
 		}
 	}
 
@@ -1243,7 +1817,7 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @return {@link IRODSSession}
 	 */
-	public synchronized IRODSSession getIrodsSession() {
+	public IRODSSession getIrodsSession() {
 		return irodsSession;
 	}
 
@@ -1252,7 +1826,7 @@ public class IRODSMidLevelProtocol {
 	 *
 	 * @param irodsSession {@link IRODSSession} to set
 	 */
-	public synchronized void setIrodsSession(final IRODSSession irodsSession) {
+	public void setIrodsSession(final IRODSSession irodsSession) {
 		if (irodsSession == null) {
 			throw new IllegalArgumentException("null irodsSession");
 		}
@@ -1263,7 +1837,7 @@ public class IRODSMidLevelProtocol {
 	/**
 	 * @return {@link IRODSProtocolManager} set in this protocol
 	 */
-	public synchronized IRODSProtocolManager getIrodsProtocolManager() {
+	public IRODSProtocolManager getIrodsProtocolManager() {
 		return irodsProtocolManager;
 	}
 
@@ -1280,48 +1854,51 @@ public class IRODSMidLevelProtocol {
 	 * @param reply {@code Tag} containing status messages from IRODS
 	 * @throws JargonException for iRODS error
 	 */
-	public synchronized void processClientStatusMessages(final Tag reply) throws JargonException {
-
-		boolean done = false;
-		Tag ackResult = reply;
-
-		while (!done) {
-			if (ackResult.getLength() > 0) {
-				if (ackResult.getName().equals(IRODSConstants.CollOprStat_PI)) {
-					// formulate an answer status reply
-
-					// if the total file count is 0, then I will continue and
-					// send
-					// the coll stat reply, otherwise, just ignore and
-					// don't send the reply.
-
-					Tag fileCountTag = ackResult.getTag("filesCnt");
-					int fileCount = Integer.parseInt((String) fileCountTag.getValue());
-
-					if (fileCount < IRODSConstants.SYS_CLI_TO_SVR_COLL_STAT_SIZE) {
-						done = true;
-					} else {
-						sendInNetworkOrder(IRODSConstants.SYS_CLI_TO_SVR_COLL_STAT_REPLY);
-						ackResult = readMessage();
+	public void processClientStatusMessages(final Tag reply) throws JargonException {
+		lock.lock();
+		try {
+			boolean done = false;
+			Tag ackResult = reply;
+
+			while (!done) {
+				if (ackResult.getLength() > 0) {
+					if (ackResult.getName().equals(IRODSConstants.CollOprStat_PI)) {
+						// formulate an answer status reply
+
+						// if the total file count is 0, then I will continue and
+						// send
+						// the coll stat reply, otherwise, just ignore and
+						// don't send the reply.
+
+						Tag fileCountTag = ackResult.getTag("filesCnt");
+						int fileCount = Integer.parseInt((String) fileCountTag.getValue());
+
+						if (fileCount < IRODSConstants.SYS_CLI_TO_SVR_COLL_STAT_SIZE) {
+							done = true;
+						} else {
+							sendInNetworkOrder(IRODSConstants.SYS_CLI_TO_SVR_COLL_STAT_REPLY);
+							ackResult = readMessage();
+						}
 					}
 				}
 			}
+		} finally {
+			lock.unlock();
 		}
-
 	}
 
 	/**
 	 * @return {@link AuthResponse} associated with the authentication of this
 	 *         connection
 	 */
-	public synchronized AuthResponse getAuthResponse() {
+	public AuthResponse getAuthResponse() {
 		return authResponse;
 	}
 
 	/**
 	 * @return {@link IRODSServerProperties} associated with this connection
 	 */
-	synchronized IRODSServerProperties getIrodsServerProperties() {
+	IRODSServerProperties getIrodsServerProperties() {
 		return irodsServerProperties;
 	}
 
@@ -1330,7 +1907,7 @@ public class IRODSMidLevelProtocol {
 	 *                              connection
 	 *
 	 */
-	synchronized void setIrodsServerProperties(final IRODSServerProperties irodsServerProperties) {
+	void setIrodsServerProperties(final IRODSServerProperties irodsServerProperties) {
 		this.irodsServerProperties = irodsServerProperties;
 	}
 
@@ -1338,7 +1915,7 @@ public class IRODSMidLevelProtocol {
 	 * @param irodsAccount {@link IRODSAccount}
 	 *
 	 */
-	synchronized void setIrodsAccount(final IRODSAccount irodsAccount) {
+	void setIrodsAccount(final IRODSAccount irodsAccount) {
 		this.irodsAccount = irodsAccount;
 	}
 
@@ -1347,7 +1924,7 @@ public class IRODSMidLevelProtocol {
 	 *                     connection
 	 *
 	 */
-	protected synchronized void setAuthResponse(final AuthResponse authResponse) {
+	protected void setAuthResponse(final AuthResponse authResponse) {
 		this.authResponse = authResponse;
 	}
 
@@ -1390,7 +1967,7 @@ public class IRODSMidLevelProtocol {
 		}
 
 		try {
-			return Tag.readNextTag(header, getEncoding());
+			return parseProtocolMessage(header, true);
 		} catch (UnsupportedEncodingException e) {
 			log.error("Unsupported encoding for:{}", getEncoding());
 			throw new JargonException("Unsupported encoding for:" + getEncoding());
@@ -1434,13 +2011,32 @@ public class IRODSMidLevelProtocol {
 			throw new JargonException(e);
 		}
 		try {
-			return Tag.readNextTag(body, decode, getEncoding());
+			return parseProtocolMessage(body, decode);
 		} catch (UnsupportedEncodingException e) {
 			log.error("Unsupported encoding for:{}", getEncoding());
 			throw new JargonException("Unsupported encoding for:" + getEncoding());
 		}
 	}
 
+	/**
+	 * Parse a protocol message read from iRODS into a {@link Tag}, using the
+	 * parser selected in the {@link PipelineConfiguration}
+	 *
+	 * @param data   {@code byte[]} with the protocol message as read from iRODS
+	 * @param decode {@code boolean} that will cause entities in values to be
+	 *               decoded if {@code true}
+	 * @return {@link Tag} with the parsed message
+	 * @throws UnsupportedEncodingException if the configured encoding is not
+	 *                                      supported
+	 */
+	private Tag parseProtocolMessage(final byte[] data, final boolean decode) throws UnsupportedEncodingException {
+		if (getPipelineConfiguration().isUseStreamingTagParser()) {
+			return StreamingTagParser.readNextTag(data, decode, getEncoding());
+		} else {
+			return Tag.readNextTag(data, decode, getEncoding());
+		}
+	}
+
 	Tag processMessageErrorNotEqualZero(final int errorLength) throws JargonException {
 		log.debug("error length is not zero, process error");
 		byte[] errorMessage = new byte[errorLength];
@@ -1461,7 +2057,7 @@ public class IRODSMidLevelProtocol {
 		}
 		Tag errorTag;
 		try {
-			errorTag = Tag.readNextTag(errorMessage, getEncoding());
+			errorTag = parseProtocolMessage(errorMessage, true);
 		} catch (UnsupportedEncodingException e) {
 			log.error("Unsupported encoding for:{}", getEncoding());
 			throw new JargonException("Unsupported encoding for:" + getEncoding());
@@ -1499,9 +2095,14 @@ public class IRODSMidLevelProtocol {
 	 * @see org.irods.jargon.core.connection.IRODSManagedConnection#
 	 * obliterateConnectionAndDiscardErrors()
 	 */
-	public synchronized void obliterateConnectionAndDiscardErrors() {
-		log.warn("obliterateConnectionAndDiscardErrors() will forcefully close the connection");
-		irodsConnection.obliterateConnectionAndDiscardErrors();
+	public void obliterateConnectionAndDiscardErrors() {
+		lock.lock();
+		try {
+			log.warn("obliterateConnectionAndDiscardErrors() will forcefully close the connection");
+			irodsConnection.obliterateConnectionAndDiscardErrors();
+		} finally {
+			lock.unlock();
+		}
 	}
 
 	void processMessageInfoLessThanZero(final int messageLength, final int errorLength, final int info)
@@ -1512,8 +2113,7 @@ public class IRODSMidLevelProtocol {
 		if (messageLength > 0) {
 			log.debug("throwing away bytes");
 			try {
-				irodsConnection.read(new byte[messageLength], 0, messageLength);
-				Tag.readNextTag(messageByte, getEncoding());
+				irodsConnection.read(messageByte, 0, messageLength);
 
 			} catch (ClosedChannelException e) {
 				log.error("closed channel", e);
@@ -1562,7 +2162,7 @@ public class IRODSMidLevelProtocol {
 			Tag errorTag;
 
 			try {
-				errorTag = Tag.readNextTag(errorMessage, getEncoding());
+				errorTag = parseProtocolMessage(errorMessage, true);
 
 				if (errorTag != null) {
 					log.error("IRODS error occured " + errorTag.getTag(RErrMsg.PI_TAG).getTag(IRodsPI.MESSAGE_TAG)
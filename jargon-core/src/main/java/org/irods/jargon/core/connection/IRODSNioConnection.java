@@ -0,0 +1,522 @@
+package org.irods.jargon.core.connection;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connection to the iRODS server built on a {@link SocketChannel}, selected by
+ * setting the {@code connection.factory} property to {@code nio}.
+ * <p>
+ * Data moves through direct {@link ByteBuffer}s. Small sends are collected in
+ * the output buffer, and a send that does not fit is written along with the
+ * buffered header and message in one gathering write. Data read for a get into
+ * a local file is handed from the channel to the {@link FileChannel} of the
+ * file rather than copied through a byte array.
+ * <p>
+ * The channel is non-blocking, waiting is done on a per connection
+ * {@link Selector} so that the configured socket timeout is honored. The
+ * streams returned by {@link #getIrodsInputStream()} and
+ * {@link #getIrodsOutputStream()} go through the same buffers, so GSI works as
+ * with the TCP connection. When the socket itself is requested, as when it is
+ * wrapped for SSL, the channel is put back in blocking mode so the socket
+ * streams can be used.
+ * <p>
+ * Like {@link IRODSBasicTCPConnection}, the connection is confined to one
+ * thread at a time by {@link IRODSMidLevelProtocol}.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+class IRODSNioConnection extends AbstractConnection {
+
+	static final Logger log = LoggerFactory.getLogger(IRODSNioConnection.class);
+
+	/**
+	 * Size of the direct buffers when the internal stream buffer sizes are not
+	 * set
+	 */
+	static final int DEFAULT_BUFFER_SIZE = 65536;
+
+	private SocketChannel channel;
+	private Selector selector;
+	private SelectionKey selectionKey;
+	private ByteBuffer inputBuffer;
+	private ByteBuffer gatherBuffer;
+	private final ByteBuffer[] gather = new ByteBuffer[2];
+	private long timeoutMillis;
+
+	/**
+	 * Constructor that gives the account and pipeline setup information, and
+	 * connects to iRODS
+	 *
+	 * @param irodsAccount          {@link IRODSAccount} that defines the connection
+	 * @param pipelineConfiguration {@link PipelineConfiguration} that defines the
+	 *                              low level connection and networking
+	 *                              configuration
+	 * @param irodsProtocolManager  {@link irodsProtocolManager} that requested this
+	 *                              connection
+	 * @param irodsSession          {@link IRODSSession} associated with this
+	 *                              connection
+	 * @throws JargonException for iRODS error
+	 */
+	IRODSNioConnection(final IRODSAccount irodsAccount, final PipelineConfiguration pipelineConfiguration,
+			final IRODSProtocolManager irodsProtocolManager, final IRODSSession irodsSession) throws JargonException {
+		super(irodsAccount, pipelineConfiguration, irodsProtocolManager, irodsSession);
+	}
+
+	@Override
+	protected void connect(final IRODSAccount irodsAccount) throws JargonException {
+		log.debug("connect()");
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (connected) {
+			log.warn("doing connect when already connected!, will bypass connect and proceed");
+			return;
+		}
+
+		int attemptCount = 3;
+
+		for (int i = 0; i < attemptCount; i++) {
+			log.debug("connecting channel to agent");
+			try {
+				channel = SocketChannel.open();
+				connection = channel.socket();
+
+				if (getPipelineConfiguration().getPrimaryTcpSendWindowSize() > 0) {
+					connection.setSendBufferSize(getPipelineConfiguration().getPrimaryTcpSendWindowSize() * 1024);
+				}
+
+				if (getPipelineConfiguration().getPrimaryTcpReceiveWindowSize() > 0) {
+					connection.setReceiveBufferSize(getPipelineConfiguration().getPrimaryTcpReceiveWindowSize() * 1024);
+				}
+
+				connection.setPerformancePreferences(
+						getPipelineConfiguration().getPrimaryTcpPerformancePrefsConnectionTime(),
+						getPipelineConfiguration().getPrimaryTcpPerformancePrefsLatency(),
+						getPipelineConfiguration().getPrimaryTcpPerformancePrefsBandwidth());
+				connection.setKeepAlive(getPipelineConfiguration().isPrimaryTcpKeepAlive());
+				connection.setReuseAddress(true);
+				connection.setTcpNoDelay(false);
+
+				channel.connect(new InetSocketAddress(irodsAccount.getHost(), irodsAccount.getPort()));
+				log.debug("connection to channel made...");
+				break;
+
+			} catch (UnknownHostException e) {
+				log.error("exception opening channel to:" + irodsAccount.getHost() + " port:"
+						+ irodsAccount.getPort(), e);
+				closeChannelQuietly();
+				throw new JargonException(e);
+			} catch (IOException ioe) {
+				closeChannelQuietly();
+
+				if (i < attemptCount - 1) {
+					log.error("IOExeption, sleep and attempt a reconnect", ioe);
+
+					try {
+						Thread.sleep(1000);
+					} catch (InterruptedException e) {
+						// ignore
+					}
+
+				} else {
+
+					log.error("io exception opening channel to:" + irodsAccount.getHost() + " port:"
+							+ irodsAccount.getPort(), ioe);
+					throw new JargonException(ioe);
+				}
+			}
+		}
+
+		setUpChannelAndStreamsAfterConnection(irodsAccount);
+		connected = true;
+		log.debug("channel opened successfully");
+	}
+
+	/**
+	 * Switch the connected channel to non-blocking mode, register it with the
+	 * selector, and set up the buffers and the stream views
+	 *
+	 * @param irodsAccount {@link IRODSAccount}
+	 * @throws JargonException for iRODS error
+	 */
+	void setUpChannelAndStreamsAfterConnection(final IRODSAccount irodsAccount) throws JargonException {
+		try {
+			int socketTimeout = pipelineConfiguration.getIrodsSocketTimeout();
+			if (socketTimeout > 0) {
+				log.debug("setting a connection timeout of:{} seconds", socketTimeout);
+				timeoutMillis = socketTimeout * 1000L;
+			}
+
+			channel.configureBlocking(false);
+			selector = Selector.open();
+			selectionKey = channel.register(selector, 0);
+
+			int inputSize = pipelineConfiguration.getInternalInputStreamBufferSize() > 0
+					? pipelineConfiguration.getInternalInputStreamBufferSize()
+					: DEFAULT_BUFFER_SIZE;
+			int outputSize = pipelineConfiguration.getInternalOutputStreamBufferSize() > 0
+					? pipelineConfiguration.getInternalOutputStreamBufferSize()
+					: DEFAULT_BUFFER_SIZE;
+			log.debug("direct buffers of input:{} output:{}", inputSize, outputSize);
+
+			inputBuffer = ByteBuffer.allocateDirect(inputSize);
+			inputBuffer.flip();
+			gatherBuffer = ByteBuffer.allocateDirect(outputSize);
+
+			irodsInputStream = new ChannelInputStream();
+			irodsOutputStream = new ChannelOutputStream();
+
+		} catch (IOException ioe) {
+			log.error("io exception opening channel to:" + irodsAccount.getHost() + " port:" + irodsAccount.getPort(),
+					ioe);
+			closeChannelQuietly();
+			throw new JargonException(ioe);
+		}
+	}
+
+	/**
+	 * Collect the bytes in the output buffer, or when they do not fit, write the
+	 * buffer and the bytes together in one gathering write
+	 */
+	@Override
+	protected void writeBytes(final byte[] value, final int offset, final int length) throws IOException {
+		if (length <= gatherBuffer.remaining()) {
+			gatherBuffer.put(value, offset, length);
+			return;
+		}
+
+		gatherBuffer.flip();
+		gather[0] = gatherBuffer;
+		gather[1] = ByteBuffer.wrap(value, offset, length);
+		try {
+			writeFully(gather);
+		} finally {
+			gather[1] = null;
+			gatherBuffer.clear();
+		}
+	}
+
+	@Override
+	protected void flushBytes() throws IOException {
+		if (gatherBuffer.position() == 0) {
+			return;
+		}
+
+		gatherBuffer.flip();
+		gather[0] = gatherBuffer;
+		try {
+			writeFully(gather, 1);
+		} finally {
+			gatherBuffer.clear();
+		}
+	}
+
+	/**
+	 * Drain what is left in the input buffer to the file, then have the file
+	 * channel pull the rest from the socket channel
+	 */
+	@Override
+	public void read(final FileChannel destination, long length,
+			final ConnectionProgressStatusListener intraFileStatusListener) throws IOException {
+
+		if (destination == null) {
+			String err = "destination is null";
+			log.error(err);
+			throw new IllegalArgumentException(err);
+		}
+
+		log.debug("read() to file channel for length:{}", length);
+		long received = 0L;
+
+		while (length > 0) {
+			long n;
+			if (inputBuffer.hasRemaining()) {
+				n = drainInputBuffer(destination, length);
+			} else {
+				long position = destination.position();
+				n = destination.transferFrom(channel, position, length);
+				if (n > 0) {
+					destination.position(position + n);
+				} else {
+					/*
+					 * transferFrom returns 0 both when no data is ready and at end of stream, so
+					 * wait and then do a plain read to tell them apart
+					 */
+					awaitReady(SelectionKey.OP_READ);
+					if (!fillInputBuffer()) {
+						throw new EOFException("connection closed with " + length + " bytes left to read");
+					}
+					continue;
+				}
+			}
+
+			length -= n;
+			received += n;
+
+			if (intraFileStatusListener != null) {
+				intraFileStatusListener
+						.connectionProgressStatusCallback(ConnectionProgressStatus.instanceForSend(n));
+			}
+		}
+
+		if (metricsRegistry != null) {
+			metricsRegistry.incrementCounter(MetricsRegistry.BYTES_RECEIVED, received);
+		}
+	}
+
+	@Override
+	protected boolean isDirectFileTransferSupported() {
+		return selector != null;
+	}
+
+	/**
+	 * Handing out the socket means the caller will use its streams, as when the
+	 * socket is wrapped for SSL, which needs the channel in blocking mode. The
+	 * selector is closed and the socket timeout set in its place.
+	 */
+	@Override
+	protected Socket getConnection() {
+		if (selector != null && channel.isOpen()) {
+			log.debug("switching channel to blocking mode for use of the socket");
+			try {
+				selectionKey.cancel();
+				selector.close();
+				channel.configureBlocking(true);
+				connection.setSoTimeout((int) timeoutMillis);
+			} catch (IOException e) {
+				log.warn("unable to switch channel to blocking mode", e);
+			}
+			selector = null;
+		}
+		return connection;
+	}
+
+	private long drainInputBuffer(final FileChannel destination, final long length) throws IOException {
+		int limit = inputBuffer.limit();
+		if (inputBuffer.remaining() > length) {
+			inputBuffer.limit(inputBuffer.position() + (int) length);
+		}
+
+		long n = 0L;
+		try {
+			while (inputBuffer.hasRemaining()) {
+				n += destination.write(inputBuffer);
+			}
+		} finally {
+			inputBuffer.limit(limit);
+		}
+		return n;
+	}
+
+	/**
+	 * Read what is available from the channel into the empty input buffer, waiting
+	 * for data if need be
+	 *
+	 * @return {@code boolean} that is {@code false} at end of stream
+	 * @throws IOException on read error or timeout
+	 */
+	private boolean fillInputBuffer() throws IOException {
+		inputBuffer.clear();
+		int n;
+		try {
+			n = readSome(inputBuffer);
+		} finally {
+			inputBuffer.flip();
+		}
+		return n > 0;
+	}
+
+	private int readSome(final ByteBuffer buffer) throws IOException {
+		while (true) {
+			int n = channel.read(buffer);
+			if (n != 0) {
+				return n;
+			}
+			awaitReady(SelectionKey.OP_READ);
+		}
+	}
+
+	private void writeFully(final ByteBuffer[] buffers) throws IOException {
+		writeFully(buffers, buffers.length);
+	}
+
+	private void writeFully(final ByteBuffer[] buffers, final int count) throws IOException {
+		while (buffers[count - 1].hasRemaining()) {
+			if (channel.write(buffers, 0, count) == 0) {
+				awaitReady(SelectionKey.OP_WRITE);
+			}
+		}
+	}
+
+	/**
+	 * Wait on the selector for the channel to be ready, within the socket timeout
+	 *
+	 * @param operation {@code int} with the {@link SelectionKey} operation
+	 * @throws IOException on timeout or interrupt
+	 */
+	private void awaitReady(final int operation) throws IOException {
+		if (selector == null) {
+			// blocking mode, the channel call itself waits
+			return;
+		}
+
+		selectionKey.interestOps(operation);
+		long deadline = System.currentTimeMillis() + timeoutMillis;
+		try {
+			while (true) {
+				long waitMillis = 0L;
+				if (timeoutMillis > 0) {
+					waitMillis = deadline - System.currentTimeMillis();
+					if (waitMillis <= 0) {
+						throw new SocketTimeoutException("timed out waiting on iRODS after " + timeoutMillis + " ms");
+					}
+				}
+
+				if (selector.select(waitMillis) > 0) {
+					selector.selectedKeys().clear();
+					return;
+				}
+
+				if (Thread.currentThread().isInterrupted()) {
+					throw new InterruptedIOException("interrupted waiting on iRODS");
+				}
+			}
+		} finally {
+			selectionKey.interestOps(0);
+		}
+	}
+
+	private void closeChannelQuietly() {
+		try {
+			if (selector != null) {
+				selector.close();
+			}
+		} catch (IOException e) {
+			// ignore
+		}
+
+		try {
+			if (channel != null) {
+				channel.close();
+			}
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	/**
+	 *
+	 */
+	void closeDownChannelAndEatAnyExceptions() {
+		if (isConnected()) {
+			log.debug("is connected for : {}", toString());
+			closeChannelQuietly();
+			connected = false;
+			log.debug("now disconnected");
+		}
+	}
+
+	@Override
+	public void shutdown() throws JargonException {
+		log.debug("shutting down connection: {}", connected);
+		closeDownChannelAndEatAnyExceptions();
+	}
+
+	@Override
+	public void obliterateConnectionAndDiscardErrors() {
+		closeDownChannelAndEatAnyExceptions();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("IRODSNioConnection []");
+		return builder.toString();
+	}
+
+	/**
+	 * Input stream view of the channel through the direct input buffer
+	 */
+	private final class ChannelInputStream extends InputStream {
+
+		@Override
+		public int read() throws IOException {
+			if (!inputBuffer.hasRemaining() && !fillInputBuffer()) {
+				return -1;
+			}
+			return inputBuffer.get() & 0xff;
+		}
+
+		@Override
+		public int read(final byte[] b, final int off, final int len) throws IOException {
+			if (len == 0) {
+				return 0;
+			}
+
+			if (!inputBuffer.hasRemaining()) {
+				if (len >= inputBuffer.capacity()) {
+					// large reads go straight to the caller's array
+					return readSome(ByteBuffer.wrap(b, off, len));
+				}
+
+				if (!fillInputBuffer()) {
+					return -1;
+				}
+			}
+
+			int n = Math.min(len, inputBuffer.remaining());
+			inputBuffer.get(b, off, n);
+			return n;
+		}
+
+		@Override
+		public int available() {
+			return inputBuffer.remaining();
+		}
+
+	}
+
+	/**
+	 * Output stream view of the channel through the direct output buffer
+	 */
+	private final class ChannelOutputStream extends OutputStream {
+
+		@Override
+		public void write(final int b) throws IOException {
+			writeBytes(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) throws IOException {
+			writeBytes(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			flushBytes();
+		}
+
+	}
+
+}
@@ -0,0 +1,38 @@
+/**
+ *
+ */
+package org.irods.jargon.core.connection;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Implementation of a connection factory for producing the SocketChannel based
+ * connection layer.
+ *
+ * @author Mike Conway - DICE (www.irods.org) see http://code.renci.org for
+ *         trackers, access info, and documentation
+ *
+ */
+class IRODSNioConnectionFactoryImpl extends IRODSConnectionFactory {
+
+	private static final Logger log = LoggerFactory.getLogger(IRODSNioConnectionFactoryImpl.class);
+
+	@Override
+	protected AbstractConnection instance(final IRODSAccount irodsAccount, final IRODSSession irodsSession,
+			final IRODSProtocolManager irodsProtocolManager) throws JargonException {
+
+		log.debug("instance()");
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		IRODSNioConnection connection = new IRODSNioConnection(irodsAccount,
+				irodsSession.buildPipelineConfigurationBasedOnJargonProperties(), irodsProtocolManager, irodsSession);
+
+		return connection;
+	}
+
+}
@@ -8,6 +8,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -17,6 +19,7 @@ import javax.management.MBeanServer;
 import javax.management.MalformedObjectNameException;
 import javax.management.NotCompliantMBeanException;
 import javax.management.ObjectName;
+import javax.net.ssl.SSLContext;
 import javax.net.ssl.X509TrustManager;
 
 import org.irods.jargon.core.checksum.LocalChecksumComputerFactory;
@@ -24,10 +27,14 @@ import org.irods.jargon.core.checksum.LocalChecksumComputerFactoryImpl;
 import org.irods.jargon.core.exception.AuthenticationException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.metrics.JmxMetricsRegistry;
+import org.irods.jargon.core.metrics.MetricsRegistry;
 import org.irods.jargon.core.packinstr.TransferOptions;
 import org.irods.jargon.core.pub.IRODSFileSystem;
 import org.irods.jargon.core.pub.IRODSGenQueryExecutorImpl.QueryCloseBehavior;
+import org.irods.jargon.core.pub.ObjStatCache;
 import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.GenQueryPlanCache;
 import org.irods.jargon.core.query.GenQueryProcessor;
 import org.irods.jargon.core.query.IRODSGenQueryBuilder;
 import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
@@ -40,6 +47,9 @@ import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
 import org.irods.jargon.core.transfer.AbstractRestartManager;
 import org.irods.jargon.core.transfer.DefaultTransferControlBlock;
 import org.irods.jargon.core.transfer.MemoryBasedTransferRestartManager;
+import org.irods.jargon.core.transfer.ParallelStreamController;
+import org.irods.jargon.core.transfer.ParallelTransferScheduler;
+import org.irods.jargon.core.transfer.TransferBufferPool;
 import org.irods.jargon.core.transfer.TransferControlBlock;
 import org.irods.jargon.core.utils.MiscIRODSUtils;
 import org.slf4j.Logger;
@@ -102,6 +112,12 @@ public class IRODSSession {
 	 */
 	private X509TrustManager x509TrustManager = null;
 
+	/**
+	 * SSL context shared by the connections of this session, so that their SSL
+	 * sessions may be resumed, built when first needed
+	 */
+	private SSLContext sslContext = null;
+
 	/**
 	 * @return the x509TrustManager that is currently set for SSL connections, it
 	 *         may be {@code null}, which will take a default for any SSL sockets
@@ -126,6 +142,32 @@ public class IRODSSession {
 	 */
 	public synchronized void setX509TrustManager(final X509TrustManager x509TrustManager) {
 		this.x509TrustManager = x509TrustManager;
+		// the shared context trusts what the previous manager trusted
+		sslContext = null;
+	}
+
+	/**
+	 * Get the SSL context for a new SSL connection. When
+	 * {@code JargonProperties.getSslSessionCacheTimeoutInSeconds()} is greater than
+	 * zero, one context is shared by the connections of this session, so that the
+	 * trust material is loaded once, and a connection to a host and port that
+	 * already has an SSL session may resume it rather than doing a full handshake.
+	 * Otherwise a new context is created each time.
+	 *
+	 * @return {@link SSLContext}
+	 */
+	synchronized SSLContext getSslContext() {
+		int timeout = jargonProperties.getSslSessionCacheTimeoutInSeconds();
+		if (timeout <= 0) {
+			return instanceSslConnectionUtilities().createSslContext();
+		}
+
+		if (sslContext == null) {
+			log.info("creating shared ssl context");
+			sslContext = instanceSslConnectionUtilities().createSslContext();
+		}
+		sslContext.getClientSessionContext().setSessionTimeout(timeout);
+		return sslContext;
 	}
 
 	/**
@@ -157,8 +199,39 @@ public class IRODSSession {
 	 * <p>
 	 * A good example would be if required specific queries, rules, micro-services,
 	 * or remote command scripts are not available to do an operation.
+	 * <p>
+	 * Entries expire and may be kept in a snapshot file across runs as set in the
+	 * jargon properties when this session was created.
+	 */
+	private final DiscoveredServerPropertiesCache discoveredServerPropertiesCache;
+
+	/**
+	 * Pool of transfer buffers shared by the parallel transfer threads, lazily
+	 * created based on the {@code JargonProperties}
 	 */
-	private final DiscoveredServerPropertiesCache discoveredServerPropertiesCache = new DiscoveredServerPropertiesCache();
+	private TransferBufferPool transferBufferPool = null;
+
+	/**
+	 * Registry for protocol and transfer metrics, lazily created when
+	 * {@code JargonProperties.isInstrument()} is set, or injected
+	 */
+	private MetricsRegistry metricsRegistry = null;
+	private ThreadFactory taskThreadFactory = null;
+	private SharedConnectionRegistry sharedConnectionRegistry = null;
+	private ParallelStreamController parallelStreamController = null;
+	private ParallelTransferScheduler parallelTransferScheduler = null;
+
+	/**
+	 * Compiled GenQuery plans shared by the connections, lazily created based on
+	 * the {@code JargonProperties}
+	 */
+	private GenQueryPlanCache genQueryPlanCache = null;
+
+	/**
+	 * {@code ObjStat} results shared by the connections, lazily created based on
+	 * the {@code JargonProperties}
+	 */
+	private ObjStatCache objStatCache = null;
 
 	/**
 	 * Get the {@code JargonProperties} that contains metadata to tune the behavior
@@ -231,6 +304,13 @@ public class IRODSSession {
 			transferOptions.setIntraFileStatusCallbacksTotalBytesInterval(
 					jargonProperties.getIntraFileStatusCallbacksTotalBytesInterval());
 			transferOptions.setChecksumEncoding(jargonProperties.getChecksumEncoding());
+			transferOptions.setSmallFileAggregation(jargonProperties.isSmallFileAggregation());
+			transferOptions.setSmallFileAggregationMaxFileSize(jargonProperties.getSmallFileAggregationMaxFileSize());
+			transferOptions
+					.setSmallFileAggregationMaxBundleSize(jargonProperties.getSmallFileAggregationMaxBundleSize());
+			transferOptions
+					.setSmallFileAggregationMaxBundleFiles(jargonProperties.getSmallFileAggregationMaxBundleFiles());
+			transferOptions.setSmallFileAggregationMinFiles(jargonProperties.getSmallFileAggregationMinFiles());
 
 		}
 
@@ -242,12 +322,16 @@ public class IRODSSession {
 	/**
 	 * Close all sessions to iRODS that exist for this Thread. This method can be
 	 * safely called by multiple threads, as the connections are in a
-	 * {@code ThreadLocal}
+	 * {@code ThreadLocal}. When connections are shared between threads they are
+	 * checked back in to the {@link SharedConnectionRegistry} rather than closed.
+	 * The background refresh of the {@link DiscoveredServerPropertiesCache} is
+	 * also stopped, it starts again if the cache changes later.
 	 *
 	 * @throws JargonException for iRODS error
 	 */
 	public void closeSession() throws JargonException {
 		log.debug("closing all irods sessions");
+		discoveredServerPropertiesCache.close();
 		final Map<String, IRODSMidLevelProtocol> irodsProtocols = sessionMap.get();
 
 		if (irodsProtocols == null) {
@@ -258,7 +342,7 @@ public class IRODSSession {
 		for (IRODSMidLevelProtocol irodsMidLevelProtocol : irodsProtocols.values()) {
 			log.debug("found and am closing connection to : {}", irodsMidLevelProtocol.getIrodsAccount().toString());
 			// irodsMidLevelProtocol.disconnect();
-			getIrodsProtocolManager().returnIRODSProtocol(irodsMidLevelProtocol);
+			releaseConnection(irodsMidLevelProtocol);
 			// I don't remove from the map because the map is just going to be
 			// set to null in the ThreadLocal below
 		}
@@ -274,6 +358,7 @@ public class IRODSSession {
 		}
 
 		this.jargonProperties = jargonProperties;
+		discoveredServerPropertiesCache = DiscoveredServerPropertiesCache.instance(jargonProperties);
 		checkInitTrustManager();
 	}
 
@@ -294,6 +379,7 @@ public class IRODSSession {
 			log.warn("unable to load default jargon properties", e);
 			throw new JargonRuntimeException("unable to load jargon props", e);
 		}
+		discoveredServerPropertiesCache = DiscoveredServerPropertiesCache.instance(jargonProperties);
 		checkInitTrustManager();
 		initializeJmx();
 	}
@@ -411,6 +497,10 @@ public class IRODSSession {
 			log.warn(
 					"***************** session has a connection marked closed, create a new one and put back into the cache:{}",
 					irodsProtocol);
+			SharedConnectionRegistry registry = getSharedConnectionRegistry();
+			if (registry != null) {
+				registry.discard(irodsProtocol);
+			}
 			irodsProtocol = connectAndAddToProtocolsMap(irodsAccount, irodsProtocols);
 		}
 
@@ -484,8 +574,13 @@ public class IRODSSession {
 	private IRODSMidLevelProtocol connectAndAddToProtocolsMap(final IRODSAccount irodsAccount,
 			final Map<String, IRODSMidLevelProtocol> irodsProtocols) throws JargonException {
 		IRODSMidLevelProtocol irodsProtocol;
-		irodsProtocol = irodsProtocolManager.getIRODSProtocol(irodsAccount,
-				buildPipelineConfigurationBasedOnJargonProperties(), this);
+		SharedConnectionRegistry registry = getSharedConnectionRegistry();
+		if (registry == null) {
+			irodsProtocol = irodsProtocolManager.getIRODSProtocol(irodsAccount,
+					buildPipelineConfigurationBasedOnJargonProperties(), this);
+		} else {
+			irodsProtocol = registry.checkout(irodsAccount);
+		}
 		if (irodsProtocol == null) {
 			log.error("no connection returned from connection manager");
 			throw new JargonRuntimeException("null connection returned from connection manager");
@@ -582,7 +677,7 @@ public class IRODSSession {
 		}
 		log.debug("found and am closing connection to : {}", irodsAccount.toString());
 
-		getIrodsProtocolManager().returnIRODSProtocol(irodsMidLevelProtocol);
+		releaseConnection(irodsMidLevelProtocol);
 
 		irodsProtocols.remove(irodsAccount.toString());
 		if (irodsProtocols.isEmpty()) {
@@ -611,7 +706,12 @@ public class IRODSSession {
 		IRODSMidLevelProtocol badConnection;
 		badConnection = irodsProtocols.get(irodsAccount.toString());
 		if (badConnection != null) {
-			getIrodsProtocolManager().returnWithForce(badConnection);
+			SharedConnectionRegistry registry = getSharedConnectionRegistry();
+			if (registry == null) {
+				getIrodsProtocolManager().returnWithForce(badConnection);
+			} else {
+				registry.discard(badConnection);
+			}
 			irodsProtocols.remove(irodsAccount.toString());
 		}
 
@@ -622,6 +722,89 @@ public class IRODSSession {
 
 	}
 
+	/**
+	 * Give a connection that this thread is done with back to the shared
+	 * registry, or to the {@code IRODSProtocolManager}
+	 *
+	 * @param irodsMidLevelProtocol {@link IRODSMidLevelProtocol}
+	 * @throws JargonException for iRODS error
+	 */
+	private void releaseConnection(final IRODSMidLevelProtocol irodsMidLevelProtocol) throws JargonException {
+		SharedConnectionRegistry registry = getSharedConnectionRegistry();
+		if (registry == null) {
+			getIrodsProtocolManager().returnIRODSProtocol(irodsMidLevelProtocol);
+		} else {
+			registry.checkin(irodsMidLevelProtocol);
+		}
+	}
+
+	/**
+	 * Get the registry that shares connections between threads. The registry is
+	 * created on the first request if the {@code JargonProperties} turn on shared
+	 * connections, and changing the properties afterwards does not reconfigure
+	 * it.
+	 *
+	 * @return {@link SharedConnectionRegistry}, or {@code null} if each thread
+	 *         keeps its own connections
+	 */
+	public synchronized SharedConnectionRegistry getSharedConnectionRegistry() {
+		if (sharedConnectionRegistry == null && jargonProperties.isUseSharedConnectionRegistry()) {
+			log.info("creating shared connection registry");
+			sharedConnectionRegistry = new SharedConnectionRegistry(this);
+		}
+		return sharedConnectionRegistry;
+	}
+
+	/**
+	 * Close the idle connections in the shared registry, if there is one. A new
+	 * registry is created if connections are requested afterwards. Connections
+	 * that threads still hold are closed when their sessions are closed.
+	 */
+	public void closeSharedConnectionRegistry() {
+		SharedConnectionRegistry registry;
+		synchronized (this) {
+			registry = sharedConnectionRegistry;
+			sharedConnectionRegistry = null;
+		}
+
+		if (registry != null) {
+			registry.close();
+		}
+	}
+
+	/**
+	 * Get the controller that picks the number of streams for large transfers from
+	 * measured throughput, so that what it learns carries across transfers in this
+	 * session. It is used when {@code JargonProperties.isAdaptiveParallelStreams()}
+	 * is set.
+	 *
+	 * @return {@link ParallelStreamController}
+	 */
+	public synchronized ParallelStreamController getParallelStreamController() {
+		if (parallelStreamController == null) {
+			parallelStreamController = new ParallelStreamController();
+		}
+		return parallelStreamController;
+	}
+
+	/**
+	 * Get the scheduler that shares parallel transfer streams between concurrent
+	 * transfers. It is created on the first request if
+	 * {@code JargonProperties.getTransferSchedulerMaxStreams()} is more than 0, and
+	 * changing the properties afterwards does not reconfigure it.
+	 *
+	 * @return {@link ParallelTransferScheduler}, or {@code null} if each transfer
+	 *         requests its threads on its own
+	 */
+	public synchronized ParallelTransferScheduler getParallelTransferScheduler() {
+		if (parallelTransferScheduler == null && jargonProperties.getTransferSchedulerMaxStreams() > 0) {
+			log.info("creating parallel transfer scheduler");
+			parallelTransferScheduler = new ParallelTransferScheduler(jargonProperties.getTransferSchedulerMaxStreams(),
+					jargonProperties.getTransferSchedulerMaxStreamsPerHost());
+		}
+		return parallelTransferScheduler;
+	}
+
 	/**
 	 * This method is not particularly useful, but does provide a route to get a
 	 * direct handle on the connections for this Thread in cases where such status
@@ -691,7 +874,8 @@ public class IRODSSession {
 
 			parallelTransferThreadPool = new ThreadPoolExecutor(maxParallelThreads, poolSize,
 					jargonProperties.getTransferThreadPoolTimeoutMillis(), TimeUnit.MILLISECONDS,
-					new ArrayBlockingQueue<Runnable>(poolSize), new RejectedParallelThreadExecutionHandler());
+					new ArrayBlockingQueue<Runnable>(poolSize), getTaskThreadFactory(),
+					new RejectedParallelThreadExecutionHandler());
 
 			log.debug("parallelTransferThreadPool created");
 			return parallelTransferThreadPool;
@@ -720,6 +904,9 @@ public class IRODSSession {
 	 * <p>
 	 * A good example would be if required specific queries, rules, micro-services,
 	 * or remote command scripts are not available to do an operation.
+	 * <p>
+	 * Entries expire and may be kept in a snapshot file across runs as set in the
+	 * jargon properties when this session was created.
 	 *
 	 * @return {@link DiscoveredServerPropertiesCache}
 	 */
@@ -748,6 +935,146 @@ public class IRODSSession {
 		return localChecksumComputerFactory;
 	}
 
+	/**
+	 * Get the pool of buffers shared by parallel transfer threads. The pool is
+	 * created on the first request based on the {@code JargonProperties}, and
+	 * changing the properties afterwards does not resize it.
+	 *
+	 * @return {@link TransferBufferPool}
+	 */
+	public synchronized TransferBufferPool getTransferBufferPool() {
+		if (transferBufferPool == null) {
+			log.debug("creating transfer buffer pool");
+			transferBufferPool = new TransferBufferPool(jargonProperties.getTransferBufferPoolMaxBytes());
+		}
+		return transferBufferPool;
+	}
+
+	/**
+	 * Get the cache of compiled GenQuery plans shared by the connections of this
+	 * session. The cache is created on the first request based on the
+	 * {@code JargonProperties}, and changing the properties afterwards does not
+	 * resize it.
+	 *
+	 * @return {@link GenQueryPlanCache}, or {@code null} if plans are not cached
+	 */
+	public synchronized GenQueryPlanCache getGenQueryPlanCache() {
+		if (genQueryPlanCache == null && jargonProperties.getGenQueryPlanCacheSize() > 0) {
+			log.debug("creating GenQuery plan cache");
+			genQueryPlanCache = new GenQueryPlanCache(jargonProperties.getGenQueryPlanCacheSize());
+		}
+		return genQueryPlanCache;
+	}
+
+	/**
+	 * Get the cache of {@code ObjStat} results shared by the connections of this
+	 * session. The cache is created on the first request based on the
+	 * {@code JargonProperties}, and changing the properties afterwards does not
+	 * resize it.
+	 *
+	 * @return {@link ObjStatCache}, or {@code null} if stats are not cached
+	 */
+	public synchronized ObjStatCache getObjStatCache() {
+		if (objStatCache == null && jargonProperties.getObjStatCacheSize() > 0
+				&& jargonProperties.getObjStatCacheTimeToLiveMillis() > 0) {
+			log.debug("creating ObjStat cache");
+			objStatCache = new ObjStatCache(jargonProperties.getObjStatCacheSize(),
+					jargonProperties.getObjStatCacheTimeToLiveMillis());
+		}
+		return objStatCache;
+	}
+
+	/**
+	 * Get the registry that receives protocol and transfer metrics. If none has
+	 * been set, and the {@code JargonProperties} turn on instrumentation, the
+	 * {@link JmxMetricsRegistry#getSharedInstance()} registry, which is shared by
+	 * all sessions in the JVM and published to the platform MBean server, is
+	 * used. Connections look up the registry when they are opened.
+	 *
+	 * @return {@link MetricsRegistry}, or {@code null} if metrics are not
+	 *         recorded
+	 */
+	public synchronized MetricsRegistry getMetricsRegistry() {
+		if (metricsRegistry == null && jargonProperties.isInstrument()) {
+			log.info("instrumentation is on, using the shared JMX metrics registry");
+			metricsRegistry = JmxMetricsRegistry.getSharedInstance();
+		}
+		return metricsRegistry;
+	}
+
+	/**
+	 * Set the registry that receives protocol and transfer metrics, this is used
+	 * whether or not the {@code JargonProperties} turn on instrumentation.
+	 * Connections that are already open keep the registry they started with.
+	 *
+	 * @param metricsRegistry {@link MetricsRegistry}, or {@code null} to go back
+	 *                        to the default
+	 */
+	public synchronized void setMetricsRegistry(final MetricsRegistry metricsRegistry) {
+		this.metricsRegistry = metricsRegistry;
+	}
+
+	/**
+	 * Get the factory for the threads that run parallel transfers. If none has
+	 * been set, and the {@code JargonProperties} ask for virtual threads on a JVM
+	 * that supports them, a factory of virtual threads is created, otherwise
+	 * platform threads are used.
+	 * <p>
+	 * Each thread that uses iRODS has its own connection, and the protocol does
+	 * not hold a monitor while waiting on the socket, so a blocked transfer thread
+	 * does not hold up the carrier thread it runs on.
+	 *
+	 * @return {@link ThreadFactory}
+	 */
+	public synchronized ThreadFactory getTaskThreadFactory() {
+		if (taskThreadFactory == null) {
+			if (jargonProperties.isUseVirtualThreads()) {
+				taskThreadFactory = createVirtualThreadFactory();
+				if (taskThreadFactory == null) {
+					log.warn("virtual threads are not supported by this JVM, using platform threads");
+				}
+			}
+			if (taskThreadFactory == null) {
+				taskThreadFactory = Executors.defaultThreadFactory();
+			}
+		}
+		return taskThreadFactory;
+	}
+
+	/**
+	 * Set the factory for the threads that run parallel transfers. This does not
+	 * change a parallel transfer thread pool that was already created.
+	 *
+	 * @param taskThreadFactory {@link ThreadFactory}, or {@code null} to go back
+	 *                          to the default
+	 */
+	public synchronized void setTaskThreadFactory(final ThreadFactory taskThreadFactory) {
+		this.taskThreadFactory = taskThreadFactory;
+	}
+
+	/**
+	 * Look up {@code Thread.ofVirtual()} by reflection, so that this compiles and
+	 * runs on a JVM without virtual threads
+	 *
+	 * @return {@link ThreadFactory} of virtual threads, or {@code null} if the
+	 *         JVM does not support them
+	 */
+	static ThreadFactory createVirtualThreadFactory() {
+		try {
+			Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+			Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+			builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "jargon-task-", 0L);
+			return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+		} catch (ReflectiveOperationException e) {
+			log.debug("virtual threads not available", e);
+			return null;
+		} catch (UnsupportedOperationException e) {
+			// preview API present but not enabled
+			log.debug("virtual threads not enabled", e);
+			return null;
+		}
+	}
+
 	public synchronized AbstractRestartManager getRestartManager() {
 
 		if (restartManager == null) {
@@ -298,14 +298,15 @@ public interface JargonProperties {
 	long getReconnectTimeInMillis();
 
 	/**
-	 * {@code boolean} that indicates whether certain performance statistics are
-	 * gathered and reported to the DEBUG log. This will turn on useful statistics
-	 * for optimization and tuning, but will introduce a certain amount of overhead,
-	 * so this is typically unsuitable for production deployment.
+	 * {@code boolean} that indicates whether performance statistics are gathered.
+	 * When set, connections record the latency of each iRODS API call by API
+	 * number, the bytes sent and received, and the time to connect and
+	 * authenticate, and parallel transfers record their time and bytes, in the
+	 * {@code MetricsRegistry} of the {@code IRODSSession}. By default that
+	 * registry is published over JMX. The overhead is small, but this is
+	 * typically left off in production unless the numbers are being watched.
 	 * <p>
-	 * Note that actual instrumentation will be an ongoing process, and will be done
-	 * as certain operations are tuned. Initially, this will represent the
-	 * infrastructure for such tuning information.
+	 * Only connections opened after this is set are instrumented.
 	 *
 	 * @return {@code boolean}
 	 */
@@ -491,8 +492,9 @@ public interface JargonProperties {
 
 	/**
 	 * Get the type of networking layer that will be used in the low level
-	 * connections to iRODS (currently the values are limited to 'tcp'). If no
-	 * property is found, then 'tcp' will be defaulted.
+	 * connections to iRODS, either 'tcp' for plain sockets or 'nio' for a
+	 * {@code SocketChannel} with direct buffers. If no property is found, then
+	 * 'tcp' will be defaulted.
 	 *
 	 * @return {@code String}
 	 */
@@ -602,4 +604,322 @@ public interface JargonProperties {
 	 */
 	boolean isRulesSetDestinationWhenAuto();
 
+	/**
+	 * Indicates whether protocol responses from iRODS are parsed with the
+	 * {@link org.irods.jargon.core.packinstr.StreamingTagParser}, which reads the
+	 * packing instruction XML directly from the bytes read off the connection. If
+	 * {@code false}, the original {@code Tag.readNextTag()} parser is used.
+	 * <p>
+	 * jargon.io.streaming.tag.parser
+	 *
+	 * @return {@code boolean} of {@code true} if the streaming parser should be
+	 *         used
+	 */
+	boolean isUseStreamingTagParser();
+
+	/**
+	 * Maximum number of requests sent through
+	 * {@code IRODSMidLevelProtocol.irodsFunctionAsync()} that may be outstanding
+	 * before the oldest reply is read. A value of 1 or less turns off pipelining,
+	 * each request is sent and its reply read before returning.
+	 * <p>
+	 * jargon.io.max.pipelined.requests
+	 *
+	 * @return {@code int} with the maximum number of pipelined requests
+	 */
+	int getMaxPipelinedRequests();
+
+	/**
+	 * Maximum bytes of idle buffers kept by the shared
+	 * {@code TransferBufferPool} for re-use by parallel transfer threads. A value
+	 * of 0 turns off pooling, and each transfer thread allocates its own buffers.
+	 * <p>
+	 * jargon.transfer.buffer.pool.max.bytes
+	 *
+	 * @return {@code long} with the maximum bytes of pooled transfer buffers
+	 */
+	long getTransferBufferPoolMaxBytes();
+
+	/**
+	 * Should unencrypted parallel transfers move data directly between the transfer
+	 * socket and the local file using {@code FileChannel.transferTo()} and
+	 * {@code FileChannel.transferFrom()}, rather than copying through a buffer. Has
+	 * no effect on encrypted transfers. Note that the parallel socket timeout
+	 * applies only to the segment headers in this mode.
+	 * <p>
+	 * jargon.parallel.use.file.channel
+	 *
+	 * @return {@code boolean} {@code true} if file channel transfers are used
+	 */
+	boolean isUseFileChannelForParallelTransfers();
+
+	/**
+	 * Number of threads, each with its own connection, used to transfer the files
+	 * of a recursive put or get. A value of 1 transfers one file at a time on the
+	 * calling thread. With more than one thread the files are spread across
+	 * worker threads, and the status call-backs for different files arrive
+	 * concurrently, so any {@code TransferStatusCallbackListener} must be thread
+	 * safe. A transfer that is restarting from a last good path is always done on
+	 * the calling thread.
+	 * <p>
+	 * jargon.recursive.transfer.threads
+	 *
+	 * @return {@code int} with the number of recursive transfer threads
+	 */
+	int getRecursiveTransferThreads();
+
+	/**
+	 * Indicates whether a recursive put should gather its small files into tar
+	 * bundles. Each bundle is streamed to iRODS as a single data object and
+	 * extracted into the target collection on the server, saving the round trips
+	 * of a put per file. Files larger than
+	 * {@link #getSmallFileAggregationMaxFileSize()} are put individually.
+	 * <p>
+	 * jargon.put.small.file.aggregation
+	 *
+	 * @return {@code boolean} {@code true} if small files in a recursive put are bundled
+	 */
+	boolean isSmallFileAggregation();
+
+	/**
+	 * Largest file, in bytes, that is added to a small file bundle when
+	 * {@link #isSmallFileAggregation()} is set. Larger files are put
+	 * individually.
+	 * <p>
+	 * jargon.put.small.file.aggregation.max.file.size
+	 *
+	 * @return {@code long} with the largest bundled file size in bytes
+	 */
+	long getSmallFileAggregationMaxFileSize();
+
+	/**
+	 * Maximum number of bytes of file data gathered into one small file bundle
+	 * before a new bundle is started.
+	 * <p>
+	 * jargon.put.small.file.aggregation.max.bundle.size
+	 *
+	 * @return {@code long} with the maximum bundle size in bytes
+	 */
+	long getSmallFileAggregationMaxBundleSize();
+
+	/**
+	 * Maximum number of files gathered into one small file bundle before a new
+	 * bundle is started.
+	 * <p>
+	 * jargon.put.small.file.aggregation.max.bundle.files
+	 *
+	 * @return {@code int} with the maximum number of files in a bundle
+	 */
+	int getSmallFileAggregationMaxBundleFiles();
+
+	/**
+	 * Minimum number of small files a recursive put must hold before they are
+	 * bundled. Below this number, the cost of the bundle put, extract and delete
+	 * outweighs the savings, and the files are put one at a time.
+	 * <p>
+	 * jargon.put.small.file.aggregation.min.files
+	 *
+	 * @return {@code int} with the minimum number of small files to bundle
+	 */
+	int getSmallFileAggregationMinFiles();
+
+	/**
+	 * Largest number of blocks, each of {@link #getGetBufferSize()} bytes, that a
+	 * {@code ReadAheadIRODSFileInputStream} will have in flight ahead of its
+	 * reader as pipelined reads. The window starts at one block and doubles as
+	 * each block is read in sequence, up to this number, and is also limited by
+	 * {@link #getMaxPipelinedRequests()}. A value of 1 or less reads one block
+	 * ahead.
+	 * <p>
+	 * jargon.io.read.ahead.max.blocks
+	 *
+	 * @return {@code int} with the maximum number of read ahead blocks
+	 */
+	int getReadAheadMaxBlocks();
+
+	/**
+	 * Number of buffers, each of {@link #getPutBufferSize()} bytes, that a
+	 * {@code PackingIrodsOutputStream} fills. With 2 or more, full buffers are
+	 * handed to a background writer and the caller only waits when all of them
+	 * are being written. A value of 1 or less writes each buffer on the calling
+	 * thread.
+	 * <p>
+	 * jargon.io.write.behind.buffers
+	 *
+	 * @return {@code int} with the number of write behind buffers
+	 */
+	int getWriteBehindBuffers();
+
+	/**
+	 * Run the threads that {@code IRODSSession} creates for parallel transfers
+	 * as virtual threads. This takes effect only on a JVM that supports virtual
+	 * threads (Java 21 and later), on other JVMs platform threads are used.
+	 * <p>
+	 * jargon.use.virtual.threads
+	 *
+	 * @return {@code boolean} {@code true} if virtual threads should be used
+	 */
+	boolean isUseVirtualThreads();
+
+	/**
+	 * Share connections between threads. When set, {@code IRODSSession} checks a
+	 * connection out of an account keyed {@code SharedConnectionRegistry} on
+	 * first use in a thread, and {@code closeSession()} checks it back in to be
+	 * used by any thread, rather than closing it.
+	 * <p>
+	 * jargon.use.shared.connection.registry
+	 *
+	 * @return {@code boolean} {@code true} if connections are shared between threads
+	 */
+	boolean isUseSharedConnectionRegistry();
+
+	/**
+	 * Most connections, checked out or idle, that the shared connection
+	 * registry will hold for one account. A thread that needs a connection when
+	 * all of them are checked out waits for one to be checked in.
+	 * <p>
+	 * jargon.shared.connection.max.per.account
+	 *
+	 * @return {@code int} with the maximum number of shared connections per account
+	 */
+	int getSharedConnectionMaxPerAccount();
+
+	/**
+	 * Seconds that a connection may sit idle in the shared connection registry
+	 * before it is closed. A value of 0 or less keeps idle connections until the
+	 * registry is closed.
+	 * <p>
+	 * jargon.shared.connection.idle.timeout.seconds
+	 *
+	 * @return {@code int} with the idle timeout in seconds
+	 */
+	int getSharedConnectionIdleTimeoutSeconds();
+
+	/**
+	 * Milliseconds to wait for a shared connection to be checked in when an
+	 * account already has {@link #getSharedConnectionMaxPerAccount()}
+	 * connections checked out, before giving up with an error.
+	 * <p>
+	 * jargon.shared.connection.checkout.wait.millis
+	 *
+	 * @return {@code int} with the checkout wait in milliseconds
+	 */
+	int getSharedConnectionCheckoutWaitMillis();
+
+	/**
+	 * Pick the number of parallel streams requested for large transfers from the
+	 * throughput measured on earlier transfers to the same host and resource,
+	 * rather than always requesting the configured maximum. The maximum parallel
+	 * threads setting still caps the count.
+	 * <p>
+	 * jargon.adaptive.parallel.streams
+	 *
+	 * @return {@code boolean} {@code true} if the stream count adapts to measured throughput
+	 */
+	boolean isAdaptiveParallelStreams();
+
+	/**
+	 * Get the most parallel transfer streams that may be in flight for the
+	 * process. When this is more than 0, large transfers acquire their streams
+	 * from a {@code ParallelTransferScheduler} that shares them between
+	 * concurrent transfers by priority and weight. When it is 0, each transfer
+	 * requests its threads without regard to other transfers.
+	 * <p>
+	 * jargon.transfer.scheduler.max.streams
+	 *
+	 * @return {@code int} with the most streams in flight, or {@code 0} for no scheduler
+	 */
+	int getTransferSchedulerMaxStreams();
+
+	/**
+	 * Get the most parallel transfer streams that may be in flight to one
+	 * remote host when {@link #getTransferSchedulerMaxStreams()} turns on the
+	 * scheduler.
+	 * <p>
+	 * jargon.transfer.scheduler.max.streams.per.host
+	 *
+	 * @return {@code int} with the most streams to one host, or {@code 0} for no limit beyond the total
+	 */
+	int getTransferSchedulerMaxStreamsPerHost();
+
+	/**
+	 * Seconds that an entry in the {@code DiscoveredServerPropertiesCache}, such
+	 * as the server properties or client hints of a host and zone, is trusted
+	 * before it is discovered again from iRODS. Each entry keeps the expiry it
+	 * was given when cached, also when read back from the snapshot file. A value
+	 * of 0 or less keeps entries until they are deleted.
+	 * <p>
+	 * discovered.server.properties.cache.ttl.seconds
+	 *
+	 * @return {@code int} with the time to live of cache entries in seconds
+	 */
+	int getDiscoveredServerPropertiesCacheTimeToLiveInSeconds();
+
+	/**
+	 * Path of a file in which the {@code DiscoveredServerPropertiesCache} keeps a
+	 * snapshot of its unexpired entries, keyed by host and zone. The snapshot is
+	 * read when the {@code IRODSSession} is created and written as entries are
+	 * discovered, so short lived command line or batch processes can skip
+	 * discovery calls, such as getting the server properties, that an earlier
+	 * run already made. Processes sharing the file pick up each other's entries.
+	 * A blank value keeps the cache in memory only.
+	 * <p>
+	 * discovered.server.properties.cache.file
+	 *
+	 * @return {@code String} {@code String} with the snapshot file path, blank if none
+	 */
+	String getDiscoveredServerPropertiesCacheFile();
+
+	/**
+	 * Seconds that an SSL session negotiated with an iRODS host is kept so that
+	 * later connections to the same host and port can resume it with an
+	 * abbreviated handshake. The {@code IRODSSession} then shares one SSL
+	 * context, with its trust material, between its connections. A value of 0
+	 * or less creates a new SSL context, and so does a full handshake, for every
+	 * connection.
+	 * <p>
+	 * ssl.session.cache.timeout.seconds
+	 *
+	 * @return {@code int} with the SSL session cache timeout in seconds
+	 */
+	int getSslSessionCacheTimeoutInSeconds();
+
+	/**
+	 * Number of compiled GenQuery plans kept by the {@code IRODSSession}. A plan
+	 * holds the translated selects and conditions of a query, and the packing
+	 * instruction for the selects already serialized, so a query that is run
+	 * again, or run with only its condition values changed, skips that work.
+	 * A value of 0 or less turns the plan cache off.
+	 * <p>
+	 * gen.query.plan.cache.size
+	 *
+	 * @return {@code int} with the maximum number of cached GenQuery plans
+	 */
+	int getGenQueryPlanCacheSize();
+
+	/**
+	 * Number of {@code ObjStat} results kept by the {@code IRODSSession}, so that
+	 * the {@code IRODSFile} checks such as {@code exists()}, {@code isFile()} and
+	 * {@code length()} on the same path do not each ask iRODS. Entries are
+	 * dropped after {@link #getObjStatCacheTimeToLiveMillis()}, and when Jargon
+	 * changes the path. Changes made by other clients are seen only when an entry
+	 * expires. A value of 0 or less turns the cache off.
+	 * <p>
+	 * obj.stat.cache.size
+	 *
+	 * @return {@code int} with the maximum number of cached {@code ObjStat} results
+	 */
+	int getObjStatCacheSize();
+
+	/**
+	 * Milliseconds that an {@code ObjStat} is kept in the cache sized by
+	 * {@link #getObjStatCacheSize()}. This bounds how long a change made by
+	 * another client may go unseen. A value of 0 or less turns the cache off.
+	 * <p>
+	 * obj.stat.cache.ttl.millis
+	 *
+	 * @return {@code int} with the time to live of a cached {@code ObjStat} in milliseconds
+	 */
+	int getObjStatCacheTimeToLiveMillis();
+
 }
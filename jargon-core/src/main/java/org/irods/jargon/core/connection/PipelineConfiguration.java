@@ -70,6 +70,18 @@ public class PipelineConfiguration {
 	 */
 	private final int encryptionNumberHashRounds;
 
+	/**
+	 * Parse protocol responses directly from the byte buffer rather than through
+	 * the original {@code String} based parser
+	 */
+	private final boolean useStreamingTagParser;
+
+	/**
+	 * Maximum number of asynchronous requests outstanding on a connection before
+	 * the oldest reply is read
+	 */
+	private final int maxPipelinedRequests;
+
 	/**
 	 * Static initializer method will derive an immutable
 	 * {@code PipelineConfiguration} based on the prevailing
@@ -122,6 +134,8 @@ public class PipelineConfiguration {
 		encryptionKeySize = jargonProperties.getEncryptionKeySize();
 		encryptionNumberHashRounds = jargonProperties.getEncryptionNumberHashRounds();
 		encryptionSaltSize = jargonProperties.getEncryptionSaltSize();
+		useStreamingTagParser = jargonProperties.isUseStreamingTagParser();
+		maxPipelinedRequests = jargonProperties.getMaxPipelinedRequests();
 
 	}
 
@@ -333,6 +347,10 @@ public class PipelineConfiguration {
 		builder.append(primaryTcpPerformancePrefsBandwidth);
 		builder.append(", socketRenewalIntervalInSeconds=");
 		builder.append(socketRenewalIntervalInSeconds);
+		builder.append(", useStreamingTagParser=");
+		builder.append(useStreamingTagParser);
+		builder.append(", maxPipelinedRequests=");
+		builder.append(maxPipelinedRequests);
 		builder.append("]");
 		return builder.toString();
 	}
@@ -364,4 +382,20 @@ public class PipelineConfiguration {
 		return encryptionNumberHashRounds;
 	}
 
+	/**
+	 * @return {@code boolean} indicating whether protocol responses are parsed
+	 *         with the streaming parser
+	 */
+	public boolean isUseStreamingTagParser() {
+		return useStreamingTagParser;
+	}
+
+	/**
+	 * @return {@code int} with the maximum number of requests that may be
+	 *         pipelined on a connection
+	 */
+	public int getMaxPipelinedRequests() {
+		return maxPipelinedRequests;
+	}
+
 }
@@ -0,0 +1,137 @@
+package org.irods.jargon.core.connection;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.irods.jargon.core.packinstr.Tag;
+
+/**
+ * Future for the reply to a request sent by
+ * {@link IRODSMidLevelProtocol#irodsFunctionAsync(org.irods.jargon.core.packinstr.IRodsPI)}.
+ * <p>
+ * Replies are read off the connection in the order the requests were sent, so
+ * waiting on this future reads (and completes) any earlier replies that are
+ * still outstanding, followed by this one. Waiting never blocks on another
+ * thread to do the reading.
+ * <p>
+ * This is deliberately a plain {@code Future} rather than a
+ * {@code CompletableFuture}, as nothing completes a reply until it, or a later
+ * one, is waited on, so dependent stages and callbacks would never run. To
+ * compose replies, wait on them from the stage that needs them.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+class PipelinedReply implements Future<Tag> {
+
+	private final IRODSMidLevelProtocol irodsMidLevelProtocol;
+	private final int apiNumber;
+
+	/**
+	 * Receives the byte stream of the reply, if the request has one
+	 */
+	private final byte[] byteStreamBuffer;
+
+	/**
+	 * {@link System#nanoTime()} when the request was sent
+	 */
+	private final long sentNanos = System.nanoTime();
+
+	/**
+	 * Holds the reply once it is read, never handed out
+	 */
+	private final CompletableFuture<Tag> result = new CompletableFuture<Tag>();
+
+	/**
+	 * Set once the request has been flushed to the agent, until then the agent
+	 * cannot reply
+	 */
+	private boolean flushed = false;
+
+	PipelinedReply(final IRODSMidLevelProtocol irodsMidLevelProtocol, final int apiNumber,
+			final byte[] byteStreamBuffer) {
+		this.irodsMidLevelProtocol = irodsMidLevelProtocol;
+		this.apiNumber = apiNumber;
+		this.byteStreamBuffer = byteStreamBuffer;
+	}
+
+	/**
+	 * The request has already been sent, so it cannot be cancelled
+	 *
+	 * @return {@code false}
+	 */
+	@Override
+	public boolean cancel(final boolean mayInterruptIfRunning) {
+		return false;
+	}
+
+	@Override
+	public boolean isCancelled() {
+		return false;
+	}
+
+	@Override
+	public boolean isDone() {
+		return result.isDone();
+	}
+
+	@Override
+	public Tag get() throws InterruptedException, ExecutionException {
+		irodsMidLevelProtocol.readPipelinedRepliesThrough(this);
+		return result.get();
+	}
+
+	/**
+	 * Wait for the reply for at most the given time. The time is checked before
+	 * each outstanding reply is read, a reply that has started to arrive is read
+	 * in full, bounded by the socket timeout of the connection.
+	 */
+	@Override
+	public Tag get(final long timeout, final TimeUnit unit)
+			throws InterruptedException, ExecutionException, TimeoutException {
+		if (!irodsMidLevelProtocol.readPipelinedRepliesThrough(this, unit.toNanos(timeout))) {
+			throw new TimeoutException("timed out waiting for reply to api number:" + apiNumber);
+		}
+		return result.get();
+	}
+
+	void complete(final Tag message) {
+		result.complete(message);
+	}
+
+	void completeExceptionally(final Throwable cause) {
+		result.completeExceptionally(cause);
+	}
+
+	int getApiNumber() {
+		return apiNumber;
+	}
+
+	byte[] getByteStreamBuffer() {
+		return byteStreamBuffer;
+	}
+
+	long getSentNanos() {
+		return sentNanos;
+	}
+
+	boolean isFlushed() {
+		return flushed;
+	}
+
+	void setFlushed(final boolean flushed) {
+		this.flushed = flushed;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("PipelinedReply [apiNumber=").append(apiNumber).append(", flushed=").append(flushed)
+				.append(", done=").append(isDone()).append("]");
+		return builder.toString();
+	}
+
+}
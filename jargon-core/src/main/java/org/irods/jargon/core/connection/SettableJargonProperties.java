@@ -72,6 +72,32 @@ public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 	private String defaultIrodsRuleEngineIdentifier = "irods_rule_engine_plugin-irods_rule_language-instance";
 	private String defaultPythonRuleEngineIdentifier = "irods_rule_engine_plugin-cpp_default_policy-instance";
 	private String defaultCppRuleEngineIdentifier = "irods_rule_engine_plugin-cpp_default_policy-instance";
+	private boolean useStreamingTagParser = true;
+	private int maxPipelinedRequests = 16;
+	private long transferBufferPoolMaxBytes = 67108864L;
+	private boolean useFileChannelForParallelTransfers = false;
+	private int recursiveTransferThreads = 1;
+	private boolean smallFileAggregation = false;
+	private long smallFileAggregationMaxFileSize = 1048576L;
+	private long smallFileAggregationMaxBundleSize = 268435456L;
+	private int smallFileAggregationMaxBundleFiles = 5000;
+	private int smallFileAggregationMinFiles = 10;
+	private int readAheadMaxBlocks = 4;
+	private int writeBehindBuffers = 1;
+	private boolean useVirtualThreads = false;
+	private boolean useSharedConnectionRegistry = false;
+	private int sharedConnectionMaxPerAccount = 8;
+	private int sharedConnectionIdleTimeoutSeconds = 120;
+	private int sharedConnectionCheckoutWaitMillis = 30000;
+	private boolean adaptiveParallelStreams = false;
+	private int transferSchedulerMaxStreams = 0;
+	private int transferSchedulerMaxStreamsPerHost = 0;
+	private int discoveredServerPropertiesCacheTimeToLiveInSeconds = 3600;
+	private String discoveredServerPropertiesCacheFile = "";
+	private int sslSessionCacheTimeoutInSeconds = 3600;
+	private int genQueryPlanCacheSize = 256;
+	private int objStatCacheSize = 0;
+	private int objStatCacheTimeToLiveMillis = 2000;
 
 	/**
 	 * Size (in bytes) of the buffer used to copy between input and output for
@@ -207,6 +233,32 @@ public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 		defaultPythonRuleEngineIdentifier = jargonProperties.getDefaultPythonRuleEngineIdentifier();
 		defaultCppRuleEngineIdentifier = jargonProperties.getDefaultCppRuleEngineIdentifier();
 		rulesSetDestinationWhenAuto = jargonProperties.isRulesSetDestinationWhenAuto();
+		useStreamingTagParser = jargonProperties.isUseStreamingTagParser();
+		maxPipelinedRequests = jargonProperties.getMaxPipelinedRequests();
+		transferBufferPoolMaxBytes = jargonProperties.getTransferBufferPoolMaxBytes();
+		useFileChannelForParallelTransfers = jargonProperties.isUseFileChannelForParallelTransfers();
+		recursiveTransferThreads = jargonProperties.getRecursiveTransferThreads();
+		smallFileAggregation = jargonProperties.isSmallFileAggregation();
+		smallFileAggregationMaxFileSize = jargonProperties.getSmallFileAggregationMaxFileSize();
+		smallFileAggregationMaxBundleSize = jargonProperties.getSmallFileAggregationMaxBundleSize();
+		smallFileAggregationMaxBundleFiles = jargonProperties.getSmallFileAggregationMaxBundleFiles();
+		smallFileAggregationMinFiles = jargonProperties.getSmallFileAggregationMinFiles();
+		readAheadMaxBlocks = jargonProperties.getReadAheadMaxBlocks();
+		writeBehindBuffers = jargonProperties.getWriteBehindBuffers();
+		useVirtualThreads = jargonProperties.isUseVirtualThreads();
+		useSharedConnectionRegistry = jargonProperties.isUseSharedConnectionRegistry();
+		sharedConnectionMaxPerAccount = jargonProperties.getSharedConnectionMaxPerAccount();
+		sharedConnectionIdleTimeoutSeconds = jargonProperties.getSharedConnectionIdleTimeoutSeconds();
+		sharedConnectionCheckoutWaitMillis = jargonProperties.getSharedConnectionCheckoutWaitMillis();
+		adaptiveParallelStreams = jargonProperties.isAdaptiveParallelStreams();
+		transferSchedulerMaxStreams = jargonProperties.getTransferSchedulerMaxStreams();
+		transferSchedulerMaxStreamsPerHost = jargonProperties.getTransferSchedulerMaxStreamsPerHost();
+		discoveredServerPropertiesCacheTimeToLiveInSeconds = jargonProperties.getDiscoveredServerPropertiesCacheTimeToLiveInSeconds();
+		discoveredServerPropertiesCacheFile = jargonProperties.getDiscoveredServerPropertiesCacheFile();
+		sslSessionCacheTimeoutInSeconds = jargonProperties.getSslSessionCacheTimeoutInSeconds();
+		genQueryPlanCacheSize = jargonProperties.getGenQueryPlanCacheSize();
+		objStatCacheSize = jargonProperties.getObjStatCacheSize();
+		objStatCacheTimeToLiveMillis = jargonProperties.getObjStatCacheTimeToLiveMillis();
 	}
 
 	@Override
@@ -783,7 +835,33 @@ public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 		}
 		builder.append("encryptionKeySize=").append(encryptionKeySize).append(", encryptionSaltSize=")
 				.append(encryptionSaltSize).append(", encryptionNumberHashRounds=").append(encryptionNumberHashRounds)
-				.append(", bypassSslCertChecks=").append(bypassSslCertChecks).append("]");
+				.append(", bypassSslCertChecks=").append(bypassSslCertChecks).append(", useStreamingTagParser=")
+				.append(useStreamingTagParser)
+				.append(", maxPipelinedRequests=").append(maxPipelinedRequests)
+				.append(", transferBufferPoolMaxBytes=").append(transferBufferPoolMaxBytes)
+				.append(", useFileChannelForParallelTransfers=").append(useFileChannelForParallelTransfers)
+				.append(", recursiveTransferThreads=").append(recursiveTransferThreads)
+				.append(", smallFileAggregation=").append(smallFileAggregation)
+				.append(", smallFileAggregationMaxFileSize=").append(smallFileAggregationMaxFileSize)
+				.append(", smallFileAggregationMaxBundleSize=").append(smallFileAggregationMaxBundleSize)
+				.append(", smallFileAggregationMaxBundleFiles=").append(smallFileAggregationMaxBundleFiles)
+				.append(", smallFileAggregationMinFiles=").append(smallFileAggregationMinFiles)
+				.append(", readAheadMaxBlocks=").append(readAheadMaxBlocks)
+				.append(", writeBehindBuffers=").append(writeBehindBuffers)
+				.append(", useVirtualThreads=").append(useVirtualThreads)
+				.append(", useSharedConnectionRegistry=").append(useSharedConnectionRegistry)
+				.append(", sharedConnectionMaxPerAccount=").append(sharedConnectionMaxPerAccount)
+				.append(", sharedConnectionIdleTimeoutSeconds=").append(sharedConnectionIdleTimeoutSeconds)
+				.append(", sharedConnectionCheckoutWaitMillis=").append(sharedConnectionCheckoutWaitMillis)
+				.append(", adaptiveParallelStreams=").append(adaptiveParallelStreams)
+				.append(", transferSchedulerMaxStreams=").append(transferSchedulerMaxStreams)
+				.append(", transferSchedulerMaxStreamsPerHost=").append(transferSchedulerMaxStreamsPerHost)
+				.append(", discoveredServerPropertiesCacheTimeToLiveInSeconds=").append(discoveredServerPropertiesCacheTimeToLiveInSeconds)
+				.append(", discoveredServerPropertiesCacheFile=").append(discoveredServerPropertiesCacheFile)
+				.append(", sslSessionCacheTimeoutInSeconds=").append(sslSessionCacheTimeoutInSeconds)
+				.append(", genQueryPlanCacheSize=").append(genQueryPlanCacheSize)
+				.append(", objStatCacheSize=").append(objStatCacheSize)
+				.append(", objStatCacheTimeToLiveMillis=").append(objStatCacheTimeToLiveMillis).append("]");
 		return builder.toString();
 	}
 
@@ -946,4 +1024,264 @@ public class SettableJargonProperties implements SettableJargonPropertiesMBean {
 		this.rulesSetDestinationWhenAuto = rulesSetDestinationWhenAuto;
 	}
 
+	@Override
+	public synchronized boolean isUseStreamingTagParser() {
+		return useStreamingTagParser;
+	}
+
+	@Override
+	public synchronized void setUseStreamingTagParser(final boolean useStreamingTagParser) {
+		this.useStreamingTagParser = useStreamingTagParser;
+	}
+
+	@Override
+	public synchronized int getMaxPipelinedRequests() {
+		return maxPipelinedRequests;
+	}
+
+	@Override
+	public synchronized void setMaxPipelinedRequests(final int maxPipelinedRequests) {
+		this.maxPipelinedRequests = maxPipelinedRequests;
+	}
+
+	@Override
+	public synchronized long getTransferBufferPoolMaxBytes() {
+		return transferBufferPoolMaxBytes;
+	}
+
+	@Override
+	public synchronized void setTransferBufferPoolMaxBytes(final long transferBufferPoolMaxBytes) {
+		this.transferBufferPoolMaxBytes = transferBufferPoolMaxBytes;
+	}
+
+	@Override
+	public synchronized boolean isUseFileChannelForParallelTransfers() {
+		return useFileChannelForParallelTransfers;
+	}
+
+	@Override
+	public synchronized void setUseFileChannelForParallelTransfers(final boolean useFileChannelForParallelTransfers) {
+		this.useFileChannelForParallelTransfers = useFileChannelForParallelTransfers;
+	}
+
+	@Override
+	public synchronized int getRecursiveTransferThreads() {
+		return recursiveTransferThreads;
+	}
+
+	@Override
+	public synchronized void setRecursiveTransferThreads(final int recursiveTransferThreads) {
+		this.recursiveTransferThreads = recursiveTransferThreads;
+	}
+
+	@Override
+	public synchronized boolean isSmallFileAggregation() {
+		return smallFileAggregation;
+	}
+
+	@Override
+	public synchronized void setSmallFileAggregation(final boolean smallFileAggregation) {
+		this.smallFileAggregation = smallFileAggregation;
+	}
+
+	@Override
+	public synchronized long getSmallFileAggregationMaxFileSize() {
+		return smallFileAggregationMaxFileSize;
+	}
+
+	@Override
+	public synchronized void setSmallFileAggregationMaxFileSize(final long smallFileAggregationMaxFileSize) {
+		this.smallFileAggregationMaxFileSize = smallFileAggregationMaxFileSize;
+	}
+
+	@Override
+	public synchronized long getSmallFileAggregationMaxBundleSize() {
+		return smallFileAggregationMaxBundleSize;
+	}
+
+	@Override
+	public synchronized void setSmallFileAggregationMaxBundleSize(final long smallFileAggregationMaxBundleSize) {
+		this.smallFileAggregationMaxBundleSize = smallFileAggregationMaxBundleSize;
+	}
+
+	@Override
+	public synchronized int getSmallFileAggregationMaxBundleFiles() {
+		return smallFileAggregationMaxBundleFiles;
+	}
+
+	@Override
+	public synchronized void setSmallFileAggregationMaxBundleFiles(final int smallFileAggregationMaxBundleFiles) {
+		this.smallFileAggregationMaxBundleFiles = smallFileAggregationMaxBundleFiles;
+	}
+
+	@Override
+	public synchronized int getSmallFileAggregationMinFiles() {
+		return smallFileAggregationMinFiles;
+	}
+
+	@Override
+	public synchronized void setSmallFileAggregationMinFiles(final int smallFileAggregationMinFiles) {
+		this.smallFileAggregationMinFiles = smallFileAggregationMinFiles;
+	}
+
+	@Override
+	public synchronized int getReadAheadMaxBlocks() {
+		return readAheadMaxBlocks;
+	}
+
+	@Override
+	public synchronized void setReadAheadMaxBlocks(final int readAheadMaxBlocks) {
+		this.readAheadMaxBlocks = readAheadMaxBlocks;
+	}
+
+	@Override
+	public synchronized int getWriteBehindBuffers() {
+		return writeBehindBuffers;
+	}
+
+	@Override
+	public synchronized void setWriteBehindBuffers(final int writeBehindBuffers) {
+		this.writeBehindBuffers = writeBehindBuffers;
+	}
+
+	@Override
+	public synchronized boolean isUseVirtualThreads() {
+		return useVirtualThreads;
+	}
+
+	@Override
+	public synchronized void setUseVirtualThreads(final boolean useVirtualThreads) {
+		this.useVirtualThreads = useVirtualThreads;
+	}
+
+	@Override
+	public synchronized boolean isUseSharedConnectionRegistry() {
+		return useSharedConnectionRegistry;
+	}
+
+	@Override
+	public synchronized void setUseSharedConnectionRegistry(final boolean useSharedConnectionRegistry) {
+		this.useSharedConnectionRegistry = useSharedConnectionRegistry;
+	}
+
+	@Override
+	public synchronized int getSharedConnectionMaxPerAccount() {
+		return sharedConnectionMaxPerAccount;
+	}
+
+	@Override
+	public synchronized void setSharedConnectionMaxPerAccount(final int sharedConnectionMaxPerAccount) {
+		this.sharedConnectionMaxPerAccount = sharedConnectionMaxPerAccount;
+	}
+
+	@Override
+	public synchronized int getSharedConnectionIdleTimeoutSeconds() {
+		return sharedConnectionIdleTimeoutSeconds;
+	}
+
+	@Override
+	public synchronized void setSharedConnectionIdleTimeoutSeconds(final int sharedConnectionIdleTimeoutSeconds) {
+		this.sharedConnectionIdleTimeoutSeconds = sharedConnectionIdleTimeoutSeconds;
+	}
+
+	@Override
+	public synchronized int getSharedConnectionCheckoutWaitMillis() {
+		return sharedConnectionCheckoutWaitMillis;
+	}
+
+	@Override
+	public synchronized void setSharedConnectionCheckoutWaitMillis(final int sharedConnectionCheckoutWaitMillis) {
+		this.sharedConnectionCheckoutWaitMillis = sharedConnectionCheckoutWaitMillis;
+	}
+
+	@Override
+	public synchronized boolean isAdaptiveParallelStreams() {
+		return adaptiveParallelStreams;
+	}
+
+	@Override
+	public synchronized void setAdaptiveParallelStreams(final boolean adaptiveParallelStreams) {
+		this.adaptiveParallelStreams = adaptiveParallelStreams;
+	}
+
+	@Override
+	public synchronized int getTransferSchedulerMaxStreams() {
+		return transferSchedulerMaxStreams;
+	}
+
+	@Override
+	public synchronized void setTransferSchedulerMaxStreams(final int transferSchedulerMaxStreams) {
+		this.transferSchedulerMaxStreams = transferSchedulerMaxStreams;
+	}
+
+	@Override
+	public synchronized int getTransferSchedulerMaxStreamsPerHost() {
+		return transferSchedulerMaxStreamsPerHost;
+	}
+
+	@Override
+	public synchronized void setTransferSchedulerMaxStreamsPerHost(final int transferSchedulerMaxStreamsPerHost) {
+		this.transferSchedulerMaxStreamsPerHost = transferSchedulerMaxStreamsPerHost;
+	}
+
+	@Override
+	public synchronized int getDiscoveredServerPropertiesCacheTimeToLiveInSeconds() {
+		return discoveredServerPropertiesCacheTimeToLiveInSeconds;
+	}
+
+	@Override
+	public synchronized void setDiscoveredServerPropertiesCacheTimeToLiveInSeconds(final int discoveredServerPropertiesCacheTimeToLiveInSeconds) {
+		this.discoveredServerPropertiesCacheTimeToLiveInSeconds = discoveredServerPropertiesCacheTimeToLiveInSeconds;
+	}
+
+	@Override
+	public synchronized String getDiscoveredServerPropertiesCacheFile() {
+		return discoveredServerPropertiesCacheFile;
+	}
+
+	@Override
+	public synchronized void setDiscoveredServerPropertiesCacheFile(final String discoveredServerPropertiesCacheFile) {
+		this.discoveredServerPropertiesCacheFile = discoveredServerPropertiesCacheFile;
+	}
+
+	@Override
+	public synchronized int getSslSessionCacheTimeoutInSeconds() {
+		return sslSessionCacheTimeoutInSeconds;
+	}
+
+	@Override
+	public synchronized void setSslSessionCacheTimeoutInSeconds(final int sslSessionCacheTimeoutInSeconds) {
+		this.sslSessionCacheTimeoutInSeconds = sslSessionCacheTimeoutInSeconds;
+	}
+
+	@Override
+	public synchronized int getGenQueryPlanCacheSize() {
+		return genQueryPlanCacheSize;
+	}
+
+	@Override
+	public synchronized void setGenQueryPlanCacheSize(final int genQueryPlanCacheSize) {
+		this.genQueryPlanCacheSize = genQueryPlanCacheSize;
+	}
+
+	@Override
+	public synchronized int getObjStatCacheSize() {
+		return objStatCacheSize;
+	}
+
+	@Override
+	public synchronized void setObjStatCacheSize(final int objStatCacheSize) {
+		this.objStatCacheSize = objStatCacheSize;
+	}
+
+	@Override
+	public synchronized int getObjStatCacheTimeToLiveMillis() {
+		return objStatCacheTimeToLiveMillis;
+	}
+
+	@Override
+	public synchronized void setObjStatCacheTimeToLiveMillis(final int objStatCacheTimeToLiveMillis) {
+		this.objStatCacheTimeToLiveMillis = objStatCacheTimeToLiveMillis;
+	}
+
 }
@@ -15,6 +15,58 @@ import org.irods.jargon.core.protovalues.EncryptionAlgorithmEnum;
  */
 public interface SettableJargonPropertiesMBean extends JargonProperties {
 
+	void setObjStatCacheTimeToLiveMillis(final int objStatCacheTimeToLiveMillis);
+
+	void setObjStatCacheSize(final int objStatCacheSize);
+
+	void setGenQueryPlanCacheSize(final int genQueryPlanCacheSize);
+
+	void setSslSessionCacheTimeoutInSeconds(final int sslSessionCacheTimeoutInSeconds);
+
+	void setDiscoveredServerPropertiesCacheFile(final String discoveredServerPropertiesCacheFile);
+
+	void setDiscoveredServerPropertiesCacheTimeToLiveInSeconds(final int discoveredServerPropertiesCacheTimeToLiveInSeconds);
+
+	void setTransferSchedulerMaxStreamsPerHost(final int transferSchedulerMaxStreamsPerHost);
+
+	void setTransferSchedulerMaxStreams(final int transferSchedulerMaxStreams);
+
+	void setAdaptiveParallelStreams(final boolean adaptiveParallelStreams);
+
+	void setSharedConnectionCheckoutWaitMillis(final int sharedConnectionCheckoutWaitMillis);
+
+	void setSharedConnectionIdleTimeoutSeconds(final int sharedConnectionIdleTimeoutSeconds);
+
+	void setSharedConnectionMaxPerAccount(final int sharedConnectionMaxPerAccount);
+
+	void setUseSharedConnectionRegistry(final boolean useSharedConnectionRegistry);
+
+	void setUseVirtualThreads(final boolean useVirtualThreads);
+
+	void setWriteBehindBuffers(final int writeBehindBuffers);
+
+	void setReadAheadMaxBlocks(final int readAheadMaxBlocks);
+
+	void setSmallFileAggregationMinFiles(final int smallFileAggregationMinFiles);
+
+	void setSmallFileAggregationMaxBundleFiles(final int smallFileAggregationMaxBundleFiles);
+
+	void setSmallFileAggregationMaxBundleSize(final long smallFileAggregationMaxBundleSize);
+
+	void setSmallFileAggregationMaxFileSize(final long smallFileAggregationMaxFileSize);
+
+	void setSmallFileAggregation(final boolean smallFileAggregation);
+
+	void setRecursiveTransferThreads(final int recursiveTransferThreads);
+
+	void setUseFileChannelForParallelTransfers(final boolean useFileChannelForParallelTransfers);
+
+	void setTransferBufferPoolMaxBytes(final long transferBufferPoolMaxBytes);
+
+	void setMaxPipelinedRequests(final int maxPipelinedRequests);
+
+	void setUseStreamingTagParser(final boolean useStreamingTagParser);
+
 	void setRulesSetDestinationWhenAuto(final boolean rulesSetDestinationWhenAuto);
 
 	void setDefaultCppRuleEngineIdentifier(final String defaultCppRuleEngineIdentifier);
@@ -0,0 +1,496 @@
+package org.irods.jargon.core.connection;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of connections to iRODS, keyed by {@link IRODSAccount}, that may be
+ * used by any thread. A connection is checked out for the exclusive use of a
+ * caller, and checked in when the caller is done, to be handed to the next
+ * caller for that account without a new connect and authentication.
+ * <p>
+ * By default {@link IRODSSession} keeps connections in a {@code ThreadLocal},
+ * so a connection is only reused by the thread that opened it. With
+ * {@link JargonProperties#isUseSharedConnectionRegistry()} set, the
+ * {@code IRODSSession} checks a connection out of this registry on its first
+ * use in a thread and checks it back in on {@code closeSession()}, which suits
+ * thread-per-request servers and event loops that close the session at the end
+ * of each request.
+ * <p>
+ * At most {@link JargonProperties#getSharedConnectionMaxPerAccount()}
+ * connections are held for an account, a caller that needs one while all of
+ * them are checked out waits up to
+ * {@link JargonProperties#getSharedConnectionCheckoutWaitMillis()} for one to
+ * be checked in. Connections that are idle for longer than
+ * {@link JargonProperties#getSharedConnectionIdleTimeoutSeconds()} are closed
+ * by a background thread, and connections older than the socket renewal
+ * interval are closed rather than handed out again.
+ * <p>
+ * Connections are created and finally returned through the
+ * {@link IRODSProtocolManager} of the {@code IRODSSession}.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class SharedConnectionRegistry {
+
+	private static final Logger log = LoggerFactory.getLogger(SharedConnectionRegistry.class);
+
+	private final IRODSSession irodsSession;
+	private final int maxPerAccount;
+	private final long idleTimeoutMillis;
+	private final long checkoutWaitNanos;
+	private final int socketRenewalIntervalInSeconds;
+
+	/**
+	 * A checked in connection and when it was checked in
+	 */
+	private static final class IdleConnection {
+		private final IRODSMidLevelProtocol irodsMidLevelProtocol;
+		private final long idleSinceMillis;
+
+		private IdleConnection(final IRODSMidLevelProtocol irodsMidLevelProtocol, final long idleSinceMillis) {
+			this.irodsMidLevelProtocol = irodsMidLevelProtocol;
+			this.idleSinceMillis = idleSinceMillis;
+		}
+	}
+
+	/**
+	 * The connections of one account. The idle connections are most recently
+	 * used first, and the count includes the checked out connections and any
+	 * being opened.
+	 */
+	private static final class AccountConnections {
+		private final Deque<IdleConnection> idleConnections = new ArrayDeque<IdleConnection>();
+		private int connectionCount = 0;
+	}
+
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition connectionReleased = lock.newCondition();
+	private final Map<String, AccountConnections> connectionsByAccount = new HashMap<String, AccountConnections>();
+	private final Map<IRODSMidLevelProtocol, String> checkedOut = new IdentityHashMap<IRODSMidLevelProtocol, String>();
+	private ScheduledExecutorService idleEvictor = null;
+	private boolean closed = false;
+
+	/**
+	 * Create a registry configured by the {@code JargonProperties} of the given
+	 * session
+	 *
+	 * @param irodsSession {@link IRODSSession} that provides the
+	 *                     {@code IRODSProtocolManager} and configuration
+	 */
+	public SharedConnectionRegistry(final IRODSSession irodsSession) {
+		if (irodsSession == null) {
+			throw new IllegalArgumentException("null irodsSession");
+		}
+
+		this.irodsSession = irodsSession;
+		JargonProperties jargonProperties = irodsSession.getJargonProperties();
+		maxPerAccount = Math.max(1, jargonProperties.getSharedConnectionMaxPerAccount());
+		idleTimeoutMillis = Math.max(0, jargonProperties.getSharedConnectionIdleTimeoutSeconds()) * 1000L;
+		checkoutWaitNanos = TimeUnit.MILLISECONDS
+				.toNanos(Math.max(0, jargonProperties.getSharedConnectionCheckoutWaitMillis()));
+		socketRenewalIntervalInSeconds = jargonProperties.getSocketRenewalIntervalInSeconds();
+		log.info("shared connection registry with max per account:{} idle timeout millis:{}", maxPerAccount,
+				idleTimeoutMillis);
+	}
+
+	/**
+	 * Check out a connection for the exclusive use of the caller, reusing an idle
+	 * connection for the account if there is one, and otherwise opening a new
+	 * one. If the account already has its maximum number of connections checked
+	 * out this waits for one to be checked in.
+	 *
+	 * @param irodsAccount {@link IRODSAccount} for the connection
+	 * @return {@link IRODSMidLevelProtocol} that must be given back with
+	 *         {@link #checkin(IRODSMidLevelProtocol)} or
+	 *         {@link #discard(IRODSMidLevelProtocol)}
+	 * @throws JargonException if no connection could be had within the wait, or
+	 *                         the connection could not be opened
+	 */
+	public IRODSMidLevelProtocol checkout(final IRODSAccount irodsAccount) throws JargonException {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		final String key = irodsAccount.toString();
+		final List<IRODSMidLevelProtocol> staleConnections = new ArrayList<IRODSMidLevelProtocol>();
+		IRODSMidLevelProtocol irodsMidLevelProtocol = null;
+
+		try {
+			lock.lock();
+			try {
+				irodsMidLevelProtocol = reserveConnection(key, staleConnections);
+			} finally {
+				lock.unlock();
+			}
+		} finally {
+			closeConnections(staleConnections);
+		}
+
+		if (irodsMidLevelProtocol != null) {
+			log.debug("checked out idle connection for:{}", key);
+			return irodsMidLevelProtocol;
+		}
+
+		log.debug("opening a new shared connection for:{}", key);
+		try {
+			irodsMidLevelProtocol = irodsSession.getIrodsProtocolManager().getIRODSProtocol(irodsAccount,
+					irodsSession.buildPipelineConfigurationBasedOnJargonProperties(), irodsSession);
+			if (irodsMidLevelProtocol == null) {
+				log.error("no connection returned from connection manager");
+				throw new JargonRuntimeException("null connection returned from connection manager");
+			}
+		} catch (JargonException | RuntimeException e) {
+			releaseSlot(key);
+			throw e;
+		}
+
+		lock.lock();
+		try {
+			checkedOut.put(irodsMidLevelProtocol, key);
+		} finally {
+			lock.unlock();
+		}
+		return irodsMidLevelProtocol;
+	}
+
+	/**
+	 * Give back a connection that was checked out, to be reused by any thread. A
+	 * connection that is no longer connected, or is due for renewal, is closed
+	 * instead.
+	 *
+	 * @param irodsMidLevelProtocol {@link IRODSMidLevelProtocol} that was checked
+	 *                              out of this registry
+	 */
+	public void checkin(final IRODSMidLevelProtocol irodsMidLevelProtocol) {
+		if (irodsMidLevelProtocol == null) {
+			throw new IllegalArgumentException("null irodsMidLevelProtocol");
+		}
+
+		boolean kept = false;
+		lock.lock();
+		try {
+			String key = checkedOut.remove(irodsMidLevelProtocol);
+			if (key == null) {
+				log.warn("checkin of a connection that is not checked out, it will be closed:{}",
+						irodsMidLevelProtocol);
+			} else if (!closed && isReusable(irodsMidLevelProtocol)) {
+				connectionsByAccount.get(key).idleConnections
+						.addFirst(new IdleConnection(irodsMidLevelProtocol, System.currentTimeMillis()));
+				startIdleEvictor();
+				kept = true;
+				connectionReleased.signalAll();
+			} else {
+				removeConnection(key);
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		if (!kept) {
+			closeConnection(irodsMidLevelProtocol);
+		}
+	}
+
+	/**
+	 * Give back a connection that was checked out but should not be reused, for
+	 * example after a protocol or socket error. The connection is forcefully
+	 * closed.
+	 *
+	 * @param irodsMidLevelProtocol {@link IRODSMidLevelProtocol} that was checked
+	 *                              out of this registry
+	 */
+	public void discard(final IRODSMidLevelProtocol irodsMidLevelProtocol) {
+		if (irodsMidLevelProtocol == null) {
+			throw new IllegalArgumentException("null irodsMidLevelProtocol");
+		}
+
+		lock.lock();
+		try {
+			String key = checkedOut.remove(irodsMidLevelProtocol);
+			if (key != null) {
+				removeConnection(key);
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		irodsSession.getIrodsProtocolManager().returnWithForce(irodsMidLevelProtocol);
+	}
+
+	/**
+	 * Close the connections that have been idle longer than the idle timeout, or
+	 * that are no longer reusable. This is called periodically by a background
+	 * thread while there are idle connections.
+	 */
+	public void evictIdleConnections() {
+		List<IRODSMidLevelProtocol> evicted = new ArrayList<IRODSMidLevelProtocol>();
+		long now = System.currentTimeMillis();
+
+		lock.lock();
+		try {
+			Iterator<Map.Entry<String, AccountConnections>> accounts = connectionsByAccount.entrySet().iterator();
+			while (accounts.hasNext()) {
+				AccountConnections accountConnections = accounts.next().getValue();
+				Iterator<IdleConnection> idle = accountConnections.idleConnections.descendingIterator();
+				while (idle.hasNext()) {
+					IdleConnection idleConnection = idle.next();
+					if ((idleTimeoutMillis > 0 && now - idleConnection.idleSinceMillis >= idleTimeoutMillis)
+							|| !isReusable(idleConnection.irodsMidLevelProtocol)) {
+						idle.remove();
+						accountConnections.connectionCount--;
+						evicted.add(idleConnection.irodsMidLevelProtocol);
+					}
+				}
+
+				if (accountConnections.connectionCount == 0) {
+					accounts.remove();
+				}
+			}
+
+			if (!evicted.isEmpty()) {
+				connectionReleased.signalAll();
+			}
+		} finally {
+			lock.unlock();
+		}
+
+		if (!evicted.isEmpty()) {
+			log.debug("evicting {} idle connections", evicted.size());
+			closeConnections(evicted);
+		}
+	}
+
+	/**
+	 * Close the idle connections and stop handing out connections. Connections
+	 * that are checked out are closed when they are checked in.
+	 */
+	public void close() {
+		log.info("closing shared connection registry");
+		List<IRODSMidLevelProtocol> idle = new ArrayList<IRODSMidLevelProtocol>();
+
+		lock.lock();
+		try {
+			closed = true;
+			Iterator<Map.Entry<String, AccountConnections>> accounts = connectionsByAccount.entrySet().iterator();
+			while (accounts.hasNext()) {
+				AccountConnections accountConnections = accounts.next().getValue();
+				for (IdleConnection idleConnection : accountConnections.idleConnections) {
+					idle.add(idleConnection.irodsMidLevelProtocol);
+				}
+				accountConnections.connectionCount -= accountConnections.idleConnections.size();
+				accountConnections.idleConnections.clear();
+				if (accountConnections.connectionCount == 0) {
+					accounts.remove();
+				}
+			}
+
+			if (idleEvictor != null) {
+				idleEvictor.shutdownNow();
+				idleEvictor = null;
+			}
+			connectionReleased.signalAll();
+		} finally {
+			lock.unlock();
+		}
+
+		closeConnections(idle);
+	}
+
+	/**
+	 * @param irodsAccount {@link IRODSAccount}
+	 * @return {@code int} with the number of connections, checked out or idle,
+	 *         held for the account
+	 */
+	public int getConnectionCount(final IRODSAccount irodsAccount) {
+		lock.lock();
+		try {
+			AccountConnections accountConnections = connectionsByAccount.get(irodsAccount.toString());
+			return accountConnections == null ? 0 : accountConnections.connectionCount;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @param irodsAccount {@link IRODSAccount}
+	 * @return {@code int} with the number of idle connections held for the
+	 *         account
+	 */
+	public int getIdleConnectionCount(final IRODSAccount irodsAccount) {
+		lock.lock();
+		try {
+			AccountConnections accountConnections = connectionsByAccount.get(irodsAccount.toString());
+			return accountConnections == null ? 0 : accountConnections.idleConnections.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Take an idle connection for the account, or reserve a slot to open a new
+	 * one, waiting if neither is possible. Called holding the lock.
+	 *
+	 * @return {@link IRODSMidLevelProtocol} that is now checked out, or
+	 *         {@code null} if a slot was reserved for a new connection
+	 */
+	private IRODSMidLevelProtocol reserveConnection(final String key,
+			final List<IRODSMidLevelProtocol> staleConnections) throws JargonException {
+		final long deadline = System.nanoTime() + checkoutWaitNanos;
+
+		while (true) {
+			checkNotClosed();
+			AccountConnections accountConnections = connectionsByAccount.get(key);
+			if (accountConnections == null) {
+				accountConnections = new AccountConnections();
+				connectionsByAccount.put(key, accountConnections);
+			}
+
+			IdleConnection idleConnection;
+			while ((idleConnection = accountConnections.idleConnections.pollFirst()) != null) {
+				if (isReusable(idleConnection.irodsMidLevelProtocol)) {
+					checkedOut.put(idleConnection.irodsMidLevelProtocol, key);
+					return idleConnection.irodsMidLevelProtocol;
+				}
+				accountConnections.connectionCount--;
+				staleConnections.add(idleConnection.irodsMidLevelProtocol);
+			}
+
+			if (accountConnections.connectionCount < maxPerAccount) {
+				accountConnections.connectionCount++;
+				return null;
+			}
+
+			long remaining = deadline - System.nanoTime();
+			if (remaining <= 0) {
+				log.error("timed out waiting for a shared connection for:{}", key);
+				throw new JargonException("timed out waiting for a shared connection, all " + maxPerAccount
+						+ " connections for the account are checked out");
+			}
+
+			log.debug("all connections checked out for:{}, waiting", key);
+			try {
+				connectionReleased.awaitNanos(remaining);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JargonException("interrupted waiting for a shared connection", e);
+			}
+		}
+	}
+
+	private void releaseSlot(final String key) {
+		lock.lock();
+		try {
+			removeConnection(key);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Account for a connection that is gone. Called holding the lock.
+	 */
+	private void removeConnection(final String key) {
+		AccountConnections accountConnections = connectionsByAccount.get(key);
+		if (accountConnections == null) {
+			return;
+		}
+
+		accountConnections.connectionCount--;
+		if (accountConnections.connectionCount <= 0) {
+			connectionsByAccount.remove(key);
+		}
+		connectionReleased.signalAll();
+	}
+
+	private boolean isReusable(final IRODSMidLevelProtocol irodsMidLevelProtocol) {
+		if (!irodsMidLevelProtocol.isConnected()) {
+			return false;
+		}
+
+		// 0 means ignore
+		if (socketRenewalIntervalInSeconds <= 0) {
+			return true;
+		}
+
+		return System.currentTimeMillis() <= irodsMidLevelProtocol.getConnectTimeInMillis()
+				+ socketRenewalIntervalInSeconds * 1000L;
+	}
+
+	/**
+	 * Start the background eviction of idle connections if it is not running.
+	 * Called holding the lock.
+	 */
+	private void startIdleEvictor() {
+		if (idleEvictor != null || idleTimeoutMillis <= 0) {
+			return;
+		}
+
+		idleEvictor = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+			@Override
+			public Thread newThread(final Runnable runnable) {
+				Thread thread = new Thread(runnable, "jargon-connection-evictor");
+				thread.setDaemon(true);
+				return thread;
+			}
+		});
+
+		long period = Math.max(1000L, idleTimeoutMillis / 2);
+		idleEvictor.scheduleWithFixedDelay(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					evictIdleConnections();
+				} catch (RuntimeException e) {
+					log.error("error evicting idle connections, this is logged and ignored", e);
+				}
+			}
+		}, period, period, TimeUnit.MILLISECONDS);
+	}
+
+	private void closeConnections(final List<IRODSMidLevelProtocol> irodsMidLevelProtocols) {
+		for (IRODSMidLevelProtocol irodsMidLevelProtocol : irodsMidLevelProtocols) {
+			closeConnection(irodsMidLevelProtocol);
+		}
+	}
+
+	private void closeConnection(final IRODSMidLevelProtocol irodsMidLevelProtocol) {
+		IRODSProtocolManager irodsProtocolManager = irodsSession.getIrodsProtocolManager();
+		if (!irodsMidLevelProtocol.isConnected()) {
+			irodsProtocolManager.returnWithForce(irodsMidLevelProtocol);
+			return;
+		}
+
+		try {
+			irodsProtocolManager.returnIRODSProtocol(irodsMidLevelProtocol);
+		} catch (JargonException e) {
+			log.warn("error closing shared connection, will forcefully close", e);
+			irodsProtocolManager.returnWithForce(irodsMidLevelProtocol);
+		}
+	}
+
+	private void checkNotClosed() throws JargonException {
+		if (closed) {
+			throw new JargonException("shared connection registry is closed");
+		}
+	}
+
+}
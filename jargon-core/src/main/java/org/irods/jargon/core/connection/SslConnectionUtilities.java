@@ -32,7 +32,6 @@ import org.slf4j.LoggerFactory;
  */
 class SslConnectionUtilities {
 
-	@SuppressWarnings("unused")
 	private final IRODSSession irodsSession;
 
 	private Logger log = LoggerFactory.getLogger(SslConnectionUtilities.class);
@@ -43,30 +42,16 @@ class SslConnectionUtilities {
 	}
 
 	/**
-	 * @param irodsAccount
-	 *            {@link IRODSAccount} for connection
-	 * @param irodsCommands
-	 *            {@link IRODSMidLevelProtocol} that represents the current
-	 *            connection
-	 * @param doSslStartupSequence
-	 *            {@code boolean} that indicates that
-	 * @return {@link SSLSocket} that can be inserted into the existing connection.
-	 *         Note that this method will not manipulate the mid level protocol
-	 *         object, it is up to the caller to handle the disposition of that
-	 *         socket object.
-	 * @throws JargonException
+	 * Create an SSL context trusting the certificates accepted by the trust
+	 * manager set in the session, or by the default trust manager if none is set.
+	 * The context holds the cache of client SSL sessions, so connections made from
+	 * the same context to the same host and port may resume an earlier session.
+	 *
+	 * @return {@link SSLContext}
 	 * @throws AssertionError
 	 */
-	SSLSocket createSslSocketForProtocol(final IRODSAccount irodsAccount, final IRODSMidLevelProtocol irodsCommands,
-			final boolean doSslStartupSequence) throws JargonException, AssertionError {
-
-		if (doSslStartupSequence) {
-			// start ssl
-			log.info("startSSL for PAM auth");
-			SSLStartInp sslStartInp = SSLStartInp.instance();
-			irodsCommands.irodsFunction(sslStartInp);
-		}
-
+	SSLContext createSslContext() throws AssertionError {
+		log.debug("createSslContext()");
 		SSLContext ctx;
 		try {
 			ctx = SSLContext.getInstance("TLSv1.2", "SunJSSE");
@@ -85,8 +70,8 @@ class SslConnectionUtilities {
 		}
 		TrustManager[] trustManagers = null;
 
-		if (irodsCommands.getIrodsSession().getX509TrustManager() != null) {
-			trustManagers = new TrustManager[] { irodsCommands.getIrodsSession().getX509TrustManager() };
+		if (irodsSession.getX509TrustManager() != null) {
+			trustManagers = new TrustManager[] { irodsSession.getX509TrustManager() };
 		}
 		try {
 			ctx.init(null, trustManagers, null);
@@ -94,6 +79,35 @@ class SslConnectionUtilities {
 			log.error("error initializing ssl context:{}", e1);
 			throw new JargonRuntimeException("ssl context init exception", e1);
 		}
+		return ctx;
+	}
+
+	/**
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for connection
+	 * @param irodsCommands
+	 *            {@link IRODSMidLevelProtocol} that represents the current
+	 *            connection
+	 * @param doSslStartupSequence
+	 *            {@code boolean} that indicates that
+	 * @return {@link SSLSocket} that can be inserted into the existing connection.
+	 *         Note that this method will not manipulate the mid level protocol
+	 *         object, it is up to the caller to handle the disposition of that
+	 *         socket object.
+	 * @throws JargonException
+	 * @throws AssertionError
+	 */
+	SSLSocket createSslSocketForProtocol(final IRODSAccount irodsAccount, final IRODSMidLevelProtocol irodsCommands,
+			final boolean doSslStartupSequence) throws JargonException, AssertionError {
+
+		if (doSslStartupSequence) {
+			// start ssl
+			log.info("startSSL for PAM auth");
+			SSLStartInp sslStartInp = SSLStartInp.instance();
+			irodsCommands.irodsFunction(sslStartInp);
+		}
+
+		SSLContext ctx = irodsCommands.getIrodsSession().getSslContext();
 
 		// if all went well (no exceptions) then the server is ready for the
 		// credential exchange, first grab an SSL enabled connection
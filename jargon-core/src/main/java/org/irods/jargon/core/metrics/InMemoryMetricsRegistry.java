@@ -0,0 +1,107 @@
+package org.irods.jargon.core.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link MetricsRegistry} that keeps a {@link LatencyHistogram} and a counter
+ * per name in memory, for inspection by the application or in tests
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class InMemoryMetricsRegistry implements MetricsRegistry {
+
+	private final ConcurrentMap<String, LatencyHistogram> latencies = new ConcurrentHashMap<String, LatencyHistogram>();
+	private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<String, LongAdder>();
+
+	@Override
+	public void recordLatency(final String name, final long durationNanos) {
+		LatencyHistogram histogram = latencies.get(name);
+		if (histogram == null) {
+			LatencyHistogram newHistogram = new LatencyHistogram();
+			histogram = latencies.putIfAbsent(name, newHistogram);
+			if (histogram == null) {
+				histogram = newHistogram;
+			}
+		}
+		histogram.record(durationNanos);
+	}
+
+	@Override
+	public void incrementCounter(final String name, final long delta) {
+		LongAdder counter = counters.get(name);
+		if (counter == null) {
+			LongAdder newCounter = new LongAdder();
+			counter = counters.putIfAbsent(name, newCounter);
+			if (counter == null) {
+				counter = newCounter;
+			}
+		}
+		counter.add(delta);
+	}
+
+	/**
+	 * Get the latencies recorded under a name
+	 *
+	 * @param name
+	 *            {@code String} with the name of the operation
+	 * @return {@link LatencySnapshot}, which has a count of zero if nothing
+	 *         was recorded
+	 */
+	public LatencySnapshot getLatency(final String name) {
+		LatencyHistogram histogram = latencies.get(name);
+		if (histogram == null) {
+			return new LatencySnapshot(0L, 0L, 0L, 0L, 0L, 0L);
+		}
+		return histogram.snapshot();
+	}
+
+	/**
+	 * @return {@code Map} of the name of each operation to a
+	 *         {@link LatencySnapshot}, sorted by name
+	 */
+	public Map<String, LatencySnapshot> getLatencies() {
+		Map<String, LatencySnapshot> snapshots = new TreeMap<String, LatencySnapshot>();
+		for (Map.Entry<String, LatencyHistogram> entry : latencies.entrySet()) {
+			snapshots.put(entry.getKey(), entry.getValue().snapshot());
+		}
+		return snapshots;
+	}
+
+	/**
+	 * Get the value of a counter
+	 *
+	 * @param name
+	 *            {@code String} with the name of the counter
+	 * @return {@code long} with the count, zero if nothing was recorded
+	 */
+	public long getCounter(final String name) {
+		LongAdder counter = counters.get(name);
+		return counter == null ? 0L : counter.sum();
+	}
+
+	/**
+	 * @return {@code Map} of the name of each counter to its value, sorted by
+	 *         name
+	 */
+	public Map<String, Long> getCounters() {
+		Map<String, Long> values = new TreeMap<String, Long>();
+		for (Map.Entry<String, LongAdder> entry : counters.entrySet()) {
+			values.put(entry.getKey(), entry.getValue().sum());
+		}
+		return values;
+	}
+
+	/**
+	 * Clear all latencies and counters
+	 */
+	public void reset() {
+		latencies.clear();
+		counters.clear();
+	}
+
+}
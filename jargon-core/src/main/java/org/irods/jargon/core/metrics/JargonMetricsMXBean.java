@@ -0,0 +1,28 @@
+package org.irods.jargon.core.metrics;
+
+import java.util.Map;
+
+/**
+ * JMX view of the metrics kept by a {@link JmxMetricsRegistry}
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public interface JargonMetricsMXBean {
+
+	/**
+	 * @return {@code Map} of each operation to a summary of its latencies
+	 */
+	Map<String, LatencySnapshot> getLatencies();
+
+	/**
+	 * @return {@code Map} of each counter to its value
+	 */
+	Map<String, Long> getCounters();
+
+	/**
+	 * Clear all latencies and counters
+	 */
+	void reset();
+
+}
@@ -0,0 +1,106 @@
+package org.irods.jargon.core.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.MBeanRegistrationException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.NotCompliantMBeanException;
+import javax.management.ObjectName;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link InMemoryMetricsRegistry} that is also published to the platform MBean
+ * server, so the latencies and counters can be watched with any JMX console.
+ * Each registry is registered under {@link #OBJECT_NAME_PREFIX} with its own
+ * {@code instance} key.
+ * <p>
+ * {@code IRODSSession} uses the one registry returned by
+ * {@link #getSharedInstance()}, so that sessions created and dropped over the
+ * life of an application add up their metrics in a single MBean, rather than
+ * each leaving an MBean behind in the platform MBean server.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class JmxMetricsRegistry extends InMemoryMetricsRegistry implements JargonMetricsMXBean {
+
+	public static final String OBJECT_NAME_PREFIX = "org.irods.jargon.core.metrics:type=JargonMetrics";
+
+	private static final Logger log = LoggerFactory.getLogger(JmxMetricsRegistry.class);
+
+	private static JmxMetricsRegistry sharedInstance = null;
+
+	private ObjectName objectName = null;
+
+	/**
+	 * Get the registry shared by every {@code IRODSSession} in the JVM,
+	 * registering it with the platform MBean server on the first request
+	 *
+	 * @return {@link JmxMetricsRegistry} that is shared
+	 */
+	public static synchronized JmxMetricsRegistry getSharedInstance() {
+		if (sharedInstance == null) {
+			sharedInstance = new JmxMetricsRegistry();
+			sharedInstance.register();
+		}
+		return sharedInstance;
+	}
+
+	/**
+	 * Register this registry with the platform MBean server. If registration
+	 * fails the metrics are still kept in memory.
+	 *
+	 * @return {@code boolean} that is {@code true} if the registry was
+	 *         registered
+	 */
+	public synchronized boolean register() {
+		if (objectName != null) {
+			return true;
+		}
+
+		MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+		try {
+			ObjectName name = new ObjectName(
+					OBJECT_NAME_PREFIX + ",instance=" + Integer.toHexString(System.identityHashCode(this)));
+			mbs.registerMBean(this, name);
+			objectName = name;
+			log.info("registered metrics MBean:{}", name);
+			return true;
+		} catch (MalformedObjectNameException | InstanceAlreadyExistsException | MBeanRegistrationException
+				| NotCompliantMBeanException e) {
+			log.warn("unable to register an MBean for jargon metrics. Will proceed without JMX support", e);
+			return false;
+		}
+	}
+
+	/**
+	 * Remove this registry from the platform MBean server, if it was
+	 * registered
+	 */
+	public synchronized void unregister() {
+		if (objectName == null) {
+			return;
+		}
+
+		try {
+			ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+		} catch (InstanceNotFoundException | MBeanRegistrationException e) {
+			log.warn("unable to unregister metrics MBean:{}", objectName, e);
+		}
+		objectName = null;
+	}
+
+	/**
+	 * @return {@link ObjectName} this registry is registered under, or
+	 *         {@code null} if it is not registered
+	 */
+	public synchronized ObjectName getObjectName() {
+		return objectName;
+	}
+
+}
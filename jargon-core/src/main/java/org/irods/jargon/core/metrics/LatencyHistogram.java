@@ -0,0 +1,101 @@
+package org.irods.jargon.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread safe histogram of latencies, in buckets of powers of two
+ * microseconds. Recording is lock free, and percentiles are estimated as the
+ * upper bound of the bucket they fall in, which is within a factor of two of
+ * the real value.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class LatencyHistogram {
+
+	/**
+	 * Bucket {@code i} holds latencies below 2^i microseconds and at or above
+	 * 2^(i-1), the last bucket holds everything longer
+	 */
+	static final int NUMBER_OF_BUCKETS = 40;
+
+	private final AtomicLongArray buckets = new AtomicLongArray(NUMBER_OF_BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	/**
+	 * Record one latency
+	 *
+	 * @param durationNanos
+	 *            {@code long} with the latency in nanoseconds, negative values
+	 *            are recorded as zero
+	 */
+	public void record(final long durationNanos) {
+		long nanos = Math.max(0L, durationNanos);
+		buckets.incrementAndGet(bucketFor(nanos / 1000L));
+		count.increment();
+		totalNanos.add(nanos);
+		long max = maxNanos.get();
+		while (nanos > max && !maxNanos.compareAndSet(max, nanos)) {
+			max = maxNanos.get();
+		}
+	}
+
+	/**
+	 * Clear all recorded latencies
+	 */
+	public void reset() {
+		for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+			buckets.set(i, 0L);
+		}
+		count.reset();
+		totalNanos.reset();
+		maxNanos.set(0L);
+	}
+
+	/**
+	 * Get a consistent enough view of the histogram for reporting. Latencies
+	 * recorded while the snapshot is taken may or may not be included.
+	 *
+	 * @return {@link LatencySnapshot}
+	 */
+	public LatencySnapshot snapshot() {
+		long[] counts = new long[NUMBER_OF_BUCKETS];
+		long total = 0L;
+		for (int i = 0; i < NUMBER_OF_BUCKETS; i++) {
+			counts[i] = buckets.get(i);
+			total += counts[i];
+		}
+
+		return new LatencySnapshot(total, totalNanos.sum() / 1000L, maxNanos.get() / 1000L,
+				percentileMicros(counts, total, 0.50), percentileMicros(counts, total, 0.90),
+				percentileMicros(counts, total, 0.99));
+	}
+
+	static int bucketFor(final long micros) {
+		if (micros <= 0) {
+			return 0;
+		}
+		return Math.min(NUMBER_OF_BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+	}
+
+	private static long percentileMicros(final long[] counts, final long total, final double percentile) {
+		if (total == 0) {
+			return 0L;
+		}
+
+		long threshold = (long) Math.ceil(total * percentile);
+		long cumulative = 0L;
+		for (int i = 0; i < counts.length; i++) {
+			cumulative += counts[i];
+			if (cumulative >= threshold) {
+				return (1L << i) - 1;
+			}
+		}
+		return (1L << (counts.length - 1)) - 1;
+	}
+
+}
@@ -0,0 +1,88 @@
+package org.irods.jargon.core.metrics;
+
+/**
+ * Summary of a {@link LatencyHistogram} at a point in time, with all times in
+ * microseconds
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class LatencySnapshot {
+
+	private final long count;
+	private final long totalMicros;
+	private final long maxMicros;
+	private final long p50Micros;
+	private final long p90Micros;
+	private final long p99Micros;
+
+	public LatencySnapshot(final long count, final long totalMicros, final long maxMicros, final long p50Micros,
+			final long p90Micros, final long p99Micros) {
+		this.count = count;
+		this.totalMicros = totalMicros;
+		this.maxMicros = maxMicros;
+		this.p50Micros = p50Micros;
+		this.p90Micros = p90Micros;
+		this.p99Micros = p99Micros;
+	}
+
+	/**
+	 * @return {@code long} with the number of latencies recorded
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return {@code long} with the sum of all latencies recorded
+	 */
+	public long getTotalMicros() {
+		return totalMicros;
+	}
+
+	/**
+	 * @return {@code long} with the mean latency
+	 */
+	public long getMeanMicros() {
+		return count == 0 ? 0L : totalMicros / count;
+	}
+
+	/**
+	 * @return {@code long} with the longest latency recorded
+	 */
+	public long getMaxMicros() {
+		return maxMicros;
+	}
+
+	/**
+	 * @return {@code long} with the estimated median latency
+	 */
+	public long getP50Micros() {
+		return p50Micros;
+	}
+
+	/**
+	 * @return {@code long} with the estimated 90th percentile latency
+	 */
+	public long getP90Micros() {
+		return p90Micros;
+	}
+
+	/**
+	 * @return {@code long} with the estimated 99th percentile latency
+	 */
+	public long getP99Micros() {
+		return p99Micros;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("LatencySnapshot [count=").append(count).append(", totalMicros=").append(totalMicros)
+				.append(", meanMicros=").append(getMeanMicros()).append(", maxMicros=").append(maxMicros)
+				.append(", p50Micros=").append(p50Micros).append(", p90Micros=").append(p90Micros)
+				.append(", p99Micros=").append(p99Micros).append("]");
+		return builder.toString();
+	}
+
+}
@@ -0,0 +1,96 @@
+package org.irods.jargon.core.metrics;
+
+/**
+ * Receives the measurements Jargon takes when
+ * {@code JargonProperties.isInstrument()} is set. An implementation is obtained
+ * from {@code IRODSSession.getMetricsRegistry()}, which by default is a
+ * {@link JmxMetricsRegistry}, and a different implementation may be set there
+ * to send the measurements elsewhere.
+ * <p>
+ * Measurements are recorded from any thread that uses a connection, so
+ * implementations must be thread safe, and should be cheap, as they are called
+ * on every request and every send and read on a connection.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public interface MetricsRegistry {
+
+	/**
+	 * Prefix of the latency of each iRODS API call, followed by the API number,
+	 * e.g. {@code api.602} for a data object read
+	 */
+	String API_LATENCY_PREFIX = "api.";
+
+	/**
+	 * Bytes written to iRODS connections
+	 */
+	String BYTES_SENT = "connection.bytes.sent";
+
+	/**
+	 * Bytes read from iRODS connections
+	 */
+	String BYTES_RECEIVED = "connection.bytes.received";
+
+	/**
+	 * Latency of opening a connection, including the startup handshake and any
+	 * negotiation
+	 */
+	String CONNECT_LATENCY = "connection.connect";
+
+	/**
+	 * Latency of authenticating a newly opened connection
+	 */
+	String AUTHENTICATE_LATENCY = "connection.authenticate";
+
+	/**
+	 * Latency of a whole parallel get of one file
+	 */
+	String PARALLEL_GET_LATENCY = "transfer.parallel.get";
+
+	/**
+	 * Bytes moved by parallel gets
+	 */
+	String PARALLEL_GET_BYTES = "transfer.parallel.get.bytes";
+
+	/**
+	 * Latency of each thread of a parallel get
+	 */
+	String PARALLEL_GET_THREAD_LATENCY = "transfer.parallel.get.thread";
+
+	/**
+	 * Latency of a whole parallel put of one file
+	 */
+	String PARALLEL_PUT_LATENCY = "transfer.parallel.put";
+
+	/**
+	 * Bytes moved by parallel puts
+	 */
+	String PARALLEL_PUT_BYTES = "transfer.parallel.put.bytes";
+
+	/**
+	 * Latency of each thread of a parallel put
+	 */
+	String PARALLEL_PUT_THREAD_LATENCY = "transfer.parallel.put.thread";
+
+	/**
+	 * Record how long an operation took
+	 *
+	 * @param name
+	 *            {@code String} with the name of the operation
+	 * @param durationNanos
+	 *            {@code long} with the elapsed time in nanoseconds
+	 */
+	void recordLatency(String name, long durationNanos);
+
+	/**
+	 * Add to a running count, such as a number of bytes
+	 *
+	 * @param name
+	 *            {@code String} with the name of the counter
+	 * @param delta
+	 *            {@code long} to add to the counter
+	 */
+	void incrementCounter(String name, long delta);
+
+}
@@ -0,0 +1,10 @@
+/**
+ * Protocol and transfer metrics that are recorded when
+ * {@code JargonProperties.isInstrument()} is set, with a pluggable
+ * {@link org.irods.jargon.core.metrics.MetricsRegistry} and in-memory and JMX
+ * implementations
+ *
+ * @author Mike Conway - DICE
+ *
+ */
+package org.irods.jargon.core.metrics;
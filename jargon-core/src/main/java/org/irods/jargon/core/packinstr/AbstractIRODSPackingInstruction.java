@@ -204,6 +204,32 @@ public abstract class AbstractIRODSPackingInstruction implements IRodsPI {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.packinstr.IRodsPI#writeParsedTags(org.irods.jargon.
+	 * core.packinstr.TagWriter)
+	 */
+	@Override
+	public int writeParsedTags(final TagWriter tagWriter) throws JargonException {
+
+		if (tagWriter == null) {
+			throw new IllegalArgumentException("null tagWriter");
+		}
+
+		Tag message = getTagValue();
+
+		if (message == null) {
+			return 0;
+		}
+
+		int start = tagWriter.size();
+		tagWriter.write(message);
+		return tagWriter.size() - start;
+
+	}
+
 	/**
 	 * Abstract method returns the {@code Tag} structure for the given packing
 	 * instruction. Implemented by the specific subclass.
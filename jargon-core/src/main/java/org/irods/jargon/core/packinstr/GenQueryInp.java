@@ -1,9 +1,12 @@
 package org.irods.jargon.core.packinstr;
 
+import java.util.List;
+
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.query.GenQueryField;
 import org.irods.jargon.core.query.GenQueryOrderByField;
 import org.irods.jargon.core.query.GenQueryOrderByField.OrderByType;
+import org.irods.jargon.core.query.GenQueryPlan;
 import org.irods.jargon.core.query.GenQuerySelectField;
 import org.irods.jargon.core.query.QueryConditionOperators;
 import org.irods.jargon.core.query.TranslatedGenQueryCondition;
@@ -124,6 +127,7 @@ public class GenQueryInp extends AbstractIRODSPackingInstruction implements IRod
 		this.continueIndex = continueIndex;
 		partialStartIndex = 0;
 		maxRowCount = -1;
+		setApiNumber(API_NBR);
 	}
 
 	private GenQueryInp(final TranslatedIRODSGenQuery translatedIRODSQuery, final int continueIndex,
@@ -185,49 +189,129 @@ public class GenQueryInp extends AbstractIRODSPackingInstruction implements IRod
 																														// query
 				new Tag(PARTIAL_START_INDEX, partialStartIndex) });
 
+		message.addTag(new Tag(IRODSConstants.options,
+				computeOptions(getTranslatedIRODSQuery().isDistinct(), getTranslatedIRODSQuery().isUpperCase(),
+						getTranslatedIRODSQuery().isComputeTotalRowCount())));
+
+		message.addTag(buildZoneTag());
+
+		message.addTag(buildSelectTag(translatedIRODSQuery.getSelectFields(), translatedIRODSQuery.getOrderByFields()));
+
+		if (translatedIRODSQuery.getTranslatedQueryConditions().size() > 0) {
+
+			// package the conditions
+
+			Tag[] subTags = new Tag[translatedIRODSQuery.getTranslatedQueryConditions().size() * 2 + 1];
+			subTags[0] = new Tag(ISLEN, translatedIRODSQuery.getTranslatedQueryConditions().size());
+			int j = 1;
+			for (TranslatedGenQueryCondition queryCondition : translatedIRODSQuery.getTranslatedQueryConditions()) {
+				subTags[j] = new Tag(INX, queryCondition.getColumnNumericTranslation());
+				j++;
+			}
+			for (TranslatedGenQueryCondition queryCondition : translatedIRODSQuery.getTranslatedQueryConditions()) {
+				// New for loop because they have to be in a certain order...
+				subTags[j] = buildConditionValueTag(queryCondition);
+				j++;
+			}
+			message.addTag(new Tag(INX_VAL_PAIR_PI, subTags));
+		} else {
+			// need this tag, just create a blank one
+			message.addTag(new Tag(INX_VAL_PAIR_PI, new Tag(ISLEN, 0)));
+		}
+
+		return message;
+	}
+
+	/**
+	 * Write the packing instruction. When the query was bound from a
+	 * {@link GenQueryPlan}, the selects and the condition columns are copied from
+	 * the bytes serialized with the plan, and only the row counts, zone, and
+	 * condition values are serialized for this call. The bytes are the same as
+	 * those from {@link #getTagValue()}.
+	 */
+	@Override
+	public int writeParsedTags(final TagWriter tagWriter) throws JargonException {
+		GenQueryPlan queryPlan = translatedIRODSQuery.getQueryPlan();
+		if (queryPlan == null || tagWriter == null || !tagWriter.isEncodedInline()) {
+			return super.writeParsedTags(tagWriter);
+		}
+
+		int start = tagWriter.size();
+		tagWriter.writeStartTag(PI_TAG);
+		tagWriter.write(new Tag(MAX_ROWS, maxRowCount));
+		tagWriter.write(new Tag(CONTINUE_INX, continueIndex));
+		tagWriter.write(new Tag(PARTIAL_START_INDEX, partialStartIndex));
+		tagWriter.write(new Tag(IRODSConstants.options, queryPlan.getOptions()));
+		tagWriter.write(buildZoneTag());
+		tagWriter.writeBytes(queryPlan.getSelectBytes(tagWriter.getEncoding()));
+		tagWriter.writeBytes(queryPlan.getConditionColumnBytes(tagWriter.getEncoding()));
+		for (TranslatedGenQueryCondition queryCondition : translatedIRODSQuery.getTranslatedQueryConditions()) {
+			tagWriter.write(buildConditionValueTag(queryCondition));
+		}
+		tagWriter.writeEndTag(INX_VAL_PAIR_PI);
+		tagWriter.writeEndTag(PI_TAG);
+		return tagWriter.size() - start;
+	}
+
+	/**
+	 * Compute the options value of the packing instruction
+	 *
+	 * @param distinct
+	 *            {@code boolean} if the query is distinct
+	 * @param upperCase
+	 *            {@code boolean} if the conditions are case-insensitive
+	 * @param computeTotalRowCount
+	 *            {@code boolean} if iRODS should return the total row count
+	 * @return {@code int} with the options flags
+	 */
+	public static int computeOptions(final boolean distinct, final boolean upperCase,
+			final boolean computeTotalRowCount) {
 		int optionVal = 0;
 
-		if (!getTranslatedIRODSQuery().isDistinct()) {
+		if (!distinct) {
 			optionVal += 1;
 		}
 
-		if (getTranslatedIRODSQuery().isUpperCase()) {
+		if (upperCase) {
 			optionVal += UPPER_CASE_WHERE;
 		}
 
-		if (getTranslatedIRODSQuery().isComputeTotalRowCount()) {
+		if (computeTotalRowCount) {
 			optionVal += RETURN_TOTAL_ROW_COUNT;
 		}
 
-		message.addTag(new Tag(IRODSConstants.options, optionVal));
-
-		/*
-		 * If a zoneName is specified, this means the query is for another federated
-		 * zone to process, add a keyword to the packing instruction to process the
-		 * query.
-		 */
-
-		if (zoneName == null || zoneName.isEmpty()) {
-			message.addTag(Tag.createKeyValueTag(null));
-		} else {
-			message.addTag(Tag.createKeyValueTag("zone", zoneName));
-		}
+		return optionVal;
+	}
 
+	/**
+	 * Build the {@code InxIvalPair_PI} tag with the select columns, carrying the
+	 * order by and aggregate flags of each
+	 *
+	 * @param selectFields
+	 *            {@code List} of {@link GenQuerySelectField}
+	 * @param orderByFields
+	 *            {@code List} of {@link GenQueryOrderByField}
+	 * @return {@link Tag} with the selects
+	 * @throws JargonException
+	 *             if a select type cannot be translated
+	 */
+	public static Tag buildSelectTag(final List<GenQuerySelectField> selectFields,
+			final List<GenQueryOrderByField> orderByFields) throws JargonException {
 		Tag[] subTags = null;
-		int[] orderByFlags = new int[translatedIRODSQuery.getSelectFields().size()];
+		int[] orderByFlags = new int[selectFields.size()];
 		int j = 1;
 		int k = 0;
 
-		subTags = new Tag[translatedIRODSQuery.getSelectFields().size() * 2 + 1];
-		subTags[0] = new Tag(IILEN, translatedIRODSQuery.getSelectFields().size());
+		subTags = new Tag[selectFields.size() * 2 + 1];
+		subTags[0] = new Tag(IILEN, selectFields.size());
 
-		for (GenQuerySelectField select : translatedIRODSQuery.getSelectFields()) {
+		for (GenQuerySelectField select : selectFields) {
 			subTags[j] = new Tag(INX, select.getSelectFieldNumericTranslation());
 
 			// see if there is a matching order by field and twiddle the bits
 
 			int orderByFlag = 0;
-			for (GenQueryOrderByField orderBy : translatedIRODSQuery.getOrderByFields()) {
+			for (GenQueryOrderByField orderBy : orderByFields) {
 				if (orderBy.getSelectFieldNumericTranslation().equals(select.getSelectFieldNumericTranslation())) {
 					if (orderBy.getOrderByType() == OrderByType.ASC) {
 						orderByFlag = ORDER_BY;
@@ -243,7 +327,7 @@ public class GenQueryInp extends AbstractIRODSPackingInstruction implements IRod
 		}
 
 		k = 0;
-		for (GenQuerySelectField select : translatedIRODSQuery.getSelectFields()) {
+		for (GenQuerySelectField select : selectFields) {
 			int val = 1;
 			if (select.getSelectFieldType() == GenQueryField.SelectFieldTypes.FIELD) {
 				val = orderByFlags[k++];
@@ -271,38 +355,31 @@ public class GenQueryInp extends AbstractIRODSPackingInstruction implements IRod
 			j++;
 		}
 
-		message.addTag(new Tag(INX_IVAL_PAIR_PI, subTags));
-
-		if (translatedIRODSQuery.getTranslatedQueryConditions().size() > 0) {
+		return new Tag(INX_IVAL_PAIR_PI, subTags);
+	}
 
-			// package the conditions
+	private Tag buildZoneTag() {
+		/*
+		 * If a zoneName is specified, this means the query is for another federated
+		 * zone to process, add a keyword to the packing instruction to process the
+		 * query.
+		 */
 
-			subTags = new Tag[translatedIRODSQuery.getTranslatedQueryConditions().size() * 2 + 1];
-			subTags[0] = new Tag(ISLEN, translatedIRODSQuery.getTranslatedQueryConditions().size());
-			j = 1;
-			for (TranslatedGenQueryCondition queryCondition : translatedIRODSQuery.getTranslatedQueryConditions()) {
-				subTags[j] = new Tag(INX, queryCondition.getColumnNumericTranslation());
-				j++;
-			}
-			for (TranslatedGenQueryCondition queryCondition : translatedIRODSQuery.getTranslatedQueryConditions()) {
-				// New for loop because they have to be in a certain order...
-				// overhead for IS NULL is a bit ugly and one day let's clean up and redo this
-				// genquery mess
-				if (queryCondition.getOperator().equals(QueryConditionOperators.IS_NULL.getOperatorAsString())) {
-					subTags[j] = new Tag(SVALUE, queryCondition.getOperator());
-				} else {
-					subTags[j] = new Tag(SVALUE,
-							" " + queryCondition.getOperator() + " " + queryCondition.getValue() + " ");
-				}
-				j++;
-			}
-			message.addTag(new Tag(INX_VAL_PAIR_PI, subTags));
+		if (zoneName == null || zoneName.isEmpty()) {
+			return Tag.createKeyValueTag(null);
 		} else {
-			// need this tag, just create a blank one
-			message.addTag(new Tag(INX_VAL_PAIR_PI, new Tag(ISLEN, 0)));
+			return Tag.createKeyValueTag("zone", zoneName);
 		}
+	}
 
-		return message;
+	private static Tag buildConditionValueTag(final TranslatedGenQueryCondition queryCondition) {
+		// overhead for IS NULL is a bit ugly and one day let's clean up and redo this
+		// genquery mess
+		if (queryCondition.getOperator().equals(QueryConditionOperators.IS_NULL.getOperatorAsString())) {
+			return new Tag(SVALUE, queryCondition.getOperator());
+		} else {
+			return new Tag(SVALUE, " " + queryCondition.getOperator() + " " + queryCondition.getValue() + " ");
+		}
 	}
 
 }
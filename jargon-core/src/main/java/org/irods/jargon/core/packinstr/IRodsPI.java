@@ -16,4 +16,19 @@ public interface IRodsPI {
 
 	String getParsedTags() throws JargonException;
 
+	/**
+	 * Serialize the packing instruction directly into the given
+	 * {@link TagWriter}, avoiding the intermediate {@code String} created by
+	 * {@link #getParsedTags()}. The bytes written are identical to the encoded
+	 * form of {@code getParsedTags()}.
+	 *
+	 * @param tagWriter
+	 *            {@link TagWriter} that will receive the message
+	 * @return {@code int} with the number of bytes written, which will be 0 if
+	 *         the packing instruction has no message
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	int writeParsedTags(TagWriter tagWriter) throws JargonException;
+
 }
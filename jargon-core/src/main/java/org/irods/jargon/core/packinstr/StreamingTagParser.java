@@ -0,0 +1,364 @@
+package org.irods.jargon.core.packinstr;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+
+/**
+ * Pull parser for the iRODS XML packing instruction protocol that works
+ * directly against the bytes read from the agent connection.
+ * <p>
+ * The original {@link Tag#readNextTag(byte[], boolean, String)} decodes the
+ * entire message into a {@code String}, runs a regular expression over it to
+ * strip line feeds, and then walks it with {@code indexOf()} and
+ * {@code substring()}. For large responses such as a {@code GenQueryOut} page
+ * this makes several full copies of the message. This parser instead makes a
+ * single forward pass over the byte array, decodes entities inline as each
+ * value is extracted, and only allocates the {@link Tag} nodes and value
+ * strings that make up the result.
+ * <p>
+ * The resulting {@code Tag} tree is identical to the one produced by the
+ * original parser for well-formed protocol messages, including its handling of
+ * line feeds that follow a closing bracket, and the decoding of {@code &apos;}
+ * to a back-tick. Only ASCII compatible encodings (UTF-8, US-ASCII,
+ * ISO-8859-1) can be parsed at the byte level, other encodings are delegated
+ * to the original parser.
+ * <p>
+ * Instances are not thread safe, use the static {@code readNextTag()} methods.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class StreamingTagParser {
+
+	private static final byte LT = '<';
+	private static final byte GT = '>';
+	private static final byte SLASH = '/';
+	private static final byte AMP = '&';
+	private static final byte LF = '\n';
+
+	/**
+	 * Size of the cache of tag names, must be a power of two
+	 */
+	private static final int NAME_CACHE_SIZE = 64;
+
+	private final byte[] data;
+	private final int limit;
+	private final boolean decode;
+	private final Charset charset;
+	private int pos;
+
+	/**
+	 * Tag names repeat constantly in a message (e.g. every cell in a
+	 * {@code GenQueryOut} is a {@code value} tag), so re-use the name strings
+	 * rather than allocating one per node
+	 */
+	private final String[] nameCache = new String[NAME_CACHE_SIZE];
+
+	/**
+	 * Scratch area used when a value needs entity decoding, grown as needed
+	 */
+	private byte[] scratch;
+
+	/**
+	 * Character produced by the last successful call to {@code decodeEntity()}
+	 */
+	private byte lastDecoded;
+
+	/**
+	 * Read the data buffer to discover the first tag, and parse it and all of its
+	 * children into a {@link Tag} tree. Entities in values will be decoded.
+	 *
+	 * @param data
+	 *            {@code byte[]} with the protocol message
+	 * @param encoding
+	 *            {@code String} with the character encoding of the message
+	 * @return {@link Tag} or {@code null} if no tag was found
+	 * @throws UnsupportedEncodingException
+	 *             if the encoding is not supported
+	 */
+	public static Tag readNextTag(final byte[] data, final String encoding) throws UnsupportedEncodingException {
+		return readNextTag(data, true, encoding);
+	}
+
+	/**
+	 * Read the data buffer to discover the first tag, and parse it and all of its
+	 * children into a {@link Tag} tree.
+	 *
+	 * @param data
+	 *            {@code byte[]} with the protocol message
+	 * @param decode
+	 *            {@code boolean} that indicates whether entities in values should
+	 *            be decoded
+	 * @param encoding
+	 *            {@code String} with the character encoding of the message
+	 * @return {@link Tag} or {@code null} if no tag was found
+	 * @throws UnsupportedEncodingException
+	 *             if the encoding is not supported
+	 */
+	public static Tag readNextTag(final byte[] data, final boolean decode, final String encoding)
+			throws UnsupportedEncodingException {
+		if (data == null) {
+			return null;
+		}
+		return readNextTag(data, 0, data.length, decode, encoding);
+	}
+
+	/**
+	 * Read a region of the data buffer to discover the first tag, and parse it and
+	 * all of its children into a {@link Tag} tree.
+	 *
+	 * @param data
+	 *            {@code byte[]} with the protocol message
+	 * @param offset
+	 *            {@code int} with the offset in the array where the message starts
+	 * @param length
+	 *            {@code int} with the length of the message
+	 * @param decode
+	 *            {@code boolean} that indicates whether entities in values should
+	 *            be decoded
+	 * @param encoding
+	 *            {@code String} with the character encoding of the message
+	 * @return {@link Tag} or {@code null} if no tag was found
+	 * @throws UnsupportedEncodingException
+	 *             if the encoding is not supported
+	 */
+	public static Tag readNextTag(final byte[] data, final int offset, final int length, final boolean decode,
+			final String encoding) throws UnsupportedEncodingException {
+
+		if (data == null) {
+			return null;
+		}
+
+		if (offset < 0 || length < 0 || offset + length > data.length) {
+			throw new IllegalArgumentException("offset and length out of range of data");
+		}
+
+		Charset charset = lookupCharset(encoding);
+
+		if (!isAsciiCompatible(charset)) {
+			byte[] region = data;
+			if (offset != 0 || length != data.length) {
+				region = new byte[length];
+				System.arraycopy(data, offset, region, 0, length);
+			}
+			return Tag.readNextTag(region, decode, encoding);
+		}
+
+		StreamingTagParser parser = new StreamingTagParser(data, offset, offset + length, decode, charset);
+		return parser.parse();
+	}
+
+	private StreamingTagParser(final byte[] data, final int offset, final int limit, final boolean decode,
+			final Charset charset) {
+		this.data = data;
+		pos = offset;
+		this.limit = limit;
+		this.decode = decode;
+		this.charset = charset;
+	}
+
+	private static Charset lookupCharset(final String encoding) throws UnsupportedEncodingException {
+		if (encoding == null) {
+			throw new IllegalArgumentException("null encoding");
+		}
+		try {
+			return Charset.forName(encoding);
+		} catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+			throw new UnsupportedEncodingException(encoding);
+		}
+	}
+
+	private static boolean isAsciiCompatible(final Charset charset) {
+		return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII)
+				|| charset.equals(StandardCharsets.ISO_8859_1);
+	}
+
+	private Tag parse() {
+		int start = indexOf(LT, pos);
+		if (start < 0) {
+			return null;
+		}
+		pos = start;
+		return readElement();
+	}
+
+	/**
+	 * Read the element that starts at the current position (which is on the
+	 * opening bracket), leaving the position just past its closing tag
+	 */
+	private Tag readElement() {
+		int nameStart = pos + 1;
+		int nameEnd = indexOf(GT, nameStart);
+		if (nameEnd < 0) {
+			throw new IllegalArgumentException("unterminated tag in protocol message");
+		}
+
+		Tag tag = new Tag(tagName(nameStart, nameEnd));
+		int valueStart = nameEnd + 1;
+		int next = indexOf(LT, valueStart);
+
+		if (next < 0) {
+			// truncated, nothing more to read
+			pos = limit;
+			return tag;
+		}
+
+		if (isClosingTag(next)) {
+			// a leaf, the value runs up to the closing tag
+			tag.value = readValue(valueStart, next);
+			pos = skipClosingTag(next);
+			return tag;
+		}
+
+		while (next >= 0) {
+			if (isClosingTag(next)) {
+				pos = skipClosingTag(next);
+				return tag;
+			}
+			pos = next;
+			tag.addTag(readElement());
+			next = indexOf(LT, pos);
+		}
+
+		pos = limit;
+		return tag;
+	}
+
+	private boolean isClosingTag(final int ltPosition) {
+		return ltPosition + 1 < limit && data[ltPosition + 1] == SLASH;
+	}
+
+	private int skipClosingTag(final int ltPosition) {
+		int end = indexOf(GT, ltPosition);
+		return end < 0 ? limit : end + 1;
+	}
+
+	private int indexOf(final byte b, final int from) {
+		for (int i = from; i < limit; i++) {
+			if (data[i] == b) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Extract the text between {@code start} and {@code end}, dropping line feeds
+	 * that follow a closing bracket, and decoding entities if requested.
+	 */
+	private String readValue(final int start, final int end) {
+		boolean needsWork = false;
+		for (int i = start; i < end; i++) {
+			byte b = data[i];
+			if ((b == AMP && decode) || (b == LF && data[i - 1] == GT)) {
+				needsWork = true;
+				break;
+			}
+		}
+
+		if (!needsWork) {
+			return new String(data, start, end - start, charset);
+		}
+
+		if (scratch == null || scratch.length < end - start) {
+			scratch = new byte[Math.max(end - start, 256)];
+		}
+
+		int n = 0;
+		int i = start;
+		while (i < end) {
+			byte b = data[i];
+			if (b == LF && data[i - 1] == GT) {
+				i++;
+				continue;
+			}
+
+			if (b == AMP && decode) {
+				int consumed = decodeEntity(i, end);
+				if (consumed > 0) {
+					scratch[n++] = lastDecoded;
+					i += consumed;
+					continue;
+				}
+			}
+
+			scratch[n++] = b;
+			i++;
+		}
+
+		return new String(scratch, 0, n, charset);
+	}
+
+	/**
+	 * Attempt to decode an entity that starts at the given ampersand.
+	 *
+	 * @return {@code int} with the number of bytes in the entity, or 0 if no known
+	 *         entity is present, in which case the ampersand is taken literally
+	 */
+	private int decodeEntity(final int ampPosition, final int end) {
+		if (matches(ampPosition, end, Tag.AMP)) {
+			lastDecoded = '&';
+			return Tag.AMP.length();
+		} else if (matches(ampPosition, end, Tag.LT)) {
+			lastDecoded = '<';
+			return Tag.LT.length();
+		} else if (matches(ampPosition, end, Tag.GT)) {
+			lastDecoded = '>';
+			return Tag.GT.length();
+		} else if (matches(ampPosition, end, Tag.QUOTE)) {
+			lastDecoded = '"';
+			return Tag.QUOTE.length();
+		} else if (matches(ampPosition, end, Tag.APOS)) {
+			// iRODS encodes the back-tick as &apos;
+			lastDecoded = '`';
+			return Tag.APOS.length();
+		}
+		return 0;
+	}
+
+	private boolean matches(final int position, final int end, final String entity) {
+		int len = entity.length();
+		if (position + len > end) {
+			return false;
+		}
+		for (int i = 0; i < len; i++) {
+			if (data[position + i] != entity.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private String tagName(final int start, final int end) {
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + data[i];
+		}
+
+		int slot = hash & (NAME_CACHE_SIZE - 1);
+		String cached = nameCache[slot];
+		if (cached != null && sameName(cached, start, end)) {
+			return cached;
+		}
+
+		String name = new String(data, start, end - start, StandardCharsets.ISO_8859_1);
+		nameCache[slot] = name;
+		return name;
+	}
+
+	private boolean sameName(final String name, final int start, final int end) {
+		if (name.length() != end - start) {
+			return false;
+		}
+		for (int i = 0; i < name.length(); i++) {
+			if (name.charAt(i) != (char) (data[start + i] & 0xff)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,391 @@
+package org.irods.jargon.core.packinstr;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
+
+/**
+ * Serializes a {@link Tag} tree into the XML packing instruction protocol,
+ * writing the encoded bytes directly into a reusable buffer.
+ * <p>
+ * The original {@link Tag#parseTag()} builds a {@code String} for each nested
+ * tag, escapes each value into another {@code String}, and the result is then
+ * encoded into a {@code byte[]} before being copied into the connection output
+ * buffer. This writer walks the tree once, escaping and encoding characters as
+ * they are written, so the only allocation for a typical call is the growth of
+ * the buffer itself, which is retained between calls.
+ * <p>
+ * The bytes produced are identical to {@code parseTag().getBytes(encoding)}.
+ * UTF-8, US-ASCII, and ISO-8859-1 are encoded inline, other encodings fall back
+ * to {@code parseTag()}.
+ * <p>
+ * This class is not thread safe. A writer is meant to be owned by a single
+ * connection and {@link #reset()} before each message.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class TagWriter {
+
+	/**
+	 * Initial size of the buffer if not specified
+	 */
+	public static final int DEFAULT_INITIAL_SIZE = 1024;
+
+	/**
+	 * Largest buffer that will be kept across a {@link #reset()}, a writer that
+	 * has grown past this (e.g. for a large bulk operation) will drop back to its
+	 * initial size so the memory is not pinned for the life of the connection
+	 */
+	public static final int MAX_RETAINED_SIZE = 64 * 1024;
+
+	private static final byte REPLACEMENT = '?';
+
+	private final String encoding;
+	private final Charset charset;
+	private final boolean utf8;
+	private final int maxChar;
+	private final int initialSize;
+	private byte[] buffer;
+	private int count;
+
+	/**
+	 * Serialize the given tag into a new {@code byte[]}.
+	 *
+	 * @param tag
+	 *            {@link Tag} to serialize
+	 * @param encoding
+	 *            {@code String} with the character encoding
+	 * @return {@code byte[]} with the encoded packing instruction
+	 * @throws UnsupportedEncodingException
+	 *             if the encoding is not supported
+	 */
+	public static byte[] serialize(final Tag tag, final String encoding) throws UnsupportedEncodingException {
+		TagWriter writer = new TagWriter(encoding);
+		writer.write(tag);
+		return writer.toByteArray();
+	}
+
+	/**
+	 * Create a writer with the default initial buffer size
+	 *
+	 * @param encoding
+	 *            {@code String} with the character encoding
+	 * @throws UnsupportedEncodingException
+	 *             if the encoding is not supported
+	 */
+	public TagWriter(final String encoding) throws UnsupportedEncodingException {
+		this(DEFAULT_INITIAL_SIZE, encoding);
+	}
+
+	/**
+	 * Create a writer with the given initial buffer size
+	 *
+	 * @param initialSize
+	 *            {@code int} with the initial size of the buffer in bytes
+	 * @param encoding
+	 *            {@code String} with the character encoding
+	 * @throws UnsupportedEncodingException
+	 *             if the encoding is not supported
+	 */
+	public TagWriter(final int initialSize, final String encoding) throws UnsupportedEncodingException {
+		if (initialSize <= 0) {
+			throw new IllegalArgumentException("initialSize must be greater than zero");
+		}
+
+		if (encoding == null || encoding.isEmpty()) {
+			throw new IllegalArgumentException("null or empty encoding");
+		}
+
+		try {
+			charset = Charset.forName(encoding);
+		} catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+			throw new UnsupportedEncodingException(encoding);
+		}
+
+		utf8 = charset.equals(StandardCharsets.UTF_8);
+		if (utf8) {
+			maxChar = Character.MAX_VALUE;
+		} else if (charset.equals(StandardCharsets.ISO_8859_1)) {
+			maxChar = 0xff;
+		} else if (charset.equals(StandardCharsets.US_ASCII)) {
+			maxChar = 0x7f;
+		} else {
+			// not encoded inline, see write()
+			maxChar = -1;
+		}
+
+		this.encoding = encoding;
+		this.initialSize = initialSize;
+		buffer = new byte[initialSize];
+	}
+
+	/**
+	 * @return {@code String} with the character encoding given when this writer
+	 *         was created
+	 */
+	public String getEncoding() {
+		return encoding;
+	}
+
+	/**
+	 * Indicates whether characters are encoded inline. Only then can a message be
+	 * assembled from {@link #writeStartTag(String)}, {@link #writeEndTag(String)}
+	 * and {@link #writeBytes(byte[])}, as the other encodings are not a superset
+	 * of ASCII.
+	 *
+	 * @return {@code boolean} of {@code true} if the encoding is UTF-8, US-ASCII,
+	 *         or ISO-8859-1
+	 */
+	public boolean isEncodedInline() {
+		return maxChar >= 0;
+	}
+
+	/**
+	 * Append the given tag and all of its children to the buffer
+	 *
+	 * @param tag
+	 *            {@link Tag} to serialize
+	 * @return this {@code TagWriter}
+	 */
+	public TagWriter write(final Tag tag) {
+		if (tag == null) {
+			throw new IllegalArgumentException("null tag");
+		}
+
+		if (maxChar < 0) {
+			return writeBytes(tag.parseTag().getBytes(charset));
+		}
+
+		writeTag(tag);
+		return this;
+	}
+
+	/**
+	 * Append the opening of a tag whose children will be written next, this must
+	 * be followed by a matching {@link #writeEndTag(String)}. Only for an encoding
+	 * that is {@link #isEncodedInline()}.
+	 *
+	 * @param tagName
+	 *            {@code String} with the name of the tag
+	 * @return this {@code TagWriter}
+	 */
+	public TagWriter writeStartTag(final String tagName) {
+		checkEncodedInline();
+		writeByte(Tag.OPEN_START_TAG);
+		writeChars(tagName, false);
+		writeByte(Tag.CLOSE_START_TAG);
+		return this;
+	}
+
+	/**
+	 * Append the close of a tag opened with {@link #writeStartTag(String)}
+	 *
+	 * @param tagName
+	 *            {@code String} with the name of the tag
+	 * @return this {@code TagWriter}
+	 */
+	public TagWriter writeEndTag(final String tagName) {
+		checkEncodedInline();
+		writeByte('<');
+		writeByte('/');
+		writeChars(tagName, false);
+		writeByte(Tag.CLOSE_END_TAG);
+		writeByte('\n');
+		return this;
+	}
+
+	/**
+	 * Append bytes that are already serialized in the encoding of this writer,
+	 * such as a part of a message kept from an earlier call
+	 *
+	 * @param bytes
+	 *            {@code byte[]} to append as is
+	 * @return this {@code TagWriter}
+	 */
+	public TagWriter writeBytes(final byte[] bytes) {
+		if (bytes == null) {
+			throw new IllegalArgumentException("null bytes");
+		}
+
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, buffer, count, bytes.length);
+		count += bytes.length;
+		return this;
+	}
+
+	/**
+	 * Discard the contents of the buffer so the writer can be used for the next
+	 * message
+	 */
+	public void reset() {
+		count = 0;
+		if (buffer.length > MAX_RETAINED_SIZE && buffer.length > initialSize) {
+			buffer = new byte[initialSize];
+		}
+	}
+
+	/**
+	 * @return {@code int} with the number of bytes written since the last reset
+	 */
+	public int size() {
+		return count;
+	}
+
+	/**
+	 * Get the backing array. Only the first {@link #size()} bytes are valid, and
+	 * the array may be replaced by later writes.
+	 *
+	 * @return {@code byte[]} with the buffer contents
+	 */
+	public byte[] getBuffer() {
+		return buffer;
+	}
+
+	/**
+	 * @return {@code ByteBuffer} that wraps (without copying) the bytes written
+	 *         since the last reset
+	 */
+	public ByteBuffer toByteBuffer() {
+		return ByteBuffer.wrap(buffer, 0, count);
+	}
+
+	/**
+	 * @return {@code byte[]} with a copy of the bytes written since the last reset
+	 */
+	public byte[] toByteArray() {
+		byte[] copy = new byte[count];
+		System.arraycopy(buffer, 0, copy, 0, count);
+		return copy;
+	}
+
+	/**
+	 * Copy the bytes written since the last reset into the given buffer at its
+	 * current position
+	 *
+	 * @param target
+	 *            {@code ByteBuffer} to receive the data
+	 * @throws java.nio.BufferOverflowException
+	 *             if there is not enough room in the target
+	 */
+	public void writeTo(final ByteBuffer target) {
+		target.put(buffer, 0, count);
+	}
+
+	private void checkEncodedInline() {
+		if (!isEncodedInline()) {
+			throw new UnsupportedOperationException("tags cannot be written in parts in encoding:" + encoding);
+		}
+	}
+
+	private void writeTag(final Tag tag) {
+		writeByte(Tag.OPEN_START_TAG);
+		writeChars(tag.tagName, false);
+		writeByte(Tag.CLOSE_START_TAG);
+
+		if (tag.tags != null) {
+			for (Tag child : tag.tags) {
+				writeTag(child);
+			}
+		} else {
+			// parseTag() appends a null value as "null"
+			writeChars(tag.value == null ? "null" : tag.value, true);
+		}
+
+		writeByte('<');
+		writeByte('/');
+		writeChars(tag.tagName, false);
+		writeByte(Tag.CLOSE_END_TAG);
+		writeByte('\n');
+	}
+
+	private void writeChars(final String text, final boolean escape) {
+		int len = text.length();
+		// worst case for UTF-8 is 3 bytes per char, entities are at most 6
+		ensureCapacity(len * (escape ? 6 : 3));
+
+		for (int i = 0; i < len; i++) {
+			char c = text.charAt(i);
+
+			if (escape) {
+				switch (c) {
+				case '&':
+					writeAscii(Tag.AMP);
+					continue;
+				case '<':
+					writeAscii(Tag.LT);
+					continue;
+				case '>':
+					writeAscii(Tag.GT);
+					continue;
+				case '"':
+					writeAscii(Tag.QUOTE);
+					continue;
+				case '`':
+					writeAscii(Tag.APOS);
+					continue;
+				default:
+					break;
+				}
+			}
+
+			if (c < 0x80) {
+				buffer[count++] = (byte) c;
+			} else if (Character.isHighSurrogate(c) && i + 1 < len && Character.isLowSurrogate(text.charAt(i + 1))) {
+				writeCodePoint(Character.toCodePoint(c, text.charAt(++i)));
+			} else if (Character.isSurrogate(c)) {
+				// unpaired surrogate, replaced as String.getBytes() would
+				buffer[count++] = REPLACEMENT;
+			} else if (c > maxChar) {
+				buffer[count++] = REPLACEMENT;
+			} else if (!utf8) {
+				buffer[count++] = (byte) c;
+			} else if (c < 0x800) {
+				buffer[count++] = (byte) (0xc0 | (c >> 6));
+				buffer[count++] = (byte) (0x80 | (c & 0x3f));
+			} else {
+				buffer[count++] = (byte) (0xe0 | (c >> 12));
+				buffer[count++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+				buffer[count++] = (byte) (0x80 | (c & 0x3f));
+			}
+		}
+	}
+
+	private void writeCodePoint(final int codePoint) {
+		if (!utf8) {
+			buffer[count++] = REPLACEMENT;
+			return;
+		}
+		// two chars were reserved for this code point, that is room for 4 bytes
+		buffer[count++] = (byte) (0xf0 | (codePoint >> 18));
+		buffer[count++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+		buffer[count++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+		buffer[count++] = (byte) (0x80 | (codePoint & 0x3f));
+	}
+
+	private void writeAscii(final String text) {
+		for (int i = 0; i < text.length(); i++) {
+			buffer[count++] = (byte) text.charAt(i);
+		}
+	}
+
+	private void writeByte(final char c) {
+		ensureCapacity(1);
+		buffer[count++] = (byte) c;
+	}
+
+	private void ensureCapacity(final int additional) {
+		int needed = count + additional;
+		if (needed <= buffer.length) {
+			return;
+		}
+		int newSize = Math.max(buffer.length * 2, needed);
+		byte[] grown = new byte[newSize];
+		System.arraycopy(buffer, 0, grown, 0, count);
+		buffer = grown;
+	}
+
+}
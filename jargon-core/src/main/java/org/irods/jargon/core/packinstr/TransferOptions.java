@@ -32,6 +32,10 @@ public class TransferOptions {
 	public static final int DEFAULT_UDP_SEND_RATE = 600000;
 	public static final int DEFAULT_UDP_PACKET_SIZE = 8192;
 	public static final int DEFAULT_MAX_PARALLEL_THREADS = 4;
+	public static final long DEFAULT_SMALL_FILE_AGGREGATION_MAX_FILE_SIZE = 1048576L;
+	public static final long DEFAULT_SMALL_FILE_AGGREGATION_MAX_BUNDLE_SIZE = 268435456L;
+	public static final int DEFAULT_SMALL_FILE_AGGREGATION_MAX_BUNDLE_FILES = 5000;
+	public static final int DEFAULT_SMALL_FILE_AGGREGATION_MIN_FILES = 10;
 
 	private int maxThreads = DEFAULT_MAX_PARALLEL_THREADS;
 	private int udpSendRate = DEFAULT_UDP_SEND_RATE;
@@ -75,6 +79,27 @@ public class TransferOptions {
 	 * used as a signal from the Jargon rule processing code.
 	 */
 	private boolean clientSideRuleAction = false;
+	/**
+	 * Gather the small files of a recursive put into tar bundles that are
+	 * extracted into the target collection by iRODS
+	 */
+	private boolean smallFileAggregation = false;
+	/**
+	 * Largest file, in bytes, that will be added to a small file bundle
+	 */
+	private long smallFileAggregationMaxFileSize = DEFAULT_SMALL_FILE_AGGREGATION_MAX_FILE_SIZE;
+	/**
+	 * Number of bytes of file data in a bundle before a new bundle is started
+	 */
+	private long smallFileAggregationMaxBundleSize = DEFAULT_SMALL_FILE_AGGREGATION_MAX_BUNDLE_SIZE;
+	/**
+	 * Number of files in a bundle before a new bundle is started
+	 */
+	private int smallFileAggregationMaxBundleFiles = DEFAULT_SMALL_FILE_AGGREGATION_MAX_BUNDLE_FILES;
+	/**
+	 * Number of small files a recursive put must hold before bundles are used
+	 */
+	private int smallFileAggregationMinFiles = DEFAULT_SMALL_FILE_AGGREGATION_MIN_FILES;
 
 	@Override
 	public synchronized String toString() {
@@ -99,7 +124,12 @@ public class TransferOptions {
 		}
 		builder.append("computeChecksumAfterTransfer=").append(computeChecksumAfterTransfer)
 				.append(", computeAndVerifyChecksumAfterTransfer=").append(computeAndVerifyChecksumAfterTransfer)
-				.append(", clientSideRuleAction=").append(clientSideRuleAction).append("]");
+				.append(", clientSideRuleAction=").append(clientSideRuleAction).append(", smallFileAggregation=")
+				.append(smallFileAggregation).append(", smallFileAggregationMaxFileSize=")
+				.append(smallFileAggregationMaxFileSize).append(", smallFileAggregationMaxBundleSize=")
+				.append(smallFileAggregationMaxBundleSize).append(", smallFileAggregationMaxBundleFiles=")
+				.append(smallFileAggregationMaxBundleFiles).append(", smallFileAggregationMinFiles=")
+				.append(smallFileAggregationMinFiles).append("]");
 		return builder.toString();
 	}
 
@@ -131,6 +161,11 @@ public class TransferOptions {
 						transferOptions.getIntraFileStatusCallbacksNumberCallsInterval());
 				setIntraFileStatusCallbacksTotalBytesInterval(
 						transferOptions.getIntraFileStatusCallbacksTotalBytesInterval());
+				setSmallFileAggregation(transferOptions.isSmallFileAggregation());
+				setSmallFileAggregationMaxFileSize(transferOptions.getSmallFileAggregationMaxFileSize());
+				setSmallFileAggregationMaxBundleSize(transferOptions.getSmallFileAggregationMaxBundleSize());
+				setSmallFileAggregationMaxBundleFiles(transferOptions.getSmallFileAggregationMaxBundleFiles());
+				setSmallFileAggregationMinFiles(transferOptions.getSmallFileAggregationMinFiles());
 			}
 		}
 	}
@@ -383,4 +418,84 @@ public class TransferOptions {
 	public synchronized void setClientSideRuleAction(boolean clientSideRuleAction) {
 		this.clientSideRuleAction = clientSideRuleAction;
 	}
+
+	/**
+	 * @return {@code boolean} that is {@code true} if the small files of a
+	 *         recursive put are gathered into tar bundles that iRODS extracts into
+	 *         the target collection
+	 */
+	public synchronized boolean isSmallFileAggregation() {
+		return smallFileAggregation;
+	}
+
+	/**
+	 * @param smallFileAggregation {@code boolean} that is {@code true} if the
+	 *                             small files of a recursive put should be
+	 *                             bundled
+	 */
+	public synchronized void setSmallFileAggregation(final boolean smallFileAggregation) {
+		this.smallFileAggregation = smallFileAggregation;
+	}
+
+	/**
+	 * @return the smallFileAggregationMaxFileSize, files larger than this are
+	 *         put individually
+	 */
+	public synchronized long getSmallFileAggregationMaxFileSize() {
+		return smallFileAggregationMaxFileSize;
+	}
+
+	/**
+	 * @param smallFileAggregationMaxFileSize the smallFileAggregationMaxFileSize
+	 *                                        to set
+	 */
+	public synchronized void setSmallFileAggregationMaxFileSize(final long smallFileAggregationMaxFileSize) {
+		this.smallFileAggregationMaxFileSize = smallFileAggregationMaxFileSize;
+	}
+
+	/**
+	 * @return the smallFileAggregationMaxBundleSize
+	 */
+	public synchronized long getSmallFileAggregationMaxBundleSize() {
+		return smallFileAggregationMaxBundleSize;
+	}
+
+	/**
+	 * @param smallFileAggregationMaxBundleSize the
+	 *                                          smallFileAggregationMaxBundleSize
+	 *                                          to set
+	 */
+	public synchronized void setSmallFileAggregationMaxBundleSize(final long smallFileAggregationMaxBundleSize) {
+		this.smallFileAggregationMaxBundleSize = smallFileAggregationMaxBundleSize;
+	}
+
+	/**
+	 * @return the smallFileAggregationMaxBundleFiles
+	 */
+	public synchronized int getSmallFileAggregationMaxBundleFiles() {
+		return smallFileAggregationMaxBundleFiles;
+	}
+
+	/**
+	 * @param smallFileAggregationMaxBundleFiles the
+	 *                                           smallFileAggregationMaxBundleFiles
+	 *                                           to set
+	 */
+	public synchronized void setSmallFileAggregationMaxBundleFiles(final int smallFileAggregationMaxBundleFiles) {
+		this.smallFileAggregationMaxBundleFiles = smallFileAggregationMaxBundleFiles;
+	}
+
+	/**
+	 * @return the smallFileAggregationMinFiles
+	 */
+	public synchronized int getSmallFileAggregationMinFiles() {
+		return smallFileAggregationMinFiles;
+	}
+
+	/**
+	 * @param smallFileAggregationMinFiles the smallFileAggregationMinFiles to set
+	 */
+	public synchronized void setSmallFileAggregationMinFiles(final int smallFileAggregationMinFiles) {
+		this.smallFileAggregationMinFiles = smallFileAggregationMinFiles;
+	}
 }
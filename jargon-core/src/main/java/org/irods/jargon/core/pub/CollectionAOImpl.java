@@ -15,7 +15,6 @@ import org.irods.jargon.core.packinstr.ModAccessControlInp;
 import org.irods.jargon.core.packinstr.ModAvuMetadataInp;
 import org.irods.jargon.core.protovalues.FilePermissionEnum;
 import org.irods.jargon.core.protovalues.UserTypeEnum;
-import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
 import org.irods.jargon.core.pub.RuleProcessingAO.RuleProcessingType;
 import org.irods.jargon.core.pub.aohelper.CollectionAOHelper;
 import org.irods.jargon.core.pub.domain.AvuData;
@@ -359,27 +358,14 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
-		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>();
+		String myPath = MiscIRODSUtils.normalizeIrodsPath(absolutePath);
 
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(avuData.size());
 		for (AvuData value : avuData) {
-			try {
-				addAVUMetadata(absolutePath, value);
-			} catch (FileNotFoundException dnf) {
-				log.error("FileNotFoundException when adding an AVU, catch and add to response data", dnf);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
-			} catch (DuplicateDataException dde) {
-				log.error("DuplicateDataException when adding an AVU, catch and add to response data", dde);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.DUPLICATE_AVU, value, dde.getMessage()));
-				continue;
-
-			}
-
-			log.info("treat as success...", value);
-			responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, value, ""));
+			requests.add(ModAvuMetadataInp.instanceForAddCollectionMetadata(myPath, value));
 		}
 
+		List<BulkAVUOperationResponse> responses = processPipelinedAvuRequests(avuData, requests);
 		log.info("...complete");
 		return responses;
 	}
@@ -401,23 +387,57 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
-		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>();
+		if (absolutePath == null || absolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty absolutePath");
+		}
 
+		String myPath = MiscIRODSUtils.normalizeIrodsPath(absolutePath);
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(avuData.size());
 		for (AvuData value : avuData) {
-			try {
-				deleteAVUMetadata(absolutePath, value);
-			} catch (FileNotFoundException dnf) {
-				log.error("FileNotFoundException when deleti an AVU, catch and add to response data", dnf);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
+			requests.add(ModAvuMetadataInp.instanceForDeleteCollectionMetadata(myPath, value));
+		}
 
-			}
+		List<BulkAVUOperationResponse> responses = processPipelinedAvuRequests(avuData, requests);
+		log.info("...complete");
+		return responses;
+	}
 
-			log.info("treat as success...", value);
-			responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, value, ""));
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.CollectionAO#addBulkAVUMetadataToCollections
+	 * (java.util.List, java.util.List)
+	 */
+	@Override
+	public List<BulkAVUOperationResponse> addBulkAVUMetadataToCollections(final List<String> absolutePaths,
+			final List<AvuData> avuData) throws JargonException {
+
+		log.info("addBulkAVUMetadataToCollections()");
+
+		if (absolutePaths == null) {
+			throw new IllegalArgumentException("null absolutePaths");
+		}
+
+		if (avuData == null) {
+			throw new IllegalArgumentException("null avuData");
+		}
+
+		if (absolutePaths.size() != avuData.size()) {
+			throw new IllegalArgumentException("absolutePaths and avuData differ in size");
+		}
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(avuData.size());
+		for (int i = 0; i < avuData.size(); i++) {
+			String path = absolutePaths.get(i);
+			if (path == null || path.isEmpty()) {
+				throw new IllegalArgumentException("null or empty absolute path");
+			}
+			requests.add(ModAvuMetadataInp.instanceForAddCollectionMetadata(MiscIRODSUtils.normalizeIrodsPath(path),
+					avuData.get(i)));
 		}
 
+		List<BulkAVUOperationResponse> responses = processPipelinedAvuRequests(avuData, requests, false);
 		log.info("...complete");
 		return responses;
 	}
@@ -1130,6 +1150,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp
 				.instanceForSetInheritOnACollection(collNeedsRecursive, zone, effectiveAbsPath);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(effectiveAbsPath);
 
 	}
 
@@ -1160,6 +1181,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp
 				.instanceForSetInheritOnACollectionInAdminMode(collNeedsRecursive, zone, effectiveAbsPath);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(effectiveAbsPath);
 
 	}
 
@@ -1191,6 +1213,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp
 				.instanceForSetNoInheritOnACollection(collNeedsRecursive, zone, effectiveAbsPath);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(effectiveAbsPath);
 
 	}
 
@@ -1223,6 +1246,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp
 				.instanceForSetNoInheritOnACollectionInAdminMode(collNeedsRecursive, zone, effectiveAbsPath);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(effectiveAbsPath);
 
 	}
 
@@ -1255,6 +1279,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(collNeedsRecursive, zone,
 				effectiveAbsPath, userName, ModAccessControlInp.READ_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(effectiveAbsPath);
 
 	}
 
@@ -1290,6 +1315,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(
 				collNeedsRecursive, zone, effectiveAbsPath, userName, ModAccessControlInp.READ_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(effectiveAbsPath);
 
 	}
 
@@ -1364,6 +1390,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(collNeedsRecursive, zone,
 				effectiveAbsPath, userName, ModAccessControlInp.WRITE_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(effectiveAbsPath);
 
 	}
 
@@ -1400,6 +1427,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(
 				collNeedsRecursive, zone, effectiveAbsPath, userName, ModAccessControlInp.WRITE_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(effectiveAbsPath);
 
 	}
 
@@ -1437,6 +1465,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(collNeedsRecursive, zone,
 				effectiveAbsPath, userName, ModAccessControlInp.OWN_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(effectiveAbsPath);
 
 	}
 
@@ -1473,6 +1502,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(
 				collNeedsRecursive, zone, effectiveAbsPath, userName, ModAccessControlInp.OWN_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(effectiveAbsPath);
 
 	}
 
@@ -1510,6 +1540,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(collNeedsRecursive, zone,
 				effectiveAbsPath, userName, ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(effectiveAbsPath);
 
 	}
 
@@ -1548,6 +1579,7 @@ public final class CollectionAOImpl extends FileCatalogObjectAOImpl implements C
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(
 				collNeedsRecursive, zone, effectiveAbsPath, userName, ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(effectiveAbsPath);
 
 	}
 
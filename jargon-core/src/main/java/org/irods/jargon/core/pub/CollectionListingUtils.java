@@ -1054,6 +1054,16 @@ class CollectionListingUtils {
 
 		String myPath = MiscIRODSUtils.normalizeIrodsPath(irodsAbsolutePath);
 
+		ObjStatCache objStatCache = irodsAccessObjectFactory.getIrodsSession() == null ? null
+				: irodsAccessObjectFactory.getIrodsSession().getObjStatCache();
+		if (objStatCache != null) {
+			ObjStat cachedObjStat = objStatCache.get(irodsAccount, myPath);
+			if (cachedObjStat != null) {
+				log.debug("using cached objStat for:{}", myPath);
+				return cachedObjStat;
+			}
+		}
+
 		DataObjInpForObjStat dataObjInp = DataObjInpForObjStat.instance(myPath);
 		Tag response;
 		ObjStat objStat;
@@ -1160,6 +1170,9 @@ class CollectionListingUtils {
 		objStat.setModifiedAt(IRODSDataConversionUtil.getDateFromIRODSValue(modifiedDate));
 
 		log.info(objStat.toString());
+		if (objStatCache != null) {
+			objStatCache.put(irodsAccount, objStat);
+		}
 		return objStat;
 
 	}
@@ -0,0 +1,604 @@
+package org.irods.jargon.core.pub;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.transfer.TransferControlBlock;
+import org.irods.jargon.core.transfer.TransferStatusCallbackListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recursive put and get of a directory tree, with the files spread over a
+ * bounded set of worker threads rather than transferred one at a time on the
+ * calling thread. This is used internally by
+ * {@link DataTransferOperationsImpl} when
+ * {@code JargonProperties.getRecursiveTransferThreads()} is greater than one,
+ * it is most useful for trees of many small files, where the time is in the
+ * per-file round trips rather than in moving data.
+ * <p>
+ * Each directory is a task that lists its entries and forks a task for each
+ * file and sub directory, tasks are run by a work-stealing
+ * {@link ForkJoinPool}. Each worker thread transfers using its own connection
+ * from the {@link IRODSSession} (connections are held per thread), so the
+ * number of connections is bounded by the number of threads. These connections
+ * are returned when the workers terminate at the end of the transfer.
+ * <p>
+ * Ordering guarantees are per file and per collection. A collection (or local
+ * directory) is created before any task for its contents is scheduled, and all
+ * of the status callbacks for a file are made in order from the one thread.
+ * Callbacks for different files arrive concurrently and in no particular order,
+ * so a {@link TransferStatusCallbackListener} must be thread safe.
+ * {@link TransferControlBlock} cancel and pause are checked before each entry
+ * is scheduled and before each file is transferred, and the cancel or pause
+ * callback is made once for the transfer.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+final class ConcurrentRecursiveTransferEngine {
+
+	private static final Logger log = LoggerFactory.getLogger(ConcurrentRecursiveTransferEngine.class);
+
+	/**
+	 * How long to wait for the worker threads to return their connections once
+	 * the transfer is done
+	 */
+	private static final long WORKER_TERMINATION_WAIT_SECONDS = 60;
+
+	private final IRODSSession irodsSession;
+	private final IRODSAccount irodsAccount;
+	private final int numberOfThreads;
+
+	/**
+	 * Each thread gets its own helper, and thus its own access objects, which use
+	 * the connection held by that thread
+	 */
+	private final ThreadLocal<TransferOperationsHelper> transferOperationsHelper = new ThreadLocal<TransferOperationsHelper>();
+
+	/**
+	 * Create an engine that will transfer using the given number of threads
+	 *
+	 * @param irodsSession
+	 *            {@link IRODSSession} that supplies a connection to each thread
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connections
+	 * @param numberOfThreads
+	 *            {@code int} with the number of worker threads (and connections)
+	 *            to use, must be at least one
+	 */
+	ConcurrentRecursiveTransferEngine(final IRODSSession irodsSession, final IRODSAccount irodsAccount,
+			final int numberOfThreads) {
+		if (irodsSession == null) {
+			throw new IllegalArgumentException("null irodsSession");
+		}
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (numberOfThreads < 1) {
+			throw new IllegalArgumentException("numberOfThreads must be at least 1");
+		}
+
+		this.irodsSession = irodsSession;
+		this.irodsAccount = irodsAccount;
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	/**
+	 * Put the contents of a local directory into an existing iRODS collection,
+	 * the concurrent equivalent of
+	 * {@link TransferOperationsHelper#recursivelyPut(File, IRODSFile, TransferStatusCallbackListener, TransferControlBlock)}
+	 *
+	 * @param sourceFile
+	 *            {@link File} that is the local directory to put
+	 * @param targetIrodsCollection
+	 *            {@link IRODSFile} that is the collection that will hold the
+	 *            contents of {@code sourceFile}
+	 * @param transferStatusCallbackListener
+	 *            thread safe {@link TransferStatusCallbackListener}, or
+	 *            {@code null}, in which case the first error is thrown
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock}, required
+	 * @throws JargonException
+	 */
+	void recursivelyPut(final File sourceFile, final IRODSFile targetIrodsCollection,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock) throws JargonException {
+
+		if (sourceFile == null) {
+			throw new IllegalArgumentException("null source file");
+		}
+
+		if (targetIrodsCollection == null) {
+			throw new IllegalArgumentException("null targetIrodsCollection");
+		}
+
+		if (transferControlBlock == null) {
+			throw new IllegalArgumentException("null transferControlBlock");
+		}
+
+		if (!sourceFile.isDirectory()) {
+			throw new JargonException("source file is not a directory, cannot recursively put");
+		}
+
+		log.info("concurrently putting source file: {}", sourceFile.getAbsolutePath());
+		log.info("    into iRODS file: {}", targetIrodsCollection.getAbsolutePath());
+		log.info("    with threads:{}", numberOfThreads);
+
+		TransferRun run = new TransferRun(transferStatusCallbackListener, transferControlBlock);
+		execute(run, new PutCollectionTask(null, run, sourceFile, targetIrodsCollection));
+	}
+
+	/**
+	 * Get the contents of an iRODS collection into an existing local directory,
+	 * the concurrent equivalent of
+	 * {@link TransferOperationsHelper#recursivelyGet(IRODSFile, File, TransferStatusCallbackListener, TransferControlBlock)}
+	 *
+	 * @param irodsSourceFile
+	 *            {@link IRODSFile} that is the collection to get
+	 * @param targetLocalFile
+	 *            {@link File} that is the local directory that will hold the
+	 *            contents of {@code irodsSourceFile}
+	 * @param transferStatusCallbackListener
+	 *            thread safe {@link TransferStatusCallbackListener}, or
+	 *            {@code null}, in which case the first error is thrown
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock}, required
+	 * @throws JargonException
+	 */
+	void recursivelyGet(final IRODSFile irodsSourceFile, final File targetLocalFile,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock) throws JargonException {
+
+		if (irodsSourceFile == null) {
+			throw new IllegalArgumentException("null irodsSourceFile");
+		}
+
+		if (targetLocalFile == null) {
+			throw new IllegalArgumentException("null targetLocalFile");
+		}
+
+		if (transferControlBlock == null) {
+			throw new IllegalArgumentException("null transferControlBlock");
+		}
+
+		log.info("concurrently getting source file: {}", irodsSourceFile.getAbsolutePath());
+		log.info("    into local file: {}", targetLocalFile.getAbsolutePath());
+		log.info("    with threads:{}", numberOfThreads);
+
+		TransferRun run = new TransferRun(transferStatusCallbackListener, transferControlBlock);
+		execute(run, new GetCollectionTask(null, run, irodsSourceFile, targetLocalFile));
+	}
+
+	/**
+	 * Run the root task in a new pool and wait for the whole tree to finish. An
+	 * interrupt of the calling thread cancels the transfer, as it does for the
+	 * sequential transfer.
+	 */
+	private void execute(final TransferRun run, final TransferTask rootTask) throws JargonException {
+
+		ForkJoinPool pool = new ForkJoinPool(numberOfThreads, new TransferWorkerThreadFactory(), null, false);
+
+		try {
+			pool.execute(rootTask);
+
+			boolean done = false;
+			while (!done) {
+				try {
+					run.done.await();
+					done = true;
+				} catch (InterruptedException e) {
+					log.info("cancellation detected, set cancelled in tcb");
+					run.transferControlBlock.setCancelled(true);
+				}
+			}
+
+		} finally {
+			pool.shutdown();
+			try {
+				if (!pool.awaitTermination(WORKER_TERMINATION_WAIT_SECONDS, TimeUnit.SECONDS)) {
+					log.warn("transfer worker threads did not terminate, connections may not have been returned");
+				}
+			} catch (InterruptedException e) {
+				log.warn("interrupted waiting for transfer worker threads to terminate");
+				Thread.currentThread().interrupt();
+			}
+		}
+
+		JargonException failure = run.failure.get();
+		if (failure != null && !run.transferControlBlock.isCancelled()) {
+			throw failure;
+		}
+	}
+
+	/**
+	 * @return the {@link TransferOperationsHelper} for the current thread
+	 */
+	private TransferOperationsHelper currentHelper() throws JargonException {
+		TransferOperationsHelper helper = transferOperationsHelper.get();
+		if (helper == null) {
+			helper = TransferOperationsHelper.instance(irodsSession, irodsAccount);
+			transferOperationsHelper.set(helper);
+		}
+		return helper;
+	}
+
+	/**
+	 * See if the current thread's connection should be closed and renewed
+	 */
+	private void checkRenewalOfSocket(final TransferOperationsHelper helper) throws JargonException {
+		if (helper.getCollectionAO().getIRODSProtocol().getPipelineConfiguration()
+				.getSocketRenewalIntervalInSeconds() > 0) {
+			irodsSession.currentConnectionCheckRenewalOfSocket(irodsAccount);
+		}
+	}
+
+	/**
+	 * State shared by all of the tasks of one recursive transfer
+	 */
+	private static final class TransferRun {
+		private final TransferStatusCallbackListener transferStatusCallbackListener;
+		private final TransferControlBlock transferControlBlock;
+		private final CountDownLatch done = new CountDownLatch(1);
+		private final AtomicReference<JargonException> failure = new AtomicReference<JargonException>();
+		private final AtomicBoolean interruptNotified = new AtomicBoolean(false);
+
+		private TransferRun(final TransferStatusCallbackListener transferStatusCallbackListener,
+				final TransferControlBlock transferControlBlock) {
+			this.transferStatusCallbackListener = transferStatusCallbackListener;
+			this.transferControlBlock = transferControlBlock;
+		}
+
+		/**
+		 * Record an error that stops the transfer, only the first is kept
+		 */
+		private void fail(final Throwable e) {
+			JargonException je = e instanceof JargonException ? (JargonException) e : new JargonException(e);
+			if (!failure.compareAndSet(null, je)) {
+				log.error("subsequent error in concurrent transfer, first error is reported", e);
+			}
+		}
+
+		/**
+		 * @return {@code boolean} that is {@code true} if no more work should be
+		 *         started
+		 */
+		private boolean isStopped() {
+			return failure.get() != null || transferControlBlock.isCancelled() || transferControlBlock.isPaused();
+		}
+
+		/**
+		 * @return {@code boolean} that is {@code true} the first time it is called,
+		 *         so only one cancel or pause callback is made
+		 */
+		private boolean shouldNotifyInterrupt() {
+			return interruptNotified.compareAndSet(false, true);
+		}
+	}
+
+	/**
+	 * A unit of work in the transfer tree. The tree is complete when every task
+	 * has completed, at which point the root releases the waiting caller.
+	 */
+	private abstract class TransferTask extends CountedCompleter<Void> {
+
+		private static final long serialVersionUID = 1L;
+
+		protected final TransferRun run;
+
+		TransferTask(final TransferTask parent, final TransferRun run) {
+			super(parent);
+			this.run = run;
+		}
+
+		@Override
+		public final void compute() {
+			try {
+				if (!run.isStopped()) {
+					transfer(currentHelper());
+				} else if (run.failure.get() == null) {
+					notifyInterrupt(currentHelper());
+				}
+			} catch (Throwable e) {
+				if (!run.transferControlBlock.isCancelled()) {
+					log.error("error in concurrent transfer task", e);
+					run.fail(e);
+				}
+			}
+			tryComplete();
+		}
+
+		@Override
+		public final void onCompletion(final CountedCompleter<?> caller) {
+			if (getCompleter() == null) {
+				run.done.countDown();
+			}
+		}
+
+		/**
+		 * Schedule a child task, which may be stolen by another worker
+		 */
+		protected final void forkChild(final TransferTask child) {
+			addToPendingCount(1);
+			child.fork();
+		}
+
+		/**
+		 * Do the work of this task
+		 */
+		protected abstract void transfer(TransferOperationsHelper helper) throws JargonException;
+
+		/**
+		 * Make the cancel or pause callback for this task, if not already done
+		 */
+		protected abstract void notifyInterrupt(TransferOperationsHelper helper) throws JargonException;
+	}
+
+	/**
+	 * Put the contents of one local directory, creating the iRODS collections for
+	 * sub directories before forking their tasks
+	 */
+	private final class PutCollectionTask extends TransferTask {
+
+		private static final long serialVersionUID = 1L;
+
+		private final File sourceDirectory;
+		private final IRODSFile targetIrodsCollection;
+
+		PutCollectionTask(final TransferTask parent, final TransferRun run, final File sourceDirectory,
+				final IRODSFile targetIrodsCollection) {
+			super(parent, run);
+			this.sourceDirectory = sourceDirectory;
+			this.targetIrodsCollection = targetIrodsCollection;
+		}
+
+		@Override
+		protected void transfer(final TransferOperationsHelper helper) throws JargonException {
+			File[] files = sourceDirectory.listFiles();
+			if (files == null) {
+				return;
+			}
+
+			for (File fileInSourceCollection : files) {
+
+				if (run.isStopped()) {
+					if (run.failure.get() == null && run.shouldNotifyInterrupt()) {
+						log.info("will notify pause or cancel for this put");
+						helper.notifyPauseOrCancelCallbackForPut(targetIrodsCollection,
+								run.transferStatusCallbackListener, run.transferControlBlock, fileInSourceCollection);
+					}
+					break;
+				}
+
+				if (fileInSourceCollection.isDirectory()) {
+					IRODSFile newSubCollection = createSubCollection(helper, fileInSourceCollection);
+					if (newSubCollection != null) {
+						forkChild(new PutCollectionTask(this, run, fileInSourceCollection, newSubCollection));
+					}
+				} else {
+					forkChild(new PutFileTask(this, run, fileInSourceCollection, targetIrodsCollection));
+				}
+			}
+		}
+
+		/**
+		 * Make the collection for a sub directory, any error is processed as the
+		 * sequential put would, and results in {@code null}
+		 */
+		private IRODSFile createSubCollection(final TransferOperationsHelper helper,
+				final File fileInSourceCollection) throws JargonException {
+
+			StringBuilder sb = new StringBuilder();
+			sb.append(targetIrodsCollection.getAbsolutePath());
+			sb.append('/');
+			sb.append(fileInSourceCollection.getName());
+			log.info("recursively creating parent directory in irods at: {}", sb.toString());
+
+			IRODSFile newSubCollection = helper.getCollectionAO().instanceIRODSFileForCollectionPath(sb.toString());
+			newSubCollection.setResource(targetIrodsCollection.getResource());
+
+			try {
+				checkRenewalOfSocket(helper);
+				newSubCollection.mkdirs();
+				return newSubCollection;
+			} catch (JargonException je) {
+				if (!run.transferControlBlock.isCancelled()) {
+					helper.processRecursivePutException(fileInSourceCollection, run.transferStatusCallbackListener,
+							newSubCollection, run.transferControlBlock, je);
+				}
+			} catch (Exception e) {
+				if (!run.transferControlBlock.isCancelled()) {
+					log.error("unanticipated exception will be transformed into a JargonException and processed",
+							e);
+					helper.processRecursivePutException(fileInSourceCollection, run.transferStatusCallbackListener,
+							newSubCollection, run.transferControlBlock, new JargonException(e));
+				}
+			}
+			return null;
+		}
+
+		@Override
+		protected void notifyInterrupt(final TransferOperationsHelper helper) throws JargonException {
+			if (run.shouldNotifyInterrupt()) {
+				helper.notifyPauseOrCancelCallbackForPut(targetIrodsCollection, run.transferStatusCallbackListener,
+						run.transferControlBlock, sourceDirectory);
+			}
+		}
+	}
+
+	/**
+	 * Put one local file into its (already created) parent collection
+	 */
+	private final class PutFileTask extends TransferTask {
+
+		private static final long serialVersionUID = 1L;
+
+		private final File sourceFile;
+		private final IRODSFile targetIrodsCollection;
+
+		PutFileTask(final TransferTask parent, final TransferRun run, final File sourceFile,
+				final IRODSFile targetIrodsCollection) {
+			super(parent, run);
+			this.sourceFile = sourceFile;
+			this.targetIrodsCollection = targetIrodsCollection;
+		}
+
+		@Override
+		protected void transfer(final TransferOperationsHelper helper) throws JargonException {
+			checkRenewalOfSocket(helper);
+			helper.processPutOfSingleFile(sourceFile, targetIrodsCollection, run.transferStatusCallbackListener,
+					run.transferControlBlock);
+		}
+
+		@Override
+		protected void notifyInterrupt(final TransferOperationsHelper helper) throws JargonException {
+			if (run.shouldNotifyInterrupt()) {
+				helper.notifyPauseOrCancelCallbackForPut(targetIrodsCollection, run.transferStatusCallbackListener,
+						run.transferControlBlock, sourceFile);
+			}
+		}
+	}
+
+	/**
+	 * Get the contents of one iRODS collection, creating the local directories
+	 * for sub collections before forking their tasks
+	 */
+	private final class GetCollectionTask extends TransferTask {
+
+		private static final long serialVersionUID = 1L;
+
+		private final IRODSFile irodsSourceCollection;
+		private final File targetLocalDirectory;
+
+		GetCollectionTask(final TransferTask parent, final TransferRun run, final IRODSFile irodsSourceCollection,
+				final File targetLocalDirectory) {
+			super(parent, run);
+			this.irodsSourceCollection = irodsSourceCollection;
+			this.targetLocalDirectory = targetLocalDirectory;
+		}
+
+		@Override
+		protected void transfer(final TransferOperationsHelper helper) throws JargonException {
+			checkRenewalOfSocket(helper);
+
+			for (File fileInSourceCollection : irodsSourceCollection.listFiles()) {
+
+				if (run.isStopped()) {
+					if (run.failure.get() == null && run.shouldNotifyInterrupt()) {
+						helper.notifyPauseOrCancelCallbackForGet(targetLocalDirectory,
+								run.transferStatusCallbackListener, run.transferControlBlock, fileInSourceCollection);
+					}
+					break;
+				}
+
+				IRODSFile irodsFileInSourceCollection = (IRODSFile) fileInSourceCollection;
+				irodsFileInSourceCollection.setResource(irodsSourceCollection.getResource());
+
+				if (irodsFileInSourceCollection.isDirectory()) {
+					File newSubCollection = new File(targetLocalDirectory, irodsFileInSourceCollection.getName());
+					log.info("recursively creating parent directory in local file system at: {}",
+							newSubCollection.getAbsolutePath());
+
+					if (!newSubCollection.mkdirs()) {
+						log.warn("unable to make directories in local file system, log and proceed");
+					}
+
+					forkChild(new GetCollectionTask(this, run, irodsFileInSourceCollection, newSubCollection));
+				} else {
+					forkChild(new GetFileTask(this, run, irodsFileInSourceCollection, targetLocalDirectory));
+				}
+			}
+		}
+
+		@Override
+		protected void notifyInterrupt(final TransferOperationsHelper helper) throws JargonException {
+			if (run.shouldNotifyInterrupt()) {
+				helper.notifyPauseOrCancelCallbackForGet(targetLocalDirectory, run.transferStatusCallbackListener,
+						run.transferControlBlock, (File) irodsSourceCollection);
+			}
+		}
+	}
+
+	/**
+	 * Get one iRODS data object into its (already created) local directory
+	 */
+	private final class GetFileTask extends TransferTask {
+
+		private static final long serialVersionUID = 1L;
+
+		private final IRODSFile irodsSourceFile;
+		private final File targetLocalDirectory;
+
+		GetFileTask(final TransferTask parent, final TransferRun run, final IRODSFile irodsSourceFile,
+				final File targetLocalDirectory) {
+			super(parent, run);
+			this.irodsSourceFile = irodsSourceFile;
+			this.targetLocalDirectory = targetLocalDirectory;
+		}
+
+		@Override
+		protected void transfer(final TransferOperationsHelper helper) throws JargonException {
+			checkRenewalOfSocket(helper);
+			helper.processGetOfSingleFile(irodsSourceFile, targetLocalDirectory, run.transferStatusCallbackListener,
+					run.transferControlBlock);
+		}
+
+		@Override
+		protected void notifyInterrupt(final TransferOperationsHelper helper) throws JargonException {
+			if (run.shouldNotifyInterrupt()) {
+				helper.notifyPauseOrCancelCallbackForGet(targetLocalDirectory, run.transferStatusCallbackListener,
+						run.transferControlBlock, (File) irodsSourceFile);
+			}
+		}
+	}
+
+	/**
+	 * Creates the worker threads, which return their connections to the session
+	 * when they terminate
+	 */
+	private final class TransferWorkerThreadFactory implements ForkJoinPool.ForkJoinWorkerThreadFactory {
+
+		private final AtomicInteger threadCount = new AtomicInteger();
+
+		@Override
+		public ForkJoinWorkerThread newThread(final ForkJoinPool pool) {
+			ForkJoinWorkerThread thread = new TransferWorkerThread(pool);
+			thread.setName("jargon-recursive-transfer-" + threadCount.incrementAndGet());
+			return thread;
+		}
+	}
+
+	private final class TransferWorkerThread extends ForkJoinWorkerThread {
+
+		TransferWorkerThread(final ForkJoinPool pool) {
+			super(pool);
+		}
+
+		@Override
+		protected void onTermination(final Throwable exception) {
+			try {
+				log.debug("transfer worker terminating, closing its connection");
+				transferOperationsHelper.remove();
+				irodsSession.closeSession(irodsAccount);
+			} catch (Throwable e) {
+				log.warn("error closing connection for transfer worker, ignored", e);
+			} finally {
+				super.onTermination(exception);
+			}
+		}
+	}
+
+}
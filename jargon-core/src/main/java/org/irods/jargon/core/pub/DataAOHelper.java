@@ -313,6 +313,23 @@ public final class DataAOHelper extends AOHelper {
 			throw new IllegalArgumentException("null transferControlBlock");
 		}
 
+		ConnectionProgressStatusListener intraFileStatusListener = null;
+
+		/*
+		 * If specified by options, and with a call-back listener registered, create an
+		 * object to aggregate and channel within-file progress reports to the caller.
+		 */
+		if (transferStatusCallbackListener != null
+				&& transferControlBlock.getTransferOptions().isIntraFileStatusCallbacks()) {
+			intraFileStatusListener = DefaultIntraFileProgressCallbackListener.instance(TransferType.GET, length,
+					transferControlBlock, transferStatusCallbackListener);
+		}
+
+		if (irodsProtocol.isDirectFileTransferSupported()) {
+			processDirectGetTransfer(localFileToHoldData, length, irodsProtocol, intraFileStatusListener);
+			return;
+		}
+
 		// get an input stream from the irodsFile
 		BufferedOutputStream localFileOutputStream;
 
@@ -332,18 +349,6 @@ public final class DataAOHelper extends AOHelper {
 					+ localFileToHoldData.getAbsolutePath(), e);
 		}
 
-		ConnectionProgressStatusListener intraFileStatusListener = null;
-
-		/*
-		 * If specified by options, and with a call-back listener registered, create an
-		 * object to aggregate and channel within-file progress reports to the caller.
-		 */
-		if (transferStatusCallbackListener != null
-				&& transferControlBlock.getTransferOptions().isIntraFileStatusCallbacks()) {
-			intraFileStatusListener = DefaultIntraFileProgressCallbackListener.instance(TransferType.GET, length,
-					transferControlBlock, transferStatusCallbackListener);
-		}
-
 		// read the message byte stream into the local file
 		irodsProtocol.read(localFileOutputStream, length, intraFileStatusListener);
 		log.info("transfer is complete");
@@ -358,6 +363,45 @@ public final class DataAOHelper extends AOHelper {
 		}
 	}
 
+	/**
+	 * Read the data straight from the connection into the channel of the local
+	 * file, no local output buffer is used
+	 *
+	 * @param localFileToHoldData     {@link File}
+	 * @param length                  {@code long} length
+	 * @param irodsProtocol           {@link IRODSMidLevelProtocol}
+	 * @param intraFileStatusListener {@link ConnectionProgressStatusListener} or
+	 *                                {@code null}
+	 * @throws JargonException for iRODS error
+	 */
+	private void processDirectGetTransfer(final File localFileToHoldData, final long length,
+			final IRODSMidLevelProtocol irodsProtocol, final ConnectionProgressStatusListener intraFileStatusListener)
+			throws JargonException {
+
+		log.info("reading directly into the local file channel");
+		FileOutputStream localFileOutputStream;
+		try {
+			localFileOutputStream = new FileOutputStream(localFileToHoldData);
+		} catch (FileNotFoundException e) {
+			log.error("FileNotFoundException when trying to create a new file for the local output stream for {}",
+					localFileToHoldData.getAbsolutePath(), e);
+			throw new JargonException("FileNotFoundException for local file when trying to get to: "
+					+ localFileToHoldData.getAbsolutePath(), e);
+		}
+
+		try {
+			irodsProtocol.read(localFileOutputStream.getChannel(), length, intraFileStatusListener);
+			log.info("transfer is complete");
+		} finally {
+			try {
+				localFileOutputStream.close();
+			} catch (IOException e) {
+				log.error("IOException when closing the local output stream for {}",
+						localFileToHoldData.getAbsolutePath(), e);
+			}
+		}
+	}
+
 	/**
 	 * Process a put transfer (uplaod a file to iRODS from the local file system).
 	 * This method is meant to be used within the API, and as such, is not useful to
@@ -1012,6 +1012,29 @@ public interface DataObjectAO extends FileCatalogObjectAO {
 	List<BulkAVUOperationResponse> deleteBulkAVUMetadataFromDataObject(String absolutePath, List<AvuData> avuData)
 			throws JargonException;
 
+	/**
+	 * Add AVUs to many data objects in one batch. The AVU at each position in
+	 * {@code avuData} is added to the data object at the same position in
+	 * {@code absolutePaths}, and the requests are pipelined on the connection,
+	 * so that a batch costs about one round trip rather than one per AVU.
+	 * <p>
+	 * The paths are used as given, with no objStat for each path, so the caller
+	 * should give the data object paths it has already resolved. Unlike the single
+	 * path bulk methods, no error is thrown for an individual AVU, a duplicate
+	 * AVU, a missing data object, or any other iRODS error is reported in the
+	 * response for that AVU.
+	 *
+	 * @param absolutePaths {@code List} of {@code String} with the absolute path
+	 *                      of the data object for each AVU
+	 * @param avuData       {@code List} of {@link AvuData} with the AVU for each
+	 *                      path
+	 * @return {@code List} of {@link BulkAVUOperationResponse} in the order of the
+	 *         {@code avuData}
+	 * @throws JargonException if the requests could not be sent
+	 */
+	List<BulkAVUOperationResponse> addBulkAVUMetadataToDataObjects(List<String> absolutePaths, List<AvuData> avuData)
+			throws JargonException;
+
 	/**
 	 * Clear all AVUs from the given data object by doing a bulk delete operation
 	 *
@@ -40,7 +40,6 @@ import org.irods.jargon.core.packinstr.TransferOptions;
 import org.irods.jargon.core.packinstr.TransferOptions.ForceOption;
 import org.irods.jargon.core.protovalues.FilePermissionEnum;
 import org.irods.jargon.core.protovalues.UserTypeEnum;
-import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
 import org.irods.jargon.core.pub.RuleProcessingAO.RuleProcessingType;
 import org.irods.jargon.core.pub.domain.AvuData;
 import org.irods.jargon.core.pub.domain.DataObject;
@@ -66,6 +65,7 @@ import org.irods.jargon.core.query.SpecificQueryResultSet;
 import org.irods.jargon.core.rule.IRODSRuleExecResult;
 import org.irods.jargon.core.rule.IRODSRuleParameter;
 import org.irods.jargon.core.rule.RuleInvocationConfiguration;
+import org.irods.jargon.core.transfer.AbstractParallelFileTransferStrategy;
 import org.irods.jargon.core.transfer.AbstractRestartManager;
 import org.irods.jargon.core.transfer.DefaultTransferControlBlock;
 import org.irods.jargon.core.transfer.FileRestartInfo;
@@ -75,6 +75,7 @@ import org.irods.jargon.core.transfer.FileRestartManagementException;
 import org.irods.jargon.core.transfer.GetTransferRestartProcessor;
 import org.irods.jargon.core.transfer.ParallelGetFileTransferStrategy;
 import org.irods.jargon.core.transfer.ParallelPutFileTransferStrategy;
+import org.irods.jargon.core.transfer.ParallelTransferScheduler;
 import org.irods.jargon.core.transfer.PutTransferRestartProcessor;
 import org.irods.jargon.core.transfer.RestartFailedException;
 import org.irods.jargon.core.transfer.TransferControlBlock;
@@ -533,6 +534,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			log.info("doing a restart of this transfer..");
 			putRestartRetryTillMaxLoop(transferControlBlock, targetFile, fileRestartInfo,
 					transferStatusCallbackListener);
+			invalidateCachedObjStat(targetFile.getAbsolutePath());
 			return;
 		}
 
@@ -620,6 +622,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		long endTime = System.currentTimeMillis();
 		long duration = endTime - startTime;
 		log.info(">>>>>>>>>>>>>>transfer complete in:{} millis", duration);
+		invalidateCachedObjStat(targetFile.getAbsolutePath());
 		/*
 		 * Send a final 100% callback if intra-file callbacks are desired
 		 */
@@ -772,6 +775,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		if (!myTransferOptions.isUseParallelTransfer()) {
 			log.info("no parallel transfer set in transferOptions");
 			myTransferOptions.setMaxThreads(-1);
+		} else {
+			applyAdaptiveStreamCount(myTransferOptions, targetFile.getResource());
 		}
 
 		ConnectionProgressStatusListener intraFileStatusListener = null;
@@ -790,6 +795,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		DataObjInp dataObjInp = DataObjInp.instanceForParallelPut(targetFile.getAbsolutePath(), localFile.length(),
 				targetFile.getResource(), overwrite, myTransferOptions, execFlag);
 
+		ParallelTransferScheduler.Lease lease = acquireTransferStreams(myTransferOptions, transferControlBlock);
+
 		try {
 
 			if (myTransferOptions.isComputeAndVerifyChecksumAfterTransfer()
@@ -818,8 +825,9 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 				/*
 				 * restart processing is done inside of the parallel put code
 				 */
-				parallelPutTransfer(localFile, targetFile.getAbsolutePath(), responseToInitialCallForPut,
-						numberOfThreads, localFile.length(), transferControlBlock, transferStatusCallbackListener);
+				parallelPutTransfer(localFile, targetFile.getAbsolutePath(), targetFile.getResource(),
+						responseToInitialCallForPut, numberOfThreads, localFile.length(), transferControlBlock,
+						transferStatusCallbackListener);
 			} else {
 				log.info(
 						"parallel operation deferred by server sending 0 threads back in PortalOperOut, revert to single thread transfer");
@@ -847,6 +855,10 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		} catch (Throwable e) {
 			log.error(ERROR_IN_PARALLEL_TRANSFER, e);
 			throw new JargonException(ERROR_IN_PARALLEL_TRANSFER, e);
+		} finally {
+			if (lease != null) {
+				lease.release();
+			}
 		}
 	}
 
@@ -858,13 +870,14 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 	 *
 	 * @param localFile
 	 * @param irodsAbosolutePath
+	 * @param resource
 	 * @param responseToInitialCallForPut
 	 * @param numberOfThreads
 	 * @param transferLength
 	 * @param transferControlBlock
 	 * @param transferStatusCallbackListener
 	 */
-	private void parallelPutTransfer(final File localFile, final String irodsAbsolutePath,
+	private void parallelPutTransfer(final File localFile, final String irodsAbsolutePath, final String resource,
 			final Tag responseToInitialCallForPut, final int numberOfThreads, final long transferLength,
 			final TransferControlBlock transferControlBlock,
 			final TransferStatusCallbackListener transferStatusCallbackListener)
@@ -894,6 +907,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		try {
 			parallelPutFileStrategy.transfer();
 			log.info("transfer process is complete");
+			recordAdaptiveStreamThroughput(resource, numberOfThreads, parallelPutFileStrategy);
 			int statusForComplete = responseToInitialCallForPut.getTag(IRODSConstants.L1_DESC_INX).getIntValue();
 			log.debug("status for complete:{}", statusForComplete);
 
@@ -1056,6 +1070,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 				if (!thisFileTransferOptions.isUseParallelTransfer()) {
 					log.info("no parallel transfer set in transferOptions");
 					thisFileTransferOptions.setMaxThreads(-1);
+				} else {
+					applyAdaptiveStreamCount(thisFileTransferOptions, irodsFileToGet.getResource());
 				}
 			} else {
 				thisFileTransferOptions.setMaxThreads(0);
@@ -1073,8 +1089,19 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 						irodsFileToGet.getResource(), "", "", thisFileTransferOptions);
 			}
 
-			processGetAfterResourceDetermined(irodsFileToGet, localFile, dataObjInp, thisFileTransferOptions,
-					irodsFileLength, operativeTransferControlBlock, transferStatusCallbackListener, false);
+			ParallelTransferScheduler.Lease lease = null;
+			if (irodsFileLength > ConnectionConstants.MAX_SZ_FOR_SINGLE_BUF) {
+				lease = acquireTransferStreams(thisFileTransferOptions, operativeTransferControlBlock);
+			}
+
+			try {
+				processGetAfterResourceDetermined(irodsFileToGet, localFile, dataObjInp, thisFileTransferOptions,
+						irodsFileLength, operativeTransferControlBlock, transferStatusCallbackListener, false);
+			} finally {
+				if (lease != null) {
+					lease.release();
+				}
+			}
 		}
 	}
 
@@ -1564,6 +1591,8 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 			try {
 				parallelGetTransferStrategy.transfer();
+				recordAdaptiveStreamThroughput(irodsSourceFile.getResource(), numberOfThreads,
+						parallelGetTransferStrategy);
 
 			} catch (Throwable e) {
 
@@ -1574,6 +1603,92 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		}
 	}
 
+	/**
+	 * If jargon props say to adapt the number of parallel streams, set the
+	 * threads in the transfer options to the count learned for this host and
+	 * resource
+	 *
+	 * @param transferOptions {@link TransferOptions} for this file, which will be
+	 *                        updated
+	 * @param resource        {@code String} with the resource, blank for the
+	 *                        default
+	 */
+	private void applyAdaptiveStreamCount(final TransferOptions transferOptions, final String resource) {
+		if (!getJargonProperties().isAdaptiveParallelStreams() || transferOptions.getMaxThreads() < 0) {
+			return;
+		}
+
+		int streams = getIRODSSession().getParallelStreamController().recommendStreams(getIRODSAccount().getHost(),
+				operativeResource(resource), transferOptions.getMaxThreads());
+		log.info("adaptive parallel transfer will request {} streams", streams);
+		transferOptions.setMaxThreads(streams);
+	}
+
+	/**
+	 * If jargon props turn on the transfer scheduler, wait for this transfer's
+	 * share of the parallel streams, and limit the threads in the transfer options
+	 * to it
+	 *
+	 * @param transferOptions      {@link TransferOptions} for this file, which will
+	 *                             be updated
+	 * @param transferControlBlock {@link TransferControlBlock} with the priority
+	 *                             and weight of the transfer
+	 * @return {@link ParallelTransferScheduler.Lease} to release when the transfer
+	 *         is done, or {@code null} if there is no scheduler or the transfer is
+	 *         not parallel
+	 * @throws JargonException if interrupted while waiting
+	 */
+	private ParallelTransferScheduler.Lease acquireTransferStreams(final TransferOptions transferOptions,
+			final TransferControlBlock transferControlBlock) throws JargonException {
+		if (transferOptions.getMaxThreads() < 0) {
+			return null;
+		}
+
+		ParallelTransferScheduler scheduler = getIRODSSession().getParallelTransferScheduler();
+		if (scheduler == null) {
+			return null;
+		}
+
+		try {
+			ParallelTransferScheduler.Lease lease = scheduler.acquire(getIRODSAccount().getHost(),
+					transferOptions.getMaxThreads(), transferControlBlock.getTransferPriority(),
+					transferControlBlock.getTransferWeight());
+			log.info("scheduler granted {} streams", lease.getStreams());
+			transferOptions.setMaxThreads(lease.getStreams());
+			return lease;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted waiting for parallel transfer streams", e);
+		}
+	}
+
+	/**
+	 * Report the throughput of a finished parallel transfer to the controller
+	 * if jargon props say to adapt the number of parallel streams
+	 *
+	 * @param resource                 {@code String} with the resource, blank for
+	 *                                 the default
+	 * @param numberOfThreads          {@code int} with the streams iRODS used
+	 * @param parallelTransferStrategy {@link AbstractParallelFileTransferStrategy}
+	 *                                 that did the transfer
+	 */
+	private void recordAdaptiveStreamThroughput(final String resource, final int numberOfThreads,
+			final AbstractParallelFileTransferStrategy parallelTransferStrategy) {
+		if (!getJargonProperties().isAdaptiveParallelStreams()) {
+			return;
+		}
+
+		getIRODSSession().getParallelStreamController().recordTransfer(getIRODSAccount().getHost(),
+				operativeResource(resource), numberOfThreads, parallelTransferStrategy.getMeasuredThroughput());
+	}
+
+	private String operativeResource(final String resource) {
+		if (resource == null || resource.isEmpty()) {
+			return getIRODSAccount().getDefaultStorageResource();
+		}
+		return resource;
+	}
+
 	/**
 	 * See if jargon props say to do long file restarts, and a restart manager is
 	 * configured
@@ -1803,27 +1918,20 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
-		List<BulkAVUOperationResponse> responses = new ArrayList<>();
+		String absPath;
+		try {
+			absPath = resolveAbsolutePathForAvuOperation(absolutePath);
+		} catch (FileNotFoundException fnf) {
+			log.error("FileNotFoundException when adding AVUs, catch and add to response data", fnf);
+			return buildMissingTargetAvuResponses(avuData, fnf.getMessage());
+		}
 
+		List<ModAvuMetadataInp> requests = new ArrayList<>(avuData.size());
 		for (AvuData value : avuData) {
-			try {
-				addAVUMetadata(absolutePath, value);
-			} catch (DataNotFoundException dnf) {
-				log.error("dataNotFoundException when adding an AVU, catch and add to response data", dnf);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
-			} catch (DuplicateDataException dde) {
-				log.error("DuplicateDataException when adding an AVU, catch and add to response data", dde);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.DUPLICATE_AVU, value, dde.getMessage()));
-				continue;
-
-			}
-
-			log.info("treat as success...", value);
-			responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, value, ""));
+			requests.add(ModAvuMetadataInp.instanceForAddDataObjectMetadata(absPath, value));
 		}
 
+		List<BulkAVUOperationResponse> responses = processPipelinedAvuRequests(avuData, requests);
 		log.info("...complete");
 		return responses;
 	}
@@ -1834,31 +1942,105 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 		log.info("deleteBulkAVUMetadataFromDataObject()");
 
+		if (absolutePath == null || absolutePath.isEmpty()) {
+			throw new IllegalArgumentException(NULL_OR_EMPTY_ABSOLUTE_PATH);
+		}
+
 		if (avuData == null) {
 			throw new IllegalArgumentException("null or empty avuData");
 		}
 
-		List<BulkAVUOperationResponse> responses = new ArrayList<>();
+		if (avuData.isEmpty()) {
+			return new ArrayList<>();
+		}
 
+		String absPath;
+		try {
+			absPath = resolveAbsolutePathForAvuOperation(absolutePath);
+		} catch (FileNotFoundException fnf) {
+			log.error("FileNotFoundException when deleting AVUs, catch and add to response data", fnf);
+			return buildMissingTargetAvuResponses(avuData, fnf.getMessage());
+		}
+
+		List<ModAvuMetadataInp> requests = new ArrayList<>(avuData.size());
 		for (AvuData value : avuData) {
-			try {
-				deleteAVUMetadata(absolutePath, value);
-			} catch (DataNotFoundException dnf) {
-				log.error("dataNotFoundException when deleti an AVU, catch and add to response data", dnf);
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value,
-						dnf.getMessage()));
-				continue;
+			requests.add(ModAvuMetadataInp.instanceForDeleteDataObjectMetadata(absPath, value));
+		}
 
-			}
+		List<BulkAVUOperationResponse> responses = processPipelinedAvuRequests(avuData, requests);
+		log.info("...complete");
+		return responses;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.DataObjectAO#addBulkAVUMetadataToDataObjects
+	 * (java.util.List, java.util.List)
+	 */
+	@Override
+	public List<BulkAVUOperationResponse> addBulkAVUMetadataToDataObjects(final List<String> absolutePaths,
+			final List<AvuData> avuData) throws JargonException {
+
+		log.info("addBulkAVUMetadataToDataObjects()");
 
-			log.info("treat as success...", value);
-			responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, value, ""));
+		if (absolutePaths == null) {
+			throw new IllegalArgumentException("null absolutePaths");
 		}
 
+		if (avuData == null) {
+			throw new IllegalArgumentException("null avuData");
+		}
+
+		if (absolutePaths.size() != avuData.size()) {
+			throw new IllegalArgumentException("absolutePaths and avuData differ in size");
+		}
+
+		List<ModAvuMetadataInp> requests = new ArrayList<ModAvuMetadataInp>(avuData.size());
+		for (int i = 0; i < avuData.size(); i++) {
+			String path = absolutePaths.get(i);
+			if (path == null || path.isEmpty()) {
+				throw new IllegalArgumentException("null or empty absolute path");
+			}
+			requests.add(ModAvuMetadataInp.instanceForAddDataObjectMetadata(MiscIRODSUtils.normalizeIrodsPath(path),
+					avuData.get(i)));
+		}
+
+		List<BulkAVUOperationResponse> responses = processPipelinedAvuRequests(avuData, requests, false);
 		log.info("...complete");
 		return responses;
 	}
 
+	/**
+	 * Do the single objStat for a bulk AVU operation on a data object, resolving
+	 * soft links to the path the AVUs should be applied to
+	 *
+	 * @param absolutePath
+	 *            {@code String} with the path to the data object
+	 * @return {@code String} with the resolved path
+	 * @throws FileNotFoundException
+	 *             if the data object does not exist
+	 * @throws OperationNotSupportedForCollectionTypeException
+	 *             if the data object is in a mounted collection
+	 * @throws JargonException
+	 *             for an iRODS error
+	 */
+	private String resolveAbsolutePathForAvuOperation(final String absolutePath)
+			throws FileNotFoundException, OperationNotSupportedForCollectionTypeException, JargonException {
+		String myPath = MiscIRODSUtils.normalizeIrodsPath(absolutePath);
+		log.info("absolute path: {}", myPath);
+
+		ObjStat objStat = this.retrieveObjStat(myPath);
+
+		if (objStat.getSpecColType() == SpecColType.MOUNTED_COLL) {
+			log.info("objStat indicates collection type that does not support this operation:{}", objStat);
+			throw new OperationNotSupportedForCollectionTypeException(
+					"The special collection type does not support this operation");
+		}
+
+		return resolveAbsolutePathGivenObjStat(objStat);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -2376,6 +2558,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			log.error("error replicating irods file", je);
 			throw je;
 		}
+		invalidateCachedObjStat(myPath);
 		log.info("replication complete");
 	}
 
@@ -2530,6 +2713,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			log.error("error copying irods file", je);
 			throw je;
 		}
+		invalidateCachedObjStat(myTargetFile.getAbsolutePath());
 		log.info("copy complete");
 
 	}
@@ -2566,6 +2750,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 			log.error("error replicating irods file to resource group", je);
 			throw je;
 		}
+		invalidateCachedObjStat(myPath);
 		log.info("replication complete");
 	}
 
@@ -2818,6 +3003,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 
 		String returnedChecksum = response.getTag(DataObjInp.MY_STR).getStringValue();
 		log.info("checksum is: {}", returnedChecksum);
+		invalidateCachedObjStat(irodsFile.getAbsolutePath());
 		return returnedChecksum;
 	}
 
@@ -2908,6 +3094,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(false, zone, absPath,
 				userName, ModAccessControlInp.READ_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(absPath);
 	}
 
 	/*
@@ -2950,6 +3137,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(false, zone,
 				absPath, userName, ModAccessControlInp.READ_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(absPath);
 	}
 
 	/*
@@ -2987,6 +3175,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(false, zone, absPath,
 				userName, ModAccessControlInp.WRITE_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(absPath);
 	}
 
 	/*
@@ -3063,6 +3252,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(false, zone,
 				absPath, userName, ModAccessControlInp.WRITE_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(absPath);
 	}
 
 	/*
@@ -3101,6 +3291,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(false, zone, absPath,
 				userName, ModAccessControlInp.OWN_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(absPath);
 	}
 
 	/*
@@ -3141,6 +3332,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(false, zone,
 				absPath, userName, ModAccessControlInp.OWN_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(absPath);
 	}
 
 	/*
@@ -3180,6 +3372,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermission(false, zone, absPath,
 				userName, ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(absPath);
 	}
 
 	/*
@@ -3218,6 +3411,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 		ModAccessControlInp modAccessControlInp = ModAccessControlInp.instanceForSetPermissionInAdminMode(false, zone,
 				absPath, userName, ModAccessControlInp.NULL_PERMISSION);
 		getIRODSProtocol().irodsFunction(modAccessControlInp);
+		invalidateCachedObjStat(absPath);
 	}
 
 	/*
@@ -4074,6 +4268,7 @@ public final class DataObjectAOImpl extends FileCatalogObjectAOImpl implements D
 					irodsRuleParameters, RuleProcessingType.EXTERNAL);
 
 			log.info("result of action:{}", result.getRuleExecOut().trim());
+			invalidateCachedObjStat(sb.toString());
 		} catch (ResourceDoesNotExistException e) {
 			log.error("resource does not exist, rethrow as datanotfound for method contract post 4.1", e);
 			if (getIRODSAccessObjectFactory().getIRODSServerProperties(getIRODSAccount()).isAtLeastIrods410()) {
@@ -12,6 +12,8 @@ import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.exception.JargonFileOrCollAlreadyExistsException;
 import org.irods.jargon.core.exception.OverwriteException;
 import org.irods.jargon.core.packinstr.DataObjCopyInp;
+import org.irods.jargon.core.packinstr.TransferOptions;
+import org.irods.jargon.core.packinstr.TransferOptions.ForceOption;
 import org.irods.jargon.core.pub.domain.ObjStat;
 import org.irods.jargon.core.pub.io.IRODSFile;
 import org.irods.jargon.core.pub.io.IRODSFileFactory;
@@ -597,8 +599,69 @@ public final class DataTransferOperationsImpl extends IRODSGenericAO implements
 
 		log.debug("new parent directory created locally:{}", newParentDirectory.getAbsolutePath());
 
-		transferOperationsHelper.recursivelyGet(irodsSourceFile, newParentDirectory, transferStatusCallbackListener,
-				transferControlBlock);
+		if (isConcurrentRecursiveTransfer(transferControlBlock)) {
+			new ConcurrentRecursiveTransferEngine(getIRODSSession(), getIRODSAccount(),
+					getJargonProperties().getRecursiveTransferThreads()).recursivelyGet(irodsSourceFile,
+							newParentDirectory, transferStatusCallbackListener, transferControlBlock);
+		} else {
+			transferOperationsHelper.recursivelyGet(irodsSourceFile, newParentDirectory,
+					transferStatusCallbackListener, transferControlBlock);
+		}
+	}
+
+	/**
+	 * Decide whether the small files of a recursive put should be bundled by the
+	 * {@link SmallFileAggregator}. Bundled files are not visited in order, and
+	 * are not checksummed one at a time, so a restart, or a put that computes
+	 * checksums, is done file by file.
+	 *
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} for the transfer
+	 * @return {@code boolean} of {@code true} if small files should be bundled
+	 */
+	private boolean isSmallFileAggregation(final TransferControlBlock transferControlBlock) {
+		TransferOptions transferOptions = transferControlBlock.getTransferOptions();
+		if (!transferOptions.isSmallFileAggregation()) {
+			return false;
+		}
+
+		String restartAbsolutePath = transferControlBlock.getRestartAbsolutePath();
+		if (restartAbsolutePath != null && !restartAbsolutePath.isEmpty()) {
+			log.info("restarting from a last good path, small files will not be bundled");
+			return false;
+		}
+
+		if (transferOptions.isComputeChecksumAfterTransfer()
+				|| transferOptions.isComputeAndVerifyChecksumAfterTransfer()) {
+			log.info("checksums are computed per file, small files will not be bundled");
+			return false;
+		}
+
+		return true;
+	}
+
+	/**
+	 * Decide whether a recursive put or get should spread its files over worker
+	 * threads. A restart relies on files being visited in order to find the last
+	 * good path, so it is always done on the calling thread.
+	 *
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} for the transfer
+	 * @return {@code boolean} of {@code true} if the transfer should be done by
+	 *         the {@link ConcurrentRecursiveTransferEngine}
+	 */
+	private boolean isConcurrentRecursiveTransfer(final TransferControlBlock transferControlBlock) {
+		if (getJargonProperties().getRecursiveTransferThreads() <= 1) {
+			return false;
+		}
+
+		String restartAbsolutePath = transferControlBlock.getRestartAbsolutePath();
+		if (restartAbsolutePath != null && !restartAbsolutePath.isEmpty()) {
+			log.info("restarting from a last good path, recursive transfer is done on this thread");
+			return false;
+		}
+
+		return true;
 	}
 
 	/*
@@ -1030,6 +1093,18 @@ public final class DataTransferOperationsImpl extends IRODSGenericAO implements
 			return;
 		}
 
+		/*
+		 * A bundle that is extracted without force fails on the first data object
+		 * that exists, so without force only bundle into a new collection
+		 */
+		boolean aggregateSmallFiles = isSmallFileAggregation(transferControlBlock);
+		boolean overwriteBundledFiles = transferControlBlock.getTransferOptions()
+				.getForceOption() == ForceOption.USE_FORCE;
+		if (aggregateSmallFiles && !overwriteBundledFiles && newIrodsParentDirectory.exists()) {
+			log.info("target collection exists and overwrite is not forced, small files will not be bundled");
+			aggregateSmallFiles = false;
+		}
+
 		try {
 			newIrodsParentDirectory.mkdirs();
 		} catch (Exception e) {
@@ -1037,8 +1112,18 @@ public final class DataTransferOperationsImpl extends IRODSGenericAO implements
 			throw new JargonException(e);
 		}
 
-		transferOperationsHelper.recursivelyPut(sourceFile, newIrodsParentDirectory, transferStatusCallbackListener,
-				transferControlBlock);
+		if (aggregateSmallFiles) {
+			new SmallFileAggregator(getIRODSSession(), getIRODSAccount()).recursivelyPut(sourceFile,
+					newIrodsParentDirectory, transferStatusCallbackListener, transferControlBlock,
+					overwriteBundledFiles);
+		} else if (isConcurrentRecursiveTransfer(transferControlBlock)) {
+			new ConcurrentRecursiveTransferEngine(getIRODSSession(), getIRODSAccount(),
+					getJargonProperties().getRecursiveTransferThreads()).recursivelyPut(sourceFile,
+							newIrodsParentDirectory, transferStatusCallbackListener, transferControlBlock);
+		} else {
+			transferOperationsHelper.recursivelyPut(sourceFile, newIrodsParentDirectory,
+					transferStatusCallbackListener, transferControlBlock);
+		}
 
 		/**
 		 * Send an overall status callback. If the state is cancelled, see if it was
@@ -3,14 +3,23 @@
  */
 package org.irods.jargon.core.pub;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
 import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.DataNotFoundException;
+import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.packinstr.DataObjInp;
+import org.irods.jargon.core.packinstr.ModAvuMetadataInp;
 import org.irods.jargon.core.packinstr.Tag;
+import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
+import org.irods.jargon.core.pub.domain.AvuData;
 import org.irods.jargon.core.pub.domain.ObjStat;
 import org.irods.jargon.core.pub.domain.Resource;
 import org.irods.jargon.core.pub.domain.UserFilePermission;
@@ -351,4 +360,121 @@ public abstract class FileCatalogObjectAOImpl extends IRODSGenericAO implements
 
 	}
 
+	/**
+	 * Send a set of AVU modifications as pipelined requests on the connection, so
+	 * the bulk AVU methods pay for one round trip rather than one per AVU, and map
+	 * each reply to a {@link BulkAVUOperationResponse} the same way the single AVU
+	 * methods map their exceptions. Every request is sent and read even if one
+	 * fails, an error that is not a missing target or duplicate AVU is thrown after
+	 * all replies are read.
+	 *
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} in the same order as the requests
+	 * @param requests
+	 *            {@code List} of {@link ModAvuMetadataInp} with the request for
+	 *            each AVU
+	 * @return {@code List} of {@link BulkAVUOperationResponse} in the order of the
+	 *         {@code avuData}
+	 * @throws JargonException
+	 *             for an iRODS error other than a missing target or duplicate AVU
+	 */
+	protected List<BulkAVUOperationResponse> processPipelinedAvuRequests(final List<AvuData> avuData,
+			final List<ModAvuMetadataInp> requests) throws JargonException {
+		return processPipelinedAvuRequests(avuData, requests, true);
+	}
+
+	/**
+	 * Send a set of AVU modifications as pipelined requests on the connection, as
+	 * {@link #processPipelinedAvuRequests(List, List)} does, optionally reporting
+	 * every error in the responses rather than throwing
+	 *
+	 * @param avuData
+	 *            {@code List} of {@link AvuData} in the same order as the requests
+	 * @param requests
+	 *            {@code List} of {@link ModAvuMetadataInp} with the request for
+	 *            each AVU
+	 * @param throwOtherErrors
+	 *            {@code boolean} that is {@code true} to throw an error that is not
+	 *            a missing target or duplicate AVU after all replies are read, or
+	 *            {@code false} to only report it in the response for that AVU
+	 * @return {@code List} of {@link BulkAVUOperationResponse} in the order of the
+	 *         {@code avuData}
+	 * @throws JargonException
+	 *             for an iRODS error other than a missing target or duplicate
+	 *             AVU, if these are thrown, or if the requests cannot be sent
+	 */
+	protected List<BulkAVUOperationResponse> processPipelinedAvuRequests(final List<AvuData> avuData,
+			final List<ModAvuMetadataInp> requests, final boolean throwOtherErrors) throws JargonException {
+
+		IRODSMidLevelProtocol irodsProtocol = getIRODSProtocol();
+		List<Future<Tag>> replies = new ArrayList<Future<Tag>>(requests.size());
+
+		for (ModAvuMetadataInp request : requests) {
+			replies.add(irodsProtocol.irodsFunctionAsync(request));
+		}
+
+		irodsProtocol.drainPipeline();
+
+		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>(avuData.size());
+		JargonException firstError = null;
+
+		for (int i = 0; i < replies.size(); i++) {
+			AvuData value = avuData.get(i);
+			try {
+				replies.get(i).get();
+				log.info("treat as success...{}", value);
+				responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, value, ""));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new JargonException("interrupted waiting for AVU replies", e);
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause() == null ? e : e.getCause();
+				String message = cause.getMessage() == null ? "" : cause.getMessage();
+
+				if (cause instanceof DuplicateDataException || message.indexOf("-809000") > -1) {
+					log.error("DuplicateDataException for AVU, catch and add to response data", cause);
+					responses.add(BulkAVUOperationResponse.instance(ResultStatus.DUPLICATE_AVU, value, message));
+				} else if (cause instanceof FileNotFoundException || cause instanceof DataNotFoundException
+						|| message.indexOf("-814000") > -1 || message.indexOf("-817000") > -1) {
+					log.error("target not found for AVU, catch and add to response data", cause);
+					responses.add(
+							BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value, message));
+				} else {
+					log.error("jargon exception processing AVU metadata", cause);
+					responses.add(BulkAVUOperationResponse.instance(ResultStatus.OTHER_ERROR, value, message));
+					if (firstError == null) {
+						firstError = cause instanceof JargonException ? (JargonException) cause
+								: new JargonException(message, cause);
+					}
+				}
+			}
+		}
+
+		if (firstError != null && throwOtherErrors) {
+			throw firstError;
+		}
+
+		return responses;
+	}
+
+	/**
+	 * Build the response for a bulk AVU operation where the target itself could
+	 * not be found
+	 *
+	 * @param avuData
+	 *            {@code List} of {@link AvuData}
+	 * @param message
+	 *            {@code String} with the error message
+	 * @return {@code List} of {@link BulkAVUOperationResponse} with each AVU
+	 *         marked as missing its target
+	 */
+	protected List<BulkAVUOperationResponse> buildMissingTargetAvuResponses(final List<AvuData> avuData,
+			final String message) {
+		List<BulkAVUOperationResponse> responses = new ArrayList<BulkAVUOperationResponse>(avuData.size());
+		for (AvuData value : avuData) {
+			responses.add(BulkAVUOperationResponse.instance(ResultStatus.MISSING_METADATA_TARGET, value, message));
+		}
+		return responses;
+	}
+
 }
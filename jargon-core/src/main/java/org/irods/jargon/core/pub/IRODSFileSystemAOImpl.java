@@ -821,6 +821,10 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 
 		log.debug("file id for opened file:{}", fileId);
 
+		if (openFlags != OpenFlags.READ) {
+			invalidateCachedObjStat(irodsFile.getAbsolutePath());
+		}
+
 		return fileId;
 	}
 
@@ -883,6 +887,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 		responseFileNbr = response.getTag(MsgHeader.PI_NAME).getTag(MsgHeader.INT_INFO).getIntValue();
 
 		log.debug("response file nbr:{}", responseFileNbr);
+		invalidateCachedObjStat(absolutePath);
 
 		return responseFileNbr;
 
@@ -917,6 +922,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			log.info("directory already exists in mkdir, log and ignore");
 		}
 
+		invalidateCachedObjStat(irodsFile.getAbsolutePath());
 		log.debug("mkdir succesful");
 	}
 
@@ -983,6 +989,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			log.warn(msg);
 		}
 
+		invalidateCachedObjStat(irodsFile.getAbsolutePath());
+
 	}
 
 	/*
@@ -1019,6 +1027,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 					"duplicate data exception logged and ignored, see GForge: [#639] 809000 errors on delete operations when trash file already exists");
 		}
 
+		invalidateCachedObjStat(irodsFile.getAbsolutePath());
+
 	}
 
 	/*
@@ -1051,6 +1061,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 				CollInp.RMDIR_API_NBR);
 
 		processClientStatusMessages(response);
+		invalidateCachedObjStat(irodsFile.getAbsolutePath());
 
 		log.info("deletion successful");
 
@@ -1084,6 +1095,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 				CollInp.RMDIR_API_NBR);
 
 		processClientStatusMessages(response);
+		invalidateCachedObjStat(irodsFile.getAbsolutePath());
 
 		log.info("deletion successful");
 
@@ -1152,6 +1164,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
 		}
 
+		invalidateCachedObjStat(fromFile.getAbsolutePath());
+		invalidateCachedObjStat(toFile.getAbsolutePath());
 		log.debug("rename successful");
 	}
 
@@ -1182,6 +1196,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
 		}
 
+		invalidateCachedObjStat(fromFile.getAbsolutePath());
+		invalidateCachedObjStat(toFile.getAbsolutePath());
 		log.debug("rename successful");
 
 	}
@@ -1209,6 +1225,8 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
 		}
 
+		invalidateCachedObjStat(fromFile.getAbsolutePath());
+		invalidateCachedObjStat(toFile.getAbsolutePath());
 		log.debug("rename successful");
 
 	}
@@ -1319,6 +1337,7 @@ public final class IRODSFileSystemAOImpl extends IRODSGenericAO implements IRODS
 			log.warn("unexpected response from irods, expected null message - logged and ignored ");
 		}
 
+		invalidateCachedObjStat(absolutePathToSourceFile);
 		log.info("physical move successful");
 	}
 
@@ -3,8 +3,12 @@
  */
 package org.irods.jargon.core.pub;
 
+import java.util.stream.Stream;
+
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.IRODSQueryResultIterator;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
 import org.irods.jargon.core.query.IRODSQueryResultSet;
 import org.irods.jargon.core.query.JargonQueryException;
 
@@ -217,4 +221,85 @@ public interface IRODSGenQueryExecutor extends IRODSAccessObject {
 	IRODSQueryResultSet getMoreResults(IRODSQueryResultSet irodsQueryResultSet)
 			throws JargonException, JargonQueryException;
 
+	/**
+	 * Execute an iquest-like query and return an iterator over all of its rows.
+	 * The continuation pages are fetched as the rows are consumed, with the next
+	 * page fetched in the background while the current one is read, see
+	 * {@link IRODSQueryResultIterator}.
+	 * <p>
+	 * The query is closed when the last row has been read. It is up to the caller
+	 * to call {@code close()} on the iterator if iteration stops early, ideally in
+	 * a try-with-resources block.
+	 *
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} that will wrap the given iquest-like
+	 *            query
+	 * @return {@link IRODSQueryResultIterator} over the results of the query
+	 * @throws JargonException
+	 *             for iRODS error
+	 * @throws JargonQueryException
+	 *             for query error
+	 */
+	IRODSQueryResultIterator executeIRODSQueryAsIterator(AbstractIRODSGenQuery irodsQuery)
+			throws JargonException, JargonQueryException;
+
+	/**
+	 * Execute an iquest-like query in the given zone and return an iterator over
+	 * all of its rows, as {@link #executeIRODSQueryAsIterator(AbstractIRODSGenQuery)}
+	 *
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} that will wrap the given iquest-like
+	 *            query
+	 * @param zoneName
+	 *            {@code String} ({@code null} or blank if not used) that indicates
+	 *            an optional zone for the query
+	 * @return {@link IRODSQueryResultIterator} over the results of the query
+	 * @throws JargonException
+	 *             for iRODS error
+	 * @throws JargonQueryException
+	 *             for query error
+	 */
+	IRODSQueryResultIterator executeIRODSQueryAsIteratorInZone(AbstractIRODSGenQuery irodsQuery, String zoneName)
+			throws JargonException, JargonQueryException;
+
+	/**
+	 * Execute an iquest-like query and return a {@code Stream} of all of its rows,
+	 * paged as {@link #executeIRODSQueryAsIterator(AbstractIRODSGenQuery)}. The
+	 * stream should be closed, ideally in a try-with-resources block, so that the
+	 * query is closed if the stream is not consumed to the end. Errors while
+	 * paging are thrown as a {@code JargonRuntimeException}.
+	 *
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} that will wrap the given iquest-like
+	 *            query
+	 * @return {@code Stream} of {@link IRODSQueryResultRow} with the results of
+	 *         the query
+	 * @throws JargonException
+	 *             for iRODS error
+	 * @throws JargonQueryException
+	 *             for query error
+	 */
+	Stream<IRODSQueryResultRow> executeIRODSQueryAsStream(AbstractIRODSGenQuery irodsQuery)
+			throws JargonException, JargonQueryException;
+
+	/**
+	 * Execute an iquest-like query in the given zone and return a {@code Stream} of
+	 * all of its rows, as {@link #executeIRODSQueryAsStream(AbstractIRODSGenQuery)}
+	 *
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} that will wrap the given iquest-like
+	 *            query
+	 * @param zoneName
+	 *            {@code String} ({@code null} or blank if not used) that indicates
+	 *            an optional zone for the query
+	 * @return {@code Stream} of {@link IRODSQueryResultRow} with the results of
+	 *         the query
+	 * @throws JargonException
+	 *             for iRODS error
+	 * @throws JargonQueryException
+	 *             for query error
+	 */
+	Stream<IRODSQueryResultRow> executeIRODSQueryAsStreamInZone(AbstractIRODSGenQuery irodsQuery, String zoneName)
+			throws JargonException, JargonQueryException;
+
 }
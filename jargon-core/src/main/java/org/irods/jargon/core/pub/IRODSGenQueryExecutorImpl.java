@@ -1,10 +1,14 @@
 package org.irods.jargon.core.pub;
 
+import java.util.stream.Stream;
+
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.query.AbstractIRODSGenQuery;
 import org.irods.jargon.core.query.GenQueryProcessor;
+import org.irods.jargon.core.query.IRODSQueryResultIterator;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
 import org.irods.jargon.core.query.IRODSQueryResultSet;
 import org.irods.jargon.core.query.JargonQueryException;
 import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
@@ -251,4 +255,71 @@ public final class IRODSGenQueryExecutorImpl extends IRODSGenericAO implements I
 		genQueryProcessor.closeResults(irodsQueryResultSet);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.IRODSGenQueryExecutor#
+	 * executeIRODSQueryAsIterator(org.irods.jargon.core.query.
+	 * AbstractIRODSGenQuery)
+	 */
+	@Override
+	public IRODSQueryResultIterator executeIRODSQueryAsIterator(final AbstractIRODSGenQuery irodsQuery)
+			throws JargonException, JargonQueryException {
+		log.info("executeIRODSQueryAsIterator()");
+		return executeIRODSQueryAsIteratorInZone(irodsQuery, null);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.IRODSGenQueryExecutor#
+	 * executeIRODSQueryAsIteratorInZone(org.irods.jargon.core.query.
+	 * AbstractIRODSGenQuery, java.lang.String)
+	 */
+	@Override
+	public IRODSQueryResultIterator executeIRODSQueryAsIteratorInZone(final AbstractIRODSGenQuery irodsQuery,
+			final String zoneName) throws JargonException, JargonQueryException {
+
+		log.info("executeIRODSQueryAsIteratorInZone()");
+
+		if (irodsQuery == null) {
+			throw new IllegalArgumentException("null irodsQuery");
+		}
+
+		log.info("query: {}", irodsQuery);
+		GenQueryProcessor genQueryProcessor = new GenQueryProcessor(getIRODSProtocol());
+		TranslatedIRODSGenQuery translatedIRODSQuery = genQueryProcessor.translateProvidedQuery(irodsQuery);
+
+		return IRODSQueryResultIterator.instance(genQueryProcessor, translatedIRODSQuery, zoneName,
+				getIRODSSession().getTaskThreadFactory());
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.IRODSGenQueryExecutor#executeIRODSQueryAsStream(
+	 * org.irods.jargon.core.query.AbstractIRODSGenQuery)
+	 */
+	@Override
+	public Stream<IRODSQueryResultRow> executeIRODSQueryAsStream(final AbstractIRODSGenQuery irodsQuery)
+			throws JargonException, JargonQueryException {
+		log.info("executeIRODSQueryAsStream()");
+		return executeIRODSQueryAsIteratorInZone(irodsQuery, null).stream();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.IRODSGenQueryExecutor#
+	 * executeIRODSQueryAsStreamInZone(org.irods.jargon.core.query.
+	 * AbstractIRODSGenQuery, java.lang.String)
+	 */
+	@Override
+	public Stream<IRODSQueryResultRow> executeIRODSQueryAsStreamInZone(final AbstractIRODSGenQuery irodsQuery,
+			final String zoneName) throws JargonException, JargonQueryException {
+		log.info("executeIRODSQueryAsStreamInZone()");
+		return executeIRODSQueryAsIteratorInZone(irodsQuery, zoneName).stream();
+	}
+
 }
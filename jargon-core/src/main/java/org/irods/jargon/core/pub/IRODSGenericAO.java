@@ -239,4 +239,17 @@ public abstract class IRODSGenericAO implements IRODSAccessObject {
 		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
 	}
 
+	/**
+	 * Drop any cached {@code ObjStat} for a path that this access object has
+	 * changed, along with the paths under it and its parent
+	 *
+	 * @param irodsAbsolutePath {@code String} with the changed path
+	 */
+	protected void invalidateCachedObjStat(final String irodsAbsolutePath) {
+		ObjStatCache objStatCache = irodsSession.getObjStatCache();
+		if (objStatCache != null) {
+			objStatCache.invalidate(irodsAbsolutePath);
+		}
+	}
+
 }
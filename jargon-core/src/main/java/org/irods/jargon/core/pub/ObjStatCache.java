@@ -0,0 +1,252 @@
+package org.irods.jargon.core.pub;
+
+import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.io.FilenameUtils;
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of {@link ObjStat} results with a short time to live, so that
+ * checks such as {@code IRODSFile.exists()}, {@code isFile()} and
+ * {@code length()} on the same path do not each ask iRODS.
+ * <p>
+ * Entries are kept per account, as what a user can see depends on their
+ * permissions, and are used by
+ * {@link CollectionAndDataObjectListAndSearchAO#retrieveObjectStatForPath(String)}
+ * and everything built on it. Only stats returned by iRODS are cached, a path
+ * that is not found is asked about again.
+ * <p>
+ * The access objects drop the entries for a path, the paths under it, and its
+ * parent, for every account, when they change it. Changes made by other
+ * clients are seen when the entry expires. The least recently used entry is
+ * dropped when the cache is full.
+ * <p>
+ * This class is thread-safe, and is shared by the connections of an
+ * {@code IRODSSession}. Callers get a copy of the cached {@code ObjStat}.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ObjStatCache {
+
+	private static final Logger log = LoggerFactory.getLogger(ObjStatCache.class);
+
+	private final int maxEntries;
+	private final long timeToLiveNanos;
+	private final Map<String, CachedObjStat> objStats;
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxEntries
+	 *            {@code int} with the most entries kept
+	 * @param timeToLiveMillis
+	 *            {@code long} with the milliseconds an entry is used for
+	 */
+	public ObjStatCache(final int maxEntries, final long timeToLiveMillis) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("maxEntries must be at least 1");
+		}
+
+		if (timeToLiveMillis < 1) {
+			throw new IllegalArgumentException("timeToLiveMillis must be at least 1");
+		}
+
+		this.maxEntries = maxEntries;
+		timeToLiveNanos = timeToLiveMillis * 1000000L;
+		objStats = new LinkedHashMap<String, CachedObjStat>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, CachedObjStat> eldest) {
+				return size() > ObjStatCache.this.maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Get the cached stat for a path
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} asking for the stat
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the normalized absolute path
+	 * @return {@link ObjStat} copy of the cached stat, or {@code null} if there is
+	 *         none or it has expired
+	 */
+	public synchronized ObjStat get(final IRODSAccount irodsAccount, final String irodsAbsolutePath) {
+		String key = buildKey(irodsAccount, irodsAbsolutePath);
+		CachedObjStat cached = objStats.get(key);
+		if (cached != null && System.nanoTime() - cached.cachedAtNanos >= timeToLiveNanos) {
+			objStats.remove(key);
+			cached = null;
+		}
+
+		if (cached == null) {
+			misses++;
+			return null;
+		}
+
+		hits++;
+		return copy(cached.objStat);
+	}
+
+	/**
+	 * Cache the stat returned by iRODS, under its absolute path
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that asked for the stat
+	 * @param objStat
+	 *            {@link ObjStat} to cache, a copy is kept
+	 */
+	public synchronized void put(final IRODSAccount irodsAccount, final ObjStat objStat) {
+		if (objStat == null) {
+			throw new IllegalArgumentException("null objStat");
+		}
+
+		String path = objStat.getAbsolutePath();
+		objStats.put(buildKey(irodsAccount, path), new CachedObjStat(path, copy(objStat), System.nanoTime()));
+	}
+
+	/**
+	 * Drop the entries for a path that has changed, for the paths under it, and
+	 * for its parent, whose modify time may have changed, for every account
+	 *
+	 * @param irodsAbsolutePath
+	 *            {@code String} with the absolute path that changed
+	 */
+	public synchronized void invalidate(final String irodsAbsolutePath) {
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsAbsolutePath");
+		}
+
+		if (objStats.isEmpty()) {
+			return;
+		}
+
+		String path = FilenameUtils.normalizeNoEndSeparator(irodsAbsolutePath, true);
+		if (path == null || path.isEmpty()) {
+			path = irodsAbsolutePath;
+		}
+
+		int lastSlash = path.lastIndexOf('/');
+		String parent = lastSlash > 0 ? path.substring(0, lastSlash) : "/";
+		String under = path.endsWith("/") ? path : path + "/";
+		int removed = 0;
+		Iterator<CachedObjStat> iterator = objStats.values().iterator();
+		while (iterator.hasNext()) {
+			String cachedPath = iterator.next().path;
+			if (cachedPath.equals(path) || cachedPath.equals(parent) || cachedPath.startsWith(under)) {
+				iterator.remove();
+				removed++;
+			}
+		}
+
+		if (removed > 0) {
+			log.debug("dropped {} cached ObjStats for changed path:{}", removed, path);
+		}
+	}
+
+	/**
+	 * Drop all of the entries
+	 */
+	public synchronized void clear() {
+		objStats.clear();
+	}
+
+	/**
+	 * @return {@code int} with the number of entries, including any that have
+	 *         expired but have not been asked for since
+	 */
+	public synchronized int size() {
+		return objStats.size();
+	}
+
+	/**
+	 * @return {@code long} with the number of lookups that used a cached stat
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return {@code long} with the number of lookups that found no cached stat
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	private static String buildKey(final IRODSAccount irodsAccount, final String irodsAbsolutePath) {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (irodsAbsolutePath == null || irodsAbsolutePath.isEmpty()) {
+			throw new IllegalArgumentException("null or empty irodsAbsolutePath");
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(irodsAccount.getHost());
+		sb.append(':');
+		sb.append(irodsAccount.getPort());
+		sb.append('/');
+		sb.append(irodsAccount.getProxyZone());
+		sb.append('/');
+		sb.append(irodsAccount.getProxyName());
+		sb.append('/');
+		sb.append(irodsAccount.getUserName());
+		sb.append('#');
+		sb.append(irodsAccount.getZone());
+		sb.append('|');
+		sb.append(irodsAbsolutePath);
+		return sb.toString();
+	}
+
+	private static ObjStat copy(final ObjStat objStat) {
+		ObjStat copy = new ObjStat();
+		copy.setAbsolutePath(objStat.getAbsolutePath());
+		copy.setObjectPath(objStat.getObjectPath());
+		copy.setObjectType(objStat.getObjectType());
+		copy.setDataId(objStat.getDataId());
+		copy.setChecksum(objStat.getChecksum());
+		copy.setOwnerName(objStat.getOwnerName());
+		copy.setOwnerZone(objStat.getOwnerZone());
+		copy.setObjSize(objStat.getObjSize());
+		copy.setCreatedAt(objStat.getCreatedAt() == null ? null : new Date(objStat.getCreatedAt().getTime()));
+		copy.setModifiedAt(objStat.getModifiedAt() == null ? null : new Date(objStat.getModifiedAt().getTime()));
+		copy.setSpecColType(objStat.getSpecColType());
+		copy.setCollectionPath(objStat.getCollectionPath());
+		copy.setCacheDir(objStat.getCacheDir());
+		copy.setCacheDirty(objStat.isCacheDirty());
+		copy.setReplNumber(objStat.getReplNumber());
+		copy.setStandInGeneratedObjStat(objStat.isStandInGeneratedObjStat());
+		return copy;
+	}
+
+	/**
+	 * A stat and when it was cached
+	 */
+	private static final class CachedObjStat {
+
+		private final String path;
+		private final ObjStat objStat;
+		private final long cachedAtNanos;
+
+		private CachedObjStat(final String path, final ObjStat objStat, final long cachedAtNanos) {
+			this.path = path;
+			this.objStat = objStat;
+			this.cachedAtNanos = cachedAtNanos;
+		}
+
+	}
+
+}
@@ -0,0 +1,360 @@
+package org.irods.jargon.core.pub;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.query.GenQueryBuilderException;
+import org.irods.jargon.core.query.GenQueryPartition;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultIterator;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.JargonQueryException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Runs a large GenQuery as a set of disjoint {@link GenQueryPartition}s at the
+ * same time, each on its own connection, and returns the rows of all of the
+ * partitions as one {@code Stream}.
+ * <p>
+ * A GenQuery continuation chain is read one page at a time on one connection,
+ * so a walk of the whole catalog is bound by the round trips of that chain.
+ * Here a number of worker threads each take the next partition that has not
+ * been started, and page through it with
+ * {@link IRODSGenQueryExecutor#executeIRODSQueryAsIterator(org.irods.jargon.core.query.AbstractIRODSGenQuery)}.
+ * The {@code IRODSSession} gives each worker thread its own connection, which
+ * is closed when the worker is done.
+ * <p>
+ * Without ordering, rows are returned as they arrive from any partition. With
+ * ordering, the rows of each partition are returned in turn, in the order the
+ * partitions were given, while the later partitions are read ahead into a
+ * bounded buffer. When the partitions are ranges of the key the query is
+ * ordered by, such as those from
+ * {@link GenQueryPartition#splitDataIdRange(long, long, int)}, this returns
+ * every row in that order.
+ * <p>
+ * The stream must be closed, ideally in a try-with-resources block. Closing it
+ * early stops the workers and closes their queries in iRODS. Errors in a
+ * partition are thrown from the stream as a {@link JargonRuntimeException}.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class PartitionedGenQueryScanner {
+
+	private static final Logger log = LoggerFactory.getLogger(PartitionedGenQueryScanner.class);
+
+	/**
+	 * Time a worker waits for room in a full buffer before checking if the scan
+	 * has been closed
+	 */
+	private static final long OFFER_WAIT_MILLIS = 100L;
+
+	/**
+	 * Marks the end of the rows of a partition in a buffer
+	 */
+	private static final Object END_OF_PARTITION = new Object();
+
+	private final IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private final IRODSAccount irodsAccount;
+
+	/**
+	 * Constructor
+	 *
+	 * @param irodsAccessObjectFactory
+	 *            {@link IRODSAccessObjectFactory}
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connections that will run the
+	 *            partitions
+	 */
+	public PartitionedGenQueryScanner(final IRODSAccessObjectFactory irodsAccessObjectFactory,
+			final IRODSAccount irodsAccount) {
+		if (irodsAccessObjectFactory == null) {
+			throw new IllegalArgumentException("null irodsAccessObjectFactory");
+		}
+
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		this.irodsAccessObjectFactory = irodsAccessObjectFactory;
+		this.irodsAccount = irodsAccount;
+	}
+
+	/**
+	 * Scan the rows of a query, split into partitions that are run at the same
+	 * time
+	 *
+	 * @param irodsGenQueryBuilder
+	 *            {@link IRODSGenQueryBuilder} with the query, each partition adds
+	 *            its conditions to it
+	 * @param partitions
+	 *            {@code List} of {@link GenQueryPartition}, which should be
+	 *            disjoint
+	 * @param pageSize
+	 *            {@code int} with the number of rows in each page of a partition
+	 * @param maxConcurrentPartitions
+	 *            {@code int} with the most partitions to run at once, which is the
+	 *            number of connections used
+	 * @param ordered
+	 *            {@code boolean} of {@code true} to return the partitions in turn,
+	 *            in the order given, or {@code false} to return rows as they
+	 *            arrive
+	 * @return {@code Stream} of {@link IRODSQueryResultRow} that must be closed
+	 * @throws GenQueryBuilderException
+	 *             if the query cannot be built
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	public Stream<IRODSQueryResultRow> scan(final IRODSGenQueryBuilder irodsGenQueryBuilder,
+			final List<GenQueryPartition> partitions, final int pageSize, final int maxConcurrentPartitions,
+			final boolean ordered) throws GenQueryBuilderException, JargonException {
+
+		if (irodsGenQueryBuilder == null) {
+			throw new IllegalArgumentException("null irodsGenQueryBuilder");
+		}
+
+		if (partitions == null || partitions.isEmpty()) {
+			throw new IllegalArgumentException("null or empty partitions");
+		}
+
+		if (maxConcurrentPartitions < 1) {
+			throw new IllegalArgumentException("maxConcurrentPartitions must be at least 1");
+		}
+
+		log.info("scan()");
+		IRODSGenQueryFromBuilder query = irodsGenQueryBuilder.exportIRODSQueryFromBuilder(pageSize);
+		List<IRODSGenQueryFromBuilder> partitionQueries = new ArrayList<IRODSGenQueryFromBuilder>(partitions.size());
+		for (GenQueryPartition partition : partitions) {
+			partitionQueries.add(partition.applyTo(query));
+		}
+
+		log.info("scanning {} partitions on up to {} connections", partitions.size(), maxConcurrentPartitions);
+		final Scan scan = new Scan(partitionQueries, pageSize, ordered);
+		scan.start(Math.min(maxConcurrentPartitions, partitions.size()),
+				irodsAccessObjectFactory.getIrodsSession().getTaskThreadFactory());
+
+		Stream<IRODSQueryResultRow> stream = StreamSupport
+				.stream(Spliterators.spliteratorUnknownSize(scan, Spliterator.NONNULL), false);
+		return stream.onClose(new Runnable() {
+			@Override
+			public void run() {
+				scan.close();
+			}
+		});
+	}
+
+	/**
+	 * A failure in a partition, passed to the consumer through the buffer
+	 */
+	private static final class PartitionFailure {
+
+		private final Exception exception;
+
+		private PartitionFailure(final Exception exception) {
+			this.exception = exception;
+		}
+
+	}
+
+	/**
+	 * One scan, the workers and the buffers that carry rows to the consumer
+	 */
+	private final class Scan implements Iterator<IRODSQueryResultRow> {
+
+		private final List<IRODSGenQueryFromBuilder> partitionQueries;
+		private final ConcurrentLinkedQueue<Integer> pendingPartitions = new ConcurrentLinkedQueue<Integer>();
+		private final List<BlockingQueue<Object>> buffers;
+		private final boolean ordered;
+		private final List<Thread> workers = new ArrayList<Thread>();
+		private volatile boolean closed = false;
+		private int currentBuffer = 0;
+		private int partitionsEnded = 0;
+		private IRODSQueryResultRow nextRow = null;
+
+		private Scan(final List<IRODSGenQueryFromBuilder> partitionQueries, final int pageSize,
+				final boolean ordered) {
+			this.partitionQueries = partitionQueries;
+			this.ordered = ordered;
+
+			int bufferCount = ordered ? partitionQueries.size() : 1;
+			buffers = new ArrayList<BlockingQueue<Object>>(bufferCount);
+			for (int i = 0; i < bufferCount; i++) {
+				buffers.add(new ArrayBlockingQueue<Object>(Math.max(1, pageSize)));
+			}
+
+			for (int i = 0; i < partitionQueries.size(); i++) {
+				pendingPartitions.add(i);
+			}
+		}
+
+		private void start(final int workerCount, final ThreadFactory threadFactory) {
+			for (int i = 0; i < workerCount; i++) {
+				Thread worker = threadFactory.newThread(new Runnable() {
+					@Override
+					public void run() {
+						runWorker();
+					}
+				});
+				worker.setName("jargon-partitioned-scan-" + i);
+				workers.add(worker);
+				worker.start();
+			}
+		}
+
+		/**
+		 * Take partitions in order until there are none left, on the connection
+		 * of this thread
+		 */
+		private void runWorker() {
+			try {
+				Integer partition;
+				while (!closed && (partition = pendingPartitions.poll()) != null) {
+					scanPartition(partition);
+				}
+			} finally {
+				irodsAccessObjectFactory.closeSessionAndEatExceptions(irodsAccount);
+			}
+		}
+
+		private void scanPartition(final int partition) {
+			BlockingQueue<Object> buffer = buffers.get(ordered ? partition : 0);
+			log.debug("scanning partition {}", partition);
+			try {
+				IRODSGenQueryExecutor irodsGenQueryExecutor = irodsAccessObjectFactory
+						.getIRODSGenQueryExecutor(irodsAccount);
+				IRODSQueryResultIterator iterator = irodsGenQueryExecutor
+						.executeIRODSQueryAsIterator(partitionQueries.get(partition));
+				try {
+					while (iterator.hasNext()) {
+						if (!put(buffer, iterator.next())) {
+							return;
+						}
+					}
+				} finally {
+					iterator.close();
+				}
+				put(buffer, END_OF_PARTITION);
+			} catch (JargonException | JargonQueryException e) {
+				log.error("error scanning partition {}", partition, e);
+				put(buffer, new PartitionFailure(e));
+			} catch (RuntimeException e) {
+				log.error("error scanning partition {}", partition, e);
+				// paging errors come from the iterator wrapped in a runtime exception
+				if (e instanceof JargonRuntimeException && e.getCause() instanceof JargonException) {
+					put(buffer, new PartitionFailure((JargonException) e.getCause()));
+				} else {
+					put(buffer, new PartitionFailure(e));
+				}
+			}
+		}
+
+		/**
+		 * Add to a buffer, waiting while it is full
+		 *
+		 * @return {@code boolean} of {@code false} if the scan was closed
+		 */
+		private boolean put(final BlockingQueue<Object> buffer, final Object item) {
+			try {
+				while (!closed) {
+					if (buffer.offer(item, OFFER_WAIT_MILLIS, TimeUnit.MILLISECONDS)) {
+						return true;
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return false;
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (nextRow != null) {
+				return true;
+			}
+
+			while (!closed) {
+				Object item;
+				try {
+					item = buffers.get(currentBuffer).take();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					close();
+					throw new JargonRuntimeException("interrupted waiting for query results", e);
+				}
+
+				if (item == END_OF_PARTITION) {
+					partitionsEnded++;
+					if (partitionsEnded == partitionQueries.size()) {
+						log.info("all partitions scanned");
+						close();
+						return false;
+					}
+					if (ordered) {
+						currentBuffer++;
+					}
+				} else if (item instanceof PartitionFailure) {
+					close();
+					throw new JargonRuntimeException("error scanning partition",
+							((PartitionFailure) item).exception);
+				} else {
+					nextRow = (IRODSQueryResultRow) item;
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		@Override
+		public IRODSQueryResultRow next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException("no more query results");
+			}
+			IRODSQueryResultRow row = nextRow;
+			nextRow = null;
+			return row;
+		}
+
+		/**
+		 * Stop the workers and wait for them to close their queries
+		 */
+		private void close() {
+			if (closed) {
+				return;
+			}
+
+			closed = true;
+			for (BlockingQueue<Object> buffer : buffers) {
+				buffer.clear();
+			}
+
+			for (Thread worker : workers) {
+				try {
+					worker.join();
+				} catch (InterruptedException e) {
+					log.warn("interrupted waiting for partition scan to stop");
+					Thread.currentThread().interrupt();
+					return;
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,476 @@
+package org.irods.jargon.core.pub;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.TransferOptions;
+import org.irods.jargon.core.pub.io.IRODSFile;
+import org.irods.jargon.core.pub.io.IRODSFileFactory;
+import org.irods.jargon.core.pub.io.PackingIrodsOutputStream;
+import org.irods.jargon.core.transfer.TarBundleWriter;
+import org.irods.jargon.core.transfer.TransferControlBlock;
+import org.irods.jargon.core.transfer.TransferStatus;
+import org.irods.jargon.core.transfer.TransferStatus.TransferState;
+import org.irods.jargon.core.transfer.TransferStatus.TransferType;
+import org.irods.jargon.core.transfer.TransferStatusCallbackListener;
+import org.irods.jargon.core.transfer.TransferStatusCallbackListener.FileStatusCallbackResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Recursive put of a directory tree that gathers the small files into tar
+ * bundles. Each bundle is streamed to iRODS as it is built, as one data object
+ * in the target collection, extracted there by the server with the bulk
+ * operation that {@link BulkFileOperationsAO} exposes, and then deleted. For a
+ * tree of many small files this replaces the open, write, close and catalog
+ * round trips of each file with a handful per bundle. This is used internally
+ * by {@link DataTransferOperationsImpl} when
+ * {@link TransferOptions#isSmallFileAggregation()} is set.
+ * <p>
+ * Files up to {@link TransferOptions#getSmallFileAggregationMaxFileSize()} are
+ * bundled, a new bundle is started when the next file would take the bundle
+ * past {@link TransferOptions#getSmallFileAggregationMaxBundleSize()} bytes or
+ * {@link TransferOptions#getSmallFileAggregationMaxBundleFiles()} files.
+ * Larger files are put one at a time after the bundles. If the tree has fewer
+ * than {@link TransferOptions#getSmallFileAggregationMinFiles()} small files
+ * the normal recursive put is used.
+ * <p>
+ * Status callbacks keep their per file granularity. The start of file callback
+ * is sent as each file is added to a bundle, so a listener may still skip it,
+ * and the completion callback for each file is sent from the bundle manifest
+ * once the bundle has been extracted. If a bundle cannot be put or extracted,
+ * its files are put one at a time, with the usual completion or error
+ * callbacks.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+final class SmallFileAggregator {
+
+	static final String BUNDLE_NAME_PREFIX = ".jargon-bundle-";
+	static final String BUNDLE_NAME_SUFFIX = ".tar";
+
+	private static final Logger log = LoggerFactory.getLogger(SmallFileAggregator.class);
+
+	private final IRODSAccount irodsAccount;
+	private final TransferOperationsHelper transferOperationsHelper;
+	private final BulkFileOperationsAOImpl bulkFileOperationsAO;
+	private final IRODSFileFactory irodsFileFactory;
+
+	/**
+	 * A local file that will go in a bundle, with its path relative to the top of
+	 * the put
+	 */
+	private static final class BundleEntry {
+		private final File file;
+		private final String entryName;
+		private final long length;
+
+		private BundleEntry(final File file, final String entryName) {
+			this.file = file;
+			this.entryName = entryName;
+			length = file.length();
+		}
+	}
+
+	/**
+	 * A local directory in the tree, with the files that are too large to bundle
+	 */
+	private static final class ScannedDirectory {
+		private final File directory;
+		private final String relativePath;
+		private final List<File> individualFiles = new ArrayList<File>();
+
+		private ScannedDirectory(final File directory, final String relativePath) {
+			this.directory = directory;
+			this.relativePath = relativePath;
+		}
+	}
+
+	/**
+	 * Create an aggregator that will put using the connection of the calling
+	 * thread
+	 *
+	 * @param irodsSession
+	 *            {@link IRODSSession}
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} for the connection
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	SmallFileAggregator(final IRODSSession irodsSession, final IRODSAccount irodsAccount) throws JargonException {
+		if (irodsSession == null) {
+			throw new IllegalArgumentException("null irodsSession");
+		}
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+		this.irodsAccount = irodsAccount;
+		transferOperationsHelper = TransferOperationsHelper.instance(irodsSession, irodsAccount);
+		bulkFileOperationsAO = new BulkFileOperationsAOImpl(irodsSession, irodsAccount);
+		irodsFileFactory = transferOperationsHelper.getCollectionAO().getIRODSFileFactory();
+	}
+
+	/**
+	 * Recursively put the contents of a local directory into an existing iRODS
+	 * collection, bundling the small files.
+	 *
+	 * @param sourceDirectory
+	 *            {@link File} that is the local directory whose contents are put
+	 * @param targetIrodsCollection
+	 *            {@link IRODSFile} that is the collection that will hold the
+	 *            contents, this must exist
+	 * @param transferStatusCallbackListener
+	 *            {@link TransferStatusCallbackListener}, may be {@code null}, in
+	 *            which case errors are thrown
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} with the transfer options
+	 * @param overwrite
+	 *            {@code boolean} that is {@code true} if the bundles may overwrite
+	 *            existing data objects. When this is {@code false}, the caller
+	 *            should only aggregate into a collection that did not exist before
+	 *            the put, as the extraction of a bundle fails on the first file
+	 *            that exists
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	void recursivelyPut(final File sourceDirectory, final IRODSFile targetIrodsCollection,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock, final boolean overwrite) throws JargonException {
+
+		if (sourceDirectory == null) {
+			throw new IllegalArgumentException("null sourceDirectory");
+		}
+
+		if (targetIrodsCollection == null) {
+			throw new IllegalArgumentException("null targetIrodsCollection");
+		}
+
+		if (transferControlBlock == null) {
+			throw new IllegalArgumentException("null transferControlBlock");
+		}
+
+		if (!sourceDirectory.isDirectory()) {
+			throw new JargonException("source file is not a directory, cannot recursively put");
+		}
+
+		TransferOptions transferOptions = transferControlBlock.getTransferOptions();
+		log.info("recursively putting with small file aggregation, source:{}", sourceDirectory.getAbsolutePath());
+		log.info("    into iRODS collection: {}", targetIrodsCollection.getAbsolutePath());
+
+		List<ScannedDirectory> directories = new ArrayList<ScannedDirectory>();
+		List<BundleEntry> bundleEntries = new ArrayList<BundleEntry>();
+		scan(sourceDirectory, "", transferOptions.getSmallFileAggregationMaxFileSize(), directories, bundleEntries);
+
+		if (bundleEntries.size() < transferOptions.getSmallFileAggregationMinFiles()) {
+			log.info("only {} small files, not worth bundling, use a normal recursive put", bundleEntries.size());
+			transferOperationsHelper.recursivelyPut(sourceDirectory, targetIrodsCollection,
+					transferStatusCallbackListener, transferControlBlock);
+			return;
+		}
+
+		log.info("{} small files will be bundled", bundleEntries.size());
+
+		try {
+			Set<String> existingCollections = new HashSet<String>();
+			existingCollections.add("");
+			if (!putBundles(bundleEntries, targetIrodsCollection, transferStatusCallbackListener, transferControlBlock,
+					overwrite, existingCollections)) {
+				return;
+			}
+			putIndividualFiles(directories, targetIrodsCollection, transferStatusCallbackListener,
+					transferControlBlock, existingCollections);
+		} catch (JargonException je) {
+			if (!transferControlBlock.isCancelled()) {
+				throw je;
+			}
+		} catch (Exception e) {
+			if (!transferControlBlock.isCancelled()) {
+				log.info("unanticipated exception will be transformed into a Jargon exception", e);
+				throw new JargonException(e);
+			}
+		}
+	}
+
+	/**
+	 * Walk the local tree, sorting the files into those that will be bundled and
+	 * those that will be put individually
+	 */
+	private void scan(final File directory, final String relativePath, final long maxFileSize,
+			final List<ScannedDirectory> directories, final List<BundleEntry> bundleEntries) {
+		ScannedDirectory scannedDirectory = new ScannedDirectory(directory, relativePath);
+		directories.add(scannedDirectory);
+
+		File[] files = directory.listFiles();
+		if (files == null) {
+			return;
+		}
+
+		for (File file : files) {
+			String childPath = relativePath.isEmpty() ? file.getName() : relativePath + "/" + file.getName();
+			if (file.isDirectory()) {
+				scan(file, childPath, maxFileSize, directories, bundleEntries);
+			} else if (file.isFile() && file.length() <= maxFileSize) {
+				bundleEntries.add(new BundleEntry(file, childPath));
+			} else {
+				scannedDirectory.individualFiles.add(file);
+			}
+		}
+	}
+
+	/**
+	 * Send the start callbacks and put the bundles
+	 *
+	 * @return {@code boolean} that is {@code false} if the transfer was
+	 *         cancelled or paused
+	 */
+	private boolean putBundles(final List<BundleEntry> bundleEntries, final IRODSFile targetIrodsCollection,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock, final boolean overwrite,
+			final Set<String> existingCollections) throws JargonException {
+
+		TransferOptions transferOptions = transferControlBlock.getTransferOptions();
+		List<BundleEntry> bundle = new ArrayList<BundleEntry>();
+		long bundleBytes = 0L;
+
+		for (BundleEntry bundleEntry : bundleEntries) {
+			if (isCancelledOrPaused(targetIrodsCollection, transferStatusCallbackListener, transferControlBlock,
+					bundleEntry.file)) {
+				return false;
+			}
+
+			if (!bundle.isEmpty() && (bundle.size() >= transferOptions.getSmallFileAggregationMaxBundleFiles()
+					|| bundleBytes + bundleEntry.length > transferOptions.getSmallFileAggregationMaxBundleSize())) {
+				putBundle(bundle, targetIrodsCollection, transferStatusCallbackListener, transferControlBlock,
+						overwrite, existingCollections);
+				bundle.clear();
+				bundleBytes = 0L;
+			}
+
+			if (notifyStartOfFile(bundleEntry, targetIrodsCollection, transferStatusCallbackListener,
+					transferControlBlock)) {
+				bundle.add(bundleEntry);
+				bundleBytes += bundleEntry.length;
+			}
+		}
+
+		if (!bundle.isEmpty()) {
+			putBundle(bundle, targetIrodsCollection, transferStatusCallbackListener, transferControlBlock, overwrite,
+					existingCollections);
+		}
+
+		return true;
+	}
+
+	/**
+	 * Stream one bundle to iRODS, extract it, and send the completion callbacks
+	 * from its manifest. If that fails, the files are put one at a time.
+	 */
+	private void putBundle(final List<BundleEntry> bundle, final IRODSFile targetIrodsCollection,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock, final boolean overwrite,
+			final Set<String> existingCollections) throws JargonException {
+
+		IRODSFile bundleFile = irodsFileFactory.instanceIRODSFile(targetIrodsCollection.getAbsolutePath(),
+				BUNDLE_NAME_PREFIX + UUID.randomUUID().toString() + BUNDLE_NAME_SUFFIX);
+		bundleFile.setResource(targetIrodsCollection.getResource());
+		log.info("putting bundle of {} files as:{}", bundle.size(), bundleFile.getAbsolutePath());
+
+		try {
+			try (TarBundleWriter tarBundleWriter = new TarBundleWriter(
+					new PackingIrodsOutputStream(irodsFileFactory.instanceIRODSFileOutputStream(bundleFile)))) {
+				for (BundleEntry bundleEntry : bundle) {
+					tarBundleWriter.addFile(bundleEntry.entryName, bundleEntry.file);
+				}
+			}
+
+			bulkFileOperationsAO.extractABundleIntoAnIrodsCollection(bundleFile.getAbsolutePath(),
+					targetIrodsCollection.getAbsolutePath(), targetIrodsCollection.getResource(), overwrite, true);
+		} catch (JargonException | IOException e) {
+			log.warn("unable to put and extract bundle, the files will be put one at a time", e);
+			deleteBundle(bundleFile);
+			putFilesOfBundleIndividually(bundle, targetIrodsCollection, transferStatusCallbackListener,
+					transferControlBlock, existingCollections);
+			return;
+		}
+
+		deleteBundle(bundleFile);
+
+		for (BundleEntry bundleEntry : bundle) {
+			addParentCollections(bundleEntry.entryName, existingCollections);
+			transferControlBlock.incrementFilesTransferredSoFar();
+
+			if (transferStatusCallbackListener != null) {
+				TransferStatus status = TransferStatus.instance(TransferType.PUT,
+						bundleEntry.file.getAbsolutePath(),
+						targetPath(targetIrodsCollection, bundleEntry.entryName), targetIrodsCollection.getResource(),
+						bundleEntry.length, bundleEntry.length, transferControlBlock.getTotalFilesTransferredSoFar(),
+						transferControlBlock.getTotalFilesSkippedSoFar(), transferControlBlock.getTotalFilesToTransfer(),
+						TransferState.IN_PROGRESS_COMPLETE_FILE, irodsAccount.getHost(), irodsAccount.getZone());
+				transferStatusCallbackListener.statusCallback(status);
+			}
+		}
+	}
+
+	private void putFilesOfBundleIndividually(final List<BundleEntry> bundle, final IRODSFile targetIrodsCollection,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock, final Set<String> existingCollections)
+			throws JargonException {
+
+		for (BundleEntry bundleEntry : bundle) {
+			if (transferControlBlock.isCancelled() || transferControlBlock.isPaused()) {
+				return;
+			}
+
+			int lastSlash = bundleEntry.entryName.lastIndexOf('/');
+			String parentPath = lastSlash == -1 ? "" : bundleEntry.entryName.substring(0, lastSlash);
+			if (!existingCollections.contains(parentPath)) {
+				IRODSFile parentCollection = instanceCollection(targetIrodsCollection, parentPath);
+				parentCollection.mkdirs();
+				addParentCollections(bundleEntry.entryName, existingCollections);
+			}
+
+			IRODSFile targetFile = irodsFileFactory
+					.instanceIRODSFile(targetPath(targetIrodsCollection, bundleEntry.entryName));
+			targetFile.setResource(targetIrodsCollection.getResource());
+			transferOperationsHelper.putSingleFileAfterStartCallback(bundleEntry.file, targetFile,
+					transferStatusCallbackListener, transferControlBlock);
+		}
+	}
+
+	/**
+	 * Create any collections the bundles did not, and put the files that were too
+	 * large to bundle
+	 */
+	private void putIndividualFiles(final List<ScannedDirectory> directories, final IRODSFile targetIrodsCollection,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock, final Set<String> existingCollections)
+			throws JargonException {
+
+		for (ScannedDirectory scannedDirectory : directories) {
+			if (isCancelledOrPaused(targetIrodsCollection, transferStatusCallbackListener, transferControlBlock,
+					scannedDirectory.directory)) {
+				return;
+			}
+
+			IRODSFile collection = instanceCollection(targetIrodsCollection, scannedDirectory.relativePath);
+
+			if (!existingCollections.contains(scannedDirectory.relativePath)) {
+				try {
+					collection.mkdirs();
+				} catch (Exception e) {
+					log.error("exception in mkdir of: {}", collection.getAbsolutePath());
+					transferOperationsHelper.processRecursivePutException(scannedDirectory.directory,
+							transferStatusCallbackListener, collection, transferControlBlock, new JargonException(e));
+					continue;
+				}
+				existingCollections.add(scannedDirectory.relativePath);
+			}
+
+			for (File file : scannedDirectory.individualFiles) {
+				if (isCancelledOrPaused(targetIrodsCollection, transferStatusCallbackListener,
+						transferControlBlock, file)) {
+					return;
+				}
+				transferOperationsHelper.processPutOfSingleFile(file, collection, transferStatusCallbackListener,
+						transferControlBlock);
+			}
+		}
+	}
+
+	/**
+	 * Send the start of file callback for a file that is going in a bundle
+	 *
+	 * @return {@code boolean} that is {@code false} if the listener asked to
+	 *         skip the file
+	 */
+	private boolean notifyStartOfFile(final BundleEntry bundleEntry, final IRODSFile targetIrodsCollection,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock) throws JargonException {
+
+		if (transferStatusCallbackListener == null) {
+			return true;
+		}
+
+		String targetPath = targetPath(targetIrodsCollection, bundleEntry.entryName);
+		TransferStatus status = TransferStatus.instance(TransferType.PUT, bundleEntry.file.getAbsolutePath(),
+				targetPath, targetIrodsCollection.getResource(), bundleEntry.length, 0,
+				transferControlBlock.getTotalFilesTransferredSoFar(), transferControlBlock.getTotalFilesSkippedSoFar(),
+				transferControlBlock.getTotalFilesToTransfer(), TransferState.IN_PROGRESS_START_FILE,
+				irodsAccount.getHost(), irodsAccount.getZone());
+
+		if (transferStatusCallbackListener.statusCallback(status) != FileStatusCallbackResponse.SKIP) {
+			return true;
+		}
+
+		log.info("file signalled as skipped in callback response:{}", bundleEntry.file.getAbsolutePath());
+		transferControlBlock.incrementFilesSkippedSoFar();
+
+		status = TransferStatus.instance(TransferType.PUT, bundleEntry.file.getAbsolutePath(), targetPath, "", 0, 0,
+				transferControlBlock.getTotalFilesTransferredSoFar(), transferControlBlock.getTotalFilesSkippedSoFar(),
+				transferControlBlock.getTotalFilesToTransfer(), TransferState.SKIPPING, irodsAccount.getHost(),
+				irodsAccount.getZone());
+		transferStatusCallbackListener.statusCallback(status);
+		return false;
+	}
+
+	private boolean isCancelledOrPaused(final IRODSFile targetIrodsCollection,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock, final File currentFile) throws JargonException {
+
+		if (Thread.interrupted()) {
+			log.info("cancellation detected, set cancelled in tcb");
+			transferControlBlock.setCancelled(true);
+		}
+
+		if (transferControlBlock.isCancelled() || transferControlBlock.isPaused()) {
+			log.info("will notify pause or cancel for this put");
+			transferOperationsHelper.notifyPauseOrCancelCallbackForPut(targetIrodsCollection,
+					transferStatusCallbackListener, transferControlBlock, currentFile);
+			return true;
+		}
+
+		return false;
+	}
+
+	private void deleteBundle(final IRODSFile bundleFile) {
+		try {
+			bundleFile.deleteWithForceOption();
+		} catch (Exception e) {
+			log.warn("unable to delete bundle:{}", bundleFile.getAbsolutePath(), e);
+		}
+	}
+
+	private IRODSFile instanceCollection(final IRODSFile targetIrodsCollection, final String relativePath)
+			throws JargonException {
+		IRODSFile collection = irodsFileFactory.instanceIRODSFile(targetPath(targetIrodsCollection, relativePath));
+		collection.setResource(targetIrodsCollection.getResource());
+		return collection;
+	}
+
+	/**
+	 * Record that the collections holding an extracted entry now exist
+	 */
+	private static void addParentCollections(final String entryName, final Set<String> existingCollections) {
+		int slash = entryName.lastIndexOf('/');
+		while (slash > 0 && existingCollections.add(entryName.substring(0, slash))) {
+			slash = entryName.lastIndexOf('/', slash - 1);
+		}
+	}
+
+	private static String targetPath(final IRODSFile targetIrodsCollection, final String relativePath) {
+		if (relativePath.isEmpty()) {
+			return targetIrodsCollection.getAbsolutePath();
+		}
+		return targetIrodsCollection.getAbsolutePath() + "/" + relativePath;
+	}
+
+}
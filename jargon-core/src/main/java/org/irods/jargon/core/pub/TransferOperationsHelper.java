@@ -58,6 +58,13 @@ final class TransferOperationsHelper {
 
 	}
 
+	/**
+	 * @return the {@link CollectionAO} used by this helper
+	 */
+	CollectionAO getCollectionAO() {
+		return collectionAO;
+	}
+
 	/**
 	 * Recursively get a file from iRODS. This utility method is used internally,
 	 * and can process call-backs as well as filtering and cancellation.
@@ -113,23 +120,8 @@ final class TransferOperationsHelper {
 			if (transferControlBlock.isCancelled() || transferControlBlock.isPaused()) {
 				log.info("transfer cancelled or paused");
 				if (transferStatusCallbackListener != null) {
-					TransferState interruptStatus;
-					if (transferControlBlock.shouldTransferBeAbandonedDueToNumberOfErrors()) {
-						interruptStatus = TransferState.FAILURE;
-					} else if (transferControlBlock.isCancelled()) {
-						interruptStatus = TransferState.CANCELLED;
-					} else {
-						interruptStatus = TransferState.PAUSED;
-					}
-
-					TransferStatus status = TransferStatus.instance(TransferType.GET,
-							fileInSourceCollection.getAbsolutePath(), targetLocalFile.getAbsolutePath(), "",
-							fileInSourceCollection.length(), fileInSourceCollection.length(),
-							transferControlBlock.getTotalFilesTransferredSoFar(),
-							transferControlBlock.getTotalFilesSkippedSoFar(),
-							transferControlBlock.getTotalFilesToTransfer(), interruptStatus,
-							dataObjectAO.getIRODSAccount().getHost(), dataObjectAO.getIRODSAccount().getZone());
-					transferStatusCallbackListener.statusCallback(status);
+					notifyPauseOrCancelCallbackForGet(targetLocalFile, transferStatusCallbackListener,
+							transferControlBlock, fileInSourceCollection);
 					return;
 				}
 			}
@@ -174,6 +166,45 @@ final class TransferOperationsHelper {
 		}
 	}
 
+	/**
+	 * A get operation has been cancelled or paused, give the appropriate callback
+	 *
+	 * @param targetLocalFile
+	 *            {@link File} that is the target of the get
+	 * @param transferStatusCallbackListener
+	 *            {@link TransferStatusCallbackListener} that receives the call-back
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} that contains information about the
+	 *            transfer
+	 * @param fileInSourceCollection
+	 *            {@link File} that was the current source of the get
+	 * @throws JargonException
+	 */
+	void notifyPauseOrCancelCallbackForGet(final File targetLocalFile,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock, final File fileInSourceCollection) throws JargonException {
+
+		if (transferStatusCallbackListener == null) {
+			return;
+		}
+
+		TransferState interruptStatus;
+		if (transferControlBlock.shouldTransferBeAbandonedDueToNumberOfErrors()) {
+			interruptStatus = TransferState.FAILURE;
+		} else if (transferControlBlock.isCancelled()) {
+			interruptStatus = TransferState.CANCELLED;
+		} else {
+			interruptStatus = TransferState.PAUSED;
+		}
+
+		TransferStatus status = TransferStatus.instance(TransferType.GET, fileInSourceCollection.getAbsolutePath(),
+				targetLocalFile.getAbsolutePath(), "", fileInSourceCollection.length(),
+				fileInSourceCollection.length(), transferControlBlock.getTotalFilesTransferredSoFar(),
+				transferControlBlock.getTotalFilesSkippedSoFar(), transferControlBlock.getTotalFilesToTransfer(),
+				interruptStatus, dataObjectAO.getIRODSAccount().getHost(), dataObjectAO.getIRODSAccount().getZone());
+		transferStatusCallbackListener.statusCallback(status);
+	}
+
 	/**
 	 * In a transfer operation, process the given iRODS file as a data object to be
 	 * retrieved.
@@ -452,7 +483,7 @@ final class TransferOperationsHelper {
 	 *            {@link File} that was the current source of the put
 	 * @throws JargonException
 	 */
-	private void notifyPauseOrCancelCallbackForPut(final IRODSFile targetIrodsCollection,
+	void notifyPauseOrCancelCallbackForPut(final IRODSFile targetIrodsCollection,
 			final TransferStatusCallbackListener transferStatusCallbackListener,
 			final TransferControlBlock transferControlBlock, final File fileInSourceCollection) throws JargonException {
 
@@ -488,7 +519,7 @@ final class TransferOperationsHelper {
 	 * @param je
 	 * @throws JargonException
 	 */
-	private void processRecursivePutException(final File fileInSourceCollection,
+	void processRecursivePutException(final File fileInSourceCollection,
 			final TransferStatusCallbackListener transferStatusCallbackListener, final IRODSFile newIrodsFile,
 			final TransferControlBlock transferControlBlock, final JargonException je) throws JargonException {
 
@@ -815,7 +846,40 @@ final class TransferOperationsHelper {
 					return;
 				}
 			}
+		} catch (JargonException je) {
+			if (!transferControlBlock.isCancelled()) {
+				processPutOfSingleFileException(sourceFile, targetFileAsFile, transferStatusCallbackListener,
+						transferControlBlock, je);
+			}
+			return;
+		}
 
+		putSingleFileAfterStartCallback(sourceFile, targetFileAsFile, transferStatusCallbackListener,
+				transferControlBlock);
+	}
+
+	/**
+	 * Put a single file to iRODS once any restart filtering and the start of file
+	 * call-back have been done, and send the completion or error call-back.
+	 *
+	 * @param sourceFile
+	 *            {@code File} on the local file system that will be the source of
+	 *            the put.
+	 * @param targetFileAsFile
+	 *            {@link IRODSFile} that is the data object to create, not its
+	 *            parent collection
+	 * @param transferStatusCallbackListener
+	 *            {@link TransferStatusCallbackListener}, may be {@code null}, in
+	 *            which case exceptions are rethrown
+	 * @param transferControlBlock
+	 *            {@link TransferControlBlock} for the transfer
+	 * @throws JargonException
+	 */
+	void putSingleFileAfterStartCallback(final File sourceFile, final IRODSFile targetFileAsFile,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock) throws JargonException {
+
+		try {
 			/*
 			 * The put operation handles any restart processing
 			 */
@@ -836,33 +900,41 @@ final class TransferOperationsHelper {
 				transferStatusCallbackListener.statusCallback(status);
 			}
 		} catch (JargonException je) {
-
 			if (!transferControlBlock.isCancelled()) {
+				processPutOfSingleFileException(sourceFile, targetFileAsFile, transferStatusCallbackListener,
+						transferControlBlock, je);
+			}
+		}
+	}
 
-				// may re throw or send back to the callback listener
-				log.error("exception in transfer", je);
+	/**
+	 * Report an error in the put of a single file to the listener, or rethrow it
+	 * if there is no listener
+	 */
+	private void processPutOfSingleFileException(final File sourceFile, final IRODSFile targetFileAsFile,
+			final TransferStatusCallbackListener transferStatusCallbackListener,
+			final TransferControlBlock transferControlBlock, final JargonException je) throws JargonException {
 
-				transferControlBlock.reportErrorInTransfer();
+		// may re throw or send back to the callback listener
+		log.error("exception in transfer", je);
 
-				if (transferStatusCallbackListener != null) {
-					log.warn("exception will be passed back to existing callback listener");
+		transferControlBlock.reportErrorInTransfer();
 
-					TransferStatus status = TransferStatus.instanceForException(TransferType.PUT,
-							sourceFile.getAbsolutePath(), targetFileAsFile.getAbsolutePath(),
-							targetFileAsFile.getResource(), sourceFile.length(), targetFileAsFile.length(),
-							transferControlBlock.getTotalFilesTransferredSoFar(),
-							transferControlBlock.getTotalFilesSkippedSoFar(),
-							transferControlBlock.getTotalFilesToTransfer(), je,
-							dataObjectAO.getIRODSAccount().getHost(), dataObjectAO.getIRODSAccount().getZone());
+		if (transferStatusCallbackListener != null) {
+			log.warn("exception will be passed back to existing callback listener");
 
-					transferStatusCallbackListener.statusCallback(status);
+			TransferStatus status = TransferStatus.instanceForException(TransferType.PUT, sourceFile.getAbsolutePath(),
+					targetFileAsFile.getAbsolutePath(), targetFileAsFile.getResource(), sourceFile.length(),
+					targetFileAsFile.length(), transferControlBlock.getTotalFilesTransferredSoFar(),
+					transferControlBlock.getTotalFilesSkippedSoFar(), transferControlBlock.getTotalFilesToTransfer(),
+					je, dataObjectAO.getIRODSAccount().getHost(), dataObjectAO.getIRODSAccount().getZone());
 
-				} else {
-					log.warn("exception will be re-thrown, as there is no status callback listener");
-					throw je;
+			transferStatusCallbackListener.statusCallback(status);
+
+		} else {
+			log.warn("exception will be re-thrown, as there is no status callback listener");
+			throw je;
 
-				}
-			}
 		}
 	}
 
@@ -4,8 +4,10 @@
 package org.irods.jargon.core.pub.io;
 
 import java.io.OutputStream;
+import java.util.concurrent.Future;
 
 import org.irods.jargon.core.checksum.ChecksumValue;
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.pub.IRODSAccessObject;
 
@@ -25,6 +27,31 @@ public interface FileIOOperations extends IRODSAccessObject {
 
 	int write(int fd, byte buffer[], int offset, int length) throws JargonException;
 
+	/**
+	 * Write to an open file on the given connection, rather than the connection
+	 * of the calling thread. A file descriptor is only valid on the connection
+	 * that opened the file, so this lets another thread write to a file opened on
+	 * the connection obtained by {@link #getIRODSProtocol()} from the thread that
+	 * opened it. The protocol serializes the write with any other call made on
+	 * that connection.
+	 *
+	 * @param irodsProtocol
+	 *            {@link IRODSMidLevelProtocol} that opened the file
+	 * @param fd
+	 *            {@code int} with the file descriptor
+	 * @param buffer
+	 *            {@code byte[]} with the data to write
+	 * @param offset
+	 *            {@code int} with the offset into the buffer
+	 * @param length
+	 *            {@code int} with the number of bytes to write
+	 * @return {@code int} with the number of bytes written
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	int write(IRODSMidLevelProtocol irodsProtocol, int fd, byte buffer[], int offset, int length)
+			throws JargonException;
+
 	int fileRead(int fd, OutputStream destination, long length) throws JargonException;
 
 	/**
@@ -93,6 +120,29 @@ public interface FileIOOperations extends IRODSAccessObject {
 	 */
 	int fileRead(int fd, byte buffer[], int offset, int length) throws JargonException;
 
+	/**
+	 * Send a read of up to {@code buffer.length} bytes from the current position
+	 * without waiting for the data, so that several reads can be in flight on the
+	 * connection, see {@code IRODSMidLevelProtocol.irodsFunctionAsync()}. The
+	 * position of the file moves on as each read is sent. The data is placed at
+	 * the start of {@code buffer} when the reply is read, which is done, in the
+	 * order the reads were sent, when the returned {@code Future} is waited on or
+	 * when any other call is made on the connection.
+	 *
+	 * @param fd
+	 *            {@code int} with the file descriptor
+	 * @param buffer
+	 *            {@code byte[]} that will receive the data, which must not be
+	 *            touched until the {@code Future} is done
+	 * @return {@code Future} of {@code Integer} with the number of bytes read
+	 *         into the buffer, or -1 at the end of the file. A failed read is
+	 *         reported as an {@code ExecutionException} whose cause is a
+	 *         {@link JargonException}
+	 * @throws JargonException
+	 *             if the read could not be sent
+	 */
+	Future<Integer> fileReadAsync(int fd, byte buffer[]) throws JargonException;
+
 	/**
 	 * Set the file position for the IRODS file to the specified position
 	 *
@@ -4,6 +4,10 @@
 package org.irods.jargon.core.pub.io;
 
 import java.io.OutputStream;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.irods.jargon.core.checksum.ChecksumValue;
 import org.irods.jargon.core.connection.IRODSAccount;
@@ -46,6 +50,23 @@ public final class FileIOOperationsAOImpl extends IRODSGenericAO implements File
 	 */
 	@Override
 	public int write(final int fd, final byte buffer[], final int offset, final int length) throws JargonException {
+		return write(getIRODSProtocol(), fd, buffer, offset, length);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.irods.jargon.core.pub.io.FileIOOperations#write(org.irods.jargon.core.
+	 * connection.IRODSMidLevelProtocol, int, byte[], int, int)
+	 */
+	@Override
+	public int write(final IRODSMidLevelProtocol irodsProtocol, final int fd, final byte buffer[], final int offset,
+			final int length) throws JargonException {
+
+		if (irodsProtocol == null) {
+			throw new IllegalArgumentException("null irodsProtocol");
+		}
 
 		if (fd <= 0) {
 			throw new IllegalArgumentException("file is not open, file descriptor was less than zero:" + fd);
@@ -81,7 +102,7 @@ public final class FileIOOperationsAOImpl extends IRODSGenericAO implements File
 		// DataObjWriteInp dataObjWriteInp = DataObjWriteInp.instance(fd,
 		// length);
 
-		Tag message = getIRODSProtocol().irodsFunction(IRODSConstants.RODS_API_REQ, openedDataObjInp.getParsedTags(),
+		Tag message = irodsProtocol.irodsFunction(IRODSConstants.RODS_API_REQ, openedDataObjInp.getParsedTags(),
 				null, 0, 0, buffer, offset, length, openedDataObjInp.getApiNumber());
 
 		return message.getTag(IRODSConstants.MsgHeader_PI).getTag(IRODSConstants.intInfo).getIntValue();
@@ -159,6 +180,74 @@ public final class FileIOOperationsAOImpl extends IRODSGenericAO implements File
 		}
 	}
 
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see org.irods.jargon.core.pub.io.FileIOOperations#fileReadAsync(int, byte[])
+	 */
+	@Override
+	public Future<Integer> fileReadAsync(final int fd, final byte buffer[]) throws JargonException {
+
+		log.debug("async file read for fd: {}", fd);
+
+		if (fd <= 0) {
+			throw new IllegalArgumentException("invalid file descriptor");
+		}
+
+		if (buffer == null || buffer.length == 0) {
+			throw new IllegalArgumentException("null or empty buffer");
+		}
+
+		OpenedDataObjInp fileReadInp = OpenedDataObjInp.instanceForFileRead(fd, buffer.length);
+		return new PendingFileRead(getIRODSProtocol().irodsFunctionAsync(fileReadInp, buffer));
+	}
+
+	/**
+	 * Maps the reply to a pipelined read to the number of bytes read. Waiting is
+	 * delegated to the protocol future, which reads the reply off the connection.
+	 */
+	private static final class PendingFileRead implements Future<Integer> {
+
+		private final Future<Tag> reply;
+
+		private PendingFileRead(final Future<Tag> reply) {
+			this.reply = reply;
+		}
+
+		@Override
+		public boolean cancel(final boolean mayInterruptIfRunning) {
+			return false;
+		}
+
+		@Override
+		public boolean isCancelled() {
+			return false;
+		}
+
+		@Override
+		public boolean isDone() {
+			return reply.isDone();
+		}
+
+		@Override
+		public Integer get() throws InterruptedException, ExecutionException {
+			return bytesRead(reply.get());
+		}
+
+		@Override
+		public Integer get(final long timeout, final TimeUnit unit)
+				throws InterruptedException, ExecutionException, TimeoutException {
+			return bytesRead(reply.get(timeout, unit));
+		}
+
+		private static Integer bytesRead(final Tag message) {
+			if (message == null) {
+				return -1;
+			}
+			return message.getTag(IRODSConstants.MsgHeader_PI).getTag(IRODSConstants.bsLen).getIntValue();
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
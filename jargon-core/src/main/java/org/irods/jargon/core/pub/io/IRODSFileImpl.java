@@ -14,6 +14,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.exception.CatNoAccessException;
 import org.irods.jargon.core.exception.DataNotFoundException;
 import org.irods.jargon.core.exception.DuplicateDataException;
@@ -1323,6 +1324,10 @@ public class IRODSFileImpl extends File implements IRODSFile {
 
 		setFileDescriptor(-1);
 
+		if (openFlags != OpenFlags.READ) {
+			invalidateCachedObjStat();
+		}
+
 	}
 
 	/*
@@ -1344,6 +1349,18 @@ public class IRODSFileImpl extends File implements IRODSFile {
 
 		irodsFileSystemAO.fileClose(fd, false);
 		setFileDescriptor(-1);
+		invalidateCachedObjStat();
+	}
+
+	/**
+	 * Drop any cached {@code ObjStat} for this file after it was written, so the
+	 * size and modify time are asked of iRODS again
+	 */
+	private void invalidateCachedObjStat() {
+		IRODSSession irodsSession = irodsFileSystemAO.getIRODSSession();
+		if (irodsSession != null && irodsSession.getObjStatCache() != null) {
+			irodsSession.getObjStatCache().invalidate(getAbsolutePath());
+		}
 	}
 
 	/*
@@ -417,6 +417,13 @@ public class IRODSFileInputStream extends InputStream {
 		return fileIOOperations;
 	}
 
+	/**
+	 * @return {@code int} with the descriptor of the open file
+	 */
+	int getFileDescriptor() {
+		return fd;
+	}
+
 	/**
 	 * Closes this file input stream and releases any system resources associated
 	 * with the stream.
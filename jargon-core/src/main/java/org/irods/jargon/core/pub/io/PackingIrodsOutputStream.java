@@ -3,10 +3,24 @@
  */
 package org.irods.jargon.core.pub.io;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.exception.JargonException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -20,6 +34,18 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Flush and close are used and behave as expected, and will properly handle the
  * close of the underlying iRODS File and stream.
+ * <p>
+ * When {@code JargonProperties.getWriteBehindBuffers()} is 2 or more, full
+ * buffers are handed to a background writer and the caller goes on filling the
+ * next buffer, so that producing the data and sending it to iRODS overlap. The
+ * caller only waits when every buffer is being written. An error in the
+ * background write is thrown from the next write, flush or close. Connections
+ * in an {@code IRODSSession} belong to the thread that asked for them, and the
+ * file descriptor is only valid on the connection that opened the file, so the
+ * writer is given the connection of the thread that fills the first buffer and
+ * sends its writes on that. The protocol serializes them with any other calls
+ * made on the connection, and flush and close wait for all buffers to be
+ * written.
  *
  *
  * @author Mike Conway - DICE
@@ -29,11 +55,28 @@ public class PackingIrodsOutputStream extends OutputStream {
 
 	private final Logger log = LoggerFactory.getLogger(this.getClass());
 
-	private int byteBufferSizeMax;
-	private ByteArrayOutputStream byteArrayOutputStream = null;
+	private static final long WRITER_KEEP_ALIVE_SECONDS = 60L;
+
+	private final int byteBufferSizeMax;
+	private final int numberOfBuffers;
 	private final IRODSFileOutputStream irodsFileOutputStream;
-	private long controlByteCount = 0;
+	private byte[] buffer;
+	private int bufferCount = 0;
+	private final AtomicLong controlByteCount = new AtomicLong();
 	private long controlBytesIn = 0;
+	private boolean unflushed = false;
+	private boolean closed = false;
+
+	/**
+	 * Write behind state, only used with more than one buffer
+	 */
+	private BlockingQueue<byte[]> freeBuffers = null;
+	private int allocatedBuffers = 1;
+	private ExecutorService writer = null;
+	private IRODSMidLevelProtocol writerProtocol = null;
+	private int writerFileDescriptor = -1;
+	private Future<?> lastWrite = null;
+	private final AtomicReference<IOException> writeError = new AtomicReference<IOException>();
 
 	/**
 	 * Constructor
@@ -46,11 +89,14 @@ public class PackingIrodsOutputStream extends OutputStream {
 			throw new IllegalArgumentException("null irodsFileOutputStream");
 		}
 
-		byteBufferSizeMax = irodsFileOutputStream.getFileIOOperations().getJargonProperties().getPutBufferSize();
+		JargonProperties jargonProperties = irodsFileOutputStream.getFileIOOperations().getJargonProperties();
+		byteBufferSizeMax = jargonProperties.getPutBufferSize();
 		if (byteBufferSizeMax <= 0) {
 			throw new IllegalStateException("cannot have a zero or negative buffer size");
 		}
-		byteArrayOutputStream = new ByteArrayOutputStream();
+		numberOfBuffers = Math.max(1, jargonProperties.getWriteBehindBuffers());
+		log.debug("buffer size:{} number of buffers:{}", byteBufferSizeMax, numberOfBuffers);
+		buffer = new byte[byteBufferSizeMax];
 		this.irodsFileOutputStream = irodsFileOutputStream;
 	}
 
@@ -63,26 +109,168 @@ public class PackingIrodsOutputStream extends OutputStream {
 	@Override
 	public void write(final byte[] b, final int off, final int len) throws IOException {
 		log.debug("write()");
+		if (b == null) {
+			throw new IllegalArgumentException("null buffer");
+		}
+
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		checkNotClosed();
+		checkWriteError();
 		controlBytesIn += len;
 		log.debug("controlBytesIn:{}", controlBytesIn);
-		int projectedLen = byteArrayOutputStream.size() + (len - off);
-		log.info("projectedLen:{}", projectedLen);
-		if (projectedLen < byteBufferSizeMax) {
-			log.debug("less than buffer max so cache until full");
-			byteArrayOutputStream.write(b, off, len);
-		} else {
-			log.debug("buffer is full, write to irods and reset");
-			byteArrayOutputStream.write(b, off, len);
-			flushAndResetBufferStream();
+
+		int offset = off;
+		int remaining = len;
+		while (remaining > 0) {
+			if (bufferCount == 0 && remaining >= byteBufferSizeMax && numberOfBuffers == 1) {
+				log.debug("write a full buffer directly from the caller");
+				irodsFileOutputStream.write(b, offset, byteBufferSizeMax);
+				controlByteCount.addAndGet(byteBufferSizeMax);
+				unflushed = true;
+				offset += byteBufferSizeMax;
+				remaining -= byteBufferSizeMax;
+				continue;
+			}
+
+			int toCopy = Math.min(remaining, byteBufferSizeMax - bufferCount);
+			System.arraycopy(b, offset, buffer, bufferCount, toCopy);
+			bufferCount += toCopy;
+			offset += toCopy;
+			remaining -= toCopy;
+
+			if (bufferCount == byteBufferSizeMax) {
+				log.debug("buffer is full, write to irods and reset");
+				flushAndResetBufferStream();
+			}
 		}
 	}
 
 	private void flushAndResetBufferStream() throws IOException {
-		if (byteArrayOutputStream.size() > 0) {
-			irodsFileOutputStream.write(byteArrayOutputStream.toByteArray());
-			controlByteCount += byteArrayOutputStream.size();
+		if (bufferCount == 0) {
+			return;
+		}
+
+		unflushed = true;
+		if (numberOfBuffers == 1) {
+			irodsFileOutputStream.write(buffer, 0, bufferCount);
+			controlByteCount.addAndGet(bufferCount);
 			log.debug("controlByteCount:{}", controlByteCount);
-			byteArrayOutputStream.reset();
+			bufferCount = 0;
+			return;
+		}
+
+		final byte[] fullBuffer = buffer;
+		final int length = bufferCount;
+		final ExecutorService currentWriter = getWriter();
+		final FileIOOperations fileIOOperations = irodsFileOutputStream.getFileIOOperations();
+		final IRODSMidLevelProtocol irodsProtocol = writerProtocol;
+		final int fileDescriptor = writerFileDescriptor;
+		lastWrite = currentWriter.submit(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					if (writeError.get() == null) {
+						fileIOOperations.write(irodsProtocol, fileDescriptor, fullBuffer, 0, length);
+						controlByteCount.addAndGet(length);
+					}
+				} catch (JargonException e) {
+					log.error("error in background write to iRODS", e);
+					writeError.compareAndSet(null, new IOException(e));
+				} catch (RuntimeException e) {
+					log.error("error in background write to iRODS", e);
+					writeError.compareAndSet(null, new IOException(e));
+				} finally {
+					freeBuffers.add(fullBuffer);
+				}
+			}
+		});
+
+		buffer = takeFreeBuffer();
+		bufferCount = 0;
+	}
+
+	/**
+	 * Get a buffer to fill, waiting for a background write to finish if every
+	 * buffer is in flight
+	 */
+	private byte[] takeFreeBuffer() throws IOException {
+		byte[] freeBuffer = freeBuffers.poll();
+		if (freeBuffer != null) {
+			return freeBuffer;
+		}
+
+		if (allocatedBuffers < numberOfBuffers) {
+			allocatedBuffers++;
+			return new byte[byteBufferSizeMax];
+		}
+
+		try {
+			return freeBuffers.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted waiting for a write to iRODS");
+		}
+	}
+
+	private ExecutorService getWriter() throws IOException {
+		if (writer == null) {
+			log.debug("starting background writer with {} buffers", numberOfBuffers);
+			try {
+				writerProtocol = irodsFileOutputStream.getFileIOOperations().getIRODSProtocol();
+			} catch (JargonException e) {
+				throw new IOException("unable to get the connection for the background writer", e);
+			}
+			writerFileDescriptor = irodsFileOutputStream.getFileDescriptor();
+			freeBuffers = new ArrayBlockingQueue<byte[]>(numberOfBuffers);
+			ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(1, 1, WRITER_KEEP_ALIVE_SECONDS,
+					TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+						@Override
+						public Thread newThread(final Runnable runnable) {
+							Thread thread = new Thread(runnable, "jargon-write-behind");
+							thread.setDaemon(true);
+							return thread;
+						}
+					});
+			threadPoolExecutor.allowCoreThreadTimeOut(true);
+			writer = threadPoolExecutor;
+		}
+		return writer;
+	}
+
+	/**
+	 * Wait until the buffers handed to the background writer are written
+	 */
+	private void waitForWrites() throws IOException {
+		if (lastWrite == null) {
+			return;
+		}
+
+		try {
+			// the writer has a single thread, so the buffers are written in order
+			lastWrite.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted waiting for writes to iRODS");
+		} catch (ExecutionException e) {
+			throw new IOException(e.getCause());
+		}
+		lastWrite = null;
+		checkWriteError();
+	}
+
+	private void checkWriteError() throws IOException {
+		IOException e = writeError.get();
+		if (e != null) {
+			throw new IOException("background write to iRODS failed", e);
+		}
+	}
+
+	private void checkNotClosed() throws IOException {
+		if (closed) {
+			throw new IOException("stream is closed");
 		}
 	}
 
@@ -115,9 +303,34 @@ public class PackingIrodsOutputStream extends OutputStream {
 	 */
 	@Override
 	public void close() throws IOException {
-		flush();
+		if (closed) {
+			return;
+		}
+
+		IOException flushError = null;
+		try {
+			flush();
+		} catch (IOException e) {
+			flushError = e;
+		} finally {
+			closed = true;
+			if (writer != null) {
+				writer.shutdown();
+			}
+		}
+
+		if (flushError != null) {
+			log.error("write to iRODS failed, closing underlying stream and rethrowing", flushError);
+			try {
+				irodsFileOutputStream.close();
+			} catch (IOException e) {
+				log.warn("error closing underlying stream after failed write, ignored", e);
+			}
+			throw flushError;
+		}
+
 		log.info("closing underlying stream");
-		if (controlByteCount != controlBytesIn) {
+		if (controlByteCount.get() != controlBytesIn) {
 			throw new IOException("control balance error in stream");
 		}
 		irodsFileOutputStream.close();
@@ -131,11 +344,17 @@ public class PackingIrodsOutputStream extends OutputStream {
 	@Override
 	public void flush() throws IOException {
 		log.debug("flush()...see if any bytes are buffered");
-		if (byteArrayOutputStream.size() > 0) {
+		checkNotClosed();
+		if (bufferCount > 0) {
 			log.debug("flushing buffered bytes and resetting");
 			flushAndResetBufferStream();
+		}
+
+		waitForWrites();
+		if (unflushed) {
 			log.debug("now flushing the underlying iRODS stream");
 			irodsFileOutputStream.flush();
+			unflushed = false;
 		}
 	}
 }
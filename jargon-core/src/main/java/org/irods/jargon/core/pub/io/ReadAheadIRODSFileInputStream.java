@@ -0,0 +1,343 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.irods.jargon.core.connection.JargonProperties;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Wrap an iRODS input stream so that reads of the next blocks of the data
+ * object are already in flight while the caller works on the current one. Each
+ * call to {@link IRODSFileInputStream#read(byte[], int, int)} is a round trip
+ * that leaves the connection idle while the caller processes the data, and
+ * {@link PackingIrodsInputStream} only makes those round trips larger. This
+ * stream instead keeps a window of reads outstanding as pipelined
+ * {@code DataObjRead} requests on the same connection (see
+ * {@link FileIOOperations#fileReadAsync(int, byte[])}), so the agent is
+ * reading and sending ahead of the caller.
+ * <p>
+ * Blocks are {@link JargonProperties#getGetBufferSize()} bytes. The window
+ * starts at one block and doubles each time a block is consumed in sequence,
+ * up to {@link JargonProperties#getReadAheadMaxBlocks()} (and no more than
+ * {@link JargonProperties#getMaxPipelinedRequests()}). A {@link #skip(long)}
+ * past the data already buffered is treated as random access, the outstanding
+ * reads are discarded, the file is positioned, and the window starts again at
+ * one block.
+ * <p>
+ * This can wrap a {@link SessionClosingIRODSFileInputStream}, and as with the
+ * other streams it must be used by the thread that owns the connection. Other
+ * calls on that connection may be made between reads, they first read in any
+ * outstanding blocks.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ReadAheadIRODSFileInputStream extends InputStream {
+
+	private static final Logger log = LoggerFactory.getLogger(ReadAheadIRODSFileInputStream.class);
+
+	private final IRODSFileInputStream irodsFileInputStream;
+	private final FileIOOperations fileIOOperations;
+	private final int blockSize;
+	private final int maxWindow;
+
+	/**
+	 * A read that has been sent, with the buffer that receives its data
+	 */
+	private static final class PendingBlock {
+		private final byte[] buffer;
+		private final Future<Integer> bytesRead;
+
+		private PendingBlock(final byte[] buffer, final Future<Integer> bytesRead) {
+			this.buffer = buffer;
+			this.bytesRead = bytesRead;
+		}
+	}
+
+	private final Deque<PendingBlock> pendingBlocks = new ArrayDeque<PendingBlock>();
+	private final Deque<byte[]> freeBuffers = new ArrayDeque<byte[]>();
+
+	private byte[] currentBlock = null;
+	private int currentOffset = 0;
+	private int currentLength = 0;
+
+	private int window = 1;
+	private long position = 0L;
+	/**
+	 * Set once a read came back short, no more reads are sent after it
+	 */
+	private boolean lastBlockRequested = false;
+	private boolean endOfFile = false;
+	private boolean closed = false;
+
+	/**
+	 * Wrap the given stream with read ahead
+	 *
+	 * @param irodsFileInputStream
+	 *            {@link IRODSFileInputStream} that has not yet been read
+	 */
+	public ReadAheadIRODSFileInputStream(final IRODSFileInputStream irodsFileInputStream) {
+		super();
+		if (irodsFileInputStream == null) {
+			throw new IllegalArgumentException("null irodsFileInputStream");
+		}
+		this.irodsFileInputStream = irodsFileInputStream;
+		fileIOOperations = irodsFileInputStream.getFileIOOperations();
+
+		JargonProperties jargonProperties = fileIOOperations.getJargonProperties();
+		blockSize = jargonProperties.getGetBufferSize();
+		if (blockSize <= 0) {
+			throw new JargonRuntimeException("misconfiguration in jargon.properties, getBufferSize is <= 0");
+		}
+		maxWindow = Math.max(1,
+				Math.min(jargonProperties.getReadAheadMaxBlocks(), jargonProperties.getMaxPipelinedRequests()));
+		log.info("read ahead with block size:{} and up to {} blocks", blockSize, maxWindow);
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (!fillCurrentBlock()) {
+			return -1;
+		}
+		position++;
+		return currentBlock[currentOffset++] & 0xFF;
+	}
+
+	@Override
+	public int read(final byte[] b) throws IOException {
+		return this.read(b, 0, b.length);
+	}
+
+	@Override
+	public int read(final byte[] b, final int off, final int len) throws IOException {
+		if (b == null) {
+			throw new IllegalArgumentException("null buffer");
+		}
+
+		if (off < 0 || len < 0 || len > b.length - off) {
+			throw new IndexOutOfBoundsException();
+		}
+
+		if (len == 0) {
+			return 0;
+		}
+
+		int totalRead = 0;
+		while (totalRead < len && fillCurrentBlock()) {
+			int toCopy = Math.min(len - totalRead, currentLength - currentOffset);
+			System.arraycopy(currentBlock, currentOffset, b, off + totalRead, toCopy);
+			currentOffset += toCopy;
+			totalRead += toCopy;
+		}
+
+		position += totalRead;
+		return totalRead > 0 ? totalRead : -1;
+	}
+
+	/**
+	 * Skip within the current block without any network traffic, or discard the
+	 * read ahead and position the file for a longer skip
+	 */
+	@Override
+	public long skip(final long n) throws IOException {
+		checkNotClosed();
+		if (n <= 0) {
+			return 0;
+		}
+
+		int buffered = currentBlock == null ? 0 : currentLength - currentOffset;
+		if (n <= buffered) {
+			currentOffset += (int) n;
+			position += n;
+			return n;
+		}
+
+		long target = Math.min(position + n, irodsFileInputStream.availableAsLong());
+		if (target <= position) {
+			return 0;
+		}
+
+		log.debug("random access, reposition from {} to {}", position, target);
+		discardReadAhead();
+		try {
+			fileIOOperations.seek(irodsFileInputStream.getFileDescriptor(), target,
+					FileIOOperations.SeekWhenceType.SEEK_START);
+		} catch (JargonException e) {
+			log.error("JargonException in seek is converted to IOException for method contract", e);
+			throw new IOException(e);
+		}
+
+		long skipped = target - position;
+		position = target;
+		window = 1;
+		lastBlockRequested = false;
+		endOfFile = false;
+		return skipped;
+	}
+
+	/**
+	 * @return {@code int} with the number of bytes that can be read without a
+	 *         network round trip
+	 */
+	@Override
+	public int available() throws IOException {
+		checkNotClosed();
+		return currentBlock == null ? 0 : currentLength - currentOffset;
+	}
+
+	/**
+	 * Read in and discard any outstanding blocks, then close the underlying
+	 * stream
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			discardReadAhead();
+		} finally {
+			irodsFileInputStream.close();
+		}
+	}
+
+	@Override
+	public boolean markSupported() {
+		return false;
+	}
+
+	/**
+	 * @return {@code int} with the number of blocks that are currently read
+	 *         ahead
+	 */
+	int getWindow() {
+		return window;
+	}
+
+	/**
+	 * Make sure there is unread data in the current block, waiting for the next
+	 * block if need be
+	 *
+	 * @return {@code boolean} that is {@code false} at the end of the file
+	 */
+	private boolean fillCurrentBlock() throws IOException {
+		checkNotClosed();
+
+		if (currentBlock != null) {
+			if (currentOffset < currentLength) {
+				return true;
+			}
+			freeBuffers.addLast(currentBlock);
+			currentBlock = null;
+		}
+
+		if (endOfFile) {
+			return false;
+		}
+
+		sendReadAhead();
+		PendingBlock pendingBlock = pendingBlocks.pollFirst();
+		if (pendingBlock == null) {
+			endOfFile = true;
+			return false;
+		}
+
+		int bytesRead = waitForBlock(pendingBlock);
+		if (bytesRead <= 0) {
+			freeBuffers.addLast(pendingBlock.buffer);
+			endOfFile = true;
+			discardReadAhead();
+			return false;
+		}
+
+		if (bytesRead < pendingBlock.buffer.length) {
+			lastBlockRequested = true;
+		} else if (window < maxWindow) {
+			window = Math.min(maxWindow, window * 2);
+		}
+
+		currentBlock = pendingBlock.buffer;
+		currentOffset = 0;
+		currentLength = bytesRead;
+
+		// keep the window full while the caller works on this block
+		sendReadAhead();
+		return true;
+	}
+
+	private void sendReadAhead() throws IOException {
+		while (!lastBlockRequested && pendingBlocks.size() < window) {
+			byte[] buffer = freeBuffers.pollFirst();
+			if (buffer == null) {
+				buffer = new byte[blockSize];
+			}
+
+			try {
+				pendingBlocks.addLast(new PendingBlock(buffer,
+						fileIOOperations.fileReadAsync(irodsFileInputStream.getFileDescriptor(), buffer)));
+			} catch (JargonException e) {
+				log.error("JargonException in read is converted to IOException for method contract", e);
+				throw new IOException(e);
+			}
+		}
+	}
+
+	private int waitForBlock(final PendingBlock pendingBlock) throws IOException {
+		try {
+			return pendingBlock.bytesRead.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("interrupted waiting for read ahead");
+		} catch (ExecutionException e) {
+			log.error("JargonException in read is converted to IOException for method contract", e.getCause());
+			throw new IOException(e.getCause());
+		}
+	}
+
+	/**
+	 * Read in the outstanding blocks, so the connection stays in step, and drop
+	 * them along with the current block
+	 */
+	private void discardReadAhead() throws IOException {
+		IOException firstError = null;
+		PendingBlock pendingBlock;
+		while ((pendingBlock = pendingBlocks.pollFirst()) != null) {
+			try {
+				waitForBlock(pendingBlock);
+			} catch (IOException e) {
+				if (firstError == null) {
+					firstError = e;
+				}
+			}
+			freeBuffers.addLast(pendingBlock.buffer);
+		}
+
+		if (currentBlock != null) {
+			freeBuffers.addLast(currentBlock);
+			currentBlock = null;
+		}
+		currentOffset = 0;
+		currentLength = 0;
+
+		if (firstError != null) {
+			throw firstError;
+		}
+	}
+
+	private void checkNotClosed() throws IOException {
+		if (closed) {
+			throw new IOException("stream is closed");
+		}
+	}
+
+}
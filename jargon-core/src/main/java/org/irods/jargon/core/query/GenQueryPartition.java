@@ -0,0 +1,220 @@
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.irods.jargon.core.query.GenQueryField.SelectFieldSource;
+
+/**
+ * One slice of a GenQuery, described by conditions that are added to the
+ * conditions of the query. A set of partitions is used to split a large catalog
+ * scan so that the slices can run at the same time on separate connections.
+ * <p>
+ * The static methods here cut a query into partitions that are disjoint and
+ * that together cover every row, by {@code COL_D_DATA_ID} range, by
+ * {@code COL_COLL_NAME} range, or by resource. This class is immutable.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public final class GenQueryPartition {
+
+	private final String description;
+	private final List<GenQueryBuilderCondition> conditions;
+
+	private GenQueryPartition(final String description, final List<GenQueryBuilderCondition> conditions) {
+		this.description = description;
+		this.conditions = Collections.unmodifiableList(conditions);
+	}
+
+	/**
+	 * Partition of the data objects with a {@code COL_D_DATA_ID} in a range
+	 *
+	 * @param fromDataId
+	 *            {@code Long} with the lowest id in the partition, or {@code null}
+	 *            for no lower bound
+	 * @param toDataId
+	 *            {@code Long} with the id just above the partition, or
+	 *            {@code null} for no upper bound
+	 * @return {@link GenQueryPartition}
+	 */
+	public static GenQueryPartition forDataIdRange(final Long fromDataId, final Long toDataId) {
+		return forRange(RodsGenQueryEnum.COL_D_DATA_ID, fromDataId == null ? null : String.valueOf(fromDataId),
+				toDataId == null ? null : String.valueOf(toDataId));
+	}
+
+	/**
+	 * Partition of the rows with a {@code COL_COLL_NAME} in a range, as compared
+	 * by the catalog database
+	 *
+	 * @param fromCollectionName
+	 *            {@code String} with the lowest collection name in the partition,
+	 *            or {@code null} for no lower bound
+	 * @param toCollectionName
+	 *            {@code String} with the collection name just above the partition,
+	 *            or {@code null} for no upper bound
+	 * @return {@link GenQueryPartition}
+	 */
+	public static GenQueryPartition forCollectionNameRange(final String fromCollectionName,
+			final String toCollectionName) {
+		return forRange(RodsGenQueryEnum.COL_COLL_NAME, fromCollectionName, toCollectionName);
+	}
+
+	/**
+	 * Partition of the data object replicas on one resource
+	 *
+	 * @param resourceName
+	 *            {@code String} with the name of the resource
+	 * @return {@link GenQueryPartition}
+	 */
+	public static GenQueryPartition forResource(final String resourceName) {
+		if (resourceName == null || resourceName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty resourceName");
+		}
+
+		List<GenQueryBuilderCondition> conditions = new ArrayList<GenQueryBuilderCondition>();
+		conditions.add(buildCondition(RodsGenQueryEnum.COL_D_RESC_NAME, QueryConditionOperators.EQUAL, resourceName));
+		return new GenQueryPartition(RodsGenQueryEnum.COL_D_RESC_NAME.getName() + " = " + resourceName, conditions);
+	}
+
+	/**
+	 * Split the data object ids from {@code minDataId} to {@code maxDataId} into
+	 * ranges of about the same width. The first range has no lower bound and the
+	 * last no upper bound, so ids outside of the given span are not missed.
+	 *
+	 * @param minDataId
+	 *            {@code long} with the lowest data object id expected
+	 * @param maxDataId
+	 *            {@code long} with the highest data object id expected
+	 * @param count
+	 *            {@code int} with the number of partitions wanted
+	 * @return {@code List} of {@link GenQueryPartition} in ascending id order
+	 */
+	public static List<GenQueryPartition> splitDataIdRange(final long minDataId, final long maxDataId,
+			final int count) {
+		if (count < 1) {
+			throw new IllegalArgumentException("count must be at least 1");
+		}
+
+		if (maxDataId < minDataId) {
+			throw new IllegalArgumentException("maxDataId is less than minDataId");
+		}
+
+		long span = maxDataId - minDataId + 1;
+		int partitions = (int) Math.min(count, span);
+		List<GenQueryPartition> result = new ArrayList<GenQueryPartition>(partitions);
+		Long from = null;
+		for (int i = 1; i < partitions; i++) {
+			long to = minDataId + span * i / partitions;
+			result.add(forDataIdRange(from, to));
+			from = to;
+		}
+		result.add(forDataIdRange(from, null));
+		return result;
+	}
+
+	/**
+	 * Split the collection names at the given boundaries, giving one more
+	 * partition than there are boundaries. The boundaries must be in ascending
+	 * order as compared by the catalog database, which plain ASCII paths such as
+	 * {@code /zone/home/m} are.
+	 *
+	 * @param boundaries
+	 *            {@code List<String>} with the collection names at which to split
+	 * @return {@code List} of {@link GenQueryPartition} in ascending name order
+	 */
+	public static List<GenQueryPartition> splitCollectionNames(final List<String> boundaries) {
+		if (boundaries == null) {
+			throw new IllegalArgumentException("null boundaries");
+		}
+
+		List<GenQueryPartition> result = new ArrayList<GenQueryPartition>(boundaries.size() + 1);
+		String from = null;
+		for (String boundary : boundaries) {
+			if (boundary == null || boundary.isEmpty()) {
+				throw new IllegalArgumentException("null or empty boundary");
+			}
+			result.add(forCollectionNameRange(from, boundary));
+			from = boundary;
+		}
+		result.add(forCollectionNameRange(from, null));
+		return result;
+	}
+
+	/**
+	 * Build the query for this partition, which is the given query with the
+	 * conditions of this partition added
+	 *
+	 * @param irodsGenQueryFromBuilder
+	 *            {@link IRODSGenQueryFromBuilder} with the query to partition
+	 * @return {@link IRODSGenQueryFromBuilder} for the rows in this partition
+	 */
+	public IRODSGenQueryFromBuilder applyTo(final IRODSGenQueryFromBuilder irodsGenQueryFromBuilder) {
+		if (irodsGenQueryFromBuilder == null) {
+			throw new IllegalArgumentException("null irodsGenQueryFromBuilder");
+		}
+
+		IRODSGenQueryBuilderQueryData queryData = irodsGenQueryFromBuilder.getIrodsGenQueryBuilderData();
+		List<GenQueryBuilderCondition> partitionConditions = new ArrayList<GenQueryBuilderCondition>(
+				queryData.getConditions());
+		partitionConditions.addAll(conditions);
+
+		IRODSGenQueryBuilderQueryData partitionQueryData = IRODSGenQueryBuilderQueryData.instance(
+				queryData.getSelectFields(), partitionConditions, queryData.getOrderByFields(),
+				queryData.isDistinct(), queryData.isUpperCase(), queryData.isComputeTotalRowCount());
+		return IRODSGenQueryFromBuilder.instance(partitionQueryData,
+				irodsGenQueryFromBuilder.getNumberOfResultsDesired());
+	}
+
+	/**
+	 * @return {@code List} of {@link GenQueryBuilderCondition} that select the
+	 *         rows in this partition
+	 */
+	List<GenQueryBuilderCondition> getConditions() {
+		return conditions;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("GenQueryPartition [");
+		builder.append(description);
+		builder.append("]");
+		return builder.toString();
+	}
+
+	private static GenQueryPartition forRange(final RodsGenQueryEnum field, final String from, final String to) {
+		List<GenQueryBuilderCondition> conditions = new ArrayList<GenQueryBuilderCondition>();
+		StringBuilder description = new StringBuilder();
+		if (from != null) {
+			conditions.add(buildCondition(field, QueryConditionOperators.GREATER_THAN_OR_EQUAL_TO, from));
+			description.append(field.getName()).append(" >= ").append(from);
+		}
+
+		if (to != null) {
+			conditions.add(buildCondition(field, QueryConditionOperators.LESS_THAN, to));
+			if (description.length() > 0) {
+				description.append(", ");
+			}
+			description.append(field.getName()).append(" < ").append(to);
+		}
+
+		if (conditions.isEmpty()) {
+			description.append("all");
+		}
+
+		return new GenQueryPartition(description.toString(), conditions);
+	}
+
+	private static GenQueryBuilderCondition buildCondition(final RodsGenQueryEnum field,
+			final QueryConditionOperators operator, final String value) {
+		StringBuilder sb = new StringBuilder();
+		sb.append("'");
+		sb.append(value);
+		sb.append("'");
+		return GenQueryBuilderCondition.instance(field.getName(), SelectFieldSource.DEFINED_QUERY_FIELD,
+				String.valueOf(field.getNumericValue()), operator, sb.toString());
+	}
+
+}
@@ -0,0 +1,280 @@
+package org.irods.jargon.core.query;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.List;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.GenQueryInp;
+import org.irods.jargon.core.packinstr.Tag;
+import org.irods.jargon.core.packinstr.TagWriter;
+
+/**
+ * A GenQuery compiled into the parts that do not change from one run to the
+ * next: the translated selects, order by, and options, the columns and
+ * operators of the conditions, and the {@code GenQueryInp} packing instruction
+ * for the selects and condition columns, serialized once per encoding.
+ * <p>
+ * A plan is bound to a query with {@link #bind(AbstractIRODSGenQuery)} or
+ * {@link #bind(List, AbstractIRODSGenQuery)}, which gives a
+ * {@link TranslatedIRODSGenQuery} that carries the plan. {@link GenQueryInp}
+ * then only serializes the row counts, continuation, zone, and condition values
+ * for each page. Plans are kept across queries by a {@link GenQueryPlanCache}.
+ * <p>
+ * This class is immutable, apart from the lazily serialized bytes, and is safe
+ * to share between threads.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public final class GenQueryPlan {
+
+	private final List<GenQuerySelectField> selectFields;
+	private final List<GenQueryOrderByField> orderByFields;
+	private final List<TranslatedGenQueryCondition> conditions;
+	private final boolean distinct;
+	private final boolean upperCase;
+	private final boolean computeTotalRowCount;
+	private final int options;
+	private final Tag selectTag;
+
+	/**
+	 * The serialized parts, replaced if a connection with another encoding uses
+	 * the plan
+	 */
+	private volatile SerializedPlan serializedPlan = null;
+
+	/**
+	 * Compile the plan for a translated query. The conditions of the query are
+	 * kept, and their values are used when the plan is bound without conditions.
+	 *
+	 * @param translatedIRODSGenQuery
+	 *            {@link TranslatedIRODSGenQuery} to compile
+	 * @return {@link GenQueryPlan}
+	 * @throws JargonException
+	 *             if a select cannot be packed for iRODS
+	 */
+	public static GenQueryPlan compile(final TranslatedIRODSGenQuery translatedIRODSGenQuery)
+			throws JargonException {
+		if (translatedIRODSGenQuery == null) {
+			throw new IllegalArgumentException("null translatedIRODSGenQuery");
+		}
+
+		return new GenQueryPlan(translatedIRODSGenQuery);
+	}
+
+	/**
+	 * Build the key under which the plan for a translated query is cached when
+	 * its condition values are bound on each run. Queries with the same key have
+	 * the same selects, order by, options, and condition columns and operators.
+	 *
+	 * @param translatedIRODSGenQuery
+	 *            {@link TranslatedIRODSGenQuery}
+	 * @return {@code String} with the key
+	 */
+	public static String buildShapeKey(final TranslatedIRODSGenQuery translatedIRODSGenQuery) {
+		if (translatedIRODSGenQuery == null) {
+			throw new IllegalArgumentException("null translatedIRODSGenQuery");
+		}
+
+		StringBuilder sb = new StringBuilder();
+		sb.append(GenQueryInp.computeOptions(translatedIRODSGenQuery.isDistinct(),
+				translatedIRODSGenQuery.isUpperCase(), translatedIRODSGenQuery.isComputeTotalRowCount()));
+		sb.append("|s");
+		for (GenQuerySelectField select : translatedIRODSGenQuery.getSelectFields()) {
+			sb.append(':').append(select.getSelectFieldNumericTranslation()).append(',')
+					.append(select.getSelectFieldType());
+		}
+		sb.append("|o");
+		for (GenQueryOrderByField orderBy : translatedIRODSGenQuery.getOrderByFields()) {
+			sb.append(':').append(orderBy.getSelectFieldNumericTranslation()).append(',')
+					.append(orderBy.getOrderByType());
+		}
+		sb.append("|c");
+		for (TranslatedGenQueryCondition condition : translatedIRODSGenQuery.getTranslatedQueryConditions()) {
+			sb.append(':').append(condition.getColumnNumericTranslation()).append(',')
+					.append(condition.getOperator());
+		}
+		return sb.toString();
+	}
+
+	private GenQueryPlan(final TranslatedIRODSGenQuery translatedIRODSGenQuery) throws JargonException {
+		selectFields = Collections.unmodifiableList(translatedIRODSGenQuery.getSelectFields());
+		orderByFields = Collections.unmodifiableList(translatedIRODSGenQuery.getOrderByFields());
+		conditions = Collections.unmodifiableList(translatedIRODSGenQuery.getTranslatedQueryConditions());
+		distinct = translatedIRODSGenQuery.isDistinct();
+		upperCase = translatedIRODSGenQuery.isUpperCase();
+		computeTotalRowCount = translatedIRODSGenQuery.isComputeTotalRowCount();
+		options = GenQueryInp.computeOptions(distinct, upperCase, computeTotalRowCount);
+		selectTag = GenQueryInp.buildSelectTag(selectFields, orderByFields);
+	}
+
+	/**
+	 * Bind the plan to a query, using the conditions the plan was compiled with
+	 *
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} with the number of rows desired
+	 * @return {@link TranslatedIRODSGenQuery} that carries this plan
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	public TranslatedIRODSGenQuery bind(final AbstractIRODSGenQuery irodsQuery) throws JargonException {
+		return TranslatedIRODSGenQuery.instanceForPlan(this, conditions, irodsQuery);
+	}
+
+	/**
+	 * Bind the plan to a query with new condition values. The conditions must
+	 * have the columns and operators the plan was compiled with, in the same
+	 * order.
+	 *
+	 * @param translatedQueryConditions
+	 *            {@code List} of {@link TranslatedGenQueryCondition} with the
+	 *            values for this run
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} with the number of rows desired
+	 * @return {@link TranslatedIRODSGenQuery} that carries this plan
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	public TranslatedIRODSGenQuery bind(final List<TranslatedGenQueryCondition> translatedQueryConditions,
+			final AbstractIRODSGenQuery irodsQuery) throws JargonException {
+		if (translatedQueryConditions == null) {
+			throw new IllegalArgumentException("null translatedQueryConditions");
+		}
+
+		if (translatedQueryConditions.size() != conditions.size()) {
+			throw new IllegalArgumentException("conditions do not match the plan");
+		}
+
+		for (int i = 0; i < conditions.size(); i++) {
+			TranslatedGenQueryCondition planned = conditions.get(i);
+			TranslatedGenQueryCondition given = translatedQueryConditions.get(i);
+			if (!planned.getColumnNumericTranslation().equals(given.getColumnNumericTranslation())
+					|| !planned.getOperator().equals(given.getOperator())) {
+				throw new IllegalArgumentException("condition in position:" + i + " does not match the plan");
+			}
+		}
+
+		return TranslatedIRODSGenQuery.instanceForPlan(this, translatedQueryConditions, irodsQuery);
+	}
+
+	/**
+	 * Get the serialized {@code InxIvalPair_PI} tag with the selects
+	 *
+	 * @param encoding
+	 *            {@code String} with the character encoding of the connection
+	 * @return {@code byte[]} that must not be changed
+	 * @throws JargonException
+	 *             if the encoding is not supported
+	 */
+	public byte[] getSelectBytes(final String encoding) throws JargonException {
+		return getSerializedPlan(encoding).selectBytes;
+	}
+
+	/**
+	 * Get the serialized start of the {@code InxValPair_PI} tag, with the number
+	 * of conditions and their columns. The condition values and the end of the
+	 * tag follow.
+	 *
+	 * @param encoding
+	 *            {@code String} with the character encoding of the connection
+	 * @return {@code byte[]} that must not be changed
+	 * @throws JargonException
+	 *             if the encoding is not supported
+	 */
+	public byte[] getConditionColumnBytes(final String encoding) throws JargonException {
+		return getSerializedPlan(encoding).conditionColumnBytes;
+	}
+
+	private SerializedPlan getSerializedPlan(final String encoding) throws JargonException {
+		SerializedPlan current = serializedPlan;
+		if (current != null && current.encoding.equals(encoding)) {
+			return current;
+		}
+
+		try {
+			TagWriter tagWriter = new TagWriter(encoding);
+			byte[] selectBytes = tagWriter.write(selectTag).toByteArray();
+			tagWriter.reset();
+			tagWriter.writeStartTag(GenQueryInp.INX_VAL_PAIR_PI);
+			tagWriter.write(new Tag(GenQueryInp.ISLEN, conditions.size()));
+			for (TranslatedGenQueryCondition condition : conditions) {
+				tagWriter.write(new Tag(GenQueryInp.INX, condition.getColumnNumericTranslation()));
+			}
+			current = new SerializedPlan(encoding, selectBytes, tagWriter.toByteArray());
+		} catch (UnsupportedEncodingException e) {
+			throw new JargonException("unsupported encoding:" + encoding, e);
+		}
+
+		serializedPlan = current;
+		return current;
+	}
+
+	/**
+	 * @return {@code int} with the options flags of the packing instruction
+	 */
+	public int getOptions() {
+		return options;
+	}
+
+	/**
+	 * @return {@code List} of {@link GenQuerySelectField}
+	 */
+	public List<GenQuerySelectField> getSelectFields() {
+		return selectFields;
+	}
+
+	/**
+	 * @return {@code List} of {@link GenQueryOrderByField}
+	 */
+	public List<GenQueryOrderByField> getOrderByFields() {
+		return orderByFields;
+	}
+
+	/**
+	 * @return {@code List} of {@link TranslatedGenQueryCondition} the plan was
+	 *         compiled with
+	 */
+	public List<TranslatedGenQueryCondition> getConditions() {
+		return conditions;
+	}
+
+	public boolean isDistinct() {
+		return distinct;
+	}
+
+	public boolean isUpperCase() {
+		return upperCase;
+	}
+
+	public boolean isComputeTotalRowCount() {
+		return computeTotalRowCount;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("GenQueryPlan [selectFields=").append(selectFields).append(", orderByFields=")
+				.append(orderByFields).append(", conditions=").append(conditions.size()).append(", options=")
+				.append(options).append("]");
+		return builder.toString();
+	}
+
+	/**
+	 * Parts of the packing instruction serialized in one encoding
+	 */
+	private static final class SerializedPlan {
+
+		private final String encoding;
+		private final byte[] selectBytes;
+		private final byte[] conditionColumnBytes;
+
+		private SerializedPlan(final String encoding, final byte[] selectBytes, final byte[] conditionColumnBytes) {
+			this.encoding = encoding;
+			this.selectBytes = selectBytes;
+			this.conditionColumnBytes = conditionColumnBytes;
+		}
+
+	}
+
+}
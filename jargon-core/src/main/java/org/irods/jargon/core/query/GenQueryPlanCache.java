@@ -0,0 +1,168 @@
+package org.irods.jargon.core.query;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Bounded cache of compiled {@link GenQueryPlan}s, so that a query run again
+ * skips its translation and the packing of its selects.
+ * <p>
+ * A query given as a string is cached by that string, which includes its
+ * condition values, so the whole translation is reused. A query from the
+ * {@link IRODSGenQueryBuilder} is cached by its shape, see
+ * {@link GenQueryPlan#buildShapeKey(TranslatedIRODSGenQuery)}, and the values
+ * of its conditions are bound on each run, so the many queries that differ only
+ * by a path or an id share one plan.
+ * <p>
+ * The least recently used plan is dropped when the cache is full. This class is
+ * thread-safe, and is shared by the connections of an
+ * {@code IRODSSession}.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class GenQueryPlanCache {
+
+	private static final Logger log = LoggerFactory.getLogger(GenQueryPlanCache.class);
+
+	private static final String QUERY_STRING_PREFIX = "q|";
+	private static final String BUILDER_PREFIX = "b|";
+
+	private final int maxEntries;
+	private final Map<String, GenQueryPlan> plans;
+	private long hits = 0;
+	private long misses = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxEntries
+	 *            {@code int} with the most plans kept
+	 */
+	public GenQueryPlanCache(final int maxEntries) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("maxEntries must be at least 1");
+		}
+
+		this.maxEntries = maxEntries;
+		plans = new LinkedHashMap<String, GenQueryPlan>(16, 0.75f, true) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(final Map.Entry<String, GenQueryPlan> eldest) {
+				return size() > GenQueryPlanCache.this.maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Translate a query given as a string, using a cached plan for the same
+	 * string if there is one
+	 *
+	 * @param irodsQuery
+	 *            {@link IRODSGenQuery} to translate
+	 * @param irodsGenQueryTranslator
+	 *            {@link IRODSGenQueryTranslator} used if there is no plan
+	 * @return {@link TranslatedIRODSGenQuery} bound from the plan
+	 * @throws JargonQueryException
+	 *             if the query is malformed
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	public TranslatedIRODSGenQuery translate(final IRODSGenQuery irodsQuery,
+			final IRODSGenQueryTranslator irodsGenQueryTranslator) throws JargonQueryException, JargonException {
+		if (irodsQuery == null) {
+			throw new IllegalArgumentException("null irodsQuery");
+		}
+
+		if (irodsGenQueryTranslator == null) {
+			throw new IllegalArgumentException("null irodsGenQueryTranslator");
+		}
+
+		String key = QUERY_STRING_PREFIX + irodsQuery.getQueryString();
+		GenQueryPlan plan = lookup(key);
+		if (plan == null) {
+			plan = GenQueryPlan.compile(irodsGenQueryTranslator.getTranslatedQuery(irodsQuery));
+			store(key, plan);
+		}
+		return plan.bind(irodsQuery);
+	}
+
+	/**
+	 * Translate a query from the builder, using a cached plan for the same shape
+	 * if there is one, with the condition values of this query
+	 *
+	 * @param irodsQuery
+	 *            {@link IRODSGenQueryFromBuilder} to translate
+	 * @return {@link TranslatedIRODSGenQuery} bound from the plan
+	 * @throws GenQueryBuilderException
+	 *             if the query is not valid
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	public TranslatedIRODSGenQuery translate(final IRODSGenQueryFromBuilder irodsQuery)
+			throws GenQueryBuilderException, JargonException {
+		if (irodsQuery == null) {
+			throw new IllegalArgumentException("null irodsQuery");
+		}
+
+		TranslatedIRODSGenQuery translated = irodsQuery.convertToTranslatedIRODSGenQuery();
+		String key = BUILDER_PREFIX + GenQueryPlan.buildShapeKey(translated);
+		GenQueryPlan plan = lookup(key);
+		if (plan == null) {
+			plan = GenQueryPlan.compile(translated);
+			store(key, plan);
+		}
+		return plan.bind(translated.getTranslatedQueryConditions(), irodsQuery);
+	}
+
+	/**
+	 * @return {@code int} with the number of plans in the cache
+	 */
+	public synchronized int size() {
+		return plans.size();
+	}
+
+	/**
+	 * @return {@code long} with the number of translations that used a cached
+	 *         plan
+	 */
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	/**
+	 * @return {@code long} with the number of translations that compiled a plan
+	 */
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	/**
+	 * Drop all of the plans
+	 */
+	public synchronized void clear() {
+		plans.clear();
+	}
+
+	private synchronized GenQueryPlan lookup(final String key) {
+		GenQueryPlan plan = plans.get(key);
+		if (plan == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return plan;
+	}
+
+	private synchronized void store(final String key, final GenQueryPlan plan) {
+		log.debug("caching query plan:{}", plan);
+		plans.put(key, plan);
+	}
+
+}
@@ -12,7 +12,6 @@ import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.packinstr.GenQueryInp;
 import org.irods.jargon.core.packinstr.Tag;
 import org.irods.jargon.core.pub.IRODSGenQueryExecutorImpl.QueryCloseBehavior;
-import org.irods.jargon.core.utils.IRODSConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -135,8 +134,7 @@ public class GenQueryProcessor {
 	 */
 	public Tag sendGenQueryAndReturnResponse(final GenQueryInp genQueryInp) throws JargonException {
 
-		Tag response = irodsCommands.irodsFunction(IRODSConstants.RODS_API_REQ, genQueryInp.getParsedTags(),
-				GenQueryInp.API_NBR);
+		Tag response = irodsCommands.irodsFunction(genQueryInp);
 
 		return response;
 	}
@@ -181,15 +179,24 @@ public class GenQueryProcessor {
 	public TranslatedIRODSGenQuery translateProvidedQuery(final AbstractIRODSGenQuery irodsQuery)
 			throws JargonException, JargonQueryException {
 		TranslatedIRODSGenQuery translatedIRODSQuery = null;
+		GenQueryPlanCache genQueryPlanCache = getGenQueryPlanCache();
 
 		if (irodsQuery instanceof IRODSGenQuery) {
 			IRODSGenQueryTranslator irodsQueryTranslator = new IRODSGenQueryTranslator(
 					irodsCommands.getIRODSServerProperties());
-			translatedIRODSQuery = irodsQueryTranslator.getTranslatedQuery((IRODSGenQuery) irodsQuery);
+			if (genQueryPlanCache == null) {
+				translatedIRODSQuery = irodsQueryTranslator.getTranslatedQuery((IRODSGenQuery) irodsQuery);
+			} else {
+				translatedIRODSQuery = genQueryPlanCache.translate((IRODSGenQuery) irodsQuery, irodsQueryTranslator);
+			}
 
 		} else if (irodsQuery instanceof IRODSGenQueryFromBuilder) {
 			try {
-				translatedIRODSQuery = ((IRODSGenQueryFromBuilder) irodsQuery).convertToTranslatedIRODSGenQuery();
+				if (genQueryPlanCache == null) {
+					translatedIRODSQuery = ((IRODSGenQueryFromBuilder) irodsQuery).convertToTranslatedIRODSGenQuery();
+				} else {
+					translatedIRODSQuery = genQueryPlanCache.translate((IRODSGenQueryFromBuilder) irodsQuery);
+				}
 			} catch (GenQueryBuilderException e) {
 				throw new JargonException("invalid builder query", e);
 			}
@@ -199,4 +206,15 @@ public class GenQueryProcessor {
 		return translatedIRODSQuery;
 	}
 
+	/**
+	 * @return {@link GenQueryPlanCache} of the session, or {@code null} if plans
+	 *         are not cached
+	 */
+	private GenQueryPlanCache getGenQueryPlanCache() {
+		if (irodsCommands.getIrodsSession() == null) {
+			return null;
+		}
+		return irodsCommands.getIrodsSession().getGenQueryPlanCache();
+	}
+
 }
@@ -0,0 +1,229 @@
+package org.irods.jargon.core.query;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.pub.IRODSGenQueryExecutorImpl.QueryCloseBehavior;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates over all of the rows of a GenQuery, fetching the continuation pages
+ * as they are needed.
+ * <p>
+ * While the rows of one page are being consumed, the next page is fetched on a
+ * background thread, so that the caller does not wait on iRODS for each page.
+ * The fetch runs on the same connection as the query, the protocol serializes
+ * access to the connection, so other calls on it made while a page is being
+ * fetched wait for that page to arrive.
+ * <p>
+ * The query is closed in iRODS once the last page has been read. If iteration
+ * stops early, {@link #close()} must be called to close the query, which is
+ * best done in a try-with-resources block. The same applies to the
+ * {@code Stream} from {@link #stream()}, which closes this iterator when it is
+ * closed. Errors while fetching a page are thrown from {@link #hasNext()} and
+ * {@link #next()} as a {@link JargonRuntimeException} wrapping the
+ * {@link JargonException}.
+ * <p>
+ * This class is not thread-safe, it should be used by one thread.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public final class IRODSQueryResultIterator implements Iterator<IRODSQueryResultRow>, AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(IRODSQueryResultIterator.class);
+
+	private final GenQueryProcessor genQueryProcessor;
+	private final ThreadFactory threadFactory;
+	private final String zoneName;
+	private IRODSQueryResultSet currentResultSet;
+	private List<IRODSQueryResultRow> currentRows;
+	private int currentIndex = 0;
+	private FutureTask<IRODSQueryResultSet> nextPage = null;
+	private boolean closed = false;
+
+	/**
+	 * Run a query and return an iterator over all of its rows. The first page is
+	 * fetched before this returns, and the fetch of the second page is started.
+	 *
+	 * @param genQueryProcessor
+	 *            {@link GenQueryProcessor} for the connection that will run the
+	 *            query
+	 * @param translatedIRODSQuery
+	 *            {@link TranslatedIRODSGenQuery} to be run
+	 * @param zoneName
+	 *            {@code String} ({@code null} or blank if not used) that indicates
+	 *            an optional zone for the query
+	 * @param threadFactory
+	 *            {@link ThreadFactory} for the threads that fetch the next page
+	 * @return {@link IRODSQueryResultIterator}
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	public static IRODSQueryResultIterator instance(final GenQueryProcessor genQueryProcessor,
+			final TranslatedIRODSGenQuery translatedIRODSQuery, final String zoneName,
+			final ThreadFactory threadFactory) throws JargonException {
+
+		if (genQueryProcessor == null) {
+			throw new IllegalArgumentException("null genQueryProcessor");
+		}
+
+		if (translatedIRODSQuery == null) {
+			throw new IllegalArgumentException("null translatedIRODSQuery");
+		}
+
+		if (threadFactory == null) {
+			throw new IllegalArgumentException("null threadFactory");
+		}
+
+		IRODSQueryResultSet firstResultSet = genQueryProcessor.executeTranslatedIRODSQuery(translatedIRODSQuery, 0, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, zoneName);
+		return new IRODSQueryResultIterator(genQueryProcessor, firstResultSet, zoneName, threadFactory);
+	}
+
+	private IRODSQueryResultIterator(final GenQueryProcessor genQueryProcessor,
+			final IRODSQueryResultSet firstResultSet, final String zoneName, final ThreadFactory threadFactory) {
+		this.genQueryProcessor = genQueryProcessor;
+		this.zoneName = zoneName;
+		this.threadFactory = threadFactory;
+		setCurrentResultSet(firstResultSet);
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (closed) {
+			return false;
+		}
+
+		while (currentIndex >= currentRows.size()) {
+			if (!currentResultSet.isHasMoreRecords()) {
+				log.debug("last page read");
+				closed = true;
+				currentRows = Collections.emptyList();
+				return false;
+			}
+
+			try {
+				setCurrentResultSet(awaitNextPage());
+			} catch (JargonException e) {
+				closed = true;
+				currentRows = Collections.emptyList();
+				throw new JargonRuntimeException("error getting next page of query results", e);
+			}
+		}
+
+		return true;
+	}
+
+	@Override
+	public IRODSQueryResultRow next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException("no more query results");
+		}
+		return currentRows.get(currentIndex++);
+	}
+
+	/**
+	 * Stop the iteration and close the query in iRODS if there are pages that
+	 * have not been read. A page still being fetched is waited for first. Calling
+	 * this more than once has no further effect.
+	 *
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	@Override
+	public void close() throws JargonException {
+		if (closed) {
+			return;
+		}
+
+		log.debug("closing query iterator before the last page");
+		closed = true;
+		currentRows = Collections.emptyList();
+
+		if (nextPage != null) {
+			// the statement in iRODS now carries on from the page being fetched
+			currentResultSet = awaitNextPage();
+		}
+
+		genQueryProcessor.closeResults(currentResultSet);
+	}
+
+	/**
+	 * Get the remaining rows as a sequential {@code Stream}. Closing the stream
+	 * closes this iterator, an error doing so is thrown as a
+	 * {@link JargonRuntimeException}.
+	 *
+	 * @return {@code Stream} of {@link IRODSQueryResultRow}
+	 */
+	public Stream<IRODSQueryResultRow> stream() {
+		Stream<IRODSQueryResultRow> stream = StreamSupport.stream(
+				Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false);
+		return stream.onClose(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					close();
+				} catch (JargonException e) {
+					throw new JargonRuntimeException("error closing query results", e);
+				}
+			}
+		});
+	}
+
+	private void setCurrentResultSet(final IRODSQueryResultSet resultSet) {
+		currentResultSet = resultSet;
+		currentRows = resultSet.getResults();
+		currentIndex = 0;
+
+		if (resultSet.isHasMoreRecords()) {
+			startNextPage(resultSet);
+		}
+	}
+
+	private void startNextPage(final IRODSQueryResultSet resultSet) {
+		log.debug("fetching next page of query results");
+		nextPage = new FutureTask<IRODSQueryResultSet>(new Callable<IRODSQueryResultSet>() {
+			@Override
+			public IRODSQueryResultSet call() throws Exception {
+				return genQueryProcessor.executeTranslatedIRODSQuery(resultSet.getTranslatedIRODSQuery(),
+						resultSet.getContinuationIndex(), 0, QueryCloseBehavior.MANUAL_CLOSE, zoneName);
+			}
+		});
+
+		Thread thread = threadFactory.newThread(nextPage);
+		thread.setName("jargon-query-prefetch");
+		thread.start();
+	}
+
+	private IRODSQueryResultSet awaitNextPage() throws JargonException {
+		FutureTask<IRODSQueryResultSet> page = nextPage;
+		nextPage = null;
+
+		try {
+			return page.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new JargonException("interrupted waiting for query results", e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof JargonException) {
+				throw (JargonException) e.getCause();
+			}
+			throw new JargonException("error getting next page of query results", e.getCause());
+		}
+	}
+
+}
@@ -25,6 +25,10 @@ public class IRODSQueryResultRow {
 	private final int recordCount;
 	private final boolean lastResult;
 	private final List<String> columnNames;
+	/**
+	 * page this row is a view over, or {@code null} if built from a list
+	 */
+	private final QueryResultColumns page;
 
 	/**
 	 * Build a result row from a column of results produced by an IRODS GenQuery
@@ -117,9 +121,34 @@ public class IRODSQueryResultRow {
 		this.lastResult = lastResult;
 		this.recordCount = recordCount;
 		this.columnNames = columnNames;
+		page = null;
 
 	}
 
+	/**
+	 * Constructor for a row that is a view over one row of a page of results
+	 * decoded by column
+	 *
+	 * @param page
+	 *            {@link QueryResultColumns} with the page
+	 * @param row
+	 *            {@code int} with the index of the row in the page
+	 * @param columnNames
+	 *            {@code List<String} with the values for each column name
+	 * @param recordCount
+	 *            {@code int} with the index of the current record
+	 * @param lastResult
+	 *            {@code boolean} of {@code true} if there are more records to page
+	 */
+	IRODSQueryResultRow(final QueryResultColumns page, final int row, final List<String> columnNames,
+			final int recordCount, final boolean lastResult) {
+		queryResultColumns = page.row(row);
+		this.page = page;
+		this.lastResult = lastResult;
+		this.recordCount = recordCount;
+		this.columnNames = columnNames;
+	}
+
 	/**
 	 * Given a columnNumber, return the value of the column in the result set.
 	 *
@@ -250,6 +279,10 @@ public class IRODSQueryResultRow {
 	 * @return {@code int}
 	 */
 	protected int getColumnNamePosition(final String columnName) {
+		if (page != null) {
+			return page.getColumnPosition(columnName);
+		}
+
 		int colPos = -1;
 		int i = 0;
 		for (String colNameInList : columnNames) {
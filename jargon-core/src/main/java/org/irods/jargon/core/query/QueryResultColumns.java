@@ -0,0 +1,135 @@
+package org.irods.jargon.core.query;
+
+import java.util.AbstractList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.Tag;
+
+/**
+ * One page of query results held column by column, with one {@code String[]}
+ * for each column, decoded in a single pass over a {@code GenQueryOut}
+ * response. The {@link IRODSQueryResultRow} instances of the page are views over
+ * these arrays, and share one lookup of column positions by name.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+final class QueryResultColumns {
+
+	/**
+	 * Position of the first {@code SqlResult_PI} in a {@code GenQueryOut}
+	 */
+	private static final int FIRST_RESULT_TAG = 4;
+
+	/**
+	 * Position of the first value in a {@code SqlResult_PI}, after the attribute
+	 * index and result length
+	 */
+	private static final int FIRST_VALUE_TAG = 2;
+
+	private final String[][] columns;
+	private final Map<String, Integer> columnPositions;
+
+	private QueryResultColumns(final String[][] columns, final List<String> columnNames) {
+		this.columns = columns;
+		columnPositions = new HashMap<String, Integer>();
+		int i = 0;
+		for (String columnName : columnNames) {
+			// the first of any repeated names wins, as in a scan of the names
+			if (!columnPositions.containsKey(columnName)) {
+				columnPositions.put(columnName, i);
+			}
+			i++;
+		}
+	}
+
+	/**
+	 * Decode the values of a {@code GenQueryOut} response
+	 *
+	 * @param queryResponse
+	 *            {@link Tag} with the {@code GenQueryOut}
+	 * @param rows
+	 *            {@code int} with the row count of the response
+	 * @param attributes
+	 *            {@code int} with the attribute count of the response
+	 * @param columnNames
+	 *            {@code List<String>} with the column names
+	 * @return {@link QueryResultColumns}
+	 * @throws JargonException
+	 *             if the response holds fewer values than its counts say
+	 */
+	static QueryResultColumns fromGenQueryOut(final Tag queryResponse, final int rows, final int attributes,
+			final List<String> columnNames) throws JargonException {
+		String[][] columns = new String[attributes][];
+		if (rows > 0) {
+			List<Tag> results = queryResponse.tags;
+			if (results == null || results.size() < FIRST_RESULT_TAG + attributes) {
+				throw new JargonException("query result is missing columns");
+			}
+
+			for (int j = 0; j < attributes; j++) {
+				List<Tag> values = results.get(FIRST_RESULT_TAG + j).tags;
+				if (values == null || values.size() < FIRST_VALUE_TAG + rows) {
+					throw new JargonException("query result is missing values for column:" + j);
+				}
+
+				String[] column = new String[rows];
+				Iterator<Tag> iterator = values.listIterator(FIRST_VALUE_TAG);
+				for (int i = 0; i < rows; i++) {
+					column[i] = iterator.next().getStringValue();
+				}
+				columns[j] = column;
+			}
+		}
+
+		return new QueryResultColumns(columns, columnNames);
+	}
+
+	/**
+	 * @param columnName
+	 *            {@code String} with the column name
+	 * @return {@code int} with the position of the column, or -1 if there is no
+	 *         such column
+	 */
+	int getColumnPosition(final String columnName) {
+		Integer position = columnPositions.get(columnName);
+		return position == null ? -1 : position;
+	}
+
+	/**
+	 * Get a read only view of the values in one row
+	 *
+	 * @param row
+	 *            {@code int} with the row index in this page
+	 * @return {@code List<String>} with the value for each column
+	 */
+	List<String> row(final int row) {
+		return new RowView(row);
+	}
+
+	private final class RowView extends AbstractList<String> implements RandomAccess {
+
+		private final int row;
+
+		private RowView(final int row) {
+			this.row = row;
+		}
+
+		@Override
+		public String get(final int index) {
+			return columns[index][row];
+		}
+
+		@Override
+		public int size() {
+			return columns.length;
+		}
+
+	}
+
+}
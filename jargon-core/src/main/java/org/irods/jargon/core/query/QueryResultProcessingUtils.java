@@ -57,7 +57,6 @@ public class QueryResultProcessingUtils {
 		log.info("rows returned from iRODS query: {}", rows);
 
 		List<IRODSQueryResultRow> resultSet = new ArrayList<IRODSQueryResultRow>(rows);
-		List<String> row;
 
 		int recordCount;
 		if (partialStartIndex == 0) {
@@ -71,15 +70,11 @@ public class QueryResultProcessingUtils {
 
 		int attributes = queryResponse.getTag(GenQueryOut.ATTRIB_CNT).getIntValue();
 
-		for (int i = 0; i < rows; i++) {
-			// new row
-			row = new ArrayList<String>();
-			for (int j = 0; j < attributes; j++) {
-
-				row.add(queryResponse.getTags()[4 + j].getTags()[2 + i].getStringValue());
-			}
+		// decode by column in one pass, the rows are views over the columns
+		QueryResultColumns page = QueryResultColumns.fromGenQueryOut(queryResponse, rows, attributes, columnNames);
 
-			resultSet.add(IRODSQueryResultRow.instance(row, columnNames, recordCount++, lastRecord));
+		for (int i = 0; i < rows; i++) {
+			resultSet.add(new IRODSQueryResultRow(page, i, columnNames, recordCount++, lastRecord));
 		}
 
 		return resultSet;
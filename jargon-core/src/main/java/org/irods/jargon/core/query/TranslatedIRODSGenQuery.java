@@ -31,6 +31,10 @@ public class TranslatedIRODSGenQuery {
 	 * Indicates whether a total row count should be included by iRODS
 	 */
 	private final boolean computeTotalRowCount;
+	/**
+	 * Compiled plan this query was bound from, or {@code null}
+	 */
+	private final GenQueryPlan queryPlan;
 
 	/**
 	 * Create an instance of the query translation, this contains information about
@@ -61,7 +65,7 @@ public class TranslatedIRODSGenQuery {
 			final List<TranslatedGenQueryCondition> translatedQueryConditions, final AbstractIRODSGenQuery irodsQuery,
 			final boolean distinct, final boolean upperCase) throws JargonException {
 		return new TranslatedIRODSGenQuery(translatedSelectFields, translatedQueryConditions, null, irodsQuery,
-				distinct, upperCase, false);
+				distinct, upperCase, false, null);
 
 	}
 
@@ -88,7 +92,7 @@ public class TranslatedIRODSGenQuery {
 			final List<TranslatedGenQueryCondition> translatedQueryConditions, final AbstractIRODSGenQuery irodsQuery,
 			final boolean distinct) throws JargonException {
 		return new TranslatedIRODSGenQuery(translatedSelectFields, translatedQueryConditions, null, irodsQuery,
-				distinct, false, false);
+				distinct, false, false, null);
 
 	}
 
@@ -123,7 +127,7 @@ public class TranslatedIRODSGenQuery {
 			final List<GenQueryOrderByField> orderByFields, final AbstractIRODSGenQuery irodsQuery,
 			final boolean distinct, final boolean caseInsensitive) throws JargonException {
 		return new TranslatedIRODSGenQuery(translatedSelectFields, translatedQueryConditions, orderByFields, irodsQuery,
-				distinct, caseInsensitive, false);
+				distinct, caseInsensitive, false, null);
 
 	}
 
@@ -164,7 +168,7 @@ public class TranslatedIRODSGenQuery {
 			final boolean distinct, final boolean caseInsensitive, final boolean computeTotalRowCount)
 			throws JargonException {
 		return new TranslatedIRODSGenQuery(translatedSelectFields, translatedQueryConditions, orderByFields, irodsQuery,
-				distinct, caseInsensitive, computeTotalRowCount);
+				distinct, caseInsensitive, computeTotalRowCount, null);
 
 	}
 
@@ -190,15 +194,39 @@ public class TranslatedIRODSGenQuery {
 			final List<TranslatedGenQueryCondition> translatedQueryConditions, final AbstractIRODSGenQuery irodsQuery)
 			throws JargonException {
 		return new TranslatedIRODSGenQuery(translatedSelectFields, translatedQueryConditions, null, irodsQuery, true,
-				false, false);
+				false, false, null);
 
 	}
 
+	/**
+	 * Create an instance bound from a compiled {@link GenQueryPlan}, see
+	 * {@link GenQueryPlan#bind(List, AbstractIRODSGenQuery)}
+	 *
+	 * @param queryPlan
+	 *            {@link GenQueryPlan} with the selects, order by, and options
+	 * @param translatedQueryConditions
+	 *            {@code List} of {@link TranslatedGenQueryCondition} with the
+	 *            conditions for this run
+	 * @param irodsQuery
+	 *            {@link AbstractIRODSGenQuery} that encapsulates the original user
+	 *            query.
+	 * @return {@link TranslatedIRODSGenQuery}
+	 * @throws JargonException
+	 *             for iRODS error
+	 */
+	static TranslatedIRODSGenQuery instanceForPlan(final GenQueryPlan queryPlan,
+			final List<TranslatedGenQueryCondition> translatedQueryConditions, final AbstractIRODSGenQuery irodsQuery)
+			throws JargonException {
+		return new TranslatedIRODSGenQuery(queryPlan.getSelectFields(), translatedQueryConditions,
+				queryPlan.getOrderByFields(), irodsQuery, queryPlan.isDistinct(), queryPlan.isUpperCase(),
+				queryPlan.isComputeTotalRowCount(), queryPlan);
+	}
+
 	private TranslatedIRODSGenQuery(final List<GenQuerySelectField> selectFields,
 			final List<TranslatedGenQueryCondition> translatedQueryConditions,
 			final List<GenQueryOrderByField> orderByFields, final AbstractIRODSGenQuery irodsQuery,
-			final boolean distinct, final boolean upperCase, final boolean computeTotalRowCount)
-			throws JargonException {
+			final boolean distinct, final boolean upperCase, final boolean computeTotalRowCount,
+			final GenQueryPlan queryPlan) throws JargonException {
 
 		if (translatedQueryConditions == null) {
 			throw new JargonException("conditions are null");
@@ -228,6 +256,7 @@ public class TranslatedIRODSGenQuery {
 		this.distinct = distinct;
 		this.upperCase = upperCase;
 		this.computeTotalRowCount = computeTotalRowCount;
+		this.queryPlan = queryPlan;
 
 	}
 
@@ -281,6 +310,14 @@ public class TranslatedIRODSGenQuery {
 		return computeTotalRowCount;
 	}
 
+	/**
+	 * @return {@link GenQueryPlan} this query was bound from, or {@code null} if
+	 *         it was translated without a plan
+	 */
+	public GenQueryPlan getQueryPlan() {
+		return queryPlan;
+	}
+
 	@Override
 	public String toString() {
 		final int maxLen = 10;
@@ -5,7 +5,6 @@ import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 
 import org.irods.jargon.core.exception.JargonException;
-import org.irods.jargon.core.utils.Host;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -32,8 +31,16 @@ public class AbstractNIOParallelTransferThread {
 		super();
 	}
 
+	/**
+	 * Direct buffer for reading header values, re-used for each read so the
+	 * channel does not copy through a temporary direct buffer
+	 */
+	private final ByteBuffer headerBuffer = ByteBuffer.allocateDirect(8);
+
 	private ByteBuffer readLenFromSocket(final int length) throws JargonException {
-		final ByteBuffer b = ByteBuffer.allocate(length);
+		final ByteBuffer b = headerBuffer;
+		b.clear();
+		b.limit(length);
 
 		int read;
 		int tot = 0;
@@ -57,25 +64,21 @@ public class AbstractNIOParallelTransferThread {
 			log.error(IO_EXEPTION_IN_PARALLEL_TRANSFER, e);
 			throw new JargonException(IO_EXCEPTION_OCCURRED_DURING_PARALLEL_FILE_TRANSFER, e);
 		}
+		if (tot != length) {
+			log.error("unexpected length read from socket");
+			throw new JargonException("unexpected length read from socket");
+		}
+		b.flip();
 		return b;
 	}
 
 	protected int readInt() throws JargonException {
-		int len = 4;
-		final byte[] bAsByte = new byte[len];
-		ByteBuffer b = readLenFromSocket(len);
-		b.flip();
-		b.get(bAsByte);
-		return Host.castToInt(bAsByte);
+		// network order, which is the ByteBuffer default
+		return readLenFromSocket(4).getInt();
 	}
 
 	protected long readLong() throws JargonException {
-		int len = 8;
-		final byte[] bAsByte = new byte[len];
-		ByteBuffer b = readLenFromSocket(len);
-		b.flip();
-		b.get(bAsByte);
-		return Host.castToLong(bAsByte);
+		return readLenFromSocket(8).getLong();
 	}
 
 	public void close() throws JargonException {
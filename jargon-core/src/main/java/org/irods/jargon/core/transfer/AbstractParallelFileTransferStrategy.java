@@ -9,6 +9,7 @@ import org.irods.jargon.core.connection.PipelineConfiguration;
 import org.irods.jargon.core.connection.SettableJargonProperties;
 import org.irods.jargon.core.exception.ClientServerNegotiationException;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.metrics.MetricsRegistry;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
 import org.irods.jargon.core.transfer.encrypt.EncryptionWrapperFactory;
 import org.irods.jargon.core.transfer.encrypt.ParallelDecryptionCipherWrapper;
@@ -55,6 +56,11 @@ public abstract class AbstractParallelFileTransferStrategy {
 	private final int parallelSocketTimeoutInSecs;
 	private final JargonProperties jargonProperties;
 
+	/**
+	 * Sum of the throughput of the finished streams, in bytes per second
+	 */
+	private double measuredThroughput = 0.0;
+
 	/**
 	 * Constructor for a parallel file transfer runner. This runner will create the
 	 * parallel transfer threads and process the transfer.
@@ -256,6 +262,61 @@ public abstract class AbstractParallelFileTransferStrategy {
 		return irodsAccessObjectFactory;
 	}
 
+	/**
+	 * Record how long a transfer, or one of its threads, took, and optionally
+	 * how many bytes it moved, if the session is instrumented
+	 *
+	 * @param latencyName
+	 *            {@code String} with the name of the latency in the
+	 *            {@link MetricsRegistry}
+	 * @param startNanos
+	 *            {@code long} from {@link System#nanoTime()} at the start
+	 * @param bytesName
+	 *            {@code String} with the name of the byte counter, or
+	 *            {@code null} to only record the latency
+	 * @param bytes
+	 *            {@code long} with the bytes moved
+	 */
+	void recordTransferMetrics(final String latencyName, final long startNanos, final String bytesName,
+			final long bytes) {
+		if (irodsAccessObjectFactory.getIrodsSession() == null) {
+			return;
+		}
+
+		MetricsRegistry metricsRegistry = irodsAccessObjectFactory.getIrodsSession().getMetricsRegistry();
+		if (metricsRegistry == null) {
+			return;
+		}
+
+		metricsRegistry.recordLatency(latencyName, System.nanoTime() - startNanos);
+		if (bytesName != null) {
+			metricsRegistry.incrementCounter(bytesName, bytes);
+		}
+	}
+
+	/**
+	 * Add the throughput of one finished stream to the measured throughput of the
+	 * transfer
+	 *
+	 * @param bytes
+	 *            {@code long} with the bytes the stream moved
+	 * @param elapsedNanos
+	 *            {@code long} with how long the stream ran
+	 */
+	synchronized void recordStreamThroughput(final long bytes, final long elapsedNanos) {
+		if (bytes > 0 && elapsedNanos > 0) {
+			measuredThroughput += bytes * 1000000000.0 / elapsedNanos;
+		}
+	}
+
+	/**
+	 * @return {@code double} with the summed throughput of the streams that have
+	 *         finished, in bytes per second
+	 */
+	public synchronized double getMeasuredThroughput() {
+		return measuredThroughput;
+	}
+
 	/**
 	 * @return the transferControlBlock
 	 */
@@ -322,6 +383,15 @@ public abstract class AbstractParallelFileTransferStrategy {
 		return getIrodsAccessObjectFactory().getIrodsSession().getRestartManager();
 	}
 
+	/**
+	 * Retrieves the pool of transfer buffers shared by the parallel threads
+	 *
+	 * @return {@link TransferBufferPool}
+	 */
+	public TransferBufferPool getTransferBufferPool() {
+		return getIrodsAccessObjectFactory().getIrodsSession().getTransferBufferPool();
+	}
+
 	/**
 	 * Handy method for threads to determine whether encryption should be done
 	 *
@@ -331,6 +401,19 @@ public abstract class AbstractParallelFileTransferStrategy {
 		return negotiatedClientServerConfiguration.isSslConnection();
 	}
 
+	/**
+	 * Handy method for threads to determine whether data should be moved directly
+	 * between the socket and the local file with {@code FileChannel} transfers.
+	 * This is never done when encrypting, as the cipher needs the data in a
+	 * buffer.
+	 *
+	 * @return {@code boolean} of {@code true} if file channel transfers should be
+	 *         used
+	 */
+	boolean useFileChannel() {
+		return getJargonProperties().isUseFileChannelForParallelTransfers() && !doEncryption();
+	}
+
 	public PipelineConfiguration getPipelineConfiguration() {
 		return pipelineConfiguration;
 	}
@@ -32,6 +32,16 @@ public class AbstractParallelTransferThread {
 	 */
 	private final int threadNumber;
 
+	/**
+	 * Scratch space for reading header values, re-used for each read
+	 */
+	private final byte[] headerBytes = new byte[8];
+
+	/**
+	 * Bytes of file data moved by this thread
+	 */
+	private long bytesTransferred = 0L;
+
 	public static final Logger log = LoggerFactory.getLogger(AbstractParallelTransferThread.class);
 
 	protected AbstractParallelTransferThread(final int threadNumber) {
@@ -40,10 +50,10 @@ public class AbstractParallelTransferThread {
 	}
 
 	protected int readInt() throws JargonException {
-		final byte[] b = new byte[4];
+		final byte[] b = headerBytes;
 		int read;
 		try {
-			read = in.read(b);
+			read = in.read(b, 0, 4);
 		} catch (Exception e) {
 			log.error(IO_EXEPTION_IN_PARALLEL_TRANSFER, e);
 			throw new JargonException(IO_EXCEPTION_OCCURRED_DURING_PARALLEL_FILE_TRANSFER, e);
@@ -58,11 +68,11 @@ public class AbstractParallelTransferThread {
 	protected long readLong() throws JargonException {
 		// length comes down the wire as an signed long long in network
 		// order
-		final byte[] b = new byte[8];
+		final byte[] b = headerBytes;
 
 		int read;
 		try {
-			read = in.read(b);
+			read = in.read(b, 0, 8);
 		} catch (Exception e) {
 			log.error(IO_EXEPTION_IN_PARALLEL_TRANSFER);
 			throw new JargonException(IO_EXCEPTION_OCCURRED_DURING_PARALLEL_FILE_TRANSFER, e);
@@ -143,6 +153,20 @@ public class AbstractParallelTransferThread {
 		this.exceptionInTransfer = exceptionInTransfer;
 	}
 
+	/**
+	 * @param bytes {@code long} with file data moved by this thread
+	 */
+	protected void addBytesTransferred(final long bytes) {
+		bytesTransferred += bytes;
+	}
+
+	/**
+	 * @return {@code long} with the file data moved by this thread so far
+	 */
+	protected long getBytesTransferred() {
+		return bytesTransferred;
+	}
+
 	/**
 	 * @return the threadNumber
 	 */
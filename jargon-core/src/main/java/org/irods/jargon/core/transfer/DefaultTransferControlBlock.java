@@ -43,6 +43,8 @@ public class DefaultTransferControlBlock implements TransferControlBlock {
 	private TransferOptions transferOptions = new TransferOptions();
 	private long totalBytesTransferredSoFar = 0L;
 	private long totalBytesToTransfer = 0L;
+	private int transferPriority = 0;
+	private int transferWeight = 1;
 
 	/*
 	 * (non-Javadoc)
@@ -417,4 +419,29 @@ public class DefaultTransferControlBlock implements TransferControlBlock {
 		return totalFilesTransferredSoFar - totalFilesSkippedSoFar;
 	}
 
+	@Override
+	public synchronized int getTransferPriority() {
+		return transferPriority;
+	}
+
+	@Override
+	public synchronized void setTransferPriority(final int transferPriority) {
+		this.transferPriority = transferPriority;
+	}
+
+	@Override
+	public synchronized int getTransferWeight() {
+		return transferWeight;
+	}
+
+	@Override
+	public void setTransferWeight(final int transferWeight) {
+		if (transferWeight < 1) {
+			throw new IllegalArgumentException("transferWeight must be at least 1");
+		}
+		synchronized (this) {
+			this.transferWeight = transferWeight;
+		}
+	}
+
 }
@@ -13,6 +13,7 @@ import java.util.concurrent.Future;
 
 import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.metrics.MetricsRegistry;
 import org.irods.jargon.core.pub.DefaultIntraFileProgressCallbackListener;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
 import org.slf4j.Logger;
@@ -115,12 +116,14 @@ public final class ParallelGetFileTransferStrategy extends AbstractParallelFileT
 	@Override
 	public void transfer() throws JargonException {
 		log.info("initiating transfer for: {}", toString());
+		long startNanos = System.nanoTime();
 		ExecutorService executor = getIrodsAccessObjectFactory().getIrodsSession().getParallelTransferThreadPool();
 		if (executor == null) {
 			ExecutorService executorService = null;
 			try {
 				log.info("no pool available, transfer using single executor");
-				executorService = Executors.newFixedThreadPool(numberOfThreads);
+				executorService = Executors.newFixedThreadPool(numberOfThreads,
+						getIrodsAccessObjectFactory().getIrodsSession().getTaskThreadFactory());
 				transferWithExecutor(executorService);
 			} finally {
 				if (executorService != null) {
@@ -133,6 +136,8 @@ public final class ParallelGetFileTransferStrategy extends AbstractParallelFileT
 			transferWithExecutor(executor);
 		}
 		log.info("transfer process has returned");
+		recordTransferMetrics(MetricsRegistry.PARALLEL_GET_LATENCY, startNanos, MetricsRegistry.PARALLEL_GET_BYTES,
+				transferLength);
 	}
 
 	private void transferWithExecutor(final ExecutorService executor) throws JargonException {
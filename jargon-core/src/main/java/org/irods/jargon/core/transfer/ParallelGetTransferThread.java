@@ -11,10 +11,14 @@ import java.io.RandomAccessFile;
 import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.UnknownHostException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.Callable;
 
 import org.irods.jargon.core.connection.ConnectionProgressStatus;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.metrics.MetricsRegistry;
 import org.irods.jargon.core.exception.JargonRuntimeException;
 import org.irods.jargon.core.transfer.encrypt.ParallelDecryptionCipherWrapper;
 import org.irods.jargon.core.utils.Host;
@@ -39,6 +43,12 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 	 */
 	private ParallelDecryptionCipherWrapper parallelDecryptionCipherWrapper;
 
+	/**
+	 * Receive data with {@code FileChannel.transferFrom()} rather than through a
+	 * buffer
+	 */
+	private final boolean useFileChannel;
+
 	public static final Logger log = LoggerFactory.getLogger(ParallelGetTransferThread.class);
 
 	/**
@@ -71,6 +81,7 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 		}
 
 		this.parallelGetFileTransferStrategy = parallelGetFileTransferStrategy;
+		useFileChannel = parallelGetFileTransferStrategy.useFileChannel();
 		log.info("setting up the encryption if so negotiated");
 		if (this.parallelGetFileTransferStrategy.doEncryption()) {
 			log.debug("am doing encryption, enable the cypher");
@@ -81,8 +92,15 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 
 	@Override
 	public ParallelTransferResult call() throws JargonException {
+		long startNanos = System.nanoTime();
 		try {
-			Socket s = new Socket();
+			Socket s;
+			if (useFileChannel) {
+				log.info("using file channel transfers, socket is opened from a SocketChannel");
+				s = SocketChannel.open().socket();
+			} else {
+				s = new Socket();
+			}
 			if (parallelGetFileTransferStrategy.getPipelineConfiguration().getParallelTcpSendWindowSize() > 0) {
 				s.setSendBufferSize(
 						parallelGetFileTransferStrategy.getPipelineConfiguration().getParallelTcpSendWindowSize()
@@ -122,7 +140,8 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 			int outputBuffSize = parallelGetFileTransferStrategy.getJargonProperties()
 					.getInternalOutputStreamBufferSize();
 
-			if (inputBuffSize < 0) {
+			if (inputBuffSize < 0 || useFileChannel) {
+				// data is read from the channel, so nothing may be buffered ahead of it
 				setIn(getS().getInputStream());
 			} else if (inputBuffSize == 0) {
 				setIn(new BufferedInputStream(getS().getInputStream()));
@@ -145,6 +164,10 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 			log.info("sockets are open and password sent, now begin the get operation");
 
 			get();
+			parallelGetFileTransferStrategy.recordTransferMetrics(MetricsRegistry.PARALLEL_GET_THREAD_LATENCY,
+					startNanos, null, 0L);
+			parallelGetFileTransferStrategy.recordStreamThroughput(getBytesTransferred(),
+					System.nanoTime() - startNanos);
 			log.info("exiting get and returning the finish object");
 			ParallelTransferResult result = new ParallelTransferResult();
 			result.transferException = getExceptionInTransfer();
@@ -221,7 +244,8 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 		log.info(">>>new offset:{}", offset);
 		log.info(">>>new length:{}", length);
 
-		// Holds all the data for transfer
+		// Holds all the data for transfer, re-used for each chunk
+		TransferBufferPool transferBufferPool = parallelGetFileTransferStrategy.getTransferBufferPool();
 		byte[] buffer = null;
 		int read = 0;
 
@@ -269,32 +293,38 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 
 				if (newSize <= 0) {
 					return;
+				} else if (useFileChannel) {
+					read = transferFromSocket(local.getChannel(), newSize);
 				} else {
-					// c code - size_t buf_size = ( 2 * TRANS_BUF_SZ ) * sizeof(
-					// unsigned char );
-					buffer = new byte[newSize];
-				}
+					if (buffer == null || buffer.length < newSize) {
+						// c code - size_t buf_size = ( 2 * TRANS_BUF_SZ ) * sizeof(
+						// unsigned char );
+						transferBufferPool.release(buffer);
+						// not released twice if the acquire fails
+						buffer = null;
+						buffer = transferBufferPool.acquire(newSize);
+					}
 
-				read = myRead(getIn(), buffer, newSize);
+					read = myRead(getIn(), buffer, newSize);
 
-				/*
-				 * If encrypted, strip off the iv and decrypt before writing
-				 */
+					/*
+					 * If encrypted, strip off the iv and decrypt (in place) before writing
+					 */
 
-				if (parallelGetFileTransferStrategy.doEncryption()) {
-					buffer = parallelDecryptionCipherWrapper.decrypt(buffer);
-					read = buffer.length;
+					if (parallelGetFileTransferStrategy.doEncryption()) {
+						read = parallelDecryptionCipherWrapper.decrypt(buffer, read);
+					}
 
+					local.write(buffer, 0, read);
 				}
 
 				totalWrittenSinceLastRestartUpdate += read;
+				addBytesTransferred(read);
 
 				if (read > 0) {
 					length -= read;
 					if (length == 0) {
 
-						local.write(buffer, 0, read);
-
 						/*
 						 * Make an intra-file status call-back if a listener is configured
 						 */
@@ -339,7 +369,6 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 						throw new JargonException(msg);
 					} else {
 
-						local.write(buffer, 0, read);
 						/*
 						 * Make an intra-file status call-back if a listener is configured
 						 */
@@ -366,7 +395,57 @@ public final class ParallelGetTransferThread extends AbstractParallelTransferThr
 		} catch (Throwable e) {
 			log.error("exception in parallel transfer", e);
 			throw new JargonException("unexpected exception in parallel transfer", e);
+		} finally {
+			transferBufferPool.release(buffer);
+		}
+	}
+
+	/**
+	 * Move the given number of bytes from the socket straight into the local file
+	 * at its current position with {@code FileChannel.transferFrom()}, so that the
+	 * data does not pass through a buffer in the JVM. The file position is
+	 * advanced past the data, as a {@code write()} would.
+	 *
+	 * @param fileChannel
+	 *            {@link FileChannel} for the local file
+	 * @param length
+	 *            {@code int} with the number of bytes to transfer
+	 * @return {@code int} with the number of bytes transferred
+	 * @throws IOException
+	 * @throws JargonException
+	 */
+	private int transferFromSocket(final FileChannel fileChannel, final int length)
+			throws IOException, JargonException {
+		SocketChannel socketChannel = getS().getChannel();
+		long position = fileChannel.position();
+
+		/*
+		 * transferFrom() will not write beyond the end of the file, and other threads
+		 * may not have written the segments before this one yet, so extend the file
+		 * (sparsely) to cover this chunk. The byte written belongs to this chunk and is
+		 * overwritten below.
+		 */
+		if (fileChannel.size() < position + length) {
+			fileChannel.write(ByteBuffer.allocate(1), position + length - 1);
 		}
+
+		long totalRead = 0;
+		while (totalRead < length) {
+			long transferred = fileChannel.transferFrom(socketChannel, position + totalRead, length - totalRead);
+			if (transferred <= 0) {
+				log.error("no data transferred, end of stream");
+				break;
+			}
+			totalRead += transferred;
+		}
+
+		if (totalRead != length) {
+			log.error("did not read expected length in transferFromSocket()");
+			throw new JargonException("did not read expected length");
+		}
+
+		fileChannel.position(position + totalRead);
+		return (int) totalRead;
 	}
 
 	private int myRead(final InputStream in, final byte[] buffer, final int length)
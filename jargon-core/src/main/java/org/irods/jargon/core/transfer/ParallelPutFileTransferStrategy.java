@@ -13,6 +13,7 @@ import java.util.concurrent.Future;
 
 import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
 import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.metrics.MetricsRegistry;
 import org.irods.jargon.core.pub.DefaultIntraFileProgressCallbackListener;
 import org.irods.jargon.core.pub.IRODSAccessObjectFactory;
 import org.slf4j.Logger;
@@ -119,12 +120,14 @@ public final class ParallelPutFileTransferStrategy extends AbstractParallelFileT
 	@Override
 	public void transfer() throws JargonException {
 		log.info("initiating transfer for: {}", toString());
+		long startNanos = System.nanoTime();
 		ExecutorService executor = getIrodsAccessObjectFactory().getIrodsSession().getParallelTransferThreadPool();
 		if (executor == null) {
 			log.info("no pool available, transfer using single executor");
 			ExecutorService executorService = null;
 			try {
-				executorService = Executors.newFixedThreadPool(numberOfThreads);
+				executorService = Executors.newFixedThreadPool(numberOfThreads,
+						getIrodsAccessObjectFactory().getIrodsSession().getTaskThreadFactory());
 				transferWithExecutor(executorService);
 			} finally {
 				if (executorService != null) {
@@ -135,6 +138,8 @@ public final class ParallelPutFileTransferStrategy extends AbstractParallelFileT
 			log.info("transfer via executor");
 			transferWithExecutor(executor);
 		}
+		recordTransferMetrics(MetricsRegistry.PARALLEL_PUT_LATENCY, startNanos, MetricsRegistry.PARALLEL_PUT_BYTES,
+				transferLength);
 	}
 
 	private void transferWithExecutor(final ExecutorService executor) throws JargonException {
@@ -2,18 +2,18 @@ package org.irods.jargon.core.transfer;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.RandomAccessFile;
 import java.net.InetSocketAddress;
 import java.net.Socket;
-import java.util.Arrays;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
 import java.util.concurrent.Callable;
 
 import org.irods.jargon.core.connection.ConnectionConstants;
 import org.irods.jargon.core.connection.ConnectionProgressStatus;
 import org.irods.jargon.core.exception.JargonException;
-import org.irods.jargon.core.transfer.encrypt.EncryptionBuffer;
+import org.irods.jargon.core.metrics.MetricsRegistry;
 import org.irods.jargon.core.transfer.encrypt.ParallelEncryptionCipherWrapper;
 import org.irods.jargon.core.utils.Host;
 import org.slf4j.Logger;
@@ -35,6 +35,21 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 	private RandomAccessFile localRandomAccessFile = null;
 	private ParallelEncryptionCipherWrapper parallelEncryptionCipherWrapper = null;
 
+	/**
+	 * Send data with {@code FileChannel.transferTo()} rather than through a buffer
+	 */
+	private final boolean useFileChannel;
+
+	/**
+	 * Pooled buffer that chunks are encrypted into, allocated on first use
+	 */
+	private byte[] encryptionBuffer = null;
+
+	/**
+	 * Scratch space for sending length values
+	 */
+	private final byte[] intBytes = new byte[ConnectionConstants.INT_LENGTH];
+
 	public static final Logger log = LoggerFactory.getLogger(ParallelPutTransferThread.class);
 
 	/**
@@ -68,11 +83,18 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 		}
 
 		this.parallelPutFileTransferStrategy = parallelPutFileTransferStrategy;
+		useFileChannel = parallelPutFileTransferStrategy.useFileChannel();
 
 		try {
 			log.info("opening socket to parallel transfer (high) port at port:{}",
 					parallelPutFileTransferStrategy.getPort());
-			Socket s = new Socket();
+			Socket s;
+			if (useFileChannel) {
+				log.info("using file channel transfers, socket is opened from a SocketChannel");
+				s = SocketChannel.open().socket();
+			} else {
+				s = new Socket();
+			}
 			if (parallelPutFileTransferStrategy.getPipelineConfiguration().getParallelTcpSendWindowSize() > 0) {
 				s.setSendBufferSize(
 						parallelPutFileTransferStrategy.getPipelineConfiguration().getParallelTcpSendWindowSize()
@@ -141,6 +163,7 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 	@Override
 	public ParallelTransferResult call() throws JargonException {
 
+		long startNanos = System.nanoTime();
 		try {
 
 			log.info("getting random access file for local file");
@@ -157,6 +180,10 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 
 			log.debug("cookie written for output thread...calling put() to start read/write loop");
 			put();
+			parallelPutFileTransferStrategy.recordTransferMetrics(MetricsRegistry.PARALLEL_PUT_THREAD_LATENCY,
+					startNanos, null, 0L);
+			parallelPutFileTransferStrategy.recordStreamThroughput(getBytesTransferred(),
+					System.nanoTime() - startNanos);
 			log.debug("put operation completed");
 			ParallelTransferResult result = new ParallelTransferResult();
 			return result;
@@ -196,7 +223,11 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 		boolean done = false;
 		// c code - size_t buf_size = 2 * TRANS_BUF_SZ * sizeof( unsigned char
 		// );
-		buffer = new byte[parallelPutFileTransferStrategy.getJargonProperties().getParallelCopyBufferSize()];
+		TransferBufferPool transferBufferPool = parallelPutFileTransferStrategy.getTransferBufferPool();
+		if (!useFileChannel) {
+			buffer = transferBufferPool
+					.acquire(parallelPutFileTransferStrategy.getJargonProperties().getParallelCopyBufferSize());
+		}
 		long currentOffset = 0;
 
 		try {
@@ -260,21 +291,29 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 					currentOffset = offset;
 				}
 
-				log.info("buffer length for put is: {}", buffer.length);
-
 				/*
 				 * Read/write loop moves data from file starting at offset down the socket until
 				 * the anticipated transfer length is consumed.
 				 */
 
-				readWriteLoopForCurrentHeaderDirective(buffer, length);
+				if (useFileChannel) {
+					transferLoopForCurrentHeaderDirective(offset, length);
+				} else {
+					log.info("buffer length for put is: {}", buffer.length);
+					readWriteLoopForCurrentHeaderDirective(buffer, length);
+				}
 				currentOffset += length;
+				addBytesTransferred(length);
 
 			}
 
 		} catch (Exception e) {
 			log.error("An IO exception occurred during a parallel file put operation", e);
 			throw new JargonException("IOException during parallel file put", e);
+		} finally {
+			transferBufferPool.release(buffer);
+			transferBufferPool.release(encryptionBuffer);
+			encryptionBuffer = null;
 		}
 	}
 
@@ -315,25 +354,18 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 
 					if (parallelPutFileTransferStrategy.doEncryption()) {
 						log.debug("put with encryption, encrypt this buffer");
-						EncryptionBuffer encryptedBuff = parallelEncryptionCipherWrapper
-								.encrypt(Arrays.copyOf(buffer, read));
-						log.debug("iv length:{}", encryptedBuff.getInitializationVector().length);
-						// sendInNetworkOrder(encryptedBuff.getEncryptedData().length
-						// + encryptedBuff.getInitializationVector().length);
-						sendInLittleEndian(encryptedBuff.getEncryptedData().length
-								+ encryptedBuff.getInitializationVector().length);
-						log.debug("computed length:{}", encryptedBuff.getEncryptedData().length
-								+ encryptedBuff.getInitializationVector().length);
-						// this encryptedBuff has the data and the iv
-						ByteArrayOutputStream buffOut = new ByteArrayOutputStream(
-								encryptedBuff.getEncryptedData().length
-										+ encryptedBuff.getInitializationVector().length);
-						buffOut.write(encryptedBuff.getInitializationVector());
-						buffOut.write(encryptedBuff.getEncryptedData());
-						// getOut().write(buffOut.toByteArray());
-						buffOut.writeTo(getOut());
-						// getOut().write(encryptedBuff.getInitializationVector());
-						// getOut().write(encryptedBuff.getEncryptedData());
+						int encryptedLength = parallelEncryptionCipherWrapper.getEncryptedLength(read);
+						if (encryptionBuffer == null || encryptionBuffer.length < encryptedLength) {
+							parallelPutFileTransferStrategy.getTransferBufferPool().release(encryptionBuffer);
+							encryptionBuffer = null;
+							encryptionBuffer = parallelPutFileTransferStrategy.getTransferBufferPool()
+									.acquire(encryptedLength);
+						}
+						// the encryption buffer has the iv followed by the data
+						int computedLength = parallelEncryptionCipherWrapper.encrypt(buffer, read, encryptionBuffer);
+						sendInLittleEndian(computedLength);
+						log.debug("computed length:{}", computedLength);
+						getOut().write(encryptionBuffer, 0, computedLength);
 					} else {
 						getOut().write(buffer, 0, read);
 					}
@@ -412,18 +444,103 @@ public final class ParallelPutTransferThread extends AbstractParallelTransferThr
 		}
 	}
 
+	/**
+	 * Send the data for the current header directive straight from the local
+	 * file to the socket with {@code FileChannel.transferTo()}, so that the data
+	 * does not pass through a buffer in the JVM. This is the equivalent of
+	 * {@code readWriteLoopForCurrentHeaderDirective()} when not encrypting.
+	 *
+	 * @param offset
+	 *            {@code long} with the offset in the local file to send from
+	 * @param length
+	 *            {@code long} with the number of bytes to send
+	 * @throws JargonException
+	 */
+	private void transferLoopForCurrentHeaderDirective(final long offset, final long length)
+			throws JargonException {
+		long transferLength = length;
+		long position = offset;
+		long totalWrittenSinceLastRestartUpdate = 0;
+		log.debug("transferLoopForCurrentHeaderDirective()");
+		try {
+			FileChannel fileChannel = localRandomAccessFile.getChannel();
+			SocketChannel socketChannel = getS().getChannel();
+
+			while (transferLength > 0) {
+				if (Thread.interrupted()) {
+					throw new IOException(
+
+							"interrupted, consider connection corrupted and return IOException to clear");
+				}
+
+				long transferred = fileChannel.transferTo(position,
+						Math.min(parallelPutFileTransferStrategy.getJargonProperties().getParallelCopyBufferSize(),
+								transferLength),
+						socketChannel);
+
+				log.debug("bytes transferred: {}", transferred);
+
+				if (transferred <= 0) {
+					log.debug("no transfer...break out of transfer loop");
+					break;
+				}
+
+				position += transferred;
+				transferLength -= transferred;
+
+				/*
+				 * Make an intra-file status call-back if a listener is configured
+				 */
+				if (parallelPutFileTransferStrategy.getConnectionProgressStatusListener() != null) {
+					parallelPutFileTransferStrategy.getConnectionProgressStatusListener()
+							.connectionProgressStatusCallback(ConnectionProgressStatus.instanceForSend((int) transferred));
+				}
+
+				totalWrittenSinceLastRestartUpdate += transferred;
+
+				if (parallelPutFileTransferStrategy.getFileRestartInfo() != null
+						&& totalWrittenSinceLastRestartUpdate >= ConnectionConstants.MIN_FILE_RESTART_SIZE) {
+					parallelPutFileTransferStrategy.getRestartManager().updateLengthForSegment(
+							parallelPutFileTransferStrategy.getFileRestartInfo().identifierFromThisInfo(),
+							getThreadNumber(), totalWrittenSinceLastRestartUpdate);
+					totalWrittenSinceLastRestartUpdate = 0;
+					log.debug("signal storage of new info");
+				}
+			}
+
+			// keep the file pointer in step for the next header directive
+			localRandomAccessFile.seek(position);
+
+			if (parallelPutFileTransferStrategy.getFileRestartInfo() != null && totalWrittenSinceLastRestartUpdate > 0) {
+				parallelPutFileTransferStrategy.getRestartManager().updateLengthForSegment(
+						parallelPutFileTransferStrategy.getFileRestartInfo().identifierFromThisInfo(),
+						getThreadNumber(), totalWrittenSinceLastRestartUpdate);
+				log.debug("signal storage of new info");
+			}
+
+		} catch (Throwable e) {
+			// this is throwable to prevent unchecked exceptions from leaking
+			log.error("error transferring to iRODS parallel transfer socket", e);
+			JargonException je = new JargonException(e);
+			setExceptionInTransfer(je);
+			throw je;
+		}
+
+		if (transferLength != 0) {
+			throw new JargonException("transferLength and total transferred do not agree");
+		}
+	}
+
 	protected void sendInNetworkOrder(final int value) throws IOException {
-		byte bytes[] = new byte[ConnectionConstants.INT_LENGTH];
-		Host.copyInt(value, bytes);
-		getOut().write(bytes);
+		Host.copyInt(value, intBytes);
+		getOut().write(intBytes);
 		getOut().flush();
 	}
 
 	protected void sendInLittleEndian(final int value) throws IOException {
-		byte theBytes[] = new byte[ConnectionConstants.INT_LENGTH];
 		int reversed = Integer.reverseBytes(value);
-		Host.copyInt(reversed, theBytes);
-		getOut().write(theBytes);
+		Host.copyInt(reversed, intBytes);
+		getOut().write(intBytes);
 		getOut().flush();
 	}
 }
@@ -0,0 +1,162 @@
+package org.irods.jargon.core.transfer;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Picks the number of parallel streams to request for large transfers, per host
+ * and resource, from the throughput measured on earlier transfers.
+ * <p>
+ * Each finished parallel transfer reports the number of streams iRODS used and
+ * the sum of the throughput of its streams. Starting from
+ * {@link #INITIAL_STREAMS}, the stream count doubles while doing so raises the
+ * throughput by at least {@link #IMPROVEMENT}, then holds at the best count
+ * seen. If the throughput at that count later falls by more than
+ * {@link #DEGRADATION}, the path has changed, and probing starts again from half
+ * the count.
+ * <p>
+ * One controller is kept in the {@code IRODSSession} so that what is learned
+ * carries across transfers. This class is thread-safe.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ParallelStreamController {
+
+	private static final Logger log = LoggerFactory.getLogger(ParallelStreamController.class);
+
+	/**
+	 * Streams requested for the first transfer to a host and resource
+	 */
+	public static final int INITIAL_STREAMS = 4;
+
+	/**
+	 * Most streams that will be requested when the transfer options give no
+	 * maximum, which is the iRODS server limit
+	 */
+	public static final int MAX_STREAMS = 16;
+
+	/**
+	 * Fraction by which the throughput must rise for more streams to be kept
+	 */
+	public static final double IMPROVEMENT = 0.10;
+
+	/**
+	 * Fraction by which the throughput at the settled count must fall to probe
+	 * again
+	 */
+	public static final double DEGRADATION = 0.30;
+
+	/**
+	 * Weight given a new measurement at the settled count
+	 */
+	private static final double SMOOTHING = 0.3;
+
+	private final ConcurrentHashMap<String, StreamState> states = new ConcurrentHashMap<String, StreamState>();
+
+	/**
+	 * Get the number of streams to request for the next parallel transfer
+	 *
+	 * @param host       {@code String} with the iRODS host
+	 * @param resource   {@code String} with the resource, blank if the default
+	 * @param maxStreams {@code int} with the configured maximum, or {@code 0} or
+	 *                   less for {@link #MAX_STREAMS}
+	 * @return {@code int} with the number of streams to request
+	 */
+	public int recommendStreams(final String host, final String resource, final int maxStreams) {
+		int cap = maxStreams > 0 ? Math.min(maxStreams, MAX_STREAMS) : MAX_STREAMS;
+		StreamState state = states.get(buildKey(host, resource));
+		int streams = state == null ? INITIAL_STREAMS : state.getStreams();
+		return Math.max(1, Math.min(streams, cap));
+	}
+
+	/**
+	 * Report a finished parallel transfer
+	 *
+	 * @param host          {@code String} with the iRODS host
+	 * @param resource      {@code String} with the resource, blank if the default
+	 * @param streams       {@code int} with the number of streams iRODS used
+	 * @param bytesPerSecond {@code double} with the summed throughput of the
+	 *                      streams
+	 */
+	public void recordTransfer(final String host, final String resource, final int streams,
+			final double bytesPerSecond) {
+		if (streams <= 0 || bytesPerSecond <= 0) {
+			return;
+		}
+
+		String key = buildKey(host, resource);
+		StreamState state = states.get(key);
+		if (state == null) {
+			StreamState newState = new StreamState();
+			state = states.putIfAbsent(key, newState);
+			if (state == null) {
+				state = newState;
+			}
+		}
+
+		state.record(streams, bytesPerSecond);
+		log.debug("{} streams at {} bytes/sec for {}, next transfer will use {}", streams, bytesPerSecond, key,
+				state.getStreams());
+	}
+
+	/**
+	 * Forget what was learned, as when the network configuration changes
+	 */
+	public void clear() {
+		states.clear();
+	}
+
+	private static String buildKey(final String host, final String resource) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(host == null ? "" : host);
+		sb.append('|');
+		sb.append(resource == null ? "" : resource);
+		return sb.toString();
+	}
+
+	/**
+	 * What is known about one host and resource
+	 */
+	private static final class StreamState {
+
+		private int streams = INITIAL_STREAMS;
+		private int bestStreams = 0;
+		private double bestThroughput = 0.0;
+		private boolean probing = true;
+
+		synchronized int getStreams() {
+			return streams;
+		}
+
+		synchronized void record(final int used, final double throughput) {
+			if (bestStreams == 0 || throughput > bestThroughput * (1.0 + IMPROVEMENT)) {
+				bestStreams = used;
+				bestThroughput = throughput;
+				if (probing) {
+					streams = Math.min(used * 2, MAX_STREAMS);
+					probing = streams > used;
+				} else {
+					streams = used;
+				}
+			} else if (probing) {
+				// more streams did not pay off, settle on the best count seen
+				probing = false;
+				streams = bestStreams;
+			} else if (used == bestStreams) {
+				if (throughput < bestThroughput * (1.0 - DEGRADATION)) {
+					bestStreams = 0;
+					bestThroughput = 0.0;
+					probing = true;
+					streams = Math.max(1, used / 2);
+				} else {
+					bestThroughput = bestThroughput * (1.0 - SMOOTHING) + throughput * SMOOTHING;
+				}
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,274 @@
+package org.irods.jargon.core.transfer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shares parallel transfer streams between the concurrent transfers of a
+ * process, bounding the streams in flight in total and for each remote host.
+ * <p>
+ * Before a large transfer asks iRODS for parallel threads it acquires a
+ * {@link Lease}, and asks for no more threads than were granted. A transfer
+ * waits while no streams are free, or while a transfer of higher priority (see
+ * {@link TransferControlBlock#getTransferPriority()}), or of the same priority
+ * that came earlier, is waiting for the same capacity. Each transfer is granted
+ * at most its weighted share (see
+ * {@link TransferControlBlock#getTransferWeight()}) of the total streams, given
+ * the transfers running and waiting at that moment, and always at least one.
+ * <p>
+ * Streams cannot be taken back from a running transfer, since iRODS fixes its
+ * threads when the transfer starts, so the sharing happens as transfers are
+ * admitted. One scheduler is kept in the {@code IRODSSession}. This class is
+ * thread-safe.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class ParallelTransferScheduler {
+
+	private static final Logger log = LoggerFactory.getLogger(ParallelTransferScheduler.class);
+
+	private final int maxStreams;
+	private final int maxStreamsPerHost;
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition streamsChanged = lock.newCondition();
+	private final List<Lease> active = new ArrayList<Lease>();
+	private final List<Waiter> waiting = new ArrayList<Waiter>();
+	private final Map<String, Integer> streamsPerHost = new HashMap<String, Integer>();
+	private int streamsInFlight = 0;
+	private long sequence = 0L;
+
+	/**
+	 * Constructor
+	 *
+	 * @param maxStreams
+	 *            {@code int} with the most streams in flight for the process
+	 * @param maxStreamsPerHost
+	 *            {@code int} with the most streams in flight to one host, or
+	 *            {@code 0} or less for no limit beyond {@code maxStreams}
+	 */
+	public ParallelTransferScheduler(final int maxStreams, final int maxStreamsPerHost) {
+		if (maxStreams < 1) {
+			throw new IllegalArgumentException("maxStreams must be at least 1");
+		}
+
+		this.maxStreams = maxStreams;
+		this.maxStreamsPerHost = maxStreamsPerHost > 0 ? Math.min(maxStreamsPerHost, maxStreams) : maxStreams;
+	}
+
+	/**
+	 * Acquire streams for one transfer, waiting until they are available
+	 *
+	 * @param host
+	 *            {@code String} with the remote host
+	 * @param requestedStreams
+	 *            {@code int} with the streams wanted, or {@code 0} or less for as
+	 *            many as the share allows
+	 * @param priority
+	 *            {@code int} with the priority, higher goes first
+	 * @param weight
+	 *            {@code int} with the weight of the transfer in the share
+	 * @return {@link Lease} that must be released when the transfer is done
+	 * @throws InterruptedException
+	 *             if interrupted while waiting
+	 */
+	public Lease acquire(final String host, final int requestedStreams, final int priority, final int weight)
+			throws InterruptedException {
+		String hostKey = host == null ? "" : host;
+		lock.lock();
+		try {
+			Waiter waiter = new Waiter(hostKey, requestedStreams > 0 ? requestedStreams : maxStreamsPerHost, priority,
+					Math.max(1, weight), sequence++);
+			waiting.add(waiter);
+			try {
+				while (true) {
+					int streams = computeGrant(waiter);
+					if (streams > 0) {
+						waiting.remove(waiter);
+						Lease lease = new Lease(hostKey, streams, waiter.weight);
+						active.add(lease);
+						streamsInFlight += streams;
+						streamsPerHost.put(hostKey, streamsForHost(hostKey) + streams);
+						log.debug("granted {} streams to {}, {} in flight", streams, hostKey, streamsInFlight);
+						streamsChanged.signalAll();
+						return lease;
+					}
+
+					log.debug("waiting for streams to {}", hostKey);
+					streamsChanged.await();
+				}
+			} catch (InterruptedException e) {
+				waiting.remove(waiter);
+				streamsChanged.signalAll();
+				throw e;
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return {@code int} with the streams in flight for all hosts
+	 */
+	public int getStreamsInFlight() {
+		lock.lock();
+		try {
+			return streamsInFlight;
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @param host
+	 *            {@code String} with the remote host
+	 * @return {@code int} with the streams in flight to the host
+	 */
+	public int getStreamsInFlight(final String host) {
+		lock.lock();
+		try {
+			return streamsForHost(host == null ? "" : host);
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return {@code int} with the number of transfers waiting for streams
+	 */
+	public int getWaitingCount() {
+		lock.lock();
+		try {
+			return waiting.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Work out the streams the waiter can have now, must hold the lock
+	 *
+	 * @return {@code int} with the streams, {@code 0} if it must wait
+	 */
+	private int computeGrant(final Waiter waiter) {
+		int available = freeStreams(waiter.host);
+		if (available <= 0) {
+			return 0;
+		}
+
+		int totalWeight = 0;
+		for (Lease lease : active) {
+			totalWeight += lease.weight;
+		}
+
+		for (Waiter other : waiting) {
+			totalWeight += other.weight;
+			if (other != waiter && other.isAhead(waiter) && freeStreams(other.host) > 0) {
+				// someone with a better claim can use the capacity
+				return 0;
+			}
+		}
+
+		int share = (int) Math.ceil((double) maxStreams * waiter.weight / totalWeight);
+		return Math.min(waiter.requestedStreams, Math.min(available, Math.max(1, share)));
+	}
+
+	private int freeStreams(final String host) {
+		return Math.min(maxStreams - streamsInFlight, maxStreamsPerHost - streamsForHost(host));
+	}
+
+	private int streamsForHost(final String host) {
+		Integer streams = streamsPerHost.get(host);
+		return streams == null ? 0 : streams;
+	}
+
+	private void release(final Lease lease) {
+		lock.lock();
+		try {
+			if (!active.remove(lease)) {
+				return;
+			}
+
+			streamsInFlight -= lease.streams;
+			int remaining = streamsForHost(lease.host) - lease.streams;
+			if (remaining > 0) {
+				streamsPerHost.put(lease.host, remaining);
+			} else {
+				streamsPerHost.remove(lease.host);
+			}
+			log.debug("released {} streams to {}, {} in flight", lease.streams, lease.host, streamsInFlight);
+			streamsChanged.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Streams granted to one transfer
+	 */
+	public final class Lease {
+
+		private final String host;
+		private final int streams;
+		private final int weight;
+
+		private Lease(final String host, final int streams, final int weight) {
+			this.host = host;
+			this.streams = streams;
+			this.weight = weight;
+		}
+
+		/**
+		 * @return {@code int} with the number of streams granted
+		 */
+		public int getStreams() {
+			return streams;
+		}
+
+		/**
+		 * Give the streams back to the scheduler, calling this more than once has
+		 * no further effect
+		 */
+		public void release() {
+			ParallelTransferScheduler.this.release(this);
+		}
+
+	}
+
+	/**
+	 * A transfer waiting for streams
+	 */
+	private static final class Waiter {
+
+		private final String host;
+		private final int requestedStreams;
+		private final int priority;
+		private final int weight;
+		private final long sequence;
+
+		private Waiter(final String host, final int requestedStreams, final int priority, final int weight,
+				final long sequence) {
+			this.host = host;
+			this.requestedStreams = requestedStreams;
+			this.priority = priority;
+			this.weight = weight;
+			this.sequence = sequence;
+		}
+
+		private boolean isAhead(final Waiter other) {
+			if (priority != other.priority) {
+				return priority > other.priority;
+			}
+			return sequence < other.sequence;
+		}
+
+	}
+
+}
@@ -0,0 +1,289 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes local files as a tar archive to an {@code OutputStream}, one entry at
+ * a time, so that a bundle can be streamed to iRODS as it is built without
+ * staging it on local disk. The archive is in the POSIX ustar format that the
+ * iRODS bulk extract understands. Names that do not fit the ustar name and
+ * prefix fields are written with a GNU long name entry.
+ * <p>
+ * This class is not thread safe, and does not close or buffer the underlying
+ * stream beyond the 512 byte tar record, so the caller should supply a
+ * buffered stream.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class TarBundleWriter implements Closeable {
+
+	public static final int RECORD_SIZE = 512;
+
+	/**
+	 * Largest entry size that fits the 11 octal digits of the ustar size field
+	 */
+	public static final long MAX_ENTRY_SIZE = 077777777777L;
+
+	private static final int NAME_LENGTH = 100;
+	private static final int PREFIX_LENGTH = 155;
+	private static final String LONG_LINK_NAME = "././@LongLink";
+	private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+	private static final Logger log = LoggerFactory.getLogger(TarBundleWriter.class);
+
+	private final OutputStream outputStream;
+	private final byte[] header = new byte[RECORD_SIZE];
+	private byte[] copyBuffer = null;
+	private long bytesWritten = 0L;
+	private int entryCount = 0;
+	private boolean finished = false;
+
+	/**
+	 * Create a writer that will write the archive to the given stream
+	 *
+	 * @param outputStream
+	 *            {@link OutputStream} that will receive the archive
+	 */
+	public TarBundleWriter(final OutputStream outputStream) {
+		if (outputStream == null) {
+			throw new IllegalArgumentException("null outputStream");
+		}
+		this.outputStream = outputStream;
+	}
+
+	/**
+	 * Add the contents of a local file to the archive
+	 *
+	 * @param entryName
+	 *            {@code String} with the relative path, separated by '/', that
+	 *            the file will have when extracted
+	 * @param file
+	 *            {@link File} that is a regular file with the data for the entry
+	 * @throws IOException
+	 *             if the file cannot be read, or is shorter than when it was
+	 *             added
+	 */
+	public void addFile(final String entryName, final File file) throws IOException {
+		if (file == null) {
+			throw new IllegalArgumentException("null file");
+		}
+
+		long length = file.length();
+		try (InputStream inputStream = new FileInputStream(file)) {
+			addEntry(entryName, length, file.lastModified(), inputStream);
+		}
+	}
+
+	/**
+	 * Add an entry to the archive with data read from a stream
+	 *
+	 * @param entryName
+	 *            {@code String} with the relative path, separated by '/', that
+	 *            the entry will have when extracted
+	 * @param length
+	 *            {@code long} with the number of bytes that will be read from
+	 *            {@code inputStream}
+	 * @param lastModified
+	 *            {@code long} with the modification time in milliseconds
+	 * @param inputStream
+	 *            {@link InputStream} with at least {@code length} bytes, this is
+	 *            not closed
+	 * @throws IOException
+	 *             if the stream ends before {@code length} bytes are read
+	 */
+	public void addEntry(final String entryName, final long length, final long lastModified,
+			final InputStream inputStream) throws IOException {
+		if (entryName == null || entryName.isEmpty()) {
+			throw new IllegalArgumentException("null or empty entryName");
+		}
+		if (length < 0 || length > MAX_ENTRY_SIZE) {
+			throw new IllegalArgumentException("length out of range for a tar entry");
+		}
+		if (inputStream == null) {
+			throw new IllegalArgumentException("null inputStream");
+		}
+		if (finished) {
+			throw new IllegalStateException("archive is already finished");
+		}
+
+		log.debug("adding entry:{} length:{}", entryName, length);
+
+		byte[] nameBytes = entryName.getBytes(StandardCharsets.UTF_8);
+		int split = findPrefixSplit(nameBytes);
+		if (split == nameBytes.length) {
+			writeHeader(nameBytes, 0, nameBytes.length, null, 0, length, lastModified, (byte) '0');
+		} else if (split > 0) {
+			writeHeader(nameBytes, split + 1, nameBytes.length - split - 1, nameBytes, split, length, lastModified,
+					(byte) '0');
+		} else {
+			writeLongName(nameBytes, lastModified);
+			writeHeader(nameBytes, 0, NAME_LENGTH, null, 0, length, lastModified, (byte) '0');
+		}
+
+		copyData(inputStream, length);
+		entryCount++;
+	}
+
+	/**
+	 * Write the end of archive marker. No entries may be added after this is
+	 * called. The underlying stream is flushed but not closed.
+	 *
+	 * @throws IOException
+	 *             if the marker cannot be written
+	 */
+	public void finish() throws IOException {
+		if (finished) {
+			return;
+		}
+		Arrays.fill(header, (byte) 0);
+		write(header, RECORD_SIZE);
+		write(header, RECORD_SIZE);
+		outputStream.flush();
+		finished = true;
+	}
+
+	/**
+	 * Finish the archive, if needed, and close the underlying stream
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			finish();
+		} finally {
+			outputStream.close();
+		}
+	}
+
+	/**
+	 * @return {@code long} with the number of bytes of archive written so far,
+	 *         including headers and padding
+	 */
+	public long getBytesWritten() {
+		return bytesWritten;
+	}
+
+	/**
+	 * @return {@code int} with the number of entries added so far
+	 */
+	public int getEntryCount() {
+		return entryCount;
+	}
+
+	/**
+	 * Find where a name may be split between the ustar prefix and name fields.
+	 *
+	 * @return {@code int} with the length of the name if it fits the name field
+	 *         as is, the index of the '/' to split on, or -1 if the name does
+	 *         not fit at all
+	 */
+	static int findPrefixSplit(final byte[] nameBytes) {
+		if (nameBytes.length <= NAME_LENGTH) {
+			return nameBytes.length;
+		}
+
+		int lowest = nameBytes.length - NAME_LENGTH - 1;
+		int highest = Math.min(PREFIX_LENGTH, nameBytes.length - 2);
+		for (int i = highest; i >= lowest && i > 0; i--) {
+			if (nameBytes[i] == '/') {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private void writeLongName(final byte[] nameBytes, final long lastModified) throws IOException {
+		byte[] longLink = LONG_LINK_NAME.getBytes(StandardCharsets.US_ASCII);
+		writeHeader(longLink, 0, longLink.length, null, 0, nameBytes.length + 1, lastModified, (byte) 'L');
+
+		int records = (nameBytes.length + RECORD_SIZE) / RECORD_SIZE;
+		for (int i = 0; i < records; i++) {
+			Arrays.fill(header, (byte) 0);
+			int offset = i * RECORD_SIZE;
+			if (offset < nameBytes.length) {
+				System.arraycopy(nameBytes, offset, header, 0, Math.min(RECORD_SIZE, nameBytes.length - offset));
+			}
+			write(header, RECORD_SIZE);
+		}
+	}
+
+	private void writeHeader(final byte[] name, final int nameOffset, final int nameLength, final byte[] prefix,
+			final int prefixLength, final long size, final long lastModified, final byte typeFlag)
+			throws IOException {
+		Arrays.fill(header, (byte) 0);
+		System.arraycopy(name, nameOffset, header, 0, Math.min(nameLength, NAME_LENGTH));
+		writeOctal(0644, header, 100, 8);
+		writeOctal(0, header, 108, 8);
+		writeOctal(0, header, 116, 8);
+		writeOctal(size, header, 124, 12);
+		writeOctal(Math.max(0L, lastModified / 1000L), header, 136, 12);
+		header[156] = typeFlag;
+		byte[] magic = "ustar\u000000".getBytes(StandardCharsets.US_ASCII);
+		System.arraycopy(magic, 0, header, 257, magic.length);
+		if (prefix != null) {
+			System.arraycopy(prefix, 0, header, 345, prefixLength);
+		}
+
+		// the checksum is computed with the checksum field set to spaces
+		Arrays.fill(header, 148, 156, (byte) ' ');
+		long checksum = 0;
+		for (byte b : header) {
+			checksum += b & 0xff;
+		}
+		writeOctal(checksum, header, 148, 7);
+		header[155] = ' ';
+
+		write(header, RECORD_SIZE);
+	}
+
+	/**
+	 * Write a zero padded octal number followed by a NUL into a header field
+	 */
+	private static void writeOctal(final long value, final byte[] buffer, final int offset, final int fieldLength) {
+		long remaining = value;
+		buffer[offset + fieldLength - 1] = 0;
+		for (int i = offset + fieldLength - 2; i >= offset; i--) {
+			buffer[i] = (byte) ('0' + (remaining & 7));
+			remaining >>>= 3;
+		}
+	}
+
+	private void copyData(final InputStream inputStream, final long length) throws IOException {
+		if (copyBuffer == null) {
+			copyBuffer = new byte[COPY_BUFFER_SIZE];
+		}
+
+		long remaining = length;
+		while (remaining > 0) {
+			int read = inputStream.read(copyBuffer, 0, (int) Math.min(copyBuffer.length, remaining));
+			if (read == -1) {
+				throw new EOFException("data ended " + remaining + " bytes short of the length of the tar entry");
+			}
+			write(copyBuffer, read);
+			remaining -= read;
+		}
+
+		int padding = (int) ((RECORD_SIZE - length % RECORD_SIZE) % RECORD_SIZE);
+		if (padding > 0) {
+			Arrays.fill(header, (byte) 0);
+			write(header, padding);
+		}
+	}
+
+	private void write(final byte[] buffer, final int length) throws IOException {
+		outputStream.write(buffer, 0, length);
+		bytesWritten += length;
+	}
+
+}
@@ -0,0 +1,183 @@
+package org.irods.jargon.core.transfer;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Shared pool of transfer buffers, used by the parallel transfer threads so
+ * that the copy buffers for each chunk (and the cipher buffers when encrypting)
+ * are recycled across chunks, threads, and transfers rather than allocated
+ * fresh each time.
+ * <p>
+ * Buffers are grouped into size classes, a request is rounded up to a multiple
+ * of {@link #SIZE_CLASS_GRANULARITY} so that buffers of nearly the same size
+ * (e.g. a chunk and the same chunk plus cipher padding) are interchangeable.
+ * Requests smaller than {@link #MIN_POOLED_SIZE} are simply allocated.
+ * <p>
+ * The pool holds at most {@code maxRetainedBytes} of idle buffers, buffers
+ * released beyond that are left for the garbage collector. A
+ * {@code maxRetainedBytes} of zero turns pooling off. This class is thread
+ * safe, one instance is shared by an {@code IRODSSession}.
+ *
+ * @author Mike Conway - DICE (www.irods.org)
+ *
+ */
+public class TransferBufferPool {
+
+	/**
+	 * Buffer sizes are rounded up to a multiple of this value
+	 */
+	public static final int SIZE_CLASS_GRANULARITY = 64 * 1024;
+
+	/**
+	 * Requests smaller than this are not pooled
+	 */
+	public static final int MIN_POOLED_SIZE = 8 * 1024;
+
+	private static final Logger log = LoggerFactory.getLogger(TransferBufferPool.class);
+
+	private final long maxRetainedBytes;
+	private final ConcurrentMap<Integer, Deque<byte[]>> sizeClasses = new ConcurrentHashMap<Integer, Deque<byte[]>>();
+	private final AtomicLong retainedBytes = new AtomicLong();
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+
+	/**
+	 * Create a pool that will keep up to the given number of bytes of idle
+	 * buffers
+	 *
+	 * @param maxRetainedBytes
+	 *            {@code long} with the maximum bytes of idle buffers to keep, 0
+	 *            turns off pooling
+	 */
+	public TransferBufferPool(final long maxRetainedBytes) {
+		if (maxRetainedBytes < 0) {
+			throw new IllegalArgumentException("maxRetainedBytes must be zero or greater");
+		}
+		this.maxRetainedBytes = maxRetainedBytes;
+	}
+
+	/**
+	 * Get a buffer of at least the given size. The buffer may be larger than
+	 * requested and its contents are undefined. Hand it back with
+	 * {@link #release(byte[])} when done.
+	 *
+	 * @param minimumSize
+	 *            {@code int} with the number of bytes needed
+	 * @return {@code byte[]} with a length of at least {@code minimumSize}
+	 */
+	public byte[] acquire(final int minimumSize) {
+		if (minimumSize < 0) {
+			throw new IllegalArgumentException("negative minimumSize");
+		}
+
+		if (minimumSize < MIN_POOLED_SIZE || maxRetainedBytes == 0) {
+			return new byte[minimumSize];
+		}
+
+		int size = sizeClassFor(minimumSize);
+		Deque<byte[]> pooled = sizeClasses.get(size);
+		byte[] buffer = pooled == null ? null : pooled.pollFirst();
+
+		if (buffer != null) {
+			retainedBytes.addAndGet(-buffer.length);
+			hitCount.incrementAndGet();
+			return buffer;
+		}
+
+		missCount.incrementAndGet();
+		log.debug("allocating transfer buffer of size:{}", size);
+		return new byte[size];
+	}
+
+	/**
+	 * Return a buffer obtained from {@link #acquire(int)} to the pool. Buffers
+	 * that did not come from the pool, or that would take the pool past its
+	 * limit, are ignored. A {@code null} is ignored.
+	 *
+	 * @param buffer
+	 *            {@code byte[]} to return, which must not be used by the caller
+	 *            afterwards
+	 */
+	public void release(final byte[] buffer) {
+		if (buffer == null || buffer.length < MIN_POOLED_SIZE || buffer.length % SIZE_CLASS_GRANULARITY != 0) {
+			return;
+		}
+
+		if (retainedBytes.addAndGet(buffer.length) > maxRetainedBytes) {
+			retainedBytes.addAndGet(-buffer.length);
+			return;
+		}
+
+		Deque<byte[]> pooled = sizeClasses.get(buffer.length);
+		if (pooled == null) {
+			sizeClasses.putIfAbsent(buffer.length, new ConcurrentLinkedDeque<byte[]>());
+			pooled = sizeClasses.get(buffer.length);
+		}
+		pooled.offerFirst(buffer);
+	}
+
+	/**
+	 * Drop all idle buffers
+	 */
+	public void clear() {
+		for (Deque<byte[]> pooled : sizeClasses.values()) {
+			byte[] buffer;
+			while ((buffer = pooled.pollFirst()) != null) {
+				retainedBytes.addAndGet(-buffer.length);
+			}
+		}
+	}
+
+	/**
+	 * @return {@code long} with the bytes held in idle buffers
+	 */
+	public long getRetainedBytes() {
+		return retainedBytes.get();
+	}
+
+	/**
+	 * @return {@code long} with the maximum bytes of idle buffers kept
+	 */
+	public long getMaxRetainedBytes() {
+		return maxRetainedBytes;
+	}
+
+	/**
+	 * @return {@code long} with the number of pooled-size requests satisfied
+	 *         from the pool
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	/**
+	 * @return {@code long} with the number of pooled-size requests that had to
+	 *         allocate a new buffer
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+
+	static int sizeClassFor(final int size) {
+		int rounded = ((size + SIZE_CLASS_GRANULARITY - 1) / SIZE_CLASS_GRANULARITY) * SIZE_CLASS_GRANULARITY;
+		// guard against overflow for sizes near Integer.MAX_VALUE
+		return rounded < size ? size : rounded;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder builder = new StringBuilder();
+		builder.append("TransferBufferPool [maxRetainedBytes=").append(maxRetainedBytes).append(", retainedBytes=")
+				.append(retainedBytes.get()).append(", hitCount=").append(hitCount.get()).append(", missCount=")
+				.append(missCount.get()).append("]");
+		return builder.toString();
+	}
+
+}
@@ -253,4 +253,38 @@ public interface TransferControlBlock {
 	 */
 	void setTotalFilesSkippedSoFar(int totalFilesSkippedSoFar);
 
+	/**
+	 * Get the priority of this transfer for parallel streams when a
+	 * {@code ParallelTransferScheduler} is in use. Transfers waiting for streams
+	 * with a higher priority are started first.
+	 *
+	 * @return {@code int} with the priority, {@code 0} by default
+	 */
+	int getTransferPriority();
+
+	/**
+	 * Set the priority of this transfer for parallel streams
+	 *
+	 * @param transferPriority
+	 *            {@code int} with the priority, higher goes first
+	 */
+	void setTransferPriority(int transferPriority);
+
+	/**
+	 * Get the weight of this transfer when a {@code ParallelTransferScheduler}
+	 * shares parallel streams between concurrent transfers. A transfer with a
+	 * weight of 2 gets twice the streams of a transfer with a weight of 1.
+	 *
+	 * @return {@code int} with the weight, {@code 1} by default
+	 */
+	int getTransferWeight();
+
+	/**
+	 * Set the weight of this transfer when sharing parallel streams
+	 *
+	 * @param transferWeight
+	 *            {@code int} with the weight, at least 1
+	 */
+	void setTransferWeight(int transferWeight);
+
 }
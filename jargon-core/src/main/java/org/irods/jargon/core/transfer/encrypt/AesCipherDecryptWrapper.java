@@ -12,6 +12,7 @@ import javax.crypto.BadPaddingException;
 import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.IvParameterSpec;
 
 import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
@@ -134,6 +135,33 @@ class AesCipherDecryptWrapper extends ParallelDecryptionCipherWrapper {
 
 	}
 
+	@Override
+	protected int doDecrypt(final byte[] fullBuffer, final int length) {
+		log.debug("doDecrypt() in place");
+		// same layout as doDecrypt(byte[]), 16 bytes of iv and 16 unused bytes
+		if (length < 32) {
+			log.error("unusable data in buffer, less than 32 bytes");
+			throw new JargonRuntimeException("unusable data in data buffer");
+		}
+
+		if (length == 32) {
+			log.warn("no data in buffer to decrypt, return empty buffer");
+			return 0;
+		}
+
+		try {
+			getCipher().init(Cipher.DECRYPT_MODE, getNegotiatedClientServerConfiguration().getSecretKey(),
+					new IvParameterSpec(fullBuffer, 0, 16));
+			// Cipher is copy-safe, so the input and output may share the array
+			return getCipher().doFinal(fullBuffer, 32, length - 32, fullBuffer, 0);
+
+		} catch (IllegalBlockSizeException | BadPaddingException | InvalidKeyException
+				| InvalidAlgorithmParameterException | ShortBufferException e) {
+			log.error("error during decryption", e);
+			throw new JargonRuntimeException("Unable to decrypt given negotiated settings", e);
+		}
+	}
+
 	private byte[] extractEncryptedData(final byte[] fullBuffer) {
 		byte[] returned = new byte[fullBuffer.length - 32];
 		System.arraycopy(fullBuffer, 32, returned, 0, fullBuffer.length - 32);
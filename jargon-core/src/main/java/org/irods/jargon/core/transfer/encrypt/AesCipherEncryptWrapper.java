@@ -15,6 +15,7 @@ import javax.crypto.Cipher;
 import javax.crypto.IllegalBlockSizeException;
 import javax.crypto.NoSuchPaddingException;
 import javax.crypto.SecretKey;
+import javax.crypto.ShortBufferException;
 import javax.crypto.spec.IvParameterSpec;
 
 import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
@@ -118,4 +119,38 @@ class AesCipherEncryptWrapper extends ParallelEncryptionCipherWrapper {
 		}
 
 	}
+
+	@Override
+	protected int doEncrypt(final byte[] input, final int length, final byte[] output) throws EncryptionException {
+
+		log.debug("encrypt into buffer");
+
+		try {
+
+			AlgorithmParameters params = getCipher().getParameters();
+			byte[] mInitVec = params.getParameterSpec(IvParameterSpec.class).getIV();
+			int headerLength = mInitVec.length + ivPad.length;
+
+			if (output.length < headerLength + getCipher().getOutputSize(length)) {
+				throw new IllegalArgumentException("output buffer too small");
+			}
+
+			System.arraycopy(mInitVec, 0, output, 0, mInitVec.length);
+			System.arraycopy(ivPad, 0, output, mInitVec.length, ivPad.length);
+
+			int encryptedLength = getCipher().doFinal(input, 0, length, output, headerLength);
+			log.debug("encrypted length:{}", encryptedLength);
+			return headerLength + encryptedLength;
+
+		} catch (IllegalBlockSizeException | BadPaddingException | InvalidParameterSpecException
+				| ShortBufferException e) {
+			log.error("encryption exception", e);
+			throw new EncryptionException("encryption exception", e);
+		}
+	}
+
+	@Override
+	protected int doGetEncryptedLength(final int length) {
+		return getCipher().getBlockSize() + ivPad.length + getCipher().getOutputSize(length);
+	}
 }
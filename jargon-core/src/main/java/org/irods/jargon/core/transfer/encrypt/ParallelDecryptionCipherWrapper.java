@@ -57,8 +57,45 @@ public abstract class ParallelDecryptionCipherWrapper extends ParallelCipherWrap
 		return doDecrypt(fullBuffer);
 	}
 
+	/**
+	 * Decrypt, in place, the first {@code length} bytes of a buffer as read from
+	 * iRODS. The plaintext is written to the start of the buffer, no other
+	 * buffers are allocated so the caller can re-use the buffer between chunks.
+	 *
+	 * @param fullBuffer
+	 *            {@code byte[]} with the data from iRODS, including any encryption
+	 *            related payload, this is overwritten with the plaintext
+	 * @param length
+	 *            {@code int} with the number of valid bytes in {@code fullBuffer}
+	 * @return {@code int} with the number of bytes of plaintext at the start of
+	 *         {@code fullBuffer}
+	 * @throws EncryptionException
+	 *             {@link EncryptionException}
+	 */
+	public int decrypt(final byte[] fullBuffer, final int length) throws EncryptionException {
+		log.debug("decrypt() in place");
+		if (fullBuffer == null) {
+			throw new IllegalArgumentException("null fullBuffer");
+		}
+		if (length < 0 || length > fullBuffer.length) {
+			throw new IllegalArgumentException("length out of range");
+		}
+		return doDecrypt(fullBuffer, length);
+	}
+
 	protected abstract byte[] doDecrypt(byte[] fullBuffer);
 
+	/**
+	 * Decrypt in place, see {@link #decrypt(byte[], int)}
+	 *
+	 * @param fullBuffer
+	 *            {@code byte[]} with the data from iRODS
+	 * @param length
+	 *            {@code int} with the number of valid bytes
+	 * @return {@code int} with the length of the plaintext
+	 */
+	protected abstract int doDecrypt(byte[] fullBuffer, int length);
+
 	/**
 	 * Decryption method that will be overriden by the particular algo, and will
 	 * happen after any init is checked
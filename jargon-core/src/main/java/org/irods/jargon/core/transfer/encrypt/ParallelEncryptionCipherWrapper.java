@@ -41,6 +41,73 @@ public abstract class ParallelEncryptionCipherWrapper extends ParallelCipherWrap
 		return doEncrypt(input);
 	}
 
+	/**
+	 * Encrypt the first {@code length} bytes of {@code input} into {@code output}
+	 * in the form sent on a parallel transfer socket, that is, any initialization
+	 * vector and padding required by the algorithm followed by the encrypted data.
+	 * This avoids the intermediate copies made by {@link #encrypt(byte[])}, and
+	 * allows the caller to re-use buffers between chunks.
+	 *
+	 * @param input
+	 *            {@code byte[]} of plaintext
+	 * @param length
+	 *            {@code int} with the number of bytes of plaintext at the start of
+	 *            {@code input}
+	 * @param output
+	 *            {@code byte[]} that will hold the result, this must be at least
+	 *            {@link #getEncryptedLength(int)} bytes
+	 * @return {@code int} with the number of bytes written to {@code output}
+	 * @throws EncryptionException
+	 *             {@link EncryptionException}
+	 */
+	public int encrypt(final byte[] input, final int length, final byte[] output) throws EncryptionException {
+		log.debug("encrypt() into buffer");
+		if (input == null) {
+			throw new IllegalArgumentException("null input");
+		}
+		if (output == null) {
+			throw new IllegalArgumentException("null output");
+		}
+		if (length < 0 || length > input.length) {
+			throw new IllegalArgumentException("length out of range");
+		}
+		return doEncrypt(input, length, output);
+	}
+
+	/**
+	 * Get the size of the buffer needed by {@link #encrypt(byte[], int, byte[])}
+	 *
+	 * @param length
+	 *            {@code int} with the number of bytes of plaintext
+	 * @return {@code int} with the maximum number of bytes that will be written
+	 */
+	public int getEncryptedLength(final int length) {
+		return doGetEncryptedLength(length);
+	}
+
+	/**
+	 * Encrypt the given data into the given buffer, see
+	 * {@link #encrypt(byte[], int, byte[])}
+	 *
+	 * @param input
+	 *            {@code byte[]} of plaintext data
+	 * @param length
+	 *            {@code int} with the number of bytes to encrypt
+	 * @param output
+	 *            {@code byte[]} to receive the result
+	 * @return {@code int} with the number of bytes written
+	 * @throws EncryptionException
+	 *             {@link EncryptionException}
+	 */
+	protected abstract int doEncrypt(byte[] input, int length, byte[] output) throws EncryptionException;
+
+	/**
+	 * @param length
+	 *            {@code int} with the number of bytes of plaintext
+	 * @return {@code int} with the output buffer size needed to encrypt it
+	 */
+	protected abstract int doGetEncryptedLength(int length);
+
 	/**
 	 * Encrypt the given data
 	 *
@@ -1,12 +1,22 @@
 package org.irods.jargon.core.connection;
 
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Arrays;
+
 import org.irods.jargon.core.connection.IRODSServerProperties.IcatEnabled;
+import org.irods.jargon.core.pub.domain.ClientHints;
 import org.junit.Assert;
 import org.junit.BeforeClass;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 public class DiscoveredServerPropertiesCacheTest {
 
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
 	@BeforeClass
 	public static void setUpBeforeClass() throws Exception {
 	}
@@ -270,4 +280,129 @@ public class DiscoveredServerPropertiesCacheTest {
 		Assert.assertNull(actual);
 	}
 
+	@Test
+	public void testExpiredEntriesAreNotReturned() throws Exception {
+		DiscoveredServerPropertiesCache cache = new DiscoveredServerPropertiesCache(1L, null);
+		cache.cacheAProperty("host", "zone", "key1", "value1");
+		cache.cacheIRODSServerProperties("host", "zone",
+				IRODSServerProperties.instance(IcatEnabled.ICAT_ENABLED, 111, "rods4.2.8", "d", "zone"));
+		Thread.sleep(20);
+		Assert.assertNull(cache.retrieveValue("host", "zone", "key1"));
+		Assert.assertNull(cache.retrieveIRODSServerProperties("host", "zone"));
+	}
+
+	@Test
+	public void testUnexpiredEntriesAreReturned() throws Exception {
+		DiscoveredServerPropertiesCache cache = new DiscoveredServerPropertiesCache(60000L, null);
+		cache.cacheAProperty("host", "zone", "key1", "value1");
+		cache.evictExpired();
+		Assert.assertEquals("value1", cache.retrieveValue("host", "zone", "key1"));
+	}
+
+	@Test
+	public void testSnapshotIsReadByNewCache() throws Exception {
+		File file = new File(temporaryFolder.getRoot(), "discovered.json");
+		DiscoveredServerPropertiesCache cache = new DiscoveredServerPropertiesCache(60000L, file);
+		cache.cacheAProperty("host", "zone", DiscoveredServerPropertiesCache.CHECKSUM_TYPE, "SHA256");
+		cache.cacheIRODSServerProperties("host", "zone",
+				IRODSServerProperties.instance(IcatEnabled.ICAT_ENABLED, 111, "rods4.2.8", "d", "zone"));
+		ClientHints clientHints = new ClientHints();
+		clientHints.setHashScheme("SHA256");
+		clientHints.setSpecificQueries(Arrays.asList("listUserACLForDataObjViaGroup"));
+		cache.cacheClientHints("host", "zone", clientHints);
+		cache.close();
+		Assert.assertTrue(file.exists());
+
+		DiscoveredServerPropertiesCache actual = new DiscoveredServerPropertiesCache(60000L, file);
+		try {
+			Assert.assertEquals("SHA256",
+					actual.retrieveValue("host", "zone", DiscoveredServerPropertiesCache.CHECKSUM_TYPE));
+			IRODSServerProperties props = actual.retrieveIRODSServerProperties("host", "zone");
+			Assert.assertEquals(IcatEnabled.ICAT_ENABLED, props.getIcatEnabled());
+			Assert.assertEquals(111, props.getServerBootTime());
+			Assert.assertEquals("4.2.8", props.getIrodsVersion().getOrigVersion());
+			Assert.assertTrue(props.isAtLeastIrods420());
+			ClientHints actualHints = actual.retrieveClientHints("host", "zone");
+			Assert.assertEquals("SHA256", actualHints.getHashScheme());
+			Assert.assertEquals(clientHints.getSpecificQueries(), actualHints.getSpecificQueries());
+			Assert.assertNull(actual.retrieveValue("otherhost", "zone", DiscoveredServerPropertiesCache.CHECKSUM_TYPE));
+		} finally {
+			actual.close();
+		}
+	}
+
+	@Test
+	public void testCloseSessionStopsRefresh() throws Exception {
+		File file = new File(temporaryFolder.getRoot(), "discovered.json");
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setDiscoveredServerPropertiesCacheFile(file.getAbsolutePath());
+		IRODSSession irodsSession = new IRODSSession(jargonProperties);
+		DiscoveredServerPropertiesCache cache = irodsSession.getDiscoveredServerPropertiesCache();
+		try {
+			Assert.assertTrue(cache.isRefreshing());
+			cache.cacheAProperty("host", "zone", "key1", "value1");
+			irodsSession.closeSession();
+			Assert.assertFalse(cache.isRefreshing());
+			DiscoveredServerPropertiesCache actual = new DiscoveredServerPropertiesCache(60000L, file);
+			actual.close();
+			Assert.assertEquals("value1", actual.retrieveValue("host", "zone", "key1"));
+
+			cache.cacheAProperty("host", "zone", "key2", "value2");
+			Assert.assertTrue(cache.isRefreshing());
+		} finally {
+			cache.close();
+		}
+	}
+
+	@Test
+	public void testExpiredEntriesAreNotReadFromSnapshot() throws Exception {
+		File file = new File(temporaryFolder.getRoot(), "discovered.json");
+		DiscoveredServerPropertiesCache cache = new DiscoveredServerPropertiesCache(1L, file);
+		cache.cacheAProperty("host", "zone", "key1", "value1");
+		cache.close();
+		Thread.sleep(20);
+
+		DiscoveredServerPropertiesCache actual = new DiscoveredServerPropertiesCache(60000L, file);
+		actual.close();
+		Assert.assertNull(actual.retrieveValue("host", "zone", "key1"));
+	}
+
+	@Test
+	public void testDeleteIsWrittenToSnapshot() throws Exception {
+		File file = new File(temporaryFolder.getRoot(), "discovered.json");
+		DiscoveredServerPropertiesCache cache = new DiscoveredServerPropertiesCache(0L, file);
+		cache.cacheAProperty("host", "zone", "key1", "value1");
+		cache.cacheAProperty("host", "zone", "key2", "value2");
+		cache.deleteCachedProperty("host", "zone", "key1");
+		cache.close();
+
+		DiscoveredServerPropertiesCache actual = new DiscoveredServerPropertiesCache(0L, file);
+		actual.close();
+		Assert.assertNull(actual.retrieveValue("host", "zone", "key1"));
+		Assert.assertEquals("value2", actual.retrieveValue("host", "zone", "key2"));
+	}
+
+	@Test
+	public void testUnreadableSnapshotIsIgnored() throws Exception {
+		File file = temporaryFolder.newFile("discovered.json");
+		Files.write(file.toPath(), "not json".getBytes("UTF-8"));
+		DiscoveredServerPropertiesCache cache = new DiscoveredServerPropertiesCache(0L, file);
+		Assert.assertNull(cache.retrieveValue("host", "zone", "key1"));
+		cache.cacheAProperty("host", "zone", "key1", "value1");
+		cache.close();
+
+		DiscoveredServerPropertiesCache actual = new DiscoveredServerPropertiesCache(0L, file);
+		actual.close();
+		Assert.assertEquals("value1", actual.retrieveValue("host", "zone", "key1"));
+	}
+
+	@Test
+	public void testInstanceFromJargonProperties() throws Exception {
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setDiscoveredServerPropertiesCacheTimeToLiveInSeconds(30);
+		DiscoveredServerPropertiesCache cache = DiscoveredServerPropertiesCache.instance(jargonProperties);
+		Assert.assertEquals(30000L, cache.getTimeToLiveMillis());
+		Assert.assertNull(cache.getSnapshotFile());
+	}
+
 }
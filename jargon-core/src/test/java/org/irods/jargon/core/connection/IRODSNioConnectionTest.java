@@ -0,0 +1,168 @@
+package org.irods.jargon.core.connection;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.Mockito;
+
+public class IRODSNioConnectionTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+	private SettableJargonProperties jargonProperties;
+	private IRODSSession irodsSession;
+	private IRODSProtocolManager irodsProtocolManager;
+	private ServerSocket serverSocket;
+	private IRODSAccount irodsAccount;
+	private IRODSNioConnection connection;
+	private Socket agent;
+
+	@Before
+	public void setUp() throws Exception {
+		jargonProperties = new SettableJargonProperties();
+		jargonProperties.setConnectionFactory("nio");
+		jargonProperties.setInternalInputStreamBufferSize(64);
+		jargonProperties.setInternalOutputStreamBufferSize(16);
+		jargonProperties.setIrodsSocketTimeout(1);
+		irodsSession = new IRODSSession(jargonProperties);
+		irodsProtocolManager = Mockito.mock(IRODSProtocolManager.class);
+
+		serverSocket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+		irodsAccount = IRODSAccount.instance(InetAddress.getLoopbackAddress().getHostAddress(),
+				serverSocket.getLocalPort(), "user", "password", "/zone/home/user", "zone", "");
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		if (connection != null) {
+			connection.shutdown();
+		}
+		if (agent != null) {
+			agent.close();
+		}
+		serverSocket.close();
+	}
+
+	@Test
+	public void testFactorySelectsNio() throws Exception {
+		IRODSConnectionFactory factory = new IRODSConnectionFactoryProducingFactory().instance(jargonProperties);
+		Assert.assertTrue(factory instanceof IRODSNioConnectionFactoryImpl);
+	}
+
+	@Test
+	public void testSendBuffersAndGathersPayload() throws Exception {
+		connect();
+		byte[] header = buildData(8, 1);
+		byte[] payload = buildData(100, 2);
+		connection.send(header);
+		Assert.assertEquals(0, agent.getInputStream().available());
+
+		connection.send(payload, 0, payload.length);
+		connection.flush();
+
+		byte[] actual = new byte[header.length + payload.length];
+		new DataInputStream(agent.getInputStream()).readFully(actual);
+		byte[] expected = new byte[actual.length];
+		System.arraycopy(header, 0, expected, 0, header.length);
+		System.arraycopy(payload, 0, expected, header.length, payload.length);
+		Assert.assertArrayEquals(expected, actual);
+	}
+
+	@Test
+	public void testReadSmallAndLarge() throws Exception {
+		connect();
+		byte[] data = buildData(1000, 3);
+		agent.getOutputStream().write(data);
+
+		byte[] actual = new byte[data.length];
+		Assert.assertEquals(10, connection.read(actual, 0, 10));
+		Assert.assertEquals(data.length - 10, connection.read(actual, 10, data.length - 10));
+		Assert.assertArrayEquals(data, actual);
+	}
+
+	@Test
+	public void testReadIntoFileChannel() throws Exception {
+		connect();
+		Assert.assertTrue(connection.isDirectFileTransferSupported());
+		final byte[] data = buildData(300000, 4);
+		writeFromAgent(data);
+
+		byte[] first = new byte[4];
+		connection.read(first, 0, first.length);
+		File file = temporaryFolder.newFile();
+		FileOutputStream fileOutputStream = new FileOutputStream(file);
+		connection.read(fileOutputStream.getChannel(), data.length - first.length, null);
+		fileOutputStream.close();
+
+		byte[] actual = new byte[data.length];
+		System.arraycopy(first, 0, actual, 0, first.length);
+		System.arraycopy(Files.readAllBytes(file.toPath()), 0, actual, first.length, data.length - first.length);
+		Assert.assertArrayEquals(data, actual);
+	}
+
+	@Test(expected = SocketTimeoutException.class)
+	public void testReadTimesOut() throws Exception {
+		connect();
+		connection.read(new byte[1], 0, 1);
+	}
+
+	@Test
+	public void testSocketHandOffIsBlocking() throws Exception {
+		connect();
+		Socket socket = connection.getConnection();
+		Assert.assertFalse(connection.isDirectFileTransferSupported());
+		socket.getOutputStream().write(7);
+		Assert.assertEquals(7, agent.getInputStream().read());
+
+		agent.getOutputStream().write(9);
+		Assert.assertEquals(9, socket.getInputStream().read());
+	}
+
+	private void connect() throws Exception {
+		connection = new IRODSNioConnection(irodsAccount, irodsSession.buildPipelineConfigurationBasedOnJargonProperties(),
+				irodsProtocolManager, irodsSession);
+		agent = serverSocket.accept();
+	}
+
+	private void writeFromAgent(final byte[] data) {
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					OutputStream outputStream = agent.getOutputStream();
+					for (int i = 0; i < data.length; i += 7000) {
+						outputStream.write(data, i, Math.min(7000, data.length - i));
+						outputStream.flush();
+					}
+				} catch (IOException e) {
+					// the read on the connection fails and so does the test
+				}
+			}
+		});
+		thread.start();
+	}
+
+	private static byte[] buildData(final int length, final int seed) {
+		byte[] data = new byte[length];
+		for (int i = 0; i < length; i++) {
+			data[i] = (byte) (i * 31 + seed);
+		}
+		return data;
+	}
+
+}
@@ -0,0 +1,54 @@
+package org.irods.jargon.core.connection;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IRODSSessionTaskThreadFactoryTest {
+
+	private static final Runnable NOTHING = new Runnable() {
+		@Override
+		public void run() {
+		}
+	};
+
+	@Test
+	public void testDefaultIsPlatformThreads() throws Exception {
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setUseVirtualThreads(false);
+		IRODSSession irodsSession = new IRODSSession(jargonProperties);
+		ThreadFactory threadFactory = irodsSession.getTaskThreadFactory();
+		Assert.assertNotNull(threadFactory);
+		Assert.assertSame(threadFactory, irodsSession.getTaskThreadFactory());
+		Assert.assertFalse(isVirtual(threadFactory.newThread(NOTHING)));
+	}
+
+	@Test
+	public void testVirtualThreadsWhenSupported() throws Exception {
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setUseVirtualThreads(true);
+		IRODSSession irodsSession = new IRODSSession(jargonProperties);
+		Thread thread = irodsSession.getTaskThreadFactory().newThread(NOTHING);
+		Assert.assertNotNull(thread);
+		Assert.assertEquals(IRODSSession.createVirtualThreadFactory() != null, isVirtual(thread));
+	}
+
+	@Test
+	public void testSetTaskThreadFactory() throws Exception {
+		IRODSSession irodsSession = new IRODSSession(new SettableJargonProperties());
+		ThreadFactory threadFactory = Executors.defaultThreadFactory();
+		irodsSession.setTaskThreadFactory(threadFactory);
+		Assert.assertSame(threadFactory, irodsSession.getTaskThreadFactory());
+	}
+
+	private static boolean isVirtual(final Thread thread) {
+		try {
+			return (Boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+		} catch (ReflectiveOperationException e) {
+			return false;
+		}
+	}
+
+}
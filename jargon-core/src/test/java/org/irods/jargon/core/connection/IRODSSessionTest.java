@@ -3,6 +3,8 @@ package org.irods.jargon.core.connection;
 import java.util.Properties;
 import java.util.concurrent.Executor;
 
+import javax.net.ssl.SSLContext;
+
 import org.irods.jargon.core.packinstr.TransferOptions;
 import org.irods.jargon.testutils.TestingPropertiesHelper;
 import org.junit.Assert;
@@ -273,4 +275,52 @@ public class IRODSSessionTest {
 
 	}
 
+	@Test
+	public void testSslContextSharedWhenSessionsCached() throws Exception {
+		SettableJargonProperties settableJargonProperties = new SettableJargonProperties();
+		settableJargonProperties.setSslSessionCacheTimeoutInSeconds(600);
+		IRODSSession irodsSession = new IRODSSession(settableJargonProperties);
+		SSLContext sslContext = irodsSession.getSslContext();
+		Assert.assertSame("context not shared", sslContext, irodsSession.getSslContext());
+		Assert.assertEquals(600, sslContext.getClientSessionContext().getSessionTimeout());
+
+		irodsSession.setX509TrustManager(new TrustAllX509TrustManager());
+		Assert.assertNotSame("context kept after trust manager changed", sslContext, irodsSession.getSslContext());
+	}
+
+	@Test
+	public void testSslContextNotSharedWhenSessionsNotCached() throws Exception {
+		SettableJargonProperties settableJargonProperties = new SettableJargonProperties();
+		settableJargonProperties.setSslSessionCacheTimeoutInSeconds(0);
+		IRODSSession irodsSession = new IRODSSession(settableJargonProperties);
+		Assert.assertNotSame("context shared", irodsSession.getSslContext(), irodsSession.getSslContext());
+	}
+
+	@Test
+	public void testGenQueryPlanCache() throws Exception {
+		SettableJargonProperties settableJargonProperties = new SettableJargonProperties();
+		settableJargonProperties.setGenQueryPlanCacheSize(10);
+		IRODSSession irodsSession = new IRODSSession(settableJargonProperties);
+		Assert.assertNotNull("no plan cache", irodsSession.getGenQueryPlanCache());
+		Assert.assertSame("plan cache not shared", irodsSession.getGenQueryPlanCache(),
+				irodsSession.getGenQueryPlanCache());
+
+		settableJargonProperties.setGenQueryPlanCacheSize(0);
+		Assert.assertNull("plan cache when turned off", new IRODSSession(settableJargonProperties).getGenQueryPlanCache());
+	}
+
+	@Test
+	public void testObjStatCache() throws Exception {
+		SettableJargonProperties settableJargonProperties = new SettableJargonProperties();
+		settableJargonProperties.setObjStatCacheSize(10);
+		settableJargonProperties.setObjStatCacheTimeToLiveMillis(1000);
+		IRODSSession irodsSession = new IRODSSession(settableJargonProperties);
+		Assert.assertNotNull("no objStat cache", irodsSession.getObjStatCache());
+		Assert.assertSame("objStat cache not shared", irodsSession.getObjStatCache(),
+				irodsSession.getObjStatCache());
+
+		settableJargonProperties.setObjStatCacheSize(0);
+		Assert.assertNull("objStat cache when turned off", new IRODSSession(settableJargonProperties).getObjStatCache());
+	}
+
 }
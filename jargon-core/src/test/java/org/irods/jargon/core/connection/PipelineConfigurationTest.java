@@ -22,4 +22,20 @@ public class PipelineConfigurationTest {
 
 	}
 
+	@Test
+	public void testInstanceUseStreamingTagParser() throws Exception {
+		SettableJargonPropertiesMBean jargonProperties = new SettableJargonProperties();
+		jargonProperties.setUseStreamingTagParser(false);
+		PipelineConfiguration actual = PipelineConfiguration.instance(jargonProperties);
+		Assert.assertFalse(actual.isUseStreamingTagParser());
+	}
+
+	@Test
+	public void testInstanceMaxPipelinedRequests() throws Exception {
+		SettableJargonPropertiesMBean jargonProperties = new SettableJargonProperties();
+		jargonProperties.setMaxPipelinedRequests(4);
+		PipelineConfiguration actual = PipelineConfiguration.instance(jargonProperties);
+		Assert.assertEquals(4, actual.getMaxPipelinedRequests());
+	}
+
 }
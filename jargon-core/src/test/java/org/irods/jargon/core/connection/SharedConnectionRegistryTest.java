@@ -0,0 +1,225 @@
+package org.irods.jargon.core.connection;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class SharedConnectionRegistryTest {
+
+	private SettableJargonProperties jargonProperties;
+	private IRODSProtocolManager irodsProtocolManager;
+	private IRODSSession irodsSession;
+	private IRODSAccount irodsAccount;
+	private int connectionsOpened;
+
+	@Before
+	public void setUp() throws Exception {
+		jargonProperties = new SettableJargonProperties();
+		jargonProperties.setUseSharedConnectionRegistry(true);
+		jargonProperties.setSharedConnectionMaxPerAccount(2);
+		jargonProperties.setSharedConnectionIdleTimeoutSeconds(0);
+		jargonProperties.setSharedConnectionCheckoutWaitMillis(100);
+		jargonProperties.setSocketRenewalIntervalInSeconds(0);
+
+		connectionsOpened = 0;
+		irodsProtocolManager = Mockito.mock(IRODSProtocolManager.class);
+		Mockito.when(irodsProtocolManager.getIRODSProtocol(Mockito.any(IRODSAccount.class),
+				Mockito.any(PipelineConfiguration.class), Mockito.any(IRODSSession.class)))
+				.thenAnswer(new Answer<IRODSMidLevelProtocol>() {
+					@Override
+					public IRODSMidLevelProtocol answer(final InvocationOnMock invocation) throws Exception {
+						connectionsOpened++;
+						IRODSMidLevelProtocol irodsMidLevelProtocol = Mockito.mock(IRODSMidLevelProtocol.class);
+						Mockito.when(irodsMidLevelProtocol.isConnected()).thenReturn(true);
+						Mockito.when(irodsMidLevelProtocol.getIrodsAccount())
+								.thenReturn((IRODSAccount) invocation.getArgument(0));
+						Mockito.when(irodsMidLevelProtocol.getConnectTimeInMillis())
+								.thenReturn(System.currentTimeMillis());
+						return irodsMidLevelProtocol;
+					}
+				});
+
+		irodsSession = new IRODSSession(jargonProperties);
+		irodsSession.setIrodsProtocolManager(irodsProtocolManager);
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+	}
+
+	@Test
+	public void testCheckinIsReused() throws Exception {
+		SharedConnectionRegistry registry = new SharedConnectionRegistry(irodsSession);
+		IRODSMidLevelProtocol first = registry.checkout(irodsAccount);
+		registry.checkin(first);
+		Assert.assertEquals(1, registry.getIdleConnectionCount(irodsAccount));
+
+		IRODSMidLevelProtocol second = registry.checkout(irodsAccount);
+		Assert.assertSame(first, second);
+		Assert.assertEquals(1, connectionsOpened);
+		Assert.assertEquals(1, registry.getConnectionCount(irodsAccount));
+		registry.checkin(second);
+		registry.close();
+		Mockito.verify(irodsProtocolManager).returnIRODSProtocol(first);
+	}
+
+	@Test
+	public void testAccountsAreSeparate() throws Exception {
+		SharedConnectionRegistry registry = new SharedConnectionRegistry(irodsSession);
+		IRODSAccount otherAccount = IRODSAccount.instance("host", 1247, "other", "password", "/zone/home/other",
+				"zone", "");
+		registry.checkin(registry.checkout(irodsAccount));
+		IRODSMidLevelProtocol other = registry.checkout(otherAccount);
+		Assert.assertEquals(2, connectionsOpened);
+		Assert.assertEquals(1, registry.getIdleConnectionCount(irodsAccount));
+		Assert.assertEquals(1, registry.getConnectionCount(otherAccount));
+		registry.checkin(other);
+		registry.close();
+	}
+
+	@Test
+	public void testCheckoutFromAnotherThread() throws Exception {
+		final SharedConnectionRegistry registry = new SharedConnectionRegistry(irodsSession);
+		IRODSMidLevelProtocol first = registry.checkout(irodsAccount);
+		registry.checkin(first);
+
+		final AtomicReference<IRODSMidLevelProtocol> checkedOut = new AtomicReference<IRODSMidLevelProtocol>();
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					checkedOut.set(registry.checkout(irodsAccount));
+				} catch (JargonException e) {
+					// the reference stays null and the test fails
+				}
+			}
+		});
+		thread.start();
+		thread.join();
+		Assert.assertSame(first, checkedOut.get());
+		registry.close();
+	}
+
+	@Test(expected = JargonException.class)
+	public void testMaxPerAccountTimesOut() throws Exception {
+		SharedConnectionRegistry registry = new SharedConnectionRegistry(irodsSession);
+		registry.checkout(irodsAccount);
+		registry.checkout(irodsAccount);
+		registry.checkout(irodsAccount);
+	}
+
+	@Test
+	public void testWaitForCheckin() throws Exception {
+		jargonProperties.setSharedConnectionMaxPerAccount(1);
+		jargonProperties.setSharedConnectionCheckoutWaitMillis(5000);
+		final SharedConnectionRegistry registry = new SharedConnectionRegistry(irodsSession);
+		final IRODSMidLevelProtocol first = registry.checkout(irodsAccount);
+		final CountDownLatch waiting = new CountDownLatch(1);
+
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					waiting.await();
+					Thread.sleep(100);
+				} catch (InterruptedException e) {
+					return;
+				}
+				registry.checkin(first);
+			}
+		});
+		thread.start();
+		waiting.countDown();
+
+		Assert.assertSame(first, registry.checkout(irodsAccount));
+		Assert.assertEquals(1, connectionsOpened);
+		thread.join();
+		registry.close();
+	}
+
+	@Test
+	public void testDisconnectedConnectionIsNotReused() throws Exception {
+		SharedConnectionRegistry registry = new SharedConnectionRegistry(irodsSession);
+		IRODSMidLevelProtocol first = registry.checkout(irodsAccount);
+		Mockito.when(first.isConnected()).thenReturn(false);
+		registry.checkin(first);
+		Assert.assertEquals(0, registry.getConnectionCount(irodsAccount));
+		Mockito.verify(irodsProtocolManager).returnWithForce(first);
+
+		Assert.assertNotSame(first, registry.checkout(irodsAccount));
+		Assert.assertEquals(2, connectionsOpened);
+	}
+
+	@Test
+	public void testDiscardFreesSlot() throws Exception {
+		jargonProperties.setSharedConnectionMaxPerAccount(1);
+		SharedConnectionRegistry registry = new SharedConnectionRegistry(irodsSession);
+		IRODSMidLevelProtocol first = registry.checkout(irodsAccount);
+		registry.discard(first);
+		Mockito.verify(irodsProtocolManager).returnWithForce(first);
+		Assert.assertNotSame(first, registry.checkout(irodsAccount));
+	}
+
+	@Test
+	public void testEvictIdleConnections() throws Exception {
+		jargonProperties.setSharedConnectionIdleTimeoutSeconds(1);
+		SharedConnectionRegistry registry = new SharedConnectionRegistry(irodsSession);
+		IRODSMidLevelProtocol first = registry.checkout(irodsAccount);
+		registry.checkin(first);
+		registry.evictIdleConnections();
+		Assert.assertEquals(1, registry.getIdleConnectionCount(irodsAccount));
+
+		Thread.sleep(TimeUnit.SECONDS.toMillis(1) + 50);
+		registry.evictIdleConnections();
+		Assert.assertEquals(0, registry.getConnectionCount(irodsAccount));
+		Mockito.verify(irodsProtocolManager).returnIRODSProtocol(first);
+		registry.close();
+	}
+
+	@Test
+	public void testConnectionDueForRenewalIsNotReused() throws Exception {
+		jargonProperties.setSocketRenewalIntervalInSeconds(60);
+		SharedConnectionRegistry registry = new SharedConnectionRegistry(irodsSession);
+		IRODSMidLevelProtocol first = registry.checkout(irodsAccount);
+		Mockito.when(first.getConnectTimeInMillis()).thenReturn(System.currentTimeMillis() - 120000L);
+		registry.checkin(first);
+		Assert.assertEquals(0, registry.getConnectionCount(irodsAccount));
+		Mockito.verify(irodsProtocolManager).returnIRODSProtocol(first);
+	}
+
+	@Test
+	public void testSessionChecksInOnClose() throws Exception {
+		IRODSMidLevelProtocol first = irodsSession.currentConnection(irodsAccount);
+		Assert.assertSame(first, irodsSession.currentConnection(irodsAccount));
+		irodsSession.closeSession();
+		SharedConnectionRegistry registry = irodsSession.getSharedConnectionRegistry();
+		Assert.assertEquals(1, registry.getIdleConnectionCount(irodsAccount));
+		Mockito.verify(irodsProtocolManager, Mockito.never()).returnIRODSProtocol(first);
+
+		final AtomicReference<IRODSMidLevelProtocol> checkedOut = new AtomicReference<IRODSMidLevelProtocol>();
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					checkedOut.set(irodsSession.currentConnection(irodsAccount));
+					irodsSession.closeSession();
+				} catch (JargonException e) {
+					// the reference stays null and the test fails
+				}
+			}
+		});
+		thread.start();
+		thread.join();
+		Assert.assertSame(first, checkedOut.get());
+		Assert.assertEquals(1, connectionsOpened);
+
+		irodsSession.closeSharedConnectionRegistry();
+		Mockito.verify(irodsProtocolManager).returnIRODSProtocol(first);
+	}
+
+}
@@ -0,0 +1,99 @@
+package org.irods.jargon.core.metrics;
+
+import java.lang.management.ManagementFactory;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class JmxMetricsRegistryTest {
+
+	@Test
+	public void testRecordInMemory() {
+		InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+		registry.recordLatency(MetricsRegistry.API_LATENCY_PREFIX + 602, 2000L);
+		registry.recordLatency(MetricsRegistry.API_LATENCY_PREFIX + 602, 4000L);
+		registry.incrementCounter(MetricsRegistry.BYTES_SENT, 10L);
+		registry.incrementCounter(MetricsRegistry.BYTES_SENT, 5L);
+
+		Assert.assertEquals(2, registry.getLatency("api.602").getCount());
+		Assert.assertEquals(3, registry.getLatency("api.602").getMeanMicros());
+		Assert.assertEquals(0, registry.getLatency("api.700").getCount());
+		Assert.assertEquals(15L, registry.getCounter(MetricsRegistry.BYTES_SENT));
+		Assert.assertEquals(0L, registry.getCounter(MetricsRegistry.BYTES_RECEIVED));
+		Assert.assertEquals(1, registry.getLatencies().size());
+		Assert.assertEquals(Long.valueOf(15L), registry.getCounters().get(MetricsRegistry.BYTES_SENT));
+
+		registry.reset();
+		Assert.assertTrue(registry.getLatencies().isEmpty());
+		Assert.assertTrue(registry.getCounters().isEmpty());
+	}
+
+	@Test
+	public void testRegisterAndReadOverJmx() throws Exception {
+		JmxMetricsRegistry registry = new JmxMetricsRegistry();
+		Assert.assertTrue(registry.register());
+		try {
+			registry.recordLatency(MetricsRegistry.CONNECT_LATENCY, 3000000L);
+			registry.incrementCounter(MetricsRegistry.BYTES_RECEIVED, 42L);
+
+			MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+			Assert.assertTrue(mbs.isRegistered(registry.getObjectName()));
+
+			TabularData counters = (TabularData) mbs.getAttribute(registry.getObjectName(), "Counters");
+			CompositeData counter = counters.get(new Object[] { MetricsRegistry.BYTES_RECEIVED });
+			Assert.assertEquals(42L, counter.get("value"));
+
+			TabularData latencies = (TabularData) mbs.getAttribute(registry.getObjectName(), "Latencies");
+			CompositeData latency = (CompositeData) latencies.get(new Object[] { MetricsRegistry.CONNECT_LATENCY })
+					.get("value");
+			Assert.assertEquals(1L, latency.get("count"));
+			Assert.assertEquals(3000L, latency.get("maxMicros"));
+		} finally {
+			registry.unregister();
+		}
+		Assert.assertNull(registry.getObjectName());
+	}
+
+	@Test
+	public void testSessionCreatesRegistryWhenInstrumented() throws Exception {
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setInstrument(false);
+		IRODSSession irodsSession = new IRODSSession(jargonProperties);
+		Assert.assertNull(irodsSession.getMetricsRegistry());
+
+		jargonProperties.setInstrument(true);
+		MetricsRegistry registry = irodsSession.getMetricsRegistry();
+		Assert.assertTrue(registry instanceof JmxMetricsRegistry);
+		Assert.assertSame(registry, irodsSession.getMetricsRegistry());
+
+		InMemoryMetricsRegistry injected = new InMemoryMetricsRegistry();
+		irodsSession.setMetricsRegistry(injected);
+		Assert.assertSame(injected, irodsSession.getMetricsRegistry());
+	}
+
+	@Test
+	public void testSessionsShareOneRegisteredRegistry() throws Exception {
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setInstrument(true);
+		MetricsRegistry registry = new IRODSSession(jargonProperties).getMetricsRegistry();
+		MBeanServer mbs = ManagementFactory.getPlatformMBeanServer();
+		ObjectName pattern = new ObjectName(JmxMetricsRegistry.OBJECT_NAME_PREFIX + ",*");
+		int registered = mbs.queryNames(pattern, null).size();
+
+		for (int i = 0; i < 5; i++) {
+			Assert.assertSame(registry, new IRODSSession(jargonProperties).getMetricsRegistry());
+		}
+
+		Assert.assertSame(JmxMetricsRegistry.getSharedInstance(), registry);
+		Assert.assertTrue(mbs.isRegistered(((JmxMetricsRegistry) registry).getObjectName()));
+		Assert.assertEquals(registered, mbs.queryNames(pattern, null).size());
+	}
+
+}
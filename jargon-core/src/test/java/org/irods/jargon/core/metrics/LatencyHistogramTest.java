@@ -0,0 +1,51 @@
+package org.irods.jargon.core.metrics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+	@Test
+	public void testBucketFor() {
+		Assert.assertEquals(0, LatencyHistogram.bucketFor(0L));
+		Assert.assertEquals(1, LatencyHistogram.bucketFor(1L));
+		Assert.assertEquals(2, LatencyHistogram.bucketFor(2L));
+		Assert.assertEquals(2, LatencyHistogram.bucketFor(3L));
+		Assert.assertEquals(11, LatencyHistogram.bucketFor(1024L));
+		Assert.assertEquals(LatencyHistogram.NUMBER_OF_BUCKETS - 1, LatencyHistogram.bucketFor(Long.MAX_VALUE));
+	}
+
+	@Test
+	public void testSnapshot() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int i = 0; i < 98; i++) {
+			histogram.record(100000L);
+		}
+		histogram.record(5000000L);
+		histogram.record(20000000L);
+
+		LatencySnapshot snapshot = histogram.snapshot();
+		Assert.assertEquals(100, snapshot.getCount());
+		Assert.assertEquals(98 * 100 + 5000 + 20000, snapshot.getTotalMicros());
+		Assert.assertEquals(20000, snapshot.getMaxMicros());
+		// 100 microseconds is in the bucket up to 127
+		Assert.assertEquals(127, snapshot.getP50Micros());
+		Assert.assertEquals(127, snapshot.getP90Micros());
+		// 5000 microseconds is in the bucket up to 8191
+		Assert.assertEquals(8191, snapshot.getP99Micros());
+	}
+
+	@Test
+	public void testEmptyAndReset() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		Assert.assertEquals(0, histogram.snapshot().getCount());
+		Assert.assertEquals(0, histogram.snapshot().getMeanMicros());
+		histogram.record(1000L);
+		histogram.record(-5L);
+		Assert.assertEquals(2, histogram.snapshot().getCount());
+		histogram.reset();
+		Assert.assertEquals(0, histogram.snapshot().getCount());
+		Assert.assertEquals(0, histogram.snapshot().getMaxMicros());
+	}
+
+}
@@ -1,8 +1,14 @@
 package org.irods.jargon.core.packinstr;
 
 import org.irods.jargon.core.connection.IRODSServerProperties;
+import org.irods.jargon.core.query.GenQueryField.SelectFieldTypes;
+import org.irods.jargon.core.query.GenQueryOrderByField.OrderByType;
+import org.irods.jargon.core.query.GenQueryPlan;
 import org.irods.jargon.core.query.IRODSGenQuery;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.IRODSGenQueryFromBuilder;
 import org.irods.jargon.core.query.IRODSGenQueryTranslator;
+import org.irods.jargon.core.query.QueryConditionOperators;
 import org.irods.jargon.core.query.RodsGenQueryEnum;
 import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
 import org.junit.AfterClass;
@@ -155,4 +161,52 @@ public class GenQueryInpTest {
 
 	}
 
+	@Test
+	public final void testWriteParsedTagsFromPlanSameAsParsedTags() throws Exception {
+		String queryString = "select " + RodsGenQueryEnum.COL_D_COLL_ID.getName() + " ,"
+				+ RodsGenQueryEnum.COL_COLL_ACCESS_COLL_ID.getName() + " where "
+				+ RodsGenQueryEnum.COL_COLL_ACCESS_TYPE.getName() + " = " + "'2'";
+
+		IRODSServerProperties props = IRODSServerProperties.instance(IRODSServerProperties.IcatEnabled.ICAT_ENABLED,
+				100, "rods2.2", "d", "zone");
+		IRODSGenQuery irodsQuery = IRODSGenQuery.instance(queryString, 500);
+		IRODSGenQueryTranslator irodsQueryTranslator = new IRODSGenQueryTranslator(props);
+		GenQueryPlan plan = GenQueryPlan.compile(irodsQueryTranslator.getTranslatedQuery(irodsQuery));
+		TranslatedIRODSGenQuery translatedIRODSQuery = plan.bind(irodsQuery);
+
+		assertPlanWriteSameAsParsedTags(GenQueryInp.instance(translatedIRODSQuery, 0, "zoneNameHere"));
+		assertPlanWriteSameAsParsedTags(GenQueryInp.instance(translatedIRODSQuery, 1, null));
+		assertPlanWriteSameAsParsedTags(GenQueryInp.instanceForCloseQuery(translatedIRODSQuery, 2));
+	}
+
+	@Test
+	public final void testWriteParsedTagsFromBuilderPlanSameAsParsedTags() throws Exception {
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(false, true, true, null);
+		builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_NAME)
+				.addSelectAsAgregateGenQueryValue(RodsGenQueryEnum.COL_DATA_SIZE, SelectFieldTypes.SUM)
+				.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME, QueryConditionOperators.LIKE, "/zone/a&b%")
+				.addConditionAsGenQueryField(RodsGenQueryEnum.COL_DATA_NAME, QueryConditionOperators.NOT_EQUAL, "x")
+				.addOrderByGenQueryField(RodsGenQueryEnum.COL_DATA_NAME, OrderByType.DESC);
+		IRODSGenQueryFromBuilder irodsQuery = builder.exportIRODSQueryFromBuilder(100);
+		TranslatedIRODSGenQuery translated = irodsQuery.convertToTranslatedIRODSGenQuery();
+		TranslatedIRODSGenQuery translatedIRODSQuery = GenQueryPlan.compile(translated)
+				.bind(translated.getTranslatedQueryConditions(), irodsQuery);
+
+		assertPlanWriteSameAsParsedTags(GenQueryInp.instance(translatedIRODSQuery, 0, null));
+		assertPlanWriteSameAsParsedTags(GenQueryInp.instanceWithPartialStart(translatedIRODSQuery, 20, "zone"));
+	}
+
+	private void assertPlanWriteSameAsParsedTags(final GenQueryInp genQueryInp) throws Exception {
+		Assert.assertNotNull("query not bound from plan", genQueryInp.getTranslatedIRODSQuery().getQueryPlan());
+		TagWriter tagWriter = new TagWriter("UTF-8");
+		int written = genQueryInp.writeParsedTags(tagWriter);
+		Assert.assertEquals(tagWriter.size(), written);
+		Assert.assertEquals(genQueryInp.getParsedTags(), new String(tagWriter.toByteArray(), "UTF-8"));
+
+		// other encodings are serialized from the tags
+		tagWriter = new TagWriter("UTF-16");
+		genQueryInp.writeParsedTags(tagWriter);
+		Assert.assertEquals(genQueryInp.getParsedTags(), new String(tagWriter.toByteArray(), "UTF-16"));
+	}
+
 }
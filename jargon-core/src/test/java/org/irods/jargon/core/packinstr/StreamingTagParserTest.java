@@ -0,0 +1,137 @@
+package org.irods.jargon.core.packinstr;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StreamingTagParserTest {
+
+	private static final String ENCODING = "UTF-8";
+
+	@Test
+	public void testReadNextTagNull() throws Exception {
+		Assert.assertNull(StreamingTagParser.readNextTag(null, ENCODING));
+	}
+
+	@Test
+	public void testReadNextTagNoTag() throws Exception {
+		Assert.assertNull(StreamingTagParser.readNextTag("no tags here".getBytes(ENCODING), ENCODING));
+	}
+
+	@Test
+	public void testReadNextTagHeader() throws Exception {
+		String header = "<MsgHeader_PI>\n<type>RODS_API_REPLY</type>\n<msgLen>0</msgLen>\n<errorLen>0</errorLen>\n<bsLen>0</bsLen>\n<intInfo>-808000</intInfo>\n</MsgHeader_PI>\n";
+		Tag actual = StreamingTagParser.readNextTag(header.getBytes(ENCODING), ENCODING);
+		Assert.assertEquals("MsgHeader_PI", actual.getName());
+		Assert.assertEquals(5, actual.getLength());
+		Assert.assertEquals("RODS_API_REPLY", actual.getTags()[0].getStringValue());
+		Assert.assertEquals(-808000, actual.getTags()[4].getIntValue());
+		assertSameAsOriginalParser(header, true);
+	}
+
+	@Test
+	public void testReadNextTagNested() throws Exception {
+		String message = "<GenQueryOut_PI><rowCnt>2</rowCnt><attriCnt>1</attriCnt><continueInx>0</continueInx><totalRowCount>0</totalRowCount>"
+				+ "<SqlResult_PI><attriInx>403</attriInx><reslen>100</reslen><value>a.txt</value><value>b.txt</value></SqlResult_PI>"
+				+ "</GenQueryOut_PI>";
+		Tag actual = StreamingTagParser.readNextTag(message.getBytes(ENCODING), ENCODING);
+		Assert.assertEquals(5, actual.getLength());
+		Tag sqlResult = actual.getTag("SqlResult_PI");
+		Assert.assertNotNull(sqlResult);
+		Assert.assertEquals("b.txt", sqlResult.getTag("value", 1).getStringValue());
+		assertSameAsOriginalParser(message, true);
+	}
+
+	@Test
+	public void testReadNextTagEntitiesDecoded() throws Exception {
+		String message = "<a><b>x &amp; y &lt;z&gt; &quot;q&quot; &apos;t&apos;</b></a>";
+		Tag actual = StreamingTagParser.readNextTag(message.getBytes(ENCODING), ENCODING);
+		Assert.assertEquals("x & y <z> \"q\" `t`", actual.getTag("b").getStringValue());
+		assertSameAsOriginalParser(message, true);
+	}
+
+	@Test
+	public void testReadNextTagEntitiesNotDecoded() throws Exception {
+		String message = "<a><b>x &amp; y</b></a>";
+		Tag actual = StreamingTagParser.readNextTag(message.getBytes(ENCODING), false, ENCODING);
+		Assert.assertEquals("x &amp; y", actual.getTag("b").getStringValue());
+		assertSameAsOriginalParser(message, false);
+	}
+
+	@Test
+	public void testReadNextTagUnknownAndPartialEntities() throws Exception {
+		String message = "<a><b>&&amp; &nbsp; &foo bar; &amp</b></a>";
+		assertSameAsOriginalParser(message, true);
+	}
+
+	@Test
+	public void testReadNextTagEmptyValue() throws Exception {
+		String message = "<a><b></b><c>1</c></a>";
+		Tag actual = StreamingTagParser.readNextTag(message.getBytes(ENCODING), ENCODING);
+		Assert.assertEquals("", actual.getTag("b").getStringValue());
+		assertSameAsOriginalParser(message, true);
+	}
+
+	@Test
+	public void testReadNextTagLineFeedsInValue() throws Exception {
+		String message = "<a>\n<b>\nline one\nline two\n</b>\n</a>\n";
+		assertSameAsOriginalParser(message, true);
+	}
+
+	@Test
+	public void testReadNextTagMultiByteCharacters() throws Exception {
+		String message = "<a><b>über/日本語 &amp; café</b></a>";
+		Tag actual = StreamingTagParser.readNextTag(message.getBytes(ENCODING), ENCODING);
+		Assert.assertEquals("über/日本語 & café", actual.getTag("b").getStringValue());
+		assertSameAsOriginalParser(message, true);
+	}
+
+	@Test
+	public void testReadNextTagWithOffset() throws Exception {
+		String message = "junk<a><b>1</b></a>trailer";
+		byte[] data = ("xx" + message).getBytes(ENCODING);
+		Tag actual = StreamingTagParser.readNextTag(data, 2, message.length(), true, ENCODING);
+		Assert.assertEquals("a", actual.getName());
+		Assert.assertEquals("1", actual.getTag("b").getStringValue());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testReadNextTagOffsetOutOfRange() throws Exception {
+		StreamingTagParser.readNextTag(new byte[10], 5, 6, true, ENCODING);
+	}
+
+	@Test
+	public void testReadNextTagRoundTripFromParseTag() throws Exception {
+		Tag message = new Tag("DataObjInp_PI", new Tag[] { new Tag("objPath", "/zone/home/a&b<c>.txt"),
+				new Tag("createMode", 0), new Tag("openFlags", 0), new Tag("offset", 0L), new Tag("dataSize", 0L),
+				new Tag("numThreads", 0), new Tag("oprType", 0),
+				Tag.createKeyValueTag(new String[][] { { "dataType", "generic" }, { "destRescName", "`res`" } }) });
+		String serialized = message.parseTag();
+		Tag actual = StreamingTagParser.readNextTag(serialized.getBytes(ENCODING), ENCODING);
+		Assert.assertEquals("/zone/home/a&b<c>.txt", actual.getTag("objPath").getStringValue());
+		Assert.assertEquals(serialized, actual.parseTag());
+		assertSameAsOriginalParser(serialized, true);
+	}
+
+	private void assertSameAsOriginalParser(final String message, final boolean decode) throws Exception {
+		Tag expected = Tag.readNextTag(message.getBytes(ENCODING), decode, ENCODING);
+		Tag actual = StreamingTagParser.readNextTag(message.getBytes(ENCODING), decode, ENCODING);
+		assertSameTag(expected, actual);
+	}
+
+	private void assertSameTag(final Tag expected, final Tag actual) {
+		Assert.assertEquals("tag name", expected.getName(), actual.getName());
+		Assert.assertEquals("value for " + expected.getName(), expected.getStringValue(), actual.getStringValue());
+		Tag[] expectedTags = expected.getTags();
+		Tag[] actualTags = actual.getTags();
+		if (expectedTags == null) {
+			Assert.assertNull("children for " + expected.getName(), actualTags);
+			return;
+		}
+		Assert.assertNotNull("children for " + expected.getName(), actualTags);
+		Assert.assertEquals("number of children for " + expected.getName(), expectedTags.length, actualTags.length);
+		for (int i = 0; i < expectedTags.length; i++) {
+			assertSameTag(expectedTags[i], actualTags[i]);
+		}
+	}
+
+}
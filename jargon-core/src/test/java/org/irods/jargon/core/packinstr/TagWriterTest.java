@@ -0,0 +1,173 @@
+package org.irods.jargon.core.packinstr;
+
+import java.nio.ByteBuffer;
+
+import org.irods.jargon.core.connection.IRODSServerProperties;
+import org.irods.jargon.core.pub.domain.AvuData;
+import org.irods.jargon.core.query.IRODSGenQuery;
+import org.irods.jargon.core.query.IRODSGenQueryTranslator;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TagWriterTest {
+
+	private static final String ENCODING = "UTF-8";
+
+	@Test
+	public void testWriteSimpleTag() throws Exception {
+		Tag tag = new Tag("a", new Tag[] { new Tag("b", 1), new Tag("c", "hello") });
+		assertSameAsParseTag(tag, ENCODING);
+	}
+
+	@Test
+	public void testWriteEscapedValue() throws Exception {
+		Tag tag = new Tag("a", new Tag("b", "x & y <z> \"q\" `t`"));
+		byte[] actual = TagWriter.serialize(tag, ENCODING);
+		Assert.assertEquals("<a><b>x &amp; y &lt;z&gt; &quot;q&quot; &apos;t&apos;</b>\n</a>\n",
+				new String(actual, ENCODING));
+		assertSameAsParseTag(tag, ENCODING);
+	}
+
+	@Test
+	public void testWriteNullAndEmptyValues() throws Exception {
+		Tag tag = new Tag("a", new Tag[] { new Tag("b"), new Tag("c", ""), new Tag("d", new Tag[] {}) });
+		assertSameAsParseTag(tag, ENCODING);
+	}
+
+	@Test
+	public void testWriteMultiByteCharacters() throws Exception {
+		Tag tag = new Tag("a", new Tag("b", "über/日本語/😀 & café"));
+		assertSameAsParseTag(tag, ENCODING);
+	}
+
+	@Test
+	public void testWriteUnpairedSurrogate() throws Exception {
+		Tag tag = new Tag("a", new Tag("b", "x\uD83Dy\uDE00"));
+		assertSameAsParseTag(tag, ENCODING);
+	}
+
+	@Test
+	public void testWriteOtherEncodings() throws Exception {
+		Tag tag = new Tag("a", new Tag("b", "über/日本語/😀 & café"));
+		assertSameAsParseTag(tag, "ISO-8859-1");
+		assertSameAsParseTag(tag, "US-ASCII");
+		assertSameAsParseTag(tag, "UTF-16");
+	}
+
+	@Test
+	public void testWriteInParts() throws Exception {
+		Tag tag = new Tag("a", new Tag[] { new Tag("b", 1), new Tag("c", "x & y") });
+		byte[] part = TagWriter.serialize(new Tag("b", 1), ENCODING);
+		TagWriter writer = new TagWriter(ENCODING);
+		Assert.assertTrue(writer.isEncodedInline());
+		writer.writeStartTag("a").writeBytes(part).write(new Tag("c", "x & y")).writeEndTag("a");
+		Assert.assertEquals(tag.parseTag(), new String(writer.toByteArray(), ENCODING));
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testWriteInPartsOtherEncoding() throws Exception {
+		TagWriter writer = new TagWriter("UTF-16");
+		Assert.assertFalse(writer.isEncodedInline());
+		writer.writeStartTag("a");
+	}
+
+	@Test
+	public void testWriteGrowsBuffer() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			sb.append("<&>");
+		}
+		Tag tag = new Tag("a", new Tag("b", sb.toString()));
+		TagWriter writer = new TagWriter(8, ENCODING);
+		writer.write(tag);
+		Assert.assertArrayEquals(tag.parseTag().getBytes(ENCODING), writer.toByteArray());
+	}
+
+	@Test
+	public void testResetReusesWriter() throws Exception {
+		TagWriter writer = new TagWriter(ENCODING);
+		writer.write(new Tag("a", "first message"));
+		writer.reset();
+		Assert.assertEquals(0, writer.size());
+		Tag second = new Tag("b", "2");
+		writer.write(second);
+		Assert.assertArrayEquals(second.parseTag().getBytes(ENCODING), writer.toByteArray());
+	}
+
+	@Test
+	public void testResetReleasesLargeBuffer() throws Exception {
+		TagWriter writer = new TagWriter(ENCODING);
+		char[] big = new char[TagWriter.MAX_RETAINED_SIZE];
+		java.util.Arrays.fill(big, 'x');
+		writer.write(new Tag("a", new String(big)));
+		Assert.assertTrue(writer.getBuffer().length > TagWriter.MAX_RETAINED_SIZE);
+		writer.reset();
+		Assert.assertEquals(TagWriter.DEFAULT_INITIAL_SIZE, writer.getBuffer().length);
+	}
+
+	@Test
+	public void testToByteBufferAndWriteTo() throws Exception {
+		Tag tag = new Tag("a", "value");
+		TagWriter writer = new TagWriter(ENCODING);
+		writer.write(tag);
+		byte[] expected = tag.parseTag().getBytes(ENCODING);
+
+		ByteBuffer wrapped = writer.toByteBuffer();
+		Assert.assertEquals(expected.length, wrapped.remaining());
+
+		ByteBuffer target = ByteBuffer.allocate(expected.length + 4);
+		target.putInt(42);
+		writer.writeTo(target);
+		Assert.assertEquals(expected.length + 4, target.position());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWriteNullTag() throws Exception {
+		new TagWriter(ENCODING).write(null);
+	}
+
+	@Test
+	public void testWriteParsedTagsDataObjInp() throws Exception {
+		DataObjInp dataObjInp = DataObjInp.instanceForDeleteWithForce("/zone/home/user/a&b `file`.txt");
+		assertWriteParsedTagsSameAsGetParsedTags(dataObjInp);
+	}
+
+	@Test
+	public void testWriteParsedTagsModAvuMetadataInp() throws Exception {
+		ModAvuMetadataInp modAvuMetadataInp = ModAvuMetadataInp.instanceForAddDataObjectMetadata(
+				"/zone/home/user/file.txt", AvuData.instance("attr<1>", "val\"ue\"", "unit"));
+		assertWriteParsedTagsSameAsGetParsedTags(modAvuMetadataInp);
+	}
+
+	@Test
+	public void testWriteParsedTagsGenQueryInp() throws Exception {
+		String queryString = "select " + RodsGenQueryEnum.COL_D_COLL_ID.getName() + " ,"
+				+ RodsGenQueryEnum.COL_COLL_ACCESS_COLL_ID.getName() + " where "
+				+ RodsGenQueryEnum.COL_COLL_ACCESS_TYPE.getName() + " = " + "'2'";
+
+		IRODSServerProperties props = IRODSServerProperties.instance(IRODSServerProperties.IcatEnabled.ICAT_ENABLED,
+				100, "rods2.2", "d", "zone");
+
+		IRODSGenQuery irodsQuery = IRODSGenQuery.instance(queryString, 500);
+		IRODSGenQueryTranslator irodsQueryTranslator = new IRODSGenQueryTranslator(props);
+		TranslatedIRODSGenQuery translatedIRODSQuery = irodsQueryTranslator.getTranslatedQuery(irodsQuery);
+		GenQueryInp genQueryInp = GenQueryInp.instance(translatedIRODSQuery, 0, null);
+		assertWriteParsedTagsSameAsGetParsedTags(genQueryInp);
+	}
+
+	private void assertWriteParsedTagsSameAsGetParsedTags(final IRodsPI irodsPI) throws Exception {
+		TagWriter writer = new TagWriter(ENCODING);
+		int written = irodsPI.writeParsedTags(writer);
+		byte[] expected = irodsPI.getParsedTags().getBytes(ENCODING);
+		Assert.assertEquals(expected.length, written);
+		Assert.assertArrayEquals(expected, writer.toByteArray());
+	}
+
+	private void assertSameAsParseTag(final Tag tag, final String encoding) throws Exception {
+		byte[] expected = tag.parseTag().getBytes(encoding);
+		Assert.assertArrayEquals("different bytes for " + encoding, expected, TagWriter.serialize(tag, encoding));
+	}
+
+}
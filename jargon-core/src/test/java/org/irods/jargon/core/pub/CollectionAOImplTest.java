@@ -477,6 +477,63 @@ public class CollectionAOImplTest {
 
 	}
 
+	@Test
+	public void testBulkAddAVUMetadataToCollectionsMixedResultsInOneBatch() throws Exception {
+		String testDirName = "testBulkAddAVUMetadataToCollectionsMixedResultsInOneBatch";
+		String expectedAttribName = "testBulkAddAVUMetadataToCollectionsMixedResultsInOneBatch";
+		String expectedAttribValue = "value1";
+
+		String targetIrodsCollection = testingPropertiesHelper.buildIRODSCollectionAbsolutePathFromTestProperties(
+				testingProperties, IRODS_TEST_SUBDIR_PATH + '/' + testDirName);
+		String firstCollection = targetIrodsCollection + "/first";
+		String secondCollection = targetIrodsCollection + "/second";
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSAccessObjectFactory accessObjectFactory = irodsFileSystem.getIRODSAccessObjectFactory();
+		IRODSFileFactory irodsFileFactory = irodsFileSystem.getIRODSFileFactory(irodsAccount);
+		IRODSFile dirFile = irodsFileFactory.instanceIRODSFile(targetIrodsCollection);
+		dirFile.deleteWithForceOption();
+		irodsFileFactory.instanceIRODSFile(firstCollection).mkdirs();
+		irodsFileFactory.instanceIRODSFile(secondCollection).mkdirs();
+
+		CollectionAO collectionAO = accessObjectFactory.getCollectionAO(irodsAccount);
+
+		// ok, duplicate of the first, missing target, ok on a second path
+		AvuData avuData = AvuData.instance(expectedAttribName, expectedAttribValue, "");
+		List<String> paths = new ArrayList<String>();
+		paths.add(firstCollection);
+		paths.add(firstCollection);
+		paths.add(targetIrodsCollection + "/iamnotthere");
+		paths.add(secondCollection);
+		List<AvuData> listOfAvuData = new ArrayList<AvuData>();
+		for (int i = 0; i < paths.size(); i++) {
+			listOfAvuData.add(avuData);
+		}
+
+		List<BulkAVUOperationResponse> responses = collectionAO.addBulkAVUMetadataToCollections(paths, listOfAvuData);
+
+		Assert.assertEquals("wrong number of responses", 4, responses.size());
+		Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.OK, responses.get(0).getResultStatus());
+		Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.DUPLICATE_AVU, responses.get(1).getResultStatus());
+		Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.MISSING_METADATA_TARGET,
+				responses.get(2).getResultStatus());
+		Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.OK, responses.get(3).getResultStatus());
+
+		List<MetaDataAndDomainData> result = collectionAO.findMetadataValuesForCollection(secondCollection);
+		Assert.assertEquals("avu not added after failures in the batch", 1, result.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBulkAddAVUMetadataToCollectionsSizeMismatch() throws Exception {
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		CollectionAO collectionAO = irodsFileSystem.getIRODSAccessObjectFactory().getCollectionAO(irodsAccount);
+		List<String> paths = new ArrayList<String>();
+		paths.add(targetIrodsCollection);
+		collectionAO.addBulkAVUMetadataToCollections(paths, new ArrayList<AvuData>());
+	}
+
 	@Test
 	public void testBulkDeleteAvuMetadata() throws Exception {
 		String testDirName = "testBulkDeleteAvuMetadata";
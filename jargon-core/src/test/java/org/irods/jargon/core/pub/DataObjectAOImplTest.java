@@ -2803,6 +2803,66 @@ public class DataObjectAOImplTest {
 		Assert.assertTrue(dataObjects.size() >= 1);
 	}
 
+	@Test
+	public void testBulkAddAVUMetadataToDataObjectsMixedResultsInOneBatch() throws Exception {
+		String testFileName = "testBulkAddAVUMetadataToDataObjectsMixedResultsInOneBatch.txt";
+		String testFileName2 = "testBulkAddAVUMetadataToDataObjectsMixedResultsInOneBatch2.txt";
+		String expectedAttribName = "testBulkAddAVUMetadataToDataObjectsMixedResultsInOneBatch";
+		String expectedValueName = "testval1";
+
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		String fileNameOrig = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFileName, 2);
+		String fileNameOrig2 = FileGenerator.generateFileOfFixedLengthGivenName(absPath, testFileName2, 2);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		IRODSFile targetIrodsFile = irodsFileSystem.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(targetIrodsCollection);
+		targetIrodsFile.mkdirs();
+		irodsFileSystem.getIRODSFileFactory(irodsAccount).instanceIRODSFile(targetIrodsCollection, testFileName)
+				.delete();
+		irodsFileSystem.getIRODSFileFactory(irodsAccount).instanceIRODSFile(targetIrodsCollection, testFileName2)
+				.delete();
+		DataTransferOperations dataTransferOperationsAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataTransferOperations(irodsAccount);
+		dataTransferOperationsAO.putOperation(new File(fileNameOrig), targetIrodsFile, null, null);
+		dataTransferOperationsAO.putOperation(new File(fileNameOrig2), targetIrodsFile, null, null);
+
+		// ok, duplicate of the first, missing target, ok on a second path
+		AvuData avuData = AvuData.instance(expectedAttribName, expectedValueName, "");
+		List<String> paths = Arrays.asList(targetIrodsCollection + "/" + testFileName,
+				targetIrodsCollection + "/" + testFileName, targetIrodsCollection + "/iamnotthere.txt",
+				targetIrodsCollection + "/" + testFileName2);
+		List<AvuData> bulkAvuData = Arrays.asList(avuData, avuData, avuData, avuData);
+
+		DataObjectAO dataObjectAO = irodsFileSystem.getIRODSAccessObjectFactory().getDataObjectAO(irodsAccount);
+		List<BulkAVUOperationResponse> responses = dataObjectAO.addBulkAVUMetadataToDataObjects(paths, bulkAvuData);
+
+		Assert.assertEquals("wrong number of responses", 4, responses.size());
+		Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.OK, responses.get(0).getResultStatus());
+		Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.DUPLICATE_AVU, responses.get(1).getResultStatus());
+		Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.MISSING_METADATA_TARGET,
+				responses.get(2).getResultStatus());
+		Assert.assertEquals(BulkAVUOperationResponse.ResultStatus.OK, responses.get(3).getResultStatus());
+
+		List<MetaDataAndDomainData> metadata = dataObjectAO
+				.findMetadataValuesForDataObject(targetIrodsCollection + "/" + testFileName2);
+		Assert.assertEquals("avu not added after failures in the batch", 1, metadata.size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBulkAddAVUMetadataToDataObjectsSizeMismatch() throws Exception {
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+		String targetIrodsCollection = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+		DataObjectAO dataObjectAO = irodsFileSystem.getIRODSAccessObjectFactory().getDataObjectAO(irodsAccount);
+		dataObjectAO.addBulkAVUMetadataToDataObjects(
+				Arrays.asList(targetIrodsCollection + "/a.txt", targetIrodsCollection + "/b.txt"),
+				Arrays.asList(AvuData.instance("testBulkAddAVUMetadataToDataObjectsSizeMismatch", "value", "")));
+	}
+
 	@Test
 	public void testAddAVUMetadataToDataObjectTwice() throws Exception {
 		String testFileName = "testAddAVUMetadataToDataObjectTwice.txt";
@@ -1078,6 +1078,118 @@ public class DataTransferOperationsImplTest {
 		assertionHelper.assertTwoFilesAreEqualByRecursiveTreeComparison(localFile, returnCompareLocalFile);
 	}
 
+	@Test
+	public void testPutAndGetCollectionWithConcurrentRecursiveTransfer() throws Exception {
+
+		String rootCollection = "testPutAndGetCollectionWithConcurrentRecursiveTransfer";
+		String returnedLocalCollection = "testPutAndGetCollectionWithConcurrentRecursiveTransferReturned";
+
+		String localCollectionAbsolutePath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + '/' + rootCollection);
+
+		String irodsCollectionRootAbsolutePath = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		FileGenerator.generateManyFilesAndCollectionsInParentCollectionByAbsolutePath(localCollectionAbsolutePath,
+				"testPutAndGetCollectionWithConcurrentRecursiveTransfer", 2, 3, 2, "testFile", ".txt", 10, 5, 1,
+				200);
+
+		SettableJargonPropertiesMBean settableJargonProperties = new SettableJargonProperties(
+				jargonOriginalProperties);
+		settableJargonProperties.setRecursiveTransferThreads(4);
+		irodsFileSystem.getIrodsSession().setJargonProperties(settableJargonProperties);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSFileFactory irodsFileFactory = irodsFileSystem.getIRODSFileFactory(irodsAccount);
+		IRODSFile destFile = irodsFileFactory.instanceIRODSFile(irodsCollectionRootAbsolutePath);
+		DataTransferOperations dataTransferOperationsAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataTransferOperations(irodsAccount);
+		File localFile = new File(localCollectionAbsolutePath);
+
+		TransferControlBlock transferControlBlock = DefaultTransferControlBlock.instance();
+		TransferStatusCallbackListenerTestingImplementation listener = new TransferStatusCallbackListenerTestingImplementation();
+
+		dataTransferOperationsAO.putOperation(localFile, destFile, listener, transferControlBlock);
+
+		Assert.assertEquals("did not count transfers equal to total counted",
+				transferControlBlock.getTotalFilesToTransfer(), transferControlBlock.getTotalFilesTransferredSoFar());
+		Assert.assertEquals("should be no errors", 0, listener.getExceptionCallbackCtr());
+
+		destFile = irodsFileFactory.instanceIRODSFile(irodsCollectionRootAbsolutePath + "/" + rootCollection);
+		assertionHelper.assertTwoFilesAreEqualByRecursiveTreeComparison(localFile, (File) destFile);
+
+		// now get the files back concurrently and verify
+
+		String returnLocalCollectionAbsolutePath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + '/' + returnedLocalCollection);
+		File returnLocalFile = new File(returnLocalCollectionAbsolutePath);
+
+		transferControlBlock = DefaultTransferControlBlock.instance();
+		dataTransferOperationsAO.getOperation(destFile, returnLocalFile, null, transferControlBlock);
+
+		Assert.assertEquals("did not count transfers equal to total counted",
+				transferControlBlock.getTotalFilesToTransfer(), transferControlBlock.getTotalFilesTransferredSoFar());
+
+		File returnCompareLocalFile = new File(returnLocalFile, rootCollection);
+		assertionHelper.assertTwoFilesAreEqualByRecursiveTreeComparison(localFile, returnCompareLocalFile);
+	}
+
+	@Test
+	public void testPutCollectionWithSmallFileAggregation() throws Exception {
+
+		String rootCollection = "testPutCollectionWithSmallFileAggregation";
+
+		String localCollectionAbsolutePath = scratchFileUtils
+				.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH + '/' + rootCollection);
+
+		String irodsCollectionRootAbsolutePath = testingPropertiesHelper
+				.buildIRODSCollectionAbsolutePathFromTestProperties(testingProperties, IRODS_TEST_SUBDIR_PATH);
+
+		FileGenerator.generateManyFilesAndCollectionsInParentCollectionByAbsolutePath(localCollectionAbsolutePath,
+				"testPutCollectionWithSmallFileAggregation", 2, 3, 2, "testFile", ".txt", 10, 5, 1, 200);
+
+		// one file too large to bundle goes through the individual put
+		FileGenerator.generateFileOfFixedLengthGivenName(localCollectionAbsolutePath, "largeFile.txt", 4096);
+
+		IRODSAccount irodsAccount = testingPropertiesHelper.buildIRODSAccountFromTestProperties(testingProperties);
+
+		IRODSFileFactory irodsFileFactory = irodsFileSystem.getIRODSFileFactory(irodsAccount);
+		IRODSFile destFile = irodsFileFactory.instanceIRODSFile(irodsCollectionRootAbsolutePath);
+		// bundles are only used without force when the target collection is new
+		irodsFileFactory.instanceIRODSFile(irodsCollectionRootAbsolutePath, rootCollection).deleteWithForceOption();
+		DataTransferOperations dataTransferOperationsAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataTransferOperations(irodsAccount);
+		File localFile = new File(localCollectionAbsolutePath);
+
+		TransferControlBlock transferControlBlock = DefaultTransferControlBlock.instance();
+		TransferOptions transferOptions = irodsFileSystem.getIrodsSession()
+				.buildTransferOptionsBasedOnJargonProperties();
+		transferOptions.setSmallFileAggregation(true);
+		transferOptions.setSmallFileAggregationMaxFileSize(1024);
+		transferOptions.setSmallFileAggregationMaxBundleFiles(5);
+		transferOptions.setSmallFileAggregationMinFiles(1);
+		transferControlBlock.setTransferOptions(transferOptions);
+		TransferStatusCallbackListenerTestingImplementation listener = new TransferStatusCallbackListenerTestingImplementation();
+
+		dataTransferOperationsAO.putOperation(localFile, destFile, listener, transferControlBlock);
+
+		Assert.assertEquals("did not count transfers equal to total counted",
+				transferControlBlock.getTotalFilesToTransfer(), transferControlBlock.getTotalFilesTransferredSoFar());
+		Assert.assertEquals("should be no errors", 0, listener.getExceptionCallbackCtr());
+		Assert.assertEquals("should be a completion callback per file", transferControlBlock.getTotalFilesToTransfer(),
+				listener.getPutCallbackCtr());
+		Assert.assertEquals("should be a start callback per file", transferControlBlock.getTotalFilesToTransfer(),
+				listener.getInitCallbackCtr());
+
+		destFile = irodsFileFactory.instanceIRODSFile(irodsCollectionRootAbsolutePath + "/" + rootCollection);
+		assertionHelper.assertTwoFilesAreEqualByRecursiveTreeComparison(localFile, (File) destFile);
+
+		for (String name : destFile.list()) {
+			Assert.assertFalse("bundle was not removed", name.startsWith(SmallFileAggregator.BUNDLE_NAME_PREFIX));
+		}
+	}
+
 	/**
 	 * Test ref issue: https://github.com/DICE-UNC/jargon/issues/30
 	 *
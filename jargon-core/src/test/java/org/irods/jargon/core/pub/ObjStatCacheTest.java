@@ -0,0 +1,110 @@
+package org.irods.jargon.core.pub;
+
+import java.util.Date;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.pub.domain.ObjStat;
+import org.irods.jargon.core.query.CollectionAndDataObjectListingEntry.ObjectType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ObjStatCacheTest {
+
+	private IRODSAccount account;
+	private IRODSAccount otherAccount;
+
+	@Before
+	public void setUp() throws Exception {
+		account = IRODSAccount.instance("host", 1247, "test1", "test", "/zone/home/test1", "zone", "");
+		otherAccount = IRODSAccount.instance("host", 1247, "test2", "test", "/zone/home/test2", "zone", "");
+	}
+
+	@Test
+	public void testPutAndGetCopy() throws Exception {
+		ObjStatCache cache = new ObjStatCache(10, 60000);
+		ObjStat objStat = buildObjStat("/zone/home/test1/file.txt", ObjectType.DATA_OBJECT);
+		cache.put(account, objStat);
+		objStat.setObjSize(99);
+
+		ObjStat cached = cache.get(account, "/zone/home/test1/file.txt");
+		Assert.assertNotNull(cached);
+		Assert.assertNotSame(objStat, cached);
+		Assert.assertEquals(10, cached.getObjSize());
+		Assert.assertEquals(objStat.getModifiedAt(), cached.getModifiedAt());
+		Assert.assertEquals(ObjectType.DATA_OBJECT, cached.getObjectType());
+
+		cached.setObjSize(50);
+		Assert.assertEquals(10, cache.get(account, "/zone/home/test1/file.txt").getObjSize());
+		Assert.assertEquals(2, cache.getHits());
+		Assert.assertEquals(0, cache.getMisses());
+	}
+
+	@Test
+	public void testGetForOtherAccount() throws Exception {
+		ObjStatCache cache = new ObjStatCache(10, 60000);
+		cache.put(account, buildObjStat("/zone/home/test1/file.txt", ObjectType.DATA_OBJECT));
+		Assert.assertNull(cache.get(otherAccount, "/zone/home/test1/file.txt"));
+		Assert.assertEquals(1, cache.getMisses());
+	}
+
+	@Test
+	public void testExpires() throws Exception {
+		ObjStatCache cache = new ObjStatCache(10, 20);
+		cache.put(account, buildObjStat("/zone/home/test1/file.txt", ObjectType.DATA_OBJECT));
+		Thread.sleep(50);
+		Assert.assertNull(cache.get(account, "/zone/home/test1/file.txt"));
+		Assert.assertEquals(0, cache.size());
+	}
+
+	@Test
+	public void testInvalidatePathChildrenAndParent() throws Exception {
+		ObjStatCache cache = new ObjStatCache(10, 60000);
+		cache.put(account, buildObjStat("/zone/home/test1", ObjectType.COLLECTION));
+		cache.put(account, buildObjStat("/zone/home/test1/coll", ObjectType.COLLECTION));
+		cache.put(otherAccount, buildObjStat("/zone/home/test1/coll", ObjectType.COLLECTION));
+		cache.put(account, buildObjStat("/zone/home/test1/coll/file.txt", ObjectType.DATA_OBJECT));
+		cache.put(account, buildObjStat("/zone/home/test1/collother", ObjectType.COLLECTION));
+
+		cache.invalidate("/zone/home/test1/coll/");
+
+		Assert.assertEquals(1, cache.size());
+		Assert.assertNotNull(cache.get(account, "/zone/home/test1/collother"));
+		Assert.assertNull(cache.get(account, "/zone/home/test1"));
+		Assert.assertNull(cache.get(otherAccount, "/zone/home/test1/coll"));
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyUsed() throws Exception {
+		ObjStatCache cache = new ObjStatCache(2, 60000);
+		cache.put(account, buildObjStat("/zone/home/test1/a", ObjectType.DATA_OBJECT));
+		cache.put(account, buildObjStat("/zone/home/test1/b", ObjectType.DATA_OBJECT));
+		cache.get(account, "/zone/home/test1/a");
+		cache.put(account, buildObjStat("/zone/home/test1/c", ObjectType.DATA_OBJECT));
+
+		Assert.assertEquals(2, cache.size());
+		Assert.assertNotNull(cache.get(account, "/zone/home/test1/a"));
+		Assert.assertNull(cache.get(account, "/zone/home/test1/b"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroEntries() throws Exception {
+		new ObjStatCache(0, 1000);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroTimeToLive() throws Exception {
+		new ObjStatCache(10, 0);
+	}
+
+	private ObjStat buildObjStat(final String path, final ObjectType objectType) {
+		ObjStat objStat = new ObjStat();
+		objStat.setAbsolutePath(path);
+		objStat.setObjectType(objectType);
+		objStat.setObjSize(10);
+		objStat.setModifiedAt(new Date());
+		objStat.setCreatedAt(new Date());
+		return objStat;
+	}
+
+}
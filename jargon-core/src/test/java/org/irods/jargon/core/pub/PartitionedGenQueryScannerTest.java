@@ -0,0 +1,198 @@
+package org.irods.jargon.core.pub;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.pub.IRODSGenQueryExecutorImpl.QueryCloseBehavior;
+import org.irods.jargon.core.query.AbstractIRODSGenQuery;
+import org.irods.jargon.core.query.GenQueryPartition;
+import org.irods.jargon.core.query.GenQueryProcessor;
+import org.irods.jargon.core.query.IRODSGenQueryBuilder;
+import org.irods.jargon.core.query.IRODSQueryResultIterator;
+import org.irods.jargon.core.query.IRODSQueryResultRow;
+import org.irods.jargon.core.query.IRODSQueryResultSet;
+import org.irods.jargon.core.query.RodsGenQueryEnum;
+import org.irods.jargon.core.query.TranslatedIRODSGenQuery;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class PartitionedGenQueryScannerTest {
+
+	private static final int PARTITIONS = 3;
+
+	private IRODSAccessObjectFactory irodsAccessObjectFactory;
+	private IRODSAccount irodsAccount;
+	private GenQueryProcessor[] genQueryProcessors;
+	private TranslatedIRODSGenQuery[] translatedQueries;
+	private List<GenQueryPartition> partitions;
+	private IRODSGenQueryBuilder builder;
+	private List<String> columnNames;
+
+	@Before
+	public void setUp() throws Exception {
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+		irodsAccessObjectFactory = mock(IRODSAccessObjectFactory.class);
+		IRODSSession irodsSession = mock(IRODSSession.class);
+		when(irodsSession.getTaskThreadFactory()).thenReturn(Executors.defaultThreadFactory());
+		when(irodsAccessObjectFactory.getIrodsSession()).thenReturn(irodsSession);
+
+		columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_DATA_NAME.getName());
+
+		// each partition has a page of three rows followed by a page of two
+		genQueryProcessors = new GenQueryProcessor[PARTITIONS];
+		translatedQueries = new TranslatedIRODSGenQuery[PARTITIONS];
+		partitions = new ArrayList<GenQueryPartition>();
+		for (int i = 0; i < PARTITIONS; i++) {
+			genQueryProcessors[i] = mock(GenQueryProcessor.class);
+			translatedQueries[i] = mock(TranslatedIRODSGenQuery.class);
+			IRODSQueryResultSet first = buildPage(i, 0, 3, 1);
+			IRODSQueryResultSet second = buildPage(i, 3, 2, 0);
+			when(genQueryProcessors[i].executeTranslatedIRODSQuery(translatedQueries[i], 0, 0,
+					QueryCloseBehavior.MANUAL_CLOSE, null)).thenReturn(first);
+			when(genQueryProcessors[i].executeTranslatedIRODSQuery(translatedQueries[i], 1, 0,
+					QueryCloseBehavior.MANUAL_CLOSE, null)).thenReturn(second);
+			partitions.add(GenQueryPartition.forResource("resc" + i));
+		}
+
+		builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_NAME);
+	}
+
+	@Test
+	public void testScanUnordered() throws Exception {
+		IRODSGenQueryExecutor executor = mockExecutor();
+		PartitionedGenQueryScanner scanner = new PartitionedGenQueryScanner(irodsAccessObjectFactory, irodsAccount);
+
+		Set<String> names = new HashSet<String>();
+		try (Stream<IRODSQueryResultRow> stream = scanner.scan(builder, partitions, 2, 2, false)) {
+			Iterator<IRODSQueryResultRow> iterator = stream.iterator();
+			while (iterator.hasNext()) {
+				Assert.assertTrue("duplicate row", names.add(iterator.next().getColumn(0)));
+			}
+		}
+
+		Assert.assertEquals(PARTITIONS * 5, names.size());
+		Assert.assertTrue(names.contains("p2-r4"));
+		verify(executor, times(PARTITIONS)).executeIRODSQueryAsIterator(any(AbstractIRODSGenQuery.class));
+		verify(irodsAccessObjectFactory, times(2)).closeSessionAndEatExceptions(irodsAccount);
+	}
+
+	@Test
+	public void testScanOrdered() throws Exception {
+		mockExecutor();
+		PartitionedGenQueryScanner scanner = new PartitionedGenQueryScanner(irodsAccessObjectFactory, irodsAccount);
+
+		List<String> names = new ArrayList<String>();
+		try (Stream<IRODSQueryResultRow> stream = scanner.scan(builder, partitions, 1, 3, true)) {
+			Iterator<IRODSQueryResultRow> iterator = stream.iterator();
+			while (iterator.hasNext()) {
+				names.add(iterator.next().getColumn(0));
+			}
+		}
+
+		Assert.assertEquals(PARTITIONS * 5, names.size());
+		for (int i = 0; i < PARTITIONS; i++) {
+			for (int j = 0; j < 5; j++) {
+				Assert.assertEquals("p" + i + "-r" + j, names.get(i * 5 + j));
+			}
+		}
+	}
+
+	@Test
+	public void testScanClosedEarly() throws Exception {
+		mockExecutor();
+		PartitionedGenQueryScanner scanner = new PartitionedGenQueryScanner(irodsAccessObjectFactory, irodsAccount);
+
+		try (Stream<IRODSQueryResultRow> stream = scanner.scan(builder, partitions, 1, 3, true)) {
+			Assert.assertEquals("p0-r0", stream.iterator().next().getColumn(0));
+		}
+
+		// the close has waited for the workers, which closed their queries
+		verify(genQueryProcessors[0], atLeastOnce()).closeResults(any(IRODSQueryResultSet.class));
+		verify(irodsAccessObjectFactory, times(3)).closeSessionAndEatExceptions(irodsAccount);
+	}
+
+	@Test
+	public void testScanPartitionFails() throws Exception {
+		mockExecutor();
+		when(genQueryProcessors[1].executeTranslatedIRODSQuery(translatedQueries[1], 1, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, null)).thenThrow(new JargonException("bad page"));
+		PartitionedGenQueryScanner scanner = new PartitionedGenQueryScanner(irodsAccessObjectFactory, irodsAccount);
+
+		int count = 0;
+		try (Stream<IRODSQueryResultRow> stream = scanner.scan(builder, partitions, 2, 3, true)) {
+			Iterator<IRODSQueryResultRow> iterator = stream.iterator();
+			while (iterator.hasNext()) {
+				iterator.next();
+				count++;
+			}
+			Assert.fail("expected error from partition");
+		} catch (JargonRuntimeException e) {
+			Assert.assertEquals("bad page", e.getCause().getMessage());
+		}
+
+		Assert.assertEquals(8, count);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testScanNoPartitions() throws Exception {
+		PartitionedGenQueryScanner scanner = new PartitionedGenQueryScanner(irodsAccessObjectFactory, irodsAccount);
+		scanner.scan(builder, new ArrayList<GenQueryPartition>(), 2, 2, false);
+	}
+
+	/**
+	 * Executor that runs the query for a partition against the processor for
+	 * that partition, found from the resource named in its conditions
+	 */
+	private IRODSGenQueryExecutor mockExecutor() throws Exception {
+		IRODSGenQueryExecutor executor = mock(IRODSGenQueryExecutor.class);
+		when(executor.executeIRODSQueryAsIterator(any(AbstractIRODSGenQuery.class)))
+				.thenAnswer(new Answer<IRODSQueryResultIterator>() {
+					@Override
+					public IRODSQueryResultIterator answer(final InvocationOnMock invocation) throws Throwable {
+						String conditions = invocation.getArguments()[0].toString();
+						for (int i = 0; i < PARTITIONS; i++) {
+							if (conditions.contains("'resc" + i + "'")) {
+								return IRODSQueryResultIterator.instance(genQueryProcessors[i], translatedQueries[i],
+										null, Executors.defaultThreadFactory());
+							}
+						}
+						throw new JargonException("unknown partition");
+					}
+				});
+		when(irodsAccessObjectFactory.getIRODSGenQueryExecutor(irodsAccount)).thenReturn(executor);
+		return executor;
+	}
+
+	private IRODSQueryResultSet buildPage(final int partition, final int start, final int rows,
+			final int continuation) throws JargonException {
+		List<IRODSQueryResultRow> results = new ArrayList<IRODSQueryResultRow>();
+		for (int i = 0; i < rows; i++) {
+			List<String> values = new ArrayList<String>();
+			values.add("p" + partition + "-r" + (start + i));
+			results.add(IRODSQueryResultRow.instance(values, columnNames, i + 1, continuation == 0));
+		}
+		return IRODSQueryResultSet.instance(translatedQueries[partition], results, continuation, 0);
+	}
+
+}
@@ -0,0 +1,249 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.irods.jargon.core.connection.IRODSSession;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.OpenedDataObjInp;
+import org.irods.jargon.core.packinstr.Tag;
+import org.irods.jargon.core.utils.IRODSConstants;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class PackingIrodsOutputStreamWriteBehindTest {
+
+	private static final int BUFFER_SIZE = 64;
+	private static final int FD = 3;
+
+	private SettableJargonProperties jargonProperties;
+	private FileIOOperations fileIOOperations;
+	private IRODSMidLevelProtocol callerProtocol;
+	private IRODSFileOutputStream irodsFileOutputStream;
+	private final ByteArrayOutputStream written = new ByteArrayOutputStream();
+	private final Set<String> writerThreads = Collections.synchronizedSet(new HashSet<String>());
+	private volatile int writeCount = 0;
+
+	@Before
+	public void setUp() throws Exception {
+		jargonProperties = new SettableJargonProperties();
+		jargonProperties.setPutBufferSize(BUFFER_SIZE);
+
+		callerProtocol = Mockito.mock(IRODSMidLevelProtocol.class);
+		fileIOOperations = Mockito.mock(FileIOOperations.class);
+		Mockito.when(fileIOOperations.getJargonProperties()).thenReturn(jargonProperties);
+		Mockito.when(fileIOOperations.getIRODSProtocol()).thenReturn(callerProtocol);
+		Mockito.when(fileIOOperations.write(Mockito.eq(callerProtocol), Mockito.eq(FD), Mockito.any(byte[].class),
+				Mockito.anyInt(), Mockito.anyInt())).thenAnswer(new Answer<Integer>() {
+					@Override
+					public Integer answer(final InvocationOnMock invocation) {
+						return recordWrite(invocation.<byte[]>getArgument(2), invocation.<Integer>getArgument(3),
+								invocation.<Integer>getArgument(4));
+					}
+				});
+		irodsFileOutputStream = Mockito.mock(IRODSFileOutputStream.class);
+		Mockito.when(irodsFileOutputStream.getFileIOOperations()).thenReturn(fileIOOperations);
+		Mockito.when(irodsFileOutputStream.getFileDescriptor()).thenReturn(FD);
+		Mockito.doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(final InvocationOnMock invocation) {
+				recordWrite(invocation.<byte[]>getArgument(0), invocation.<Integer>getArgument(1),
+						invocation.<Integer>getArgument(2));
+				return null;
+			}
+		}).when(irodsFileOutputStream).write(Mockito.any(byte[].class), Mockito.anyInt(), Mockito.anyInt());
+	}
+
+	private int recordWrite(final byte[] b, final int off, final int len) {
+		synchronized (written) {
+			written.write(b, off, len);
+		}
+		writerThreads.add(Thread.currentThread().getName());
+		writeCount++;
+		return len;
+	}
+
+	@Test
+	public void testWriteOnCallerThread() throws Exception {
+		jargonProperties.setWriteBehindBuffers(1);
+		byte[] data = buildData(1000);
+		PackingIrodsOutputStream stream = new PackingIrodsOutputStream(irodsFileOutputStream);
+		stream.write(data, 0, 10);
+		Assert.assertEquals(0, writeCount);
+		stream.write(data, 10, data.length - 10);
+		stream.close();
+
+		Assert.assertArrayEquals(data, written.toByteArray());
+		Assert.assertEquals(Collections.singleton(Thread.currentThread().getName()), writerThreads);
+		Mockito.verify(irodsFileOutputStream).close();
+	}
+
+	@Test
+	public void testWriteBehind() throws Exception {
+		jargonProperties.setWriteBehindBuffers(3);
+		byte[] data = buildData(10000);
+		PackingIrodsOutputStream stream = new PackingIrodsOutputStream(irodsFileOutputStream);
+		for (int i = 0; i < data.length; i += 7) {
+			stream.write(data, i, Math.min(7, data.length - i));
+		}
+		stream.close();
+
+		Assert.assertArrayEquals(data, written.toByteArray());
+		Assert.assertFalse(writerThreads.contains(Thread.currentThread().getName()));
+		Mockito.verify(fileIOOperations, Mockito.times(1)).getIRODSProtocol();
+		Mockito.verify(irodsFileOutputStream, Mockito.never()).write(Mockito.any(byte[].class), Mockito.anyInt(),
+				Mockito.anyInt());
+		Mockito.verify(irodsFileOutputStream).flush();
+		Mockito.verify(irodsFileOutputStream).close();
+	}
+
+	@Test
+	public void testFlushWaitsForWrites() throws Exception {
+		jargonProperties.setWriteBehindBuffers(2);
+		byte[] data = buildData(BUFFER_SIZE * 3 + 5);
+		PackingIrodsOutputStream stream = new PackingIrodsOutputStream(irodsFileOutputStream);
+		stream.write(data);
+		stream.flush();
+		Assert.assertArrayEquals(data, written.toByteArray());
+		stream.close();
+	}
+
+	@Test
+	public void testProducerBlocksWhenAllBuffersInFlight() throws Exception {
+		jargonProperties.setWriteBehindBuffers(2);
+		final CountDownLatch release = new CountDownLatch(1);
+		Mockito.when(fileIOOperations.write(Mockito.eq(callerProtocol), Mockito.eq(FD), Mockito.any(byte[].class),
+				Mockito.anyInt(), Mockito.anyInt())).thenAnswer(new Answer<Integer>() {
+					@Override
+					public Integer answer(final InvocationOnMock invocation) throws Exception {
+						release.await();
+						return invocation.getArgument(4);
+					}
+				});
+
+		final PackingIrodsOutputStream stream = new PackingIrodsOutputStream(irodsFileOutputStream);
+		final CountDownLatch producerDone = new CountDownLatch(1);
+		Thread producer = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					stream.write(new byte[BUFFER_SIZE * 3]);
+					producerDone.countDown();
+				} catch (IOException e) {
+					// the latch stays closed and the test fails
+				}
+			}
+		});
+		producer.start();
+
+		Assert.assertFalse(producerDone.await(200, TimeUnit.MILLISECONDS));
+		release.countDown();
+		Assert.assertTrue(producerDone.await(5, TimeUnit.SECONDS));
+		stream.close();
+	}
+
+	@Test
+	public void testBackgroundErrorIsThrownOnNextWrite() throws Exception {
+		jargonProperties.setWriteBehindBuffers(2);
+		Mockito.when(fileIOOperations.write(Mockito.eq(callerProtocol), Mockito.eq(FD), Mockito.any(byte[].class),
+				Mockito.anyInt(), Mockito.anyInt())).thenThrow(new JargonException("write failed"));
+
+		PackingIrodsOutputStream stream = new PackingIrodsOutputStream(irodsFileOutputStream);
+		stream.write(new byte[BUFFER_SIZE]);
+		try {
+			stream.flush();
+			Assert.fail("expected the background error");
+		} catch (IOException expected) {
+			// expected
+		}
+
+		try {
+			stream.write(1);
+			Assert.fail("expected the background error");
+		} catch (IOException expected) {
+			// expected
+		}
+	}
+
+	@Test
+	public void testBackgroundErrorIsThrownOnCloseAndStreamIsClosed() throws Exception {
+		jargonProperties.setWriteBehindBuffers(2);
+		Mockito.when(fileIOOperations.write(Mockito.eq(callerProtocol), Mockito.eq(FD), Mockito.any(byte[].class),
+				Mockito.anyInt(), Mockito.anyInt())).thenThrow(new JargonException("write failed"));
+
+		PackingIrodsOutputStream stream = new PackingIrodsOutputStream(irodsFileOutputStream);
+		stream.write(new byte[BUFFER_SIZE + 1]);
+		try {
+			stream.close();
+			Assert.fail("expected the background error");
+		} catch (IOException expected) {
+			// expected
+		}
+		Mockito.verify(irodsFileOutputStream).close();
+	}
+
+	@Test
+	public void testWriteBehindUsesConnectionOfCallerWithRealFileIOOperations() throws Exception {
+		jargonProperties.setWriteBehindBuffers(3);
+		final Thread caller = Thread.currentThread();
+		final IRODSMidLevelProtocol otherThreadProtocol = Mockito.mock(IRODSMidLevelProtocol.class);
+		IRODSAccount irodsAccount = IRODSAccount.instance("host", 1247, "test1", "test", "/zone/home/test1", "zone",
+				"");
+
+		// like IRODSSession, hand each thread its own connection
+		IRODSSession irodsSession = Mockito.mock(IRODSSession.class);
+		Mockito.when(irodsSession.getJargonProperties()).thenReturn(jargonProperties);
+		Mockito.when(irodsSession.currentConnection(irodsAccount)).thenAnswer(new Answer<IRODSMidLevelProtocol>() {
+			@Override
+			public IRODSMidLevelProtocol answer(final InvocationOnMock invocation) {
+				return Thread.currentThread() == caller ? callerProtocol : otherThreadProtocol;
+			}
+		});
+		Mockito.when(callerProtocol.irodsFunction(Mockito.eq(IRODSConstants.RODS_API_REQ), Mockito.anyString(),
+				Mockito.isNull(byte[].class), Mockito.eq(0), Mockito.eq(0), Mockito.any(byte[].class), Mockito.eq(0),
+				Mockito.anyInt(), Mockito.eq(OpenedDataObjInp.WRITE_API_NBR))).thenAnswer(new Answer<Tag>() {
+					@Override
+					public Tag answer(final InvocationOnMock invocation) {
+						int length = recordWrite(invocation.<byte[]>getArgument(5), 0,
+								invocation.<Integer>getArgument(7));
+						Tag header = new Tag(IRODSConstants.MsgHeader_PI);
+						header.addTag(new Tag(IRODSConstants.intInfo, length));
+						return new Tag("reply", new Tag[] { header });
+					}
+				});
+
+		FileIOOperations realFileIOOperations = new FileIOOperationsAOImpl(irodsSession, irodsAccount);
+		Mockito.when(irodsFileOutputStream.getFileIOOperations()).thenReturn(realFileIOOperations);
+
+		byte[] data = buildData(1000);
+		PackingIrodsOutputStream stream = new PackingIrodsOutputStream(irodsFileOutputStream);
+		stream.write(data);
+		stream.flush();
+
+		Assert.assertArrayEquals(data, written.toByteArray());
+		Assert.assertFalse(writerThreads.contains(caller.getName()));
+		Mockito.verifyZeroInteractions(otherThreadProtocol);
+		stream.close();
+	}
+
+	private static byte[] buildData(final int length) {
+		byte[] data = new byte[length];
+		for (int i = 0; i < length; i++) {
+			data[i] = (byte) (i * 31);
+		}
+		return data;
+	}
+
+}
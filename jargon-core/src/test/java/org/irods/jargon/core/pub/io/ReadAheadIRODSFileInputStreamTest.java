@@ -0,0 +1,174 @@
+package org.irods.jargon.core.pub.io;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class ReadAheadIRODSFileInputStreamTest {
+
+	private static final int BLOCK_SIZE = 100;
+	private static final int FD = 3;
+
+	private byte[] contents;
+	private long serverPosition;
+	private int readsSent;
+	private FileIOOperations fileIOOperations;
+	private IRODSFile irodsFile;
+
+	@Before
+	public void setUp() throws Exception {
+		contents = new byte[1050];
+		for (int i = 0; i < contents.length; i++) {
+			contents[i] = (byte) i;
+		}
+		serverPosition = 0L;
+		readsSent = 0;
+
+		SettableJargonProperties jargonProperties = new SettableJargonProperties();
+		jargonProperties.setGetBufferSize(BLOCK_SIZE);
+		jargonProperties.setReadAheadMaxBlocks(4);
+		jargonProperties.setMaxPipelinedRequests(16);
+
+		fileIOOperations = Mockito.mock(FileIOOperations.class);
+		Mockito.when(fileIOOperations.getJargonProperties()).thenReturn(jargonProperties);
+		Mockito.when(fileIOOperations.fileReadAsync(Mockito.eq(FD), Mockito.any(byte[].class)))
+				.thenAnswer(new Answer<CompletableFuture<Integer>>() {
+					@Override
+					public CompletableFuture<Integer> answer(final InvocationOnMock invocation) {
+						byte[] buffer = invocation.getArgument(1);
+						readsSent++;
+						int length = (int) Math.min(buffer.length, contents.length - serverPosition);
+						if (length <= 0) {
+							return CompletableFuture.completedFuture(-1);
+						}
+						System.arraycopy(contents, (int) serverPosition, buffer, 0, length);
+						serverPosition += length;
+						return CompletableFuture.completedFuture(length);
+					}
+				});
+		Mockito.when(fileIOOperations.seek(Mockito.eq(FD), Mockito.anyLong(),
+				Mockito.eq(FileIOOperations.SeekWhenceType.SEEK_START))).thenAnswer(new Answer<Long>() {
+					@Override
+					public Long answer(final InvocationOnMock invocation) {
+						serverPosition = invocation.getArgument(1);
+						return serverPosition;
+					}
+				});
+
+		irodsFile = Mockito.mock(IRODSFile.class);
+		Mockito.when(irodsFile.length()).thenReturn((long) contents.length);
+	}
+
+	@Test
+	public void testReadWholeFile() throws Exception {
+		ReadAheadIRODSFileInputStream stream = buildStream();
+		byte[] actual = new byte[contents.length];
+		int total = 0;
+		int read;
+		while ((read = stream.read(actual, total, Math.min(37, actual.length - total))) > 0) {
+			total += read;
+		}
+		Assert.assertEquals(contents.length, total);
+		Assert.assertArrayEquals(contents, actual);
+		Assert.assertEquals(-1, stream.read());
+		stream.close();
+		Mockito.verify(irodsFile).close();
+	}
+
+	@Test
+	public void testWindowGrowsToMaximum() throws Exception {
+		ReadAheadIRODSFileInputStream stream = buildStream();
+		Assert.assertEquals(1, stream.getWindow());
+		stream.read();
+		Assert.assertEquals(2, stream.getWindow());
+		stream.skip(BLOCK_SIZE - 1);
+		stream.read();
+		Assert.assertEquals(4, stream.getWindow());
+		stream.skip(BLOCK_SIZE - 1);
+		stream.read();
+		Assert.assertEquals(4, stream.getWindow());
+		// the current block and a full window are read
+		Assert.assertEquals(7, readsSent);
+		stream.close();
+	}
+
+	@Test
+	public void testSkipWithinBlock() throws Exception {
+		ReadAheadIRODSFileInputStream stream = buildStream();
+		stream.read();
+		int sent = readsSent;
+		Assert.assertEquals(50, stream.skip(50));
+		Assert.assertEquals(51, stream.read());
+		Assert.assertEquals(sent, readsSent);
+		Assert.assertEquals(BLOCK_SIZE - 52, stream.available());
+		stream.close();
+	}
+
+	@Test
+	public void testSkipBeyondBlockRepositions() throws Exception {
+		ReadAheadIRODSFileInputStream stream = buildStream();
+		stream.read();
+		stream.skip(BLOCK_SIZE - 1);
+		stream.read();
+		Assert.assertEquals(4, stream.getWindow());
+
+		Assert.assertEquals(500, stream.skip(500));
+		Assert.assertEquals(1, stream.getWindow());
+		Assert.assertEquals((byte) 601, (byte) stream.read());
+		Mockito.verify(fileIOOperations).seek(FD, 601L, FileIOOperations.SeekWhenceType.SEEK_START);
+		stream.close();
+	}
+
+	@Test
+	public void testSkipIsLimitedToEndOfFile() throws Exception {
+		ReadAheadIRODSFileInputStream stream = buildStream();
+		Assert.assertEquals(contents.length, stream.skip(contents.length * 2));
+		Assert.assertEquals(-1, stream.read());
+		stream.close();
+	}
+
+	@Test
+	public void testReadEmptyFile() throws Exception {
+		contents = new byte[0];
+		Mockito.when(irodsFile.length()).thenReturn(0L);
+		ReadAheadIRODSFileInputStream stream = buildStream();
+		Assert.assertEquals(-1, stream.read(new byte[10]));
+		Assert.assertEquals(0, stream.available());
+		stream.close();
+	}
+
+	@Test
+	public void testReadLastShortBlockStopsReadAhead() throws Exception {
+		contents = Arrays.copyOf(contents, BLOCK_SIZE + 10);
+		Mockito.when(irodsFile.length()).thenReturn((long) contents.length);
+		ReadAheadIRODSFileInputStream stream = buildStream();
+		byte[] actual = new byte[contents.length];
+		Assert.assertEquals(BLOCK_SIZE, stream.read(actual, 0, BLOCK_SIZE));
+		Assert.assertEquals(10, stream.read(actual, BLOCK_SIZE, 10));
+		Assert.assertEquals(-1, stream.read());
+		Assert.assertArrayEquals(contents, actual);
+		// the read after the short block was already in flight, nothing is sent after it
+		Assert.assertEquals(3, readsSent);
+		stream.close();
+	}
+
+	@Test(expected = IOException.class)
+	public void testReadAfterClose() throws Exception {
+		ReadAheadIRODSFileInputStream stream = buildStream();
+		stream.close();
+		stream.read();
+	}
+
+	private ReadAheadIRODSFileInputStream buildStream() throws Exception {
+		return new ReadAheadIRODSFileInputStream(new IRODSFileInputStream(irodsFile, fileIOOperations, FD));
+	}
+
+}
@@ -0,0 +1,89 @@
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GenQueryPartitionTest {
+
+	@Test
+	public void testSplitDataIdRange() throws Exception {
+		List<GenQueryPartition> partitions = GenQueryPartition.splitDataIdRange(1, 100, 4);
+		Assert.assertEquals(4, partitions.size());
+		Assert.assertEquals("GenQueryPartition [DATA_ID < 26]", partitions.get(0).toString());
+		Assert.assertEquals("GenQueryPartition [DATA_ID >= 26, DATA_ID < 51]", partitions.get(1).toString());
+		Assert.assertEquals("GenQueryPartition [DATA_ID >= 51, DATA_ID < 76]", partitions.get(2).toString());
+		Assert.assertEquals("GenQueryPartition [DATA_ID >= 76]", partitions.get(3).toString());
+		Assert.assertEquals(1, partitions.get(0).getConditions().size());
+		Assert.assertEquals(2, partitions.get(1).getConditions().size());
+	}
+
+	@Test
+	public void testSplitDataIdRangeMorePartitionsThanIds() throws Exception {
+		List<GenQueryPartition> partitions = GenQueryPartition.splitDataIdRange(10, 11, 8);
+		Assert.assertEquals(2, partitions.size());
+		Assert.assertEquals("GenQueryPartition [DATA_ID < 11]", partitions.get(0).toString());
+		Assert.assertEquals("GenQueryPartition [DATA_ID >= 11]", partitions.get(1).toString());
+	}
+
+	@Test
+	public void testSplitDataIdRangeOnePartition() throws Exception {
+		List<GenQueryPartition> partitions = GenQueryPartition.splitDataIdRange(10, 11, 1);
+		Assert.assertEquals(1, partitions.size());
+		Assert.assertTrue(partitions.get(0).getConditions().isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSplitDataIdRangeBadCount() throws Exception {
+		GenQueryPartition.splitDataIdRange(1, 100, 0);
+	}
+
+	@Test
+	public void testSplitCollectionNames() throws Exception {
+		List<String> boundaries = new ArrayList<String>();
+		boundaries.add("/zone/home/h");
+		boundaries.add("/zone/home/p");
+		List<GenQueryPartition> partitions = GenQueryPartition.splitCollectionNames(boundaries);
+		Assert.assertEquals(3, partitions.size());
+		Assert.assertEquals("GenQueryPartition [COLL_NAME < /zone/home/h]", partitions.get(0).toString());
+		Assert.assertEquals("GenQueryPartition [COLL_NAME >= /zone/home/h, COLL_NAME < /zone/home/p]",
+				partitions.get(1).toString());
+		Assert.assertEquals("GenQueryPartition [COLL_NAME >= /zone/home/p]", partitions.get(2).toString());
+	}
+
+	@Test
+	public void testApplyToAddsConditions() throws Exception {
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_D_DATA_ID)
+				.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_NAME)
+				.addConditionAsGenQueryField(RodsGenQueryEnum.COL_DATA_NAME, QueryConditionOperators.LIKE, "%.txt")
+				.addOrderByGenQueryField(RodsGenQueryEnum.COL_D_DATA_ID, GenQueryOrderByField.OrderByType.ASC);
+		IRODSGenQueryFromBuilder query = builder.exportIRODSQueryFromBuilder(500);
+
+		IRODSGenQueryFromBuilder partitionQuery = GenQueryPartition.forDataIdRange(100L, 200L).applyTo(query);
+
+		Assert.assertEquals(500, partitionQuery.getNumberOfResultsDesired());
+		Assert.assertEquals(3, partitionQuery.getIrodsGenQueryBuilderData().getConditions().size());
+		Assert.assertEquals(1, query.getIrodsGenQueryBuilderData().getConditions().size());
+		Assert.assertEquals(1, partitionQuery.getIrodsGenQueryBuilderData().getOrderByFields().size());
+		Assert.assertTrue(partitionQuery.getIrodsGenQueryBuilderData().isDistinct());
+
+		TranslatedIRODSGenQuery translated = partitionQuery.convertToTranslatedIRODSGenQuery();
+		Assert.assertEquals(3, translated.getTranslatedQueryConditions().size());
+	}
+
+	@Test
+	public void testForResource() throws Exception {
+		GenQueryPartition partition = GenQueryPartition.forResource("demoResc");
+		Assert.assertEquals("GenQueryPartition [DATA_RESC_NAME = demoResc]", partition.toString());
+		Assert.assertEquals(1, partition.getConditions().size());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testForResourceBlank() throws Exception {
+		GenQueryPartition.forResource("");
+	}
+
+}
@@ -0,0 +1,113 @@
+package org.irods.jargon.core.query;
+
+import org.irods.jargon.core.connection.IRODSServerProperties;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GenQueryPlanCacheTest {
+
+	private IRODSGenQueryTranslator irodsGenQueryTranslator;
+
+	@Before
+	public void setUp() throws Exception {
+		IRODSServerProperties props = IRODSServerProperties.instance(IRODSServerProperties.IcatEnabled.ICAT_ENABLED,
+				100, "rods4.2.0", "d", "zone");
+		irodsGenQueryTranslator = new IRODSGenQueryTranslator(props);
+	}
+
+	@Test
+	public void testTranslateQueryStringUsesPlan() throws Exception {
+		GenQueryPlanCache cache = new GenQueryPlanCache(10);
+		String queryString = "select " + RodsGenQueryEnum.COL_DATA_NAME.getName() + " where "
+				+ RodsGenQueryEnum.COL_COLL_NAME.getName() + " = '/zone/home'";
+
+		TranslatedIRODSGenQuery first = cache.translate(IRODSGenQuery.instance(queryString, 100),
+				irodsGenQueryTranslator);
+		IRODSGenQuery second = IRODSGenQuery.instance(queryString, 500);
+		TranslatedIRODSGenQuery translated = cache.translate(second, irodsGenQueryTranslator);
+
+		Assert.assertEquals(1, cache.size());
+		Assert.assertEquals(1, cache.getHits());
+		Assert.assertEquals(1, cache.getMisses());
+		Assert.assertSame(first.getQueryPlan(), translated.getQueryPlan());
+		Assert.assertSame(second, translated.getIrodsQuery());
+		Assert.assertEquals(1, translated.getTranslatedQueryConditions().size());
+		Assert.assertEquals("'/zone/home'", translated.getTranslatedQueryConditions().get(0).getValue());
+	}
+
+	@Test
+	public void testTranslateBuilderBindsConditionValues() throws Exception {
+		GenQueryPlanCache cache = new GenQueryPlanCache(10);
+		TranslatedIRODSGenQuery first = cache.translate(buildQuery("/zone/home/a"));
+		TranslatedIRODSGenQuery second = cache.translate(buildQuery("/zone/home/b"));
+
+		Assert.assertEquals(1, cache.size());
+		Assert.assertEquals(1, cache.getHits());
+		Assert.assertSame(first.getQueryPlan(), second.getQueryPlan());
+		Assert.assertEquals("'/zone/home/a'", first.getTranslatedQueryConditions().get(0).getValue());
+		Assert.assertEquals("'/zone/home/b'", second.getTranslatedQueryConditions().get(0).getValue());
+		Assert.assertEquals(1, second.getOrderByFields().size());
+	}
+
+	@Test
+	public void testTranslateBuilderDifferentShapes() throws Exception {
+		GenQueryPlanCache cache = new GenQueryPlanCache(10);
+		cache.translate(buildQuery("/zone/home/a"));
+
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_NAME).addConditionAsGenQueryField(
+				RodsGenQueryEnum.COL_COLL_NAME, QueryConditionOperators.LIKE, "/zone/home/a%");
+		cache.translate(builder.exportIRODSQueryFromBuilder(100));
+
+		Assert.assertEquals(2, cache.size());
+		Assert.assertEquals(0, cache.getHits());
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyUsed() throws Exception {
+		GenQueryPlanCache cache = new GenQueryPlanCache(2);
+		IRODSGenQuery a = IRODSGenQuery.instance("select " + RodsGenQueryEnum.COL_DATA_NAME.getName(), 10);
+		IRODSGenQuery b = IRODSGenQuery.instance("select " + RodsGenQueryEnum.COL_COLL_NAME.getName(), 10);
+		IRODSGenQuery c = IRODSGenQuery.instance("select " + RodsGenQueryEnum.COL_D_DATA_ID.getName(), 10);
+
+		cache.translate(a, irodsGenQueryTranslator);
+		cache.translate(b, irodsGenQueryTranslator);
+		cache.translate(a, irodsGenQueryTranslator);
+		cache.translate(c, irodsGenQueryTranslator);
+		Assert.assertEquals(2, cache.size());
+
+		// b was dropped, a was used more recently
+		cache.translate(a, irodsGenQueryTranslator);
+		Assert.assertEquals(2, cache.getHits());
+		cache.translate(b, irodsGenQueryTranslator);
+		Assert.assertEquals(4, cache.getMisses());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testBindMismatchedConditions() throws Exception {
+		TranslatedIRODSGenQuery translated = buildQuery("/zone/home/a").convertToTranslatedIRODSGenQuery();
+		GenQueryPlan plan = GenQueryPlan.compile(translated);
+
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_NAME).addConditionAsGenQueryField(
+				RodsGenQueryEnum.COL_COLL_NAME, QueryConditionOperators.LIKE, "/zone/home/a%");
+		IRODSGenQueryFromBuilder other = builder.exportIRODSQueryFromBuilder(100);
+		plan.bind(other.convertToTranslatedIRODSGenQuery().getTranslatedQueryConditions(), other);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testZeroEntries() throws Exception {
+		new GenQueryPlanCache(0);
+	}
+
+	private IRODSGenQueryFromBuilder buildQuery(final String collectionName) throws Exception {
+		IRODSGenQueryBuilder builder = new IRODSGenQueryBuilder(true, null);
+		builder.addSelectAsGenQueryValue(RodsGenQueryEnum.COL_DATA_NAME)
+				.addConditionAsGenQueryField(RodsGenQueryEnum.COL_COLL_NAME, QueryConditionOperators.EQUAL,
+						collectionName)
+				.addOrderByGenQueryField(RodsGenQueryEnum.COL_DATA_NAME, GenQueryOrderByField.OrderByType.ASC);
+		return builder.exportIRODSQueryFromBuilder(100);
+	}
+
+}
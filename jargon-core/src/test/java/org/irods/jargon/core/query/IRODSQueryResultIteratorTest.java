@@ -0,0 +1,173 @@
+package org.irods.jargon.core.query;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.exception.JargonRuntimeException;
+import org.irods.jargon.core.pub.IRODSGenQueryExecutorImpl.QueryCloseBehavior;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class IRODSQueryResultIteratorTest {
+
+	private GenQueryProcessor genQueryProcessor;
+	private TranslatedIRODSGenQuery translatedIRODSGenQuery;
+	private List<String> columnNames;
+
+	@Before
+	public void setUp() throws Exception {
+		genQueryProcessor = mock(GenQueryProcessor.class);
+		translatedIRODSGenQuery = mock(TranslatedIRODSGenQuery.class);
+		columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_DATA_NAME.getName());
+	}
+
+	@Test
+	public void testIterateAllPages() throws Exception {
+		IRODSQueryResultSet first = buildPage(0, 3, 1);
+		IRODSQueryResultSet second = buildPage(3, 3, 1);
+		IRODSQueryResultSet third = buildPage(6, 2, 0);
+		when(genQueryProcessor.executeTranslatedIRODSQuery(translatedIRODSGenQuery, 0, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, null)).thenReturn(first);
+		when(genQueryProcessor.executeTranslatedIRODSQuery(translatedIRODSGenQuery, 1, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, null)).thenReturn(second, third);
+
+		IRODSQueryResultIterator iterator = IRODSQueryResultIterator.instance(genQueryProcessor,
+				translatedIRODSGenQuery, null, Executors.defaultThreadFactory());
+
+		int count = 0;
+		while (iterator.hasNext()) {
+			Assert.assertEquals("row" + count, iterator.next().getColumn(0));
+			count++;
+		}
+
+		Assert.assertEquals(8, count);
+		Assert.assertFalse(iterator.hasNext());
+		iterator.close();
+		verify(genQueryProcessor, never()).closeResults(any(IRODSQueryResultSet.class));
+	}
+
+	@Test(expected = NoSuchElementException.class)
+	public void testNextPastEnd() throws Exception {
+		IRODSQueryResultSet first = buildPage(0, 1, 0);
+		when(genQueryProcessor.executeTranslatedIRODSQuery(translatedIRODSGenQuery, 0, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, null)).thenReturn(first);
+
+		IRODSQueryResultIterator iterator = IRODSQueryResultIterator.instance(genQueryProcessor,
+				translatedIRODSGenQuery, null, Executors.defaultThreadFactory());
+		iterator.next();
+		iterator.next();
+	}
+
+	@Test
+	public void testNoRows() throws Exception {
+		IRODSQueryResultSet first = buildPage(0, 0, 0);
+		when(genQueryProcessor.executeTranslatedIRODSQuery(translatedIRODSGenQuery, 0, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, "zone")).thenReturn(first);
+
+		IRODSQueryResultIterator iterator = IRODSQueryResultIterator.instance(genQueryProcessor,
+				translatedIRODSGenQuery, "zone", Executors.defaultThreadFactory());
+		Assert.assertFalse(iterator.hasNext());
+		verify(genQueryProcessor, times(1)).executeTranslatedIRODSQuery(any(TranslatedIRODSGenQuery.class),
+				eq(0), eq(0), eq(QueryCloseBehavior.MANUAL_CLOSE), anyString());
+	}
+
+	@Test
+	public void testCloseEarlyClosesFetchedPage() throws Exception {
+		IRODSQueryResultSet first = buildPage(0, 3, 1);
+		IRODSQueryResultSet second = buildPage(3, 3, 1);
+		when(genQueryProcessor.executeTranslatedIRODSQuery(translatedIRODSGenQuery, 0, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, null)).thenReturn(first);
+		when(genQueryProcessor.executeTranslatedIRODSQuery(translatedIRODSGenQuery, 1, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, null)).thenReturn(second);
+
+		IRODSQueryResultIterator iterator = IRODSQueryResultIterator.instance(genQueryProcessor,
+				translatedIRODSGenQuery, null, Executors.defaultThreadFactory());
+		iterator.next();
+		iterator.close();
+		iterator.close();
+
+		Assert.assertFalse(iterator.hasNext());
+		verify(genQueryProcessor, times(1)).closeResults(second);
+	}
+
+	@Test
+	public void testStreamClosedEarly() throws Exception {
+		IRODSQueryResultSet first = buildPage(0, 3, 1);
+		IRODSQueryResultSet second = buildPage(3, 3, 1);
+		when(genQueryProcessor.executeTranslatedIRODSQuery(translatedIRODSGenQuery, 0, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, null)).thenReturn(first);
+		when(genQueryProcessor.executeTranslatedIRODSQuery(translatedIRODSGenQuery, 1, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, null)).thenReturn(second);
+
+		List<String> names;
+		try (Stream<IRODSQueryResultRow> stream = IRODSQueryResultIterator
+				.instance(genQueryProcessor, translatedIRODSGenQuery, null, Executors.defaultThreadFactory())
+				.stream()) {
+			names = stream.limit(4).map(new Function<IRODSQueryResultRow, String>() {
+				@Override
+				public String apply(final IRODSQueryResultRow row) {
+					try {
+						return row.getColumn(0);
+					} catch (JargonException e) {
+						throw new JargonRuntimeException(e);
+					}
+				}
+			}).collect(Collectors.<String>toList());
+		}
+
+		Assert.assertEquals(4, names.size());
+		Assert.assertEquals("row3", names.get(3));
+		verify(genQueryProcessor, times(1)).closeResults(second);
+	}
+
+	@Test
+	public void testErrorFetchingPage() throws Exception {
+		IRODSQueryResultSet first = buildPage(0, 1, 1);
+		when(genQueryProcessor.executeTranslatedIRODSQuery(translatedIRODSGenQuery, 0, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, null)).thenReturn(first);
+		when(genQueryProcessor.executeTranslatedIRODSQuery(translatedIRODSGenQuery, 1, 0,
+				QueryCloseBehavior.MANUAL_CLOSE, null)).thenThrow(new JargonException("bad page"));
+
+		Iterator<IRODSQueryResultRow> iterator = IRODSQueryResultIterator.instance(genQueryProcessor,
+				translatedIRODSGenQuery, null, Executors.defaultThreadFactory());
+		iterator.next();
+		try {
+			iterator.hasNext();
+			Assert.fail("expected error for page");
+		} catch (JargonRuntimeException e) {
+			Assert.assertEquals("bad page", e.getCause().getMessage());
+		}
+
+		Assert.assertFalse(iterator.hasNext());
+	}
+
+	private IRODSQueryResultSet buildPage(final int start, final int rows, final int continuation)
+			throws JargonException {
+		List<IRODSQueryResultRow> results = new ArrayList<IRODSQueryResultRow>();
+		for (int i = 0; i < rows; i++) {
+			List<String> values = new ArrayList<String>();
+			values.add("row" + (start + i));
+			results.add(IRODSQueryResultRow.instance(values, columnNames, i + 1, continuation == 0));
+		}
+		return IRODSQueryResultSet.instance(translatedIRODSGenQuery, results, continuation, 0);
+	}
+
+}
@@ -0,0 +1,123 @@
+package org.irods.jargon.core.query;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.GenQueryOut;
+import org.irods.jargon.core.packinstr.Tag;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class QueryResultProcessingUtilsTest {
+
+	@Test
+	public void testTranslateResponseIntoResultSet() throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_COLL_NAME.getName());
+		columnNames.add(RodsGenQueryEnum.COL_DATA_NAME.getName());
+		columnNames.add(RodsGenQueryEnum.COL_DATA_SIZE.getName());
+
+		Tag response = buildGenQueryOut(3, columnNames.size(), 1);
+		List<IRODSQueryResultRow> rows = QueryResultProcessingUtils.translateResponseIntoResultSet(response,
+				columnNames, 1, 0);
+
+		Assert.assertEquals(3, rows.size());
+		for (int i = 0; i < rows.size(); i++) {
+			IRODSQueryResultRow row = rows.get(i);
+			Assert.assertEquals(i + 1, row.getRecordCount());
+			Assert.assertFalse(row.isLastResult());
+			Assert.assertEquals(3, row.getColumnsAsList().size());
+			for (int j = 0; j < columnNames.size(); j++) {
+				Assert.assertEquals(valueFor(i, j), row.getColumn(j));
+				Assert.assertEquals(valueFor(i, j), row.getColumn(columnNames.get(j)));
+			}
+		}
+	}
+
+	@Test
+	public void testTranslateResponseIntoResultSetPartialStartIndex() throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_COLL_NAME.getName());
+
+		List<IRODSQueryResultRow> rows = QueryResultProcessingUtils
+				.translateResponseIntoResultSet(buildGenQueryOut(2, 1, 0), columnNames, 0, 500);
+
+		Assert.assertEquals(501, rows.get(0).getRecordCount());
+		Assert.assertEquals(502, rows.get(1).getRecordCount());
+		Assert.assertTrue(rows.get(1).isLastResult());
+	}
+
+	@Test
+	public void testTranslateResponseIntoResultSetRepeatedColumnName() throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_COLL_NAME.getName());
+		columnNames.add(RodsGenQueryEnum.COL_COLL_NAME.getName());
+
+		List<IRODSQueryResultRow> rows = QueryResultProcessingUtils
+				.translateResponseIntoResultSet(buildGenQueryOut(1, 2, 0), columnNames, 0, 0);
+
+		Assert.assertEquals(valueFor(0, 0), rows.get(0).getColumn(RodsGenQueryEnum.COL_COLL_NAME.getName()));
+		Assert.assertEquals(valueFor(0, 1), rows.get(0).getColumn(1));
+	}
+
+	@Test
+	public void testTranslateResponseIntoResultSetNoRows() throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_COLL_NAME.getName());
+
+		List<IRODSQueryResultRow> rows = QueryResultProcessingUtils
+				.translateResponseIntoResultSet(buildGenQueryOut(0, 1, 0), columnNames, 0, 0);
+
+		Assert.assertTrue(rows.isEmpty());
+	}
+
+	@Test(expected = JargonException.class)
+	public void testTranslateResponseIntoResultSetBogusColumnName() throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_COLL_NAME.getName());
+
+		List<IRODSQueryResultRow> rows = QueryResultProcessingUtils
+				.translateResponseIntoResultSet(buildGenQueryOut(1, 1, 0), columnNames, 0, 0);
+		rows.get(0).getColumn("bogus");
+	}
+
+	@Test(expected = JargonException.class)
+	public void testTranslateResponseIntoResultSetMissingValues() throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_COLL_NAME.getName());
+
+		Tag response = buildGenQueryOut(2, 1, 0);
+		response.getTag(GenQueryOut.ROW_CNT).setValue(3);
+		QueryResultProcessingUtils.translateResponseIntoResultSet(response, columnNames, 0, 0);
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testRowColumnsAreReadOnly() throws Exception {
+		List<String> columnNames = new ArrayList<String>();
+		columnNames.add(RodsGenQueryEnum.COL_COLL_NAME.getName());
+
+		List<IRODSQueryResultRow> rows = QueryResultProcessingUtils
+				.translateResponseIntoResultSet(buildGenQueryOut(1, 1, 0), columnNames, 0, 0);
+		rows.get(0).getColumnsAsList().set(0, "changed");
+	}
+
+	private static Tag buildGenQueryOut(final int rows, final int attributes, final int continuation) {
+		Tag genQueryOut = new Tag(GenQueryOut.PI_NAME,
+				new Tag[] { new Tag(GenQueryOut.ROW_CNT, rows), new Tag(GenQueryOut.ATTRIB_CNT, attributes),
+						new Tag(GenQueryOut.CONTINUE_INX, continuation), new Tag("totalRowCount", rows) });
+		for (int j = 0; j < attributes; j++) {
+			Tag sqlResult = new Tag("SqlResult_PI", new Tag[] { new Tag("attriInx", j), new Tag("reslen", 256) });
+			for (int i = 0; i < rows; i++) {
+				sqlResult.addTag(new Tag("value", valueFor(i, j)));
+			}
+			genQueryOut.addTag(sqlResult);
+		}
+		return genQueryOut;
+	}
+
+	private static String valueFor(final int row, final int column) {
+		return "value-" + row + "-" + column;
+	}
+
+}
@@ -0,0 +1,71 @@
+package org.irods.jargon.core.transfer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelStreamControllerTest {
+
+	private static final String HOST = "host";
+	private static final String RESOURCE = "resc";
+
+	@Test
+	public void testInitialRecommendation() {
+		ParallelStreamController controller = new ParallelStreamController();
+		Assert.assertEquals(ParallelStreamController.INITIAL_STREAMS, controller.recommendStreams(HOST, RESOURCE, 0));
+		Assert.assertEquals(2, controller.recommendStreams(HOST, RESOURCE, 2));
+	}
+
+	@Test
+	public void testProbesUpWhileThroughputImproves() {
+		ParallelStreamController controller = new ParallelStreamController();
+		controller.recordTransfer(HOST, RESOURCE, 4, 100.0);
+		Assert.assertEquals(8, controller.recommendStreams(HOST, RESOURCE, 0));
+		controller.recordTransfer(HOST, RESOURCE, 8, 180.0);
+		Assert.assertEquals(16, controller.recommendStreams(HOST, RESOURCE, 0));
+		Assert.assertEquals(12, controller.recommendStreams(HOST, RESOURCE, 12));
+	}
+
+	@Test
+	public void testSettlesOnBestCountWhenSaturated() {
+		ParallelStreamController controller = new ParallelStreamController();
+		controller.recordTransfer(HOST, RESOURCE, 4, 100.0);
+		controller.recordTransfer(HOST, RESOURCE, 8, 105.0);
+		Assert.assertEquals(4, controller.recommendStreams(HOST, RESOURCE, 0));
+
+		controller.recordTransfer(HOST, RESOURCE, 4, 95.0);
+		Assert.assertEquals(4, controller.recommendStreams(HOST, RESOURCE, 0));
+	}
+
+	@Test
+	public void testProbesAgainWhenThroughputDrops() {
+		ParallelStreamController controller = new ParallelStreamController();
+		controller.recordTransfer(HOST, RESOURCE, 8, 100.0);
+		controller.recordTransfer(HOST, RESOURCE, 16, 100.0);
+		Assert.assertEquals(8, controller.recommendStreams(HOST, RESOURCE, 0));
+
+		controller.recordTransfer(HOST, RESOURCE, 8, 40.0);
+		Assert.assertEquals(4, controller.recommendStreams(HOST, RESOURCE, 0));
+		controller.recordTransfer(HOST, RESOURCE, 4, 40.0);
+		Assert.assertEquals(8, controller.recommendStreams(HOST, RESOURCE, 0));
+	}
+
+	@Test
+	public void testHostsAndResourcesAreSeparate() {
+		ParallelStreamController controller = new ParallelStreamController();
+		controller.recordTransfer(HOST, RESOURCE, 4, 100.0);
+		Assert.assertEquals(8, controller.recommendStreams(HOST, RESOURCE, 0));
+		Assert.assertEquals(4, controller.recommendStreams(HOST, "other", 0));
+		Assert.assertEquals(4, controller.recommendStreams("other", RESOURCE, 0));
+
+		controller.clear();
+		Assert.assertEquals(4, controller.recommendStreams(HOST, RESOURCE, 0));
+	}
+
+	@Test
+	public void testEmptyMeasurementIsIgnored() {
+		ParallelStreamController controller = new ParallelStreamController();
+		controller.recordTransfer(HOST, RESOURCE, 4, 0.0);
+		Assert.assertEquals(ParallelStreamController.INITIAL_STREAMS, controller.recommendStreams(HOST, RESOURCE, 0));
+	}
+
+}
@@ -0,0 +1,125 @@
+package org.irods.jargon.core.transfer;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ParallelTransferSchedulerTest {
+
+	@Test
+	public void testGrantLimitedByRequest() throws Exception {
+		ParallelTransferScheduler scheduler = new ParallelTransferScheduler(8, 0);
+		ParallelTransferScheduler.Lease lease = scheduler.acquire("host", 4, 0, 1);
+		Assert.assertEquals(4, lease.getStreams());
+		Assert.assertEquals(4, scheduler.getStreamsInFlight());
+		lease.release();
+		lease.release();
+		Assert.assertEquals(0, scheduler.getStreamsInFlight());
+	}
+
+	@Test
+	public void testSharesByWeight() throws Exception {
+		ParallelTransferScheduler scheduler = new ParallelTransferScheduler(12, 0);
+		Assert.assertEquals(2, scheduler.acquire("host", 2, 0, 1).getStreams());
+		// weights 1 and 2, so two thirds of the streams
+		Assert.assertEquals(8, scheduler.acquire("host", 0, 0, 2).getStreams());
+		// what is left
+		Assert.assertEquals(2, scheduler.acquire("host", 0, 0, 1).getStreams());
+		Assert.assertEquals(12, scheduler.getStreamsInFlight());
+	}
+
+	@Test
+	public void testPerHostLimit() throws Exception {
+		ParallelTransferScheduler scheduler = new ParallelTransferScheduler(8, 3);
+		Assert.assertEquals(3, scheduler.acquire("host1", 0, 0, 1).getStreams());
+		Assert.assertEquals(3, scheduler.acquire("host2", 6, 0, 1).getStreams());
+		Assert.assertEquals(3, scheduler.getStreamsInFlight("host1"));
+		Assert.assertEquals(6, scheduler.getStreamsInFlight());
+	}
+
+	@Test
+	public void testHigherPriorityGoesFirst() throws Exception {
+		final ParallelTransferScheduler scheduler = new ParallelTransferScheduler(1, 0);
+		ParallelTransferScheduler.Lease first = scheduler.acquire("host", 1, 0, 1);
+
+		final AtomicReference<ParallelTransferScheduler.Lease> low = new AtomicReference<ParallelTransferScheduler.Lease>();
+		final AtomicReference<ParallelTransferScheduler.Lease> high = new AtomicReference<ParallelTransferScheduler.Lease>();
+		CountDownLatch lowGranted = startAcquire(scheduler, 0, low);
+		waitForWaiting(scheduler, 1);
+		CountDownLatch highGranted = startAcquire(scheduler, 5, high);
+		waitForWaiting(scheduler, 2);
+
+		first.release();
+		Assert.assertTrue(highGranted.await(5, TimeUnit.SECONDS));
+		Assert.assertFalse(lowGranted.await(100, TimeUnit.MILLISECONDS));
+
+		high.get().release();
+		Assert.assertTrue(lowGranted.await(5, TimeUnit.SECONDS));
+		Assert.assertEquals(1, low.get().getStreams());
+	}
+
+	@Test
+	public void testOtherHostIsNotBlockedByFullHost() throws Exception {
+		ParallelTransferScheduler scheduler = new ParallelTransferScheduler(4, 2);
+		scheduler.acquire("host1", 2, 0, 1);
+		final AtomicReference<ParallelTransferScheduler.Lease> waiting = new AtomicReference<ParallelTransferScheduler.Lease>();
+		startAcquire(scheduler, 5, waiting);
+		waitForWaiting(scheduler, 1);
+
+		Assert.assertEquals(2, scheduler.acquire("host2", 2, 0, 1).getStreams());
+	}
+
+	@Test
+	public void testInterruptedWaiterIsRemoved() throws Exception {
+		final ParallelTransferScheduler scheduler = new ParallelTransferScheduler(1, 0);
+		scheduler.acquire("host", 1, 0, 1);
+		final CountDownLatch interrupted = new CountDownLatch(1);
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					scheduler.acquire("host", 1, 0, 1);
+				} catch (InterruptedException e) {
+					interrupted.countDown();
+				}
+			}
+		});
+		thread.start();
+		waitForWaiting(scheduler, 1);
+		thread.interrupt();
+		Assert.assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+		Assert.assertEquals(0, scheduler.getWaitingCount());
+	}
+
+	private static CountDownLatch startAcquire(final ParallelTransferScheduler scheduler, final int priority,
+			final AtomicReference<ParallelTransferScheduler.Lease> lease) {
+		final CountDownLatch granted = new CountDownLatch(1);
+		Thread thread = new Thread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					lease.set(scheduler.acquire("host1", 1, priority, 1));
+					granted.countDown();
+				} catch (InterruptedException e) {
+					// the latch stays closed and the test fails
+				}
+			}
+		});
+		thread.setDaemon(true);
+		thread.start();
+		return granted;
+	}
+
+	private static void waitForWaiting(final ParallelTransferScheduler scheduler, final int count)
+			throws InterruptedException {
+		long deadline = System.currentTimeMillis() + 5000;
+		while (scheduler.getWaitingCount() < count && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		Assert.assertEquals(count, scheduler.getWaitingCount());
+	}
+
+}
@@ -0,0 +1,142 @@
+package org.irods.jargon.core.transfer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TarBundleWriterTest {
+
+	@Test
+	public void testSingleEntryLayout() throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		byte[] data = "hello tar".getBytes(StandardCharsets.UTF_8);
+		TarBundleWriter writer = new TarBundleWriter(bos);
+		writer.addEntry("dir/hello.txt", data.length, 1000000L, new ByteArrayInputStream(data));
+		writer.close();
+
+		byte[] tar = bos.toByteArray();
+		Assert.assertEquals(4 * TarBundleWriter.RECORD_SIZE, tar.length);
+		Assert.assertEquals(tar.length, writer.getBytesWritten());
+		Assert.assertEquals(1, writer.getEntryCount());
+		Assert.assertEquals("dir/hello.txt", readString(tar, 0, 100));
+		Assert.assertEquals(data.length, readOctal(tar, 124, 12));
+		Assert.assertEquals(1000L, readOctal(tar, 136, 12));
+		Assert.assertEquals('0', tar[156]);
+		Assert.assertEquals("ustar", readString(tar, 257, 6));
+		Assert.assertEquals(computeChecksum(tar, 0), readOctal(tar, 148, 8));
+		Assert.assertArrayEquals(data, Arrays.copyOfRange(tar, 512, 512 + data.length));
+
+		// the end of archive marker is two zero records
+		for (int i = 2 * TarBundleWriter.RECORD_SIZE; i < tar.length; i++) {
+			Assert.assertEquals(0, tar[i]);
+		}
+	}
+
+	@Test
+	public void testEntriesArePaddedToRecords() throws Exception {
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		TarBundleWriter writer = new TarBundleWriter(bos);
+		byte[] first = new byte[TarBundleWriter.RECORD_SIZE + 1];
+		writer.addEntry("first", first.length, 0L, new ByteArrayInputStream(first));
+		writer.addEntry("empty", 0, 0L, new ByteArrayInputStream(new byte[0]));
+		writer.finish();
+
+		byte[] tar = bos.toByteArray();
+		// header, two data records, header, end marker
+		Assert.assertEquals(6 * TarBundleWriter.RECORD_SIZE, tar.length);
+		Assert.assertEquals("empty", readString(tar, 3 * TarBundleWriter.RECORD_SIZE, 100));
+		Assert.assertEquals(0L, readOctal(tar, 3 * TarBundleWriter.RECORD_SIZE + 124, 12));
+	}
+
+	@Test
+	public void testLongNameSplitIntoPrefix() throws Exception {
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 8; i++) {
+			sb.append("subdirectory").append(i).append('/');
+		}
+		String prefix = sb.substring(0, sb.length() - 1);
+		String name = prefix + "/file.txt";
+		Assert.assertTrue(name.length() > 100);
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		TarBundleWriter writer = new TarBundleWriter(bos);
+		writer.addEntry(name, 1, 0L, new ByteArrayInputStream(new byte[1]));
+		writer.close();
+
+		byte[] tar = bos.toByteArray();
+		Assert.assertEquals("file.txt", readString(tar, 0, 100));
+		Assert.assertEquals(prefix, readString(tar, 345, 155));
+		Assert.assertEquals(computeChecksum(tar, 0), readOctal(tar, 148, 8));
+	}
+
+	@Test
+	public void testNameTooLongForPrefixUsesLongLink() throws Exception {
+		char[] chars = new char[600];
+		Arrays.fill(chars, 'a');
+		String name = new String(chars);
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		TarBundleWriter writer = new TarBundleWriter(bos);
+		writer.addEntry(name, 0, 0L, new ByteArrayInputStream(new byte[0]));
+		writer.close();
+
+		byte[] tar = bos.toByteArray();
+		Assert.assertEquals("././@LongLink", readString(tar, 0, 100));
+		Assert.assertEquals('L', tar[156]);
+		Assert.assertEquals(name.length() + 1, readOctal(tar, 124, 12));
+		Assert.assertEquals(name, readString(tar, 512, 1024));
+		// long link header, two records of name, entry header, end marker
+		Assert.assertEquals(6 * TarBundleWriter.RECORD_SIZE, tar.length);
+		Assert.assertEquals('0', tar[3 * TarBundleWriter.RECORD_SIZE + 156]);
+	}
+
+	@Test
+	public void testFindPrefixSplit() {
+		Assert.assertEquals(5, TarBundleWriter.findPrefixSplit("a/b/c".getBytes(StandardCharsets.UTF_8)));
+		char[] chars = new char[150];
+		Arrays.fill(chars, 'a');
+		Assert.assertEquals(-1, TarBundleWriter.findPrefixSplit(new String(chars).getBytes(StandardCharsets.UTF_8)));
+	}
+
+	@Test(expected = EOFException.class)
+	public void testShortDataFails() throws Exception {
+		TarBundleWriter writer = new TarBundleWriter(new ByteArrayOutputStream());
+		writer.addEntry("short", 10, 0L, new ByteArrayInputStream(new byte[5]));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testAddAfterFinishFails() throws Exception {
+		TarBundleWriter writer = new TarBundleWriter(new ByteArrayOutputStream());
+		writer.finish();
+		writer.addEntry("late", 0, 0L, new ByteArrayInputStream(new byte[0]));
+	}
+
+	private static String readString(final byte[] tar, final int offset, final int length) {
+		int end = offset;
+		while (end < offset + length && tar[end] != 0) {
+			end++;
+		}
+		return new String(tar, offset, end - offset, StandardCharsets.UTF_8);
+	}
+
+	private static long readOctal(final byte[] tar, final int offset, final int length) {
+		long value = 0;
+		for (int i = offset; i < offset + length && tar[i] >= '0' && tar[i] <= '7'; i++) {
+			value = (value << 3) + (tar[i] - '0');
+		}
+		return value;
+	}
+
+	private static long computeChecksum(final byte[] tar, final int offset) {
+		long checksum = 0;
+		for (int i = offset; i < offset + TarBundleWriter.RECORD_SIZE; i++) {
+			checksum += i >= offset + 148 && i < offset + 156 ? ' ' : tar[i] & 0xff;
+		}
+		return checksum;
+	}
+}
@@ -0,0 +1,85 @@
+package org.irods.jargon.core.transfer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransferBufferPoolTest {
+
+	@Test
+	public void testAcquireRoundsToSizeClass() {
+		TransferBufferPool pool = new TransferBufferPool(1024 * 1024);
+		byte[] buffer = pool.acquire(TransferBufferPool.SIZE_CLASS_GRANULARITY + 48);
+		Assert.assertEquals(2 * TransferBufferPool.SIZE_CLASS_GRANULARITY, buffer.length);
+		Assert.assertEquals(1, pool.getMissCount());
+	}
+
+	@Test
+	public void testReleaseAndReacquire() {
+		TransferBufferPool pool = new TransferBufferPool(1024 * 1024);
+		byte[] buffer = pool.acquire(100000);
+		pool.release(buffer);
+		Assert.assertEquals(buffer.length, pool.getRetainedBytes());
+
+		byte[] actual = pool.acquire(buffer.length - 10);
+		Assert.assertSame(buffer, actual);
+		Assert.assertEquals(1, pool.getHitCount());
+		Assert.assertEquals(0, pool.getRetainedBytes());
+	}
+
+	@Test
+	public void testDifferentSizeClassNotReused() {
+		TransferBufferPool pool = new TransferBufferPool(1024 * 1024);
+		byte[] buffer = pool.acquire(TransferBufferPool.SIZE_CLASS_GRANULARITY);
+		pool.release(buffer);
+		byte[] actual = pool.acquire(TransferBufferPool.SIZE_CLASS_GRANULARITY * 2);
+		Assert.assertNotSame(buffer, actual);
+		Assert.assertEquals(buffer.length, pool.getRetainedBytes());
+	}
+
+	@Test
+	public void testSmallRequestsNotPooled() {
+		TransferBufferPool pool = new TransferBufferPool(1024 * 1024);
+		byte[] buffer = pool.acquire(16);
+		Assert.assertEquals(16, buffer.length);
+		pool.release(buffer);
+		Assert.assertEquals(0, pool.getRetainedBytes());
+		Assert.assertEquals(0, pool.getMissCount());
+	}
+
+	@Test
+	public void testReleaseForeignBufferIgnored() {
+		TransferBufferPool pool = new TransferBufferPool(1024 * 1024);
+		pool.release(new byte[TransferBufferPool.SIZE_CLASS_GRANULARITY + 1]);
+		pool.release(null);
+		Assert.assertEquals(0, pool.getRetainedBytes());
+	}
+
+	@Test
+	public void testRetainedBytesLimited() {
+		TransferBufferPool pool = new TransferBufferPool(TransferBufferPool.SIZE_CLASS_GRANULARITY * 2);
+		byte[] first = pool.acquire(TransferBufferPool.SIZE_CLASS_GRANULARITY);
+		byte[] second = pool.acquire(TransferBufferPool.SIZE_CLASS_GRANULARITY);
+		byte[] third = pool.acquire(TransferBufferPool.SIZE_CLASS_GRANULARITY);
+		pool.release(first);
+		pool.release(second);
+		pool.release(third);
+		Assert.assertEquals(TransferBufferPool.SIZE_CLASS_GRANULARITY * 2, pool.getRetainedBytes());
+		pool.clear();
+		Assert.assertEquals(0, pool.getRetainedBytes());
+	}
+
+	@Test
+	public void testZeroMaxDisablesPooling() {
+		TransferBufferPool pool = new TransferBufferPool(0);
+		byte[] buffer = pool.acquire(100000);
+		Assert.assertEquals(100000, buffer.length);
+		pool.release(buffer);
+		Assert.assertEquals(0, pool.getRetainedBytes());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeMax() {
+		new TransferBufferPool(-1);
+	}
+
+}
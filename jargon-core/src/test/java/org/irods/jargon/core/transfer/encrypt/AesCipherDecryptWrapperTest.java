@@ -1,6 +1,7 @@
 package org.irods.jargon.core.transfer.encrypt;
 
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.irods.jargon.core.connection.NegotiatedClientServerConfiguration;
 import org.irods.jargon.core.connection.PipelineConfiguration;
@@ -59,4 +60,40 @@ public class AesCipherDecryptWrapperTest {
 		Assert.assertEquals("didnt match encrypted data", begin, result);
 
 	}
+
+	@Test
+	public void testEncryptIntoBufferDecryptInPlaceRoundTrip() throws JargonException {
+		byte[] source = new byte[100000];
+		for (int i = 0; i < source.length; i++) {
+			source[i] = (byte) i;
+		}
+		int length = source.length - 7;
+
+		PipelineConfiguration pipelineConfiguration = buildAesPipelineConfiguration();
+		NegotiatedClientServerConfiguration config = new NegotiatedClientServerConfiguration(true);
+		AESKeyGenerator generator = new AESKeyGenerator(pipelineConfiguration, config);
+		config.setSecretKey(generator.generateKey());
+
+		AesCipherEncryptWrapper wrapper = new AesCipherEncryptWrapper(pipelineConfiguration, config);
+		byte[] buffer = new byte[wrapper.getEncryptedLength(length) + 10];
+		int encryptedLength = wrapper.encrypt(source, length, buffer);
+
+		// same wire layout as the EncryptionBuffer based method
+		AesCipherDecryptWrapper decryptWrapper = new AesCipherDecryptWrapper(pipelineConfiguration, config);
+		byte[] decrypted = decryptWrapper.decrypt(Arrays.copyOf(buffer, encryptedLength));
+		Assert.assertArrayEquals(Arrays.copyOf(source, length), decrypted);
+
+		int decryptedLength = decryptWrapper.decrypt(buffer, encryptedLength);
+		Assert.assertEquals(length, decryptedLength);
+		Assert.assertArrayEquals(Arrays.copyOf(source, length), Arrays.copyOf(buffer, decryptedLength));
+	}
+
+	private PipelineConfiguration buildAesPipelineConfiguration() {
+		SettableJargonPropertiesMBean props = (SettableJargonPropertiesMBean) irodsFileSystem.getJargonProperties();
+		props.setEncryptionAlgorithmEnum(EncryptionAlgorithmEnum.AES_256_CBC);
+		props.setEncryptionKeySize(EncryptionAlgorithmEnum.AES_256_CBC.getKeySize());
+		props.setEncryptionNumberHashRounds(8);
+		props.setEncryptionSaltSize(8);
+		return PipelineConfiguration.instance(props);
+	}
 }
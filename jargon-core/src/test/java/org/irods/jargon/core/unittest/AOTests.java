@@ -36,6 +36,8 @@ import org.irods.jargon.core.pub.MountedCollectionAOImplTest;
 import org.irods.jargon.core.pub.MountedFilesystemCollectionAOImplTest;
 import org.irods.jargon.core.pub.MountedFilesystemCollectionAndDataObjectListAndSearchAOImplTest;
 import org.irods.jargon.core.pub.MountedFilesystemsDataTransferOperationsImplTest;
+import org.irods.jargon.core.pub.ObjStatCacheTest;
+import org.irods.jargon.core.pub.PartitionedGenQueryScannerTest;
 import org.irods.jargon.core.pub.ProtocolExtensionPointImplTest;
 import org.irods.jargon.core.pub.QuotaAOImplTest;
 import org.irods.jargon.core.pub.RemoteExecutionOfCommandsAOImplTest;
@@ -80,7 +82,8 @@ import org.junit.runners.Suite;
 		IRODSFileSystemSingletonWrapperTest.class, ResourceAOHelperTest.class, CollectionPagerAOImplTest.class,
 		DataObjectChecksumUtilitiesAOImplTest.class, CollectionListingUtilsTest.class,
 		FederatedDataObjectAOImplTest.class, DataObjectChecksumUtilitiesAOImplTest.class, TrashOperationsTest.class,
-		TrashOperationsAOImplTest.class, FederatedUserGroupAOTest.class, ApiPluginExecutorImplTest.class })
+		TrashOperationsAOImplTest.class, FederatedUserGroupAOTest.class, ApiPluginExecutorImplTest.class,
+		PartitionedGenQueryScannerTest.class, ObjStatCacheTest.class })
 
 /**
  * Suite to run Access Object tests in org.irods.jargon.pub.*
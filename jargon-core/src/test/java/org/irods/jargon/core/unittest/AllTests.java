@@ -1,6 +1,8 @@
 package org.irods.jargon.core.unittest;
 
 import org.irods.jargon.core.connection.IrodsVersionTest;
+import org.irods.jargon.core.metrics.JmxMetricsRegistryTest;
+import org.irods.jargon.core.metrics.LatencyHistogramTest;
 import org.irods.jargon.core.protovalues.FilePermissionEnumTest;
 import org.irods.jargon.core.query.IRODSGenQueryTest;
 import org.irods.jargon.core.query.IRODSGenQueryTranslatorTest;
@@ -27,7 +29,7 @@ import org.junit.runners.Suite;
 		IRODSUriUserInfoTest.class, MiscIRODSUtilsTest.class, AuthTests.class, ChecksumTests.class,
 		TransferRestartTests.class, RandomUtilsTest.class, IrodsVersionTest.class, CyberduckProfileBuilderTest.class,
 		SslNegotiationFunctionalTests.class, EncryptedTransferTests.class, ClientHintsTransformTest.class,
-		FilePermissionEnumTest.class })
+		FilePermissionEnumTest.class, LatencyHistogramTest.class, JmxMetricsRegistryTest.class })
 
 /**
  * Suite to run all tests (except long running and functional), further refined
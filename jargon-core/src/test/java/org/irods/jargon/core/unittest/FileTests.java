@@ -19,6 +19,8 @@ import org.irods.jargon.core.pub.io.MountedFilesystemIRODSFileImplTest;
 import org.irods.jargon.core.pub.io.MountedFilesystemIRODSFileOutputStreamTest;
 import org.irods.jargon.core.pub.io.PackingIrodsInputStreamTest;
 import org.irods.jargon.core.pub.io.PackingIrodsOutputStreamTest;
+import org.irods.jargon.core.pub.io.PackingIrodsOutputStreamWriteBehindTest;
+import org.irods.jargon.core.pub.io.ReadAheadIRODSFileInputStreamTest;
 import org.irods.jargon.core.pub.io.RemoteExecutionBinaryResultInputStreamTest;
 import org.irods.jargon.core.pub.io.SessionClosingIRODSFIleInputStreamTest;
 import org.irods.jargon.core.pub.io.SessionClosingIRODSFileOutputStreamTest;
@@ -35,7 +37,8 @@ import org.junit.runners.Suite;
 		IRODSFIleInputStreamForSoftLinksTest.class, IRODSFileOutputStreamForSoftLinksTest.class,
 		MountedFilesystemIRODSFileImplTest.class, MountedFileSystemIRODSFileInputStreamTest.class,
 		MountedFilesystemIRODSFileOutputStreamTest.class, PackingIrodsOutputStreamTest.class,
-		PackingIrodsInputStreamTest.class })
+		PackingIrodsInputStreamTest.class, ReadAheadIRODSFileInputStreamTest.class,
+		PackingIrodsOutputStreamWriteBehindTest.class })
 public class FileTests {
 
 }
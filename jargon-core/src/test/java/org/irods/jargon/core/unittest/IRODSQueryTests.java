@@ -2,11 +2,15 @@
 package org.irods.jargon.core.unittest;
 
 import org.irods.jargon.core.query.GenQueryFunctionalTests;
+import org.irods.jargon.core.query.GenQueryPartitionTest;
+import org.irods.jargon.core.query.GenQueryPlanCacheTest;
 import org.irods.jargon.core.query.GenQuerySelectFieldTest;
 import org.irods.jargon.core.query.IRODSGenQueryBuilderTest;
 import org.irods.jargon.core.query.IRODSGenQueryFromBuilderTest;
 import org.irods.jargon.core.query.IRODSGenQueryTranslatorTest;
+import org.irods.jargon.core.query.IRODSQueryResultIteratorTest;
 import org.irods.jargon.core.query.IRODSSimpleQueryResultSetTest;
+import org.irods.jargon.core.query.QueryResultProcessingUtilsTest;
 import org.irods.jargon.core.query.SimpleQueryTest;
 import org.irods.jargon.core.query.TranslatedIRODSQueryTest;
 import org.irods.jargon.core.query.UserFilePermissionTest;
@@ -16,7 +20,9 @@ import org.junit.runners.Suite;
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ IRODSGenQueryTranslatorTest.class, GenQuerySelectFieldTest.class, TranslatedIRODSQueryTest.class,
 		IRODSSimpleQueryResultSetTest.class, IRODSGenQueryFromBuilderTest.class, SimpleQueryTest.class,
-		UserFilePermissionTest.class, IRODSGenQueryBuilderTest.class, GenQueryFunctionalTests.class })
+		UserFilePermissionTest.class, IRODSGenQueryBuilderTest.class, GenQueryFunctionalTests.class,
+		QueryResultProcessingUtilsTest.class, IRODSQueryResultIteratorTest.class,
+		GenQueryPartitionTest.class, GenQueryPlanCacheTest.class })
 public class IRODSQueryTests {
 
 }
@@ -25,6 +25,8 @@ import org.irods.jargon.core.packinstr.SSLEndInpTest;
 import org.irods.jargon.core.packinstr.SSLStartInpTest;
 import org.irods.jargon.core.packinstr.SimpleQueryInpTest;
 import org.irods.jargon.core.packinstr.SpecificQueryInpTest;
+import org.irods.jargon.core.packinstr.StreamingTagParserTest;
+import org.irods.jargon.core.packinstr.TagWriterTest;
 import org.irods.jargon.core.packinstr.StructFileExtAndRegInpTest;
 import org.irods.jargon.core.packinstr.TransferOptionsTest;
 import org.irods.jargon.core.packinstr.UserAdminInpTest;
@@ -41,7 +43,7 @@ import org.junit.runners.Suite;
 		DataObjInpForObjStatTest.class, GetTempPasswordForOtherTest.class, DataObjInpForRegTest.class,
 		DataObjInpForUnregisterTest.class, DataObjInpForMcollTest.class, DataObjInpForUnmountTest.class,
 		ReconnMsgTest.class, SpecificQueryInpTest.class, PamAuthRequestInpTest.class, SSLStartInpTest.class,
-		SSLEndInpTest.class, AuthReqPluginRequestInpTest.class, }) // ModDataObjMetaInpTest.class
+		SSLEndInpTest.class, AuthReqPluginRequestInpTest.class, StreamingTagParserTest.class, TagWriterTest.class, }) // ModDataObjMetaInpTest.class
 																	// })
 public class PackingInstructionTests {
 
@@ -1,6 +1,10 @@
 package org.irods.jargon.core.unittest;
 
 import org.irods.jargon.core.transfer.DefaultTransferControlBlockTest;
+import org.irods.jargon.core.transfer.ParallelStreamControllerTest;
+import org.irods.jargon.core.transfer.ParallelTransferSchedulerTest;
+import org.irods.jargon.core.transfer.TarBundleWriterTest;
+import org.irods.jargon.core.transfer.TransferBufferPoolTest;
 import org.irods.jargon.core.transfer.TransferStatusTest;
 import org.irods.jargon.core.transfer.encrypt.AesCipherEncryptWrapperTest;
 import org.irods.jargon.core.transfer.encrypt.EncryptionWrapperFactoryTest;
@@ -9,7 +13,8 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ TransferStatusTest.class, DefaultTransferControlBlockTest.class,
-		EncryptionWrapperFactoryTest.class, AesCipherEncryptWrapperTest.class })
+		EncryptionWrapperFactoryTest.class, AesCipherEncryptWrapperTest.class, TransferBufferPoolTest.class,
+		TarBundleWriterTest.class, ParallelStreamControllerTest.class, ParallelTransferSchedulerTest.class })
 public class TransferTests {
 
 }
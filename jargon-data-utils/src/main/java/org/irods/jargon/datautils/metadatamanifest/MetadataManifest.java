@@ -25,7 +25,17 @@ public class MetadataManifest {
 	 *
 	 */
 	public enum FailureMode {
-		IGNORE, FAIL_FAST
+		/**
+		 * Carry on past failed operations, reporting each in the responses. The
+		 * AVUs are sent in pipelined batches.
+		 */
+		IGNORE,
+		/**
+		 * Stop at the first failed operation and throw its error. The operations
+		 * before it are applied and none after it are, so the AVUs are sent one
+		 * at a time.
+		 */
+		FAIL_FAST
 	}
 
 	/**
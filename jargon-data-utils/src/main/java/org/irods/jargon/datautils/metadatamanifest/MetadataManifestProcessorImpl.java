@@ -5,9 +5,12 @@ package org.irods.jargon.datautils.metadatamanifest;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 
 import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.DuplicateDataException;
+import org.irods.jargon.core.exception.FileNotFoundException;
 import org.irods.jargon.core.exception.JargonException;
 import org.irods.jargon.core.pub.BulkAVUOperationResponse;
 import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
@@ -36,6 +39,13 @@ public class MetadataManifestProcessorImpl extends AbstractJargonService impleme
 
 	public static final Logger log = LoggerFactory.getLogger(MetadataManifestProcessorImpl.class);
 
+	/**
+	 * Most AVUs sent together as one pipelined batch under
+	 * {@code FailureMode.IGNORE}. Under {@code FailureMode.FAIL_FAST} each AVU is
+	 * sent on its own, so that nothing after a failure is applied.
+	 */
+	public static final int AVU_BATCH_SIZE = 500;
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -105,8 +115,8 @@ public class MetadataManifestProcessorImpl extends AbstractJargonService impleme
 		final CollectionAndDataObjectListAndSearchAO collectionSearchAO = getIrodsAccessObjectFactory()
 				.getCollectionAndDataObjectListAndSearchAO(getIrodsAccount());
 
-		CollectionAO collectionAO = null;
-		DataObjectAO dataObjectAO = null;
+		final AvuBatch batch = new AvuBatch();
+		final int batchSize = metadataManifest.getFailureMode() == FailureMode.FAIL_FAST ? 1 : AVU_BATCH_SIZE;
 		String path;
 		StringBuilder sb;
 
@@ -134,45 +144,117 @@ public class MetadataManifestProcessorImpl extends AbstractJargonService impleme
 
 			if (!objStat.getAbsolutePath().equals(path)) {
 				log.debug("obtaining objstat for path:{}", path);
-				objStat = collectionSearchAO.retrieveObjectStatForPath(path);
+				try {
+					objStat = collectionSearchAO.retrieveObjectStatForPath(path);
+				} catch (final JargonException e) {
+					// operations before this one are still applied
+					sendBatch(batch, metadataManifest.getFailureMode(), responses);
+					throw e;
+				}
 			}
 
 			avuData = AvuData.instance(operation.getAttribute(), operation.getValue(), operation.getUnit());
+			batch.add(path, avuData, objStat.isSomeTypeOfCollection());
 
-			try {
-				if (objStat.isSomeTypeOfCollection()) {
-					if (collectionAO == null) {
-						collectionAO = getIrodsAccessObjectFactory().getCollectionAO(getIrodsAccount());
-					}
+			if (batch.size() >= batchSize) {
+				sendBatch(batch, metadataManifest.getFailureMode(), responses);
+			}
 
-					collectionAO.addAVUMetadata(path, avuData);
+		}
 
-				} else {
-					if (dataObjectAO == null) {
-						dataObjectAO = getIrodsAccessObjectFactory().getDataObjectAO(getIrodsAccount());
-					}
+		sendBatch(batch, metadataManifest.getFailureMode(), responses);
+		return responses;
+	}
 
-					dataObjectAO.addAVUMetadata(path, avuData);
-				}
+	/**
+	 * Send the AVUs gathered in the batch, pipelined, adding a response for each
+	 * in manifest order, and clear the batch. Under {@code FAIL_FAST} the batch
+	 * holds one AVU, and a failure is thrown.
+	 */
+	private void sendBatch(final AvuBatch batch, final FailureMode failureMode,
+			final List<BulkAVUOperationResponse> responses) throws JargonException {
+		if (batch.size() == 0) {
+			return;
+		}
 
-				responses.add(BulkAVUOperationResponse.instance(ResultStatus.OK, avuData, ""));
+		log.info("sending batch of {} AVUs", batch.size());
+		Iterator<BulkAVUOperationResponse> collectionResponses = null;
+		Iterator<BulkAVUOperationResponse> dataObjectResponses = null;
 
-			} catch (final Exception e) {
-				log.warn("error in avu operation, will check fail fast");
+		if (!batch.collectionPaths.isEmpty()) {
+			final CollectionAO collectionAO = getIrodsAccessObjectFactory().getCollectionAO(getIrodsAccount());
+			collectionResponses = collectionAO
+					.addBulkAVUMetadataToCollections(batch.collectionPaths, batch.collectionAvus).iterator();
+		}
 
-				if (metadataManifest.getFailureMode() == FailureMode.FAIL_FAST) {
-					log.error("error in avu operation under fail_fast mode:{}", operation, e);
-					throw e;
-				} else { // TODO: trap for other modes? right now only ignore
-					log.warn("log and ignore avu action", e);
-					responses.add(BulkAVUOperationResponse.instance(ResultStatus.OTHER_ERROR, avuData, e.getMessage()));
-				}
+		if (!batch.dataObjectPaths.isEmpty()) {
+			final DataObjectAO dataObjectAO = getIrodsAccessObjectFactory().getDataObjectAO(getIrodsAccount());
+			dataObjectResponses = dataObjectAO
+					.addBulkAVUMetadataToDataObjects(batch.dataObjectPaths, batch.dataObjectAvus).iterator();
+		}
 
+		BulkAVUOperationResponse firstFailure = null;
+		for (final Boolean collection : batch.isCollection) {
+			final BulkAVUOperationResponse response = collection ? collectionResponses.next()
+					: dataObjectResponses.next();
+			if (response.getResultStatus() != ResultStatus.OK && firstFailure == null) {
+				firstFailure = response;
 			}
+			responses.add(response);
+		}
+		batch.clear();
 
+		if (firstFailure == null) {
+			return;
 		}
 
-		return responses;
+		if (failureMode == FailureMode.FAIL_FAST) {
+			log.error("error in avu operation under fail_fast mode:{}", firstFailure);
+			if (firstFailure.getResultStatus() == ResultStatus.DUPLICATE_AVU) {
+				throw new DuplicateDataException(firstFailure.getMessage());
+			} else if (firstFailure.getResultStatus() == ResultStatus.MISSING_METADATA_TARGET) {
+				throw new FileNotFoundException(firstFailure.getMessage());
+			} else {
+				throw new JargonException(firstFailure.getMessage());
+			}
+		} else { // TODO: trap for other modes? right now only ignore
+			log.warn("log and ignore failed avu actions in batch, first was:{}", firstFailure);
+		}
+	}
+
+	/**
+	 * AVUs waiting to be sent, split by target type, remembering the manifest
+	 * order
+	 */
+	private static class AvuBatch {
+		private final List<Boolean> isCollection = new ArrayList<>();
+		private final List<String> collectionPaths = new ArrayList<>();
+		private final List<AvuData> collectionAvus = new ArrayList<>();
+		private final List<String> dataObjectPaths = new ArrayList<>();
+		private final List<AvuData> dataObjectAvus = new ArrayList<>();
+
+		void add(final String path, final AvuData avuData, final boolean collection) {
+			isCollection.add(collection);
+			if (collection) {
+				collectionPaths.add(path);
+				collectionAvus.add(avuData);
+			} else {
+				dataObjectPaths.add(path);
+				dataObjectAvus.add(avuData);
+			}
+		}
+
+		int size() {
+			return isCollection.size();
+		}
+
+		void clear() {
+			isCollection.clear();
+			collectionPaths.clear();
+			collectionAvus.clear();
+			dataObjectPaths.clear();
+			dataObjectAvus.clear();
+		}
 	}
 
 	/**
@@ -5,7 +5,10 @@ import java.util.List;
 import java.util.Properties;
 
 import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.exception.DuplicateDataException;
 import org.irods.jargon.core.pub.BulkAVUOperationResponse;
+import org.irods.jargon.core.pub.BulkAVUOperationResponse.ResultStatus;
+import org.irods.jargon.core.pub.DataObjectAO;
 import org.irods.jargon.core.pub.DataTransferOperations;
 import org.irods.jargon.core.pub.IRODSFileSystem;
 import org.irods.jargon.core.pub.io.IRODSFile;
@@ -139,4 +142,116 @@ public class MetadataManifestProcessorImplTest {
 
 	}
 
+	@Test
+	public void testProcessManifestFailFastStopsAtFirstFailure() throws Exception {
+		final String testParentName = "testProcessManifestFailFastStopsAtFirstFailure";
+		final String testFileName = "testProcessManifestFailFastStopsAtFirstFailure.txt";
+		final String testFileName2 = "testProcessManifestFailFastStopsAtFirstFailure2.txt";
+
+		final String expectedAttribName = "testProcessManifestFailFastStopsAtFirstFailure";
+		final String expectedValueName = "testval1";
+
+		final IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+
+		final String targetIrodsCollection = testingPropertiesHelper.buildIRODSCollectionAbsolutePathFromTestProperties(
+				testingProperties, IRODS_TEST_SUBDIR_PATH + "/" + testParentName);
+
+		final IRODSFile parentFile = irodsFileSystem.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(targetIrodsCollection);
+		parentFile.delete();
+		parentFile.mkdirs();
+
+		final String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		final String fileNameOrig = FileGenerator.generateFileOfFixedLengthGivenName(absPath + testParentName + "/",
+				testFileName, 2);
+		final String fileNameOrig2 = FileGenerator.generateFileOfFixedLengthGivenName(absPath + testParentName + "/",
+				testFileName2, 2);
+
+		final DataTransferOperations dataTransferOperationsAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataTransferOperations(irodsAccount);
+		dataTransferOperationsAO.putOperation(new File(fileNameOrig), parentFile, null, null);
+		dataTransferOperationsAO.putOperation(new File(fileNameOrig2), parentFile, null, null);
+
+		// the second operation is a duplicate, the third must not be applied
+
+		final MetadataManifest manifest = new MetadataManifest();
+		manifest.setFailureMode(FailureMode.FAIL_FAST);
+		manifest.setParentIrodsTargetPath(parentFile.getAbsolutePath());
+		manifest.getOperation().add(
+				new MetadataManifestOperation(expectedAttribName, expectedValueName, "", testFileName, Action.ADD));
+		manifest.getOperation().add(
+				new MetadataManifestOperation(expectedAttribName, expectedValueName, "", testFileName, Action.ADD));
+		manifest.getOperation().add(
+				new MetadataManifestOperation(expectedAttribName, expectedValueName, "", testFileName2, Action.ADD));
+
+		final MetadataManifestProcessor impl = new MetadataManifestProcessorImpl(
+				irodsFileSystem.getIRODSAccessObjectFactory(), irodsAccount);
+		try {
+			impl.processManifest(manifest);
+			Assert.fail("expected the duplicate to be thrown");
+		} catch (final DuplicateDataException expected) {
+			// expected
+		}
+
+		final DataObjectAO dataObjectAO = irodsFileSystem.getIRODSAccessObjectFactory().getDataObjectAO(irodsAccount);
+		Assert.assertEquals("first avu not applied", 1,
+				dataObjectAO.findMetadataValuesForDataObject(targetIrodsCollection + "/" + testFileName).size());
+		Assert.assertTrue("avu after the failure was applied",
+				dataObjectAO.findMetadataValuesForDataObject(targetIrodsCollection + "/" + testFileName2).isEmpty());
+
+	}
+
+	@Test
+	public void testProcessManifestIgnoreMixedTargetsKeepsOrder() throws Exception {
+		final String testParentName = "testProcessManifestIgnoreMixedTargetsKeepsOrder";
+		final String testFileName = "testProcessManifestIgnoreMixedTargetsKeepsOrder.txt";
+		final String testSubdirName = "subdir";
+
+		final String expectedAttribName = "testProcessManifestIgnoreMixedTargetsKeepsOrder";
+		final String expectedValueName = "testval1";
+
+		final IRODSAccount irodsAccount = testingPropertiesHelper
+				.buildIRODSAccountFromTestProperties(testingProperties);
+
+		final String targetIrodsCollection = testingPropertiesHelper.buildIRODSCollectionAbsolutePathFromTestProperties(
+				testingProperties, IRODS_TEST_SUBDIR_PATH + "/" + testParentName);
+
+		final IRODSFile parentFile = irodsFileSystem.getIRODSFileFactory(irodsAccount)
+				.instanceIRODSFile(targetIrodsCollection);
+		parentFile.delete();
+		parentFile.mkdirs();
+		irodsFileSystem.getIRODSFileFactory(irodsAccount).instanceIRODSFile(targetIrodsCollection, testSubdirName)
+				.mkdirs();
+
+		final String absPath = scratchFileUtils.createAndReturnAbsoluteScratchPath(IRODS_TEST_SUBDIR_PATH);
+		final String fileNameOrig = FileGenerator.generateFileOfFixedLengthGivenName(absPath + testParentName + "/",
+				testFileName, 2);
+
+		final DataTransferOperations dataTransferOperationsAO = irodsFileSystem.getIRODSAccessObjectFactory()
+				.getDataTransferOperations(irodsAccount);
+		dataTransferOperationsAO.putOperation(new File(fileNameOrig), parentFile, null, null);
+
+		// data object, collection, then a duplicate on the data object
+
+		final MetadataManifest manifest = new MetadataManifest();
+		manifest.setFailureMode(FailureMode.IGNORE);
+		manifest.setParentIrodsTargetPath(parentFile.getAbsolutePath());
+		manifest.getOperation().add(
+				new MetadataManifestOperation(expectedAttribName, expectedValueName, "", testFileName, Action.ADD));
+		manifest.getOperation().add(
+				new MetadataManifestOperation(expectedAttribName, expectedValueName, "", testSubdirName, Action.ADD));
+		manifest.getOperation().add(
+				new MetadataManifestOperation(expectedAttribName, expectedValueName, "", testFileName, Action.ADD));
+
+		final MetadataManifestProcessor impl = new MetadataManifestProcessorImpl(
+				irodsFileSystem.getIRODSAccessObjectFactory(), irodsAccount);
+		final List<BulkAVUOperationResponse> response = impl.processManifest(manifest);
+		Assert.assertEquals("wrong number of responses", 3, response.size());
+		Assert.assertEquals(ResultStatus.OK, response.get(0).getResultStatus());
+		Assert.assertEquals(ResultStatus.OK, response.get(1).getResultStatus());
+		Assert.assertEquals(ResultStatus.DUPLICATE_AVU, response.get(2).getResultStatus());
+
+	}
+
 }
@@ -3,9 +3,15 @@
  */
 package org.irods.jargon.pool.conncache;
 
+import java.util.ArrayList;
+import java.util.List;
+
+import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSProtocolManager;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.connection.IRODSSimpleProtocolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Bootstraps an {@link IRODSProtocolManager} that supports connection pooling
@@ -24,14 +30,23 @@ import org.irods.jargon.core.connection.IRODSSimpleProtocolManager;
  * <p>
  * Once the dependencies are in place, the {@code init()} method should be
  * called to set up the connection pool.
+ * <p>
+ * Accounts given as {@code prewarmAccounts} have
+ * {@link JargonKeyedPoolConfig#getMinIdlePerKey()} connections, or one if it is
+ * not set, opened by {@code init()}, so that the first requests after a deploy do not each pay for
+ * a connect and authentication. A failure to prewarm is logged, and the pool
+ * then opens connections as they are needed.
  * 
  * @author conwaymc
  *
  */
 public class ConnectionPoolingProtocolManagerBootstrapper {
 
+	private static final Logger log = LoggerFactory.getLogger(ConnectionPoolingProtocolManagerBootstrapper.class);
+
 	private JargonKeyedPoolConfig jargonKeyedPoolConfig;
 	private IRODSSession irodsSession;
+	private List<IRODSAccount> prewarmAccounts = new ArrayList<IRODSAccount>();
 
 	/**
 	 * Default constructor
@@ -56,11 +71,20 @@ public class ConnectionPoolingProtocolManagerBootstrapper {
 		jargonPooledObjectFactory.setIrodsSimpleProtocolManager(irodsSimpleProtocolManager);
 		JargonConnectionCache jargonConnectionCache = new JargonConnectionCache(jargonPooledObjectFactory,
 				jargonKeyedPoolConfig);
+		jargonConnectionCache.setMetricsRegistry(irodsSession.getMetricsRegistry());
 
 		CachedIrodsProtocolManager cachedIrodsProtocolManager = new CachedIrodsProtocolManager();
 		cachedIrodsProtocolManager.setJargonConnectionCache(jargonConnectionCache);
 		irodsSession.setIrodsProtocolManager(cachedIrodsProtocolManager);
 
+		for (IRODSAccount irodsAccount : prewarmAccounts) {
+			try {
+				jargonConnectionCache.prewarm(irodsAccount);
+			} catch (Exception e) {
+				log.warn("unable to prewarm connections for:{}, this is logged and ignored", irodsAccount, e);
+			}
+		}
+
 	}
 
 	/**
@@ -79,6 +103,26 @@ public class ConnectionPoolingProtocolManagerBootstrapper {
 		this.jargonKeyedPoolConfig = jargonKeyedPoolConfig;
 	}
 
+	/**
+	 * @return {@code List} of {@link IRODSAccount} that have connections opened
+	 *         by {@code init()}
+	 */
+	public List<IRODSAccount> getPrewarmAccounts() {
+		return prewarmAccounts;
+	}
+
+	/**
+	 * @param prewarmAccounts
+	 *            {@code List} of {@link IRODSAccount} that have connections opened
+	 *            by {@code init()}
+	 */
+	public void setPrewarmAccounts(final List<IRODSAccount> prewarmAccounts) {
+		if (prewarmAccounts == null) {
+			throw new IllegalArgumentException("null prewarmAccounts");
+		}
+		this.prewarmAccounts = prewarmAccounts;
+	}
+
 	/**
 	 * @return the irodsSession {@link IRODSSession} that will have been provisioned
 	 *         with a pooled connection manager.
@@ -3,30 +3,145 @@
  */
 package org.irods.jargon.pool.conncache;
 
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.commons.pool2.KeyedPooledObjectFactory;
 import org.apache.commons.pool2.impl.GenericKeyedObjectPool;
 import org.irods.jargon.core.connection.IRODSAccount;
 import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.irods.jargon.core.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Connection cache keeps a pool of managed iRODS connections
+ * <p>
+ * The pool is configured by the given {@link JargonKeyedPoolConfig}, and
+ * registers the commons pool MBean, with the active, idle and waiter counts and
+ * the borrow wait times, under the {@link JargonKeyedPoolConfig#JMX_NAME_PREFIX}
+ * name. If a {@link MetricsRegistry} is set, the time each borrow waits is also
+ * recorded there as {@link #BORROW_WAIT_LATENCY}.
  *
  * @author mconway
  *
  */
 public class JargonConnectionCache extends GenericKeyedObjectPool<IRODSAccount, IRODSMidLevelProtocol> {
 
-	public static final Logger log = LoggerFactory.getLogger(JargonPooledObjectFactory.class);
+	public static final Logger log = LoggerFactory.getLogger(JargonConnectionCache.class);
+
+	/**
+	 * Latency recorded for each borrow from the pool, including any time spent
+	 * opening a new connection
+	 */
+	public static final String BORROW_WAIT_LATENCY = "pool.borrow.wait";
+
+	private volatile MetricsRegistry metricsRegistry = null;
+
+	/**
+	 * Accounts that have been borrowed for or prewarmed, for the idle gauges
+	 */
+	private final Set<IRODSAccount> knownAccounts = ConcurrentHashMap.<IRODSAccount>newKeySet();
 
 	public JargonConnectionCache(final KeyedPooledObjectFactory<IRODSAccount, IRODSMidLevelProtocol> factory,
 			final JargonKeyedPoolConfig config) {
-		super(factory, config);
-		setMaxIdlePerKey(config.getMaxIdlePerKey());
-		setMinEvictableIdleTimeMillis(30000);
-		setTimeBetweenEvictionRunsMillis(45000);
-		setTestOnBorrow(true);
+		super(factory, config == null ? new JargonKeyedPoolConfig() : config);
+	}
+
+	/**
+	 * Open connections for the given account, so that the first requests after
+	 * startup do not pay for a connect and authentication. As many connections are
+	 * opened as the minimum idle per key of the configuration, which the evictor
+	 * then keeps open, or one connection if no minimum is configured.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that is the key of the connections
+	 * @throws Exception
+	 *             if a connection cannot be opened
+	 */
+	public void prewarm(final IRODSAccount irodsAccount) throws Exception {
+		prewarm(irodsAccount, Math.max(getMinIdlePerKey(), 1));
+	}
+
+	/**
+	 * Open connections for the given account until it has the given number of
+	 * idle connections.
+	 *
+	 * @param irodsAccount
+	 *            {@link IRODSAccount} that is the key of the connections
+	 * @param connections
+	 *            {@code int} with the number of idle connections wanted
+	 * @throws Exception
+	 *             if a connection cannot be opened
+	 */
+	public void prewarm(final IRODSAccount irodsAccount, final int connections) throws Exception {
+		if (irodsAccount == null) {
+			throw new IllegalArgumentException("null irodsAccount");
+		}
+
+		if (connections < 1) {
+			throw new IllegalArgumentException("connections must be at least 1");
+		}
+
+		log.info("prewarm {} connections for:{}", connections, irodsAccount);
+		knownAccounts.add(irodsAccount);
+		int toOpen = connections - getNumIdle(irodsAccount);
+		for (int i = 0; i < toOpen; i++) {
+			addObject(irodsAccount);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 *
+	 * @see
+	 * org.apache.commons.pool2.impl.GenericKeyedObjectPool#borrowObject(java.lang
+	 * .Object, long)
+	 */
+	@Override
+	public IRODSMidLevelProtocol borrowObject(final IRODSAccount key, final long borrowMaxWaitMillis)
+			throws Exception {
+		long startNanos = System.nanoTime();
+		knownAccounts.add(key);
+		try {
+			return super.borrowObject(key, borrowMaxWaitMillis);
+		} finally {
+			MetricsRegistry registry = metricsRegistry;
+			if (registry != null) {
+				registry.recordLatency(BORROW_WAIT_LATENCY, System.nanoTime() - startNanos);
+			}
+		}
+	}
+
+	/**
+	 * @return {@code Map} of the number of idle connections by account, the
+	 *         counterpart of {@link #getNumActivePerKey()}
+	 */
+	public Map<String, Integer> getNumIdlePerKey() {
+		Map<String, Integer> idlePerKey = new TreeMap<String, Integer>();
+		for (IRODSAccount irodsAccount : knownAccounts) {
+			idlePerKey.put(irodsAccount.toString(), getNumIdle(irodsAccount));
+		}
+		return idlePerKey;
+	}
+
+	/**
+	 * @return {@link MetricsRegistry} that receives the borrow wait times, or
+	 *         {@code null}
+	 */
+	public MetricsRegistry getMetricsRegistry() {
+		return metricsRegistry;
+	}
+
+	/**
+	 * @param metricsRegistry
+	 *            {@link MetricsRegistry} that receives the borrow wait times, or
+	 *            {@code null} to not record them
+	 */
+	public void setMetricsRegistry(final MetricsRegistry metricsRegistry) {
+		this.metricsRegistry = metricsRegistry;
 	}
 
 	/*
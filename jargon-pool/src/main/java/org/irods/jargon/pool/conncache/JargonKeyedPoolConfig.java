@@ -7,35 +7,40 @@ import org.apache.commons.pool2.impl.GenericKeyedObjectPoolConfig;
 import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
 
 /**
+ * Configuration of the {@link JargonConnectionCache}. The defaults validate
+ * connections on borrow and while idle, and evict connections idle for a
+ * minute.
+ * <p>
+ * Validation is done by {@link JargonPooledObjectFactory}, connections older
+ * than the socket renewal interval fail it, so they are closed by the evictor
+ * or on borrow rather than handed out.
+ * <p>
+ * {@link #getMinIdlePerKey()} connections, or one if it is not set, are opened
+ * for each account given to
+ * {@link JargonConnectionCache#prewarm(org.irods.jargon.core.connection.IRODSAccount)}.
+ * The evictor keeps {@link #getMinIdlePerKey()} connections open.
+ *
  * @author mconway
  *
  */
 public class JargonKeyedPoolConfig extends GenericKeyedObjectPoolConfig<IRODSMidLevelProtocol> {
 
 	public static final int TIME_30_SECONDS = 30 * 1000;
-	public static final int TIME_60_SECONDS = 30 * 1000;
+	public static final int TIME_60_SECONDS = 60 * 1000;
 	public static final int MAX_IDLE = 3;
-
-	private int maxIdlePerKey = MAX_IDLE;
-
-	@Override
-	public int getMaxIdlePerKey() {
-		return maxIdlePerKey;
-	}
-
-	@Override
-	public void setMaxIdlePerKey(final int maxIdlePerKey) {
-		this.maxIdlePerKey = maxIdlePerKey;
-	}
+	public static final String JMX_NAME_PREFIX = "jargonConnectionCache";
 
 	public JargonKeyedPoolConfig() {
 		super();
 		setMinEvictableIdleTimeMillis(TIME_60_SECONDS);
 		setSoftMinEvictableIdleTimeMillis(TIME_30_SECONDS);
-		this.setMaxIdlePerKey(maxIdlePerKey);
-		setTestOnReturn(true);
+		setTimeBetweenEvictionRunsMillis(TIME_30_SECONDS);
+		setMaxIdlePerKey(MAX_IDLE);
+		setTestOnReturn(false);
 		setTestOnBorrow(true);
+		setTestWhileIdle(true);
 		this.setJmxEnabled(true);
+		setJmxNamePrefix(JMX_NAME_PREFIX);
 	}
 
 	@Override
@@ -96,17 +101,17 @@ public class JargonKeyedPoolConfig extends GenericKeyedObjectPoolConfig<IRODSMid
 
 	@Override
 	public boolean getTestOnBorrow() {
-		return false;
+		return super.getTestOnBorrow();
 	}
 
 	@Override
 	public boolean getTestOnCreate() {
-		return false;
+		return super.getTestOnCreate();
 	}
 
 	@Override
 	public boolean getTestOnReturn() {
-		return false;
+		return super.getTestOnReturn();
 	}
 
 	@Override
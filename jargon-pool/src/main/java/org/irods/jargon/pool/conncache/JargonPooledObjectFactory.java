@@ -8,6 +8,9 @@ import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
 import org.irods.jargon.core.connection.IRODSProtocolManager;
 import org.irods.jargon.core.connection.IRODSSession;
 import org.irods.jargon.core.connection.IRODSSimpleProtocolManager;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.MiscSvrInfo;
+import org.irods.jargon.core.utils.IRODSConstants;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -16,6 +19,13 @@ import org.slf4j.LoggerFactory;
  * {@link IRODSAccount} that was originally used to create the object. This may
  * have resulted in a secondary iRODS account, for example, as a proxy account,
  * a temp account, or through some other transformation.
+ * <p>
+ * Validation checks that the connection is open and is not due for renewal
+ * under the socket renewal interval of its {@code PipelineConfiguration}. A
+ * connection that has been idle for at least
+ * {@link #getValidationPingIdleMillis()} is also sent a server info request,
+ * which is answered by the agent without a catalog query, to find connections
+ * the server or a firewall has dropped.
  * 
  * @author conwaymc
  *
@@ -35,6 +45,12 @@ public class JargonPooledObjectFactory extends BaseKeyedPooledObjectFactory<IROD
 	 */
 	private IRODSSession irodsSession;
 
+	/**
+	 * Connections idle at least this long are pinged when validated, 0 pings on
+	 * every validation, and a negative value never pings
+	 */
+	private long validationPingIdleMillis = JargonKeyedPoolConfig.TIME_30_SECONDS;
+
 	public IRODSSession getIrodsSession() {
 		return irodsSession;
 	}
@@ -83,7 +99,50 @@ public class JargonPooledObjectFactory extends BaseKeyedPooledObjectFactory<IROD
 
 	@Override
 	public boolean validateObject(final IRODSAccount key, final PooledObject<IRODSMidLevelProtocol> p) {
-		return p.getObject().isConnected();
+		IRODSMidLevelProtocol irodsMidLevelProtocol = p.getObject();
+		if (!irodsMidLevelProtocol.isConnected()) {
+			log.info("connection is closed, not valid");
+			return false;
+		}
+
+		int renewalInterval = irodsMidLevelProtocol.getPipelineConfiguration().getSocketRenewalIntervalInSeconds();
+		// 0 means ignore
+		if (renewalInterval > 0 && System.currentTimeMillis() > irodsMidLevelProtocol.getConnectTimeInMillis()
+				+ renewalInterval * 1000L) {
+			log.info("connection is due for renewal, not valid");
+			return false;
+		}
+
+		if (validationPingIdleMillis < 0 || p.getIdleTimeMillis() < validationPingIdleMillis) {
+			return true;
+		}
+
+		try {
+			irodsMidLevelProtocol.irodsFunction(IRODSConstants.RODS_API_REQ, "", MiscSvrInfo.API_NBR);
+			return true;
+		} catch (JargonException e) {
+			log.warn("ping of idle connection failed, not valid", e);
+			return false;
+		}
+	}
+
+	/**
+	 * @return {@code long} with the milliseconds a connection must have been idle
+	 *         before it is pinged on validation, 0 pings on every validation,
+	 *         and a negative value never pings
+	 */
+	public long getValidationPingIdleMillis() {
+		return validationPingIdleMillis;
+	}
+
+	/**
+	 * @param validationPingIdleMillis
+	 *            {@code long} with the milliseconds a connection must have been
+	 *            idle before it is pinged on validation, 0 pings on every
+	 *            validation, and a negative value never pings
+	 */
+	public void setValidationPingIdleMillis(final long validationPingIdleMillis) {
+		this.validationPingIdleMillis = validationPingIdleMillis;
 	}
 
 }
@@ -0,0 +1,139 @@
+package org.irods.jargon.pool.conncache;
+
+import org.apache.commons.pool2.PooledObject;
+import org.irods.jargon.core.connection.IRODSAccount;
+import org.irods.jargon.core.connection.IRODSMidLevelProtocol;
+import org.irods.jargon.core.connection.PipelineConfiguration;
+import org.irods.jargon.core.connection.SettableJargonProperties;
+import org.irods.jargon.core.exception.JargonException;
+import org.irods.jargon.core.packinstr.MiscSvrInfo;
+import org.irods.jargon.core.utils.IRODSConstants;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class JargonPooledObjectFactoryTest {
+
+	private SettableJargonProperties jargonProperties;
+	private IRODSMidLevelProtocol irodsMidLevelProtocol;
+	private JargonPooledObjectFactory jargonPooledObjectFactory;
+	private IRODSAccount irodsAccount;
+
+	@Before
+	public void setUp() throws Exception {
+		jargonProperties = new SettableJargonProperties();
+		jargonProperties.setSocketRenewalIntervalInSeconds(0);
+		irodsMidLevelProtocol = Mockito.mock(IRODSMidLevelProtocol.class);
+		Mockito.when(irodsMidLevelProtocol.isConnected()).thenReturn(true);
+		Mockito.when(irodsMidLevelProtocol.getConnectTimeInMillis()).thenReturn(System.currentTimeMillis());
+		jargonPooledObjectFactory = new JargonPooledObjectFactory();
+		irodsAccount = IRODSAccount.instance("host", 1247, "user", "password", "/zone/home/user", "zone", "");
+	}
+
+	@Test
+	public void testValidRecentConnectionIsNotPinged() throws Exception {
+		Assert.assertTrue(jargonPooledObjectFactory.validateObject(irodsAccount, pooled(0L)));
+		verifyPinged(0);
+	}
+
+	@Test
+	public void testClosedConnectionIsNotValid() throws Exception {
+		Mockito.when(irodsMidLevelProtocol.isConnected()).thenReturn(false);
+		Assert.assertFalse(jargonPooledObjectFactory.validateObject(irodsAccount, pooled(0L)));
+	}
+
+	@Test
+	public void testConnectionDueForRenewalIsNotValid() throws Exception {
+		jargonProperties.setSocketRenewalIntervalInSeconds(60);
+		Mockito.when(irodsMidLevelProtocol.getConnectTimeInMillis()).thenReturn(System.currentTimeMillis() - 120000L);
+		Assert.assertFalse(jargonPooledObjectFactory.validateObject(irodsAccount, pooled(0L)));
+	}
+
+	@Test
+	public void testIdleConnectionIsPinged() throws Exception {
+		Assert.assertTrue(jargonPooledObjectFactory.validateObject(irodsAccount,
+				pooled(JargonKeyedPoolConfig.TIME_30_SECONDS)));
+		verifyPinged(1);
+	}
+
+	@Test
+	public void testFailedPingIsNotValid() throws Exception {
+		Mockito.when(irodsMidLevelProtocol.irodsFunction(IRODSConstants.RODS_API_REQ, "", MiscSvrInfo.API_NBR))
+				.thenThrow(new JargonException("connection reset"));
+		jargonPooledObjectFactory.setValidationPingIdleMillis(0L);
+		Assert.assertFalse(jargonPooledObjectFactory.validateObject(irodsAccount, pooled(0L)));
+	}
+
+	@Test
+	public void testNegativePingIdleNeverPings() throws Exception {
+		jargonPooledObjectFactory.setValidationPingIdleMillis(-1L);
+		Assert.assertTrue(jargonPooledObjectFactory.validateObject(irodsAccount, pooled(Long.MAX_VALUE)));
+		verifyPinged(0);
+	}
+
+	@Test
+	public void testConfigDefaults() {
+		JargonKeyedPoolConfig config = new JargonKeyedPoolConfig();
+		Assert.assertEquals(60000, JargonKeyedPoolConfig.TIME_60_SECONDS);
+		Assert.assertEquals(JargonKeyedPoolConfig.TIME_60_SECONDS, config.getMinEvictableIdleTimeMillis());
+		Assert.assertEquals(JargonKeyedPoolConfig.MAX_IDLE, config.getMaxIdlePerKey());
+		Assert.assertTrue(config.getTestOnBorrow());
+		Assert.assertTrue(config.getTestWhileIdle());
+		config.setMaxIdlePerKey(10);
+		Assert.assertEquals(10, config.getMaxIdlePerKey());
+	}
+
+	@Test
+	public void testPrewarmOpensOneConnectionByDefault() throws Exception {
+		JargonConnectionCache jargonConnectionCache = new JargonConnectionCache(mockConnectionFactory(),
+				new JargonKeyedPoolConfig());
+		try {
+			jargonConnectionCache.prewarm(irodsAccount);
+			Assert.assertEquals(1, jargonConnectionCache.getNumIdle(irodsAccount));
+			Assert.assertEquals(Integer.valueOf(1), jargonConnectionCache.getNumIdlePerKey().get(irodsAccount.toString()));
+		} finally {
+			jargonConnectionCache.close();
+		}
+	}
+
+	@Test
+	public void testPrewarmOpensMissingConnections() throws Exception {
+		JargonKeyedPoolConfig config = new JargonKeyedPoolConfig();
+		config.setMinIdlePerKey(2);
+		JargonConnectionCache jargonConnectionCache = new JargonConnectionCache(mockConnectionFactory(), config);
+		try {
+			jargonConnectionCache.prewarm(irodsAccount);
+			Assert.assertEquals(2, jargonConnectionCache.getNumIdle(irodsAccount));
+			jargonConnectionCache.prewarm(irodsAccount, 3);
+			Assert.assertEquals(3, jargonConnectionCache.getNumIdle(irodsAccount));
+		} finally {
+			jargonConnectionCache.close();
+		}
+	}
+
+	private JargonPooledObjectFactory mockConnectionFactory() {
+		return new JargonPooledObjectFactory() {
+			@Override
+			public IRODSMidLevelProtocol create(final IRODSAccount irodsAccount) throws Exception {
+				return Mockito.mock(IRODSMidLevelProtocol.class);
+			}
+		};
+	}
+
+	@SuppressWarnings("unchecked")
+	private PooledObject<IRODSMidLevelProtocol> pooled(final long idleMillis) {
+		Mockito.when(irodsMidLevelProtocol.getPipelineConfiguration())
+				.thenReturn(PipelineConfiguration.instance(jargonProperties));
+		PooledObject<IRODSMidLevelProtocol> pooledObject = Mockito.mock(PooledObject.class);
+		Mockito.when(pooledObject.getObject()).thenReturn(irodsMidLevelProtocol);
+		Mockito.when(pooledObject.getIdleTimeMillis()).thenReturn(idleMillis);
+		return pooledObject;
+	}
+
+	private void verifyPinged(final int times) throws Exception {
+		Mockito.verify(irodsMidLevelProtocol, Mockito.times(times)).irodsFunction(IRODSConstants.RODS_API_REQ, "",
+				MiscSvrInfo.API_NBR);
+	}
+
+}
@@ -3,6 +3,7 @@ package org.irods.jargon.pool.unittest;
 import org.irods.jargon.pool.conncache.CachedIrodsProtocolManagerTest;
 import org.irods.jargon.pool.conncache.ConnectionPoolingProtocolManagerBootstrapperTest;
 import org.irods.jargon.pool.conncache.JargonConnectionCacheTest;
+import org.irods.jargon.pool.conncache.JargonPooledObjectFactoryTest;
 import org.irods.jargon.pool.conncache.functtest.CacheMultiThreadedFunctionalTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -10,7 +11,8 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses({ JargonConnectionCacheTest.class, CachedIrodsProtocolManagerTest.class,
-		CacheMultiThreadedFunctionalTest.class, ConnectionPoolingProtocolManagerBootstrapperTest.class })
+		CacheMultiThreadedFunctionalTest.class, ConnectionPoolingProtocolManagerBootstrapperTest.class,
+		JargonPooledObjectFactoryTest.class })
 public class AllTests {
 
 }